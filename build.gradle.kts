@@ -39,12 +39,26 @@ frameShapeDependencies {
    api(ihmc.sourceSetProject("frame"))
 }
 
+simdDependencies {
+   api(ihmc.sourceSetProject("main"))
+}
+
+// The Vector API is still incubating, the simd artifact falls back to scalar kernels when the module is not added at runtime.
+ihmc.sourceSetProject("simd").tasks.withType<JavaCompile>().configureEach {
+   options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
 testDependencies {
    api(ihmc.sourceSetProject("geometry"))
    api(ihmc.sourceSetProject("frame"))
    api(ihmc.sourceSetProject("shape"))
    api(ihmc.sourceSetProject("frame-shape"))
+   api(ihmc.sourceSetProject("simd"))
 
    api("org.ejml:ejml-ddense:0.39")
    api("us.ihmc:ihmc-commons-testing:0.31.0")
+}
+
+ihmc.sourceSetProject("test").tasks.withType<Test>().configureEach {
+   jvmArgs("--add-modules", "jdk.incubator.vector")
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package us.ihmc.euclid.referenceFrame;
+
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.transform.interfaces.RigidBodyTransformBasics;
+import us.ihmc.euclid.transform.interfaces.RigidBodyTransformReadOnly;
+
+/**
+ * {@code FrameTransformHandle} caches the transform from a given reference frame to another.
+ * <p>
+ * It is meant for the case where objects are repeatedly changed between the same pair of frames,
+ * for instance:
+ *
+ * <pre>
+ * FrameTransformHandle soleToPelvis = new FrameTransformHandle(soleFrame, pelvisFrame);
+ * ...
+ * framePoint.changeFrame(soleToPelvis);
+ * </pre>
+ *
+ * The transform is only recomputed when at least one of the frames between the two frames and their
+ * lowest common ancestor has been updated since the last computation. This is detected by comparing
+ * the version of the transform to parent of each of these frames, which is incremented at each
+ * {@link ReferenceFrame#update()}. Updates of the frames above the common ancestor do not affect the
+ * transform between the two frames and do not trigger a new computation.
+ * </p>
+ * <p>
+ * A handle is not thread-safe, each thread should use its own handle.
+ * </p>
+ */
+public class FrameTransformHandle
+{
+   private final ReferenceFrame fromFrame;
+   private final ReferenceFrame toFrame;
+   /**
+    * The frames between {@link #fromFrame} and {@link #toFrame} excluding their common ancestor, i.e.
+    * the frames whose transform to parent affects the transform between the two frames.
+    */
+   private final ReferenceFrame[] pathFrames;
+   /** The version of the transform to parent of each path frame at the last computation. */
+   private final long[] pathVersions;
+   private final RigidBodyTransform transform = new RigidBodyTransform();
+   private boolean hasBeenComputed = false;
+
+   /**
+    * Creates a new handle for the transform from {@code fromFrame} to {@code toFrame}.
+    *
+    * @param fromFrame the frame in which the objects to transform are initially expressed.
+    * @param toFrame   the frame in which the objects are to be expressed.
+    * @throws RuntimeException if the two frames do not belong to the same tree.
+    */
+   public FrameTransformHandle(ReferenceFrame fromFrame, ReferenceFrame toFrame)
+   {
+      fromFrame.verifySameRoots(toFrame);
+
+      this.fromFrame = fromFrame;
+      this.toFrame = toFrame;
+
+      ReferenceFrame[] fromPath = fromFrame.getFramesStartingWithRootEndingWithThis();
+      ReferenceFrame[] toPath = toFrame.getFramesStartingWithRootEndingWithThis();
+
+      int ancestorIndex = 0;
+      int maxAncestorIndex = Math.min(fromPath.length, toPath.length) - 1;
+
+      while (ancestorIndex < maxAncestorIndex && fromPath[ancestorIndex + 1] == toPath[ancestorIndex + 1])
+         ancestorIndex++;
+
+      int numberOfFromFrames = fromPath.length - ancestorIndex - 1;
+      int numberOfToFrames = toPath.length - ancestorIndex - 1;
+      pathFrames = new ReferenceFrame[numberOfFromFrames + numberOfToFrames];
+      System.arraycopy(fromPath, ancestorIndex + 1, pathFrames, 0, numberOfFromFrames);
+      System.arraycopy(toPath, ancestorIndex + 1, pathFrames, numberOfFromFrames, numberOfToFrames);
+      pathVersions = new long[pathFrames.length];
+   }
+
+   /**
+    * Gets the frame in which the objects to transform are initially expressed.
+    *
+    * @return the frame from which the transform is computed.
+    */
+   public ReferenceFrame getFromFrame()
+   {
+      return fromFrame;
+   }
+
+   /**
+    * Gets the frame in which the objects are to be expressed.
+    *
+    * @return the frame to which the transform is computed.
+    */
+   public ReferenceFrame getToFrame()
+   {
+      return toFrame;
+   }
+
+   /**
+    * Tests whether the cached transform is up-to-date, i.e. none of the frames between the two frames
+    * has been updated since the last computation of the transform.
+    *
+    * @return {@code true} if the cached transform can be used as is, {@code false} if it has to be
+    *         recomputed.
+    */
+   public boolean isUpToDate()
+   {
+      if (!hasBeenComputed)
+         return false;
+
+      for (int i = 0; i < pathFrames.length; i++)
+      {
+         if (pathFrames[i].transformToParentVersion != pathVersions[i])
+            return false;
+      }
+
+      return true;
+   }
+
+   /**
+    * Gets the transform from {@link #getFromFrame()} to {@link #getToFrame()}, recomputing it first
+    * if it is not up-to-date.
+    * <p>
+    * The returned transform is owned by this handle and is modified when the transform is recomputed,
+    * it should not be held onto.
+    * </p>
+    *
+    * @return the transform from the first frame to the second frame. Not modifiable.
+    * @throws RuntimeException if any of the two frames has been removed.
+    */
+   public RigidBodyTransformReadOnly getTransform()
+   {
+      fromFrame.checkIfRemoved();
+      toFrame.checkIfRemoved();
+
+      if (!isUpToDate())
+      {
+         // The versions are recorded first such that an update happening during the computation results in a new computation at the next query.
+         for (int i = 0; i < pathFrames.length; i++)
+            pathVersions[i] = pathFrames[i].transformToParentVersion;
+
+         fromFrame.getTransformToDesiredFrame(transform, toFrame);
+         hasBeenComputed = true;
+      }
+
+      return transform;
+   }
+
+   /**
+    * Packs the transform from {@link #getFromFrame()} to {@link #getToFrame()}, recomputing it first
+    * if it is not up-to-date.
+    *
+    * @param transformToPack the transform in which the result is stored. Modified.
+    * @throws RuntimeException if any of the two frames has been removed.
+    */
+   public void getTransform(RigidBodyTransformBasics transformToPack)
+   {
+      transformToPack.set(getTransform());
+   }
+
+   @Override
+   public String toString()
+   {
+      return "Transform from " + fromFrame.getName() + " to " + toFrame.getName();
+   }
+}
@@ -0,0 +1,215 @@
+package us.ihmc.euclid.referenceFrame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongConsumer;
+
+/**
+ * {@code ParallelReferenceFrameTreeUpdater} updates all the frames of a wide reference frame tree by
+ * updating independent subtrees concurrently.
+ * <p>
+ * The tree is partitioned at the given subtree roots, for instance the base frame of each robot or
+ * of each arm:
+ * <ul>
+ * <li>the trunk: all the frames of the tree that do not belong to any of the subtrees, it is updated
+ * first by the calling thread.
+ * <li>the subtrees: each subtree is then updated by a task of the given fork-join pool.
+ * </ul>
+ * Each frame belongs to exactly one partition such that its transform to root is computed exactly
+ * once per {@link #updateAll()}. Each partition is updated as with a
+ * {@link ReferenceFrameTreeUpdater}.
+ * </p>
+ * <p>
+ * The computed transforms are visible to the thread calling {@link #updateAll()} once it returns,
+ * and to any other thread synchronizing with it afterwards. When concurrent access is enabled for the
+ * tree, see {@link ReferenceFrame#setConcurrentAccessEnabled(boolean)}, other threads can query the
+ * tree during the update: each query is consistent with the transforms to parent at a single point
+ * in time, but the update is not atomic such that a query may involve frames already updated and
+ * frames not updated yet.
+ * </p>
+ * <p>
+ * The updater holds a reference to every frame of the tree, {@link #dispose()} should be called once
+ * it is no longer needed such that the frames can be garbage collected.
+ * </p>
+ * <p>
+ * As the transforms to parent of different subtrees are updated concurrently, the implementation of
+ * {@link ReferenceFrame#updateTransformToParent(us.ihmc.euclid.transform.RigidBodyTransform)} of a
+ * frame should not depend on frames of another subtree.
+ * </p>
+ */
+public class ParallelReferenceFrameTreeUpdater
+{
+   private final ForkJoinPool pool;
+   private final ReferenceFrameTreeUpdater trunkUpdater;
+   private final SubtreeTask[] subtreeTasks;
+   private final SubtreesTask subtreesTask = new SubtreesTask();
+   private final LongConsumer subtreesTransformsToRootUpdate = this::computeSubtreesTransformsToRoot;
+
+   /**
+    * Creates a new updater for the tree starting at the given frame and partitioned at the given
+    * subtree roots.
+    *
+    * @param startFrame   the first frame of the tree to update.
+    * @param pool         the pool used to update the subtrees.
+    * @param subtreeRoots the first frame of each subtree to update concurrently. Each has to be a
+    *                     descendant of {@code startFrame} and no subtree root can be a descendant of
+    *                     another.
+    * @throws IllegalArgumentException if the subtree roots do not partition the tree.
+    */
+   public ParallelReferenceFrameTreeUpdater(ReferenceFrame startFrame, ForkJoinPool pool, ReferenceFrame... subtreeRoots)
+   {
+      for (int i = 0; i < subtreeRoots.length; i++)
+      {
+         if (!isStrictDescendant(subtreeRoots[i], startFrame))
+            throw new IllegalArgumentException("The subtree root " + subtreeRoots[i] + " is not a descendant of " + startFrame);
+
+         for (int j = 0; j < subtreeRoots.length; j++)
+         {
+            if (i != j && (subtreeRoots[i] == subtreeRoots[j] || isStrictDescendant(subtreeRoots[i], subtreeRoots[j])))
+               throw new IllegalArgumentException("The subtrees starting at " + subtreeRoots[j] + " and " + subtreeRoots[i] + " overlap");
+         }
+      }
+
+      this.pool = pool;
+      trunkUpdater = new ReferenceFrameTreeUpdater(startFrame, subtreeRoots.clone());
+      subtreeTasks = new SubtreeTask[subtreeRoots.length];
+
+      for (int i = 0; i < subtreeRoots.length; i++)
+         subtreeTasks[i] = new SubtreeTask(new ReferenceFrameTreeUpdater(subtreeRoots[i]));
+   }
+
+   private static boolean isStrictDescendant(ReferenceFrame frame, ReferenceFrame ancestor)
+   {
+      ReferenceFrame[] path = frame.getFramesStartingWithRootEndingWithThis();
+      ReferenceFrame[] ancestorPath = ancestor.getFramesStartingWithRootEndingWithThis();
+      return path.length > ancestorPath.length && path[ancestorPath.length - 1] == ancestor;
+   }
+
+   /**
+    * Updates all the frames of the tree:
+    * <ol>
+    * <li>the frames of the trunk are updated and their transforms to root are computed.
+    * <li>the transforms to parent of the frames of each subtree are updated concurrently.
+    * <li>the transforms to root of the frames of each subtree are computed concurrently.
+    * </ol>
+    * <p>
+    * This update is not atomic, see the class documentation.
+    * </p>
+    *
+    * @throws IllegalStateException if this updater has been disposed.
+    */
+   public void updateAll()
+   {
+      trunkUpdater.updateAll();
+
+      subtreesTask.computeTransformsToRoot = false;
+      invokeSubtreesTask();
+
+      // Computing the transforms to root as a single write of the tree.
+      ReferenceFrame.runTransformsToRootUpdate(trunkUpdater.getStartFrame(), subtreesTransformsToRootUpdate);
+   }
+
+   private void computeSubtreesTransformsToRoot(long updateID)
+   {
+      subtreesTask.computeTransformsToRoot = true;
+      subtreesTask.updateID = updateID;
+      invokeSubtreesTask();
+   }
+
+   private void invokeSubtreesTask()
+   {
+      subtreesTask.reinitialize();
+      pool.invoke(subtreesTask);
+   }
+
+   /**
+    * Detaches this updater from the tree and releases the frames it holds.
+    * <p>
+    * This updater cannot be used afterwards.
+    * </p>
+    *
+    * @see ReferenceFrameTreeUpdater#dispose()
+    */
+   public void dispose()
+   {
+      trunkUpdater.dispose();
+
+      for (SubtreeTask subtreeTask : subtreeTasks)
+         subtreeTask.updater.dispose();
+   }
+
+   /**
+    * Gets the frame from which the tree to update starts.
+    *
+    * @return the start frame.
+    */
+   public ReferenceFrame getStartFrame()
+   {
+      return trunkUpdater.getStartFrame();
+   }
+
+   /**
+    * Gets the number of subtrees updated concurrently.
+    *
+    * @return the number of subtrees.
+    */
+   public int getNumberOfSubtrees()
+   {
+      return subtreeTasks.length;
+   }
+
+   /**
+    * Gets the first frame of the {@code index}<sup>th</sup> subtree.
+    *
+    * @param index the index of the subtree.
+    * @return the subtree root.
+    */
+   public ReferenceFrame getSubtreeRoot(int index)
+   {
+      return subtreeTasks[index].updater.getStartFrame();
+   }
+
+   private class SubtreesTask extends RecursiveAction
+   {
+      private static final long serialVersionUID = -1946532802640917395L;
+
+      private boolean computeTransformsToRoot;
+      private long updateID;
+
+      @Override
+      protected void compute()
+      {
+         for (SubtreeTask subtreeTask : subtreeTasks)
+         {
+            subtreeTask.reinitialize();
+            subtreeTask.computeTransformsToRoot = computeTransformsToRoot;
+            subtreeTask.updateID = updateID;
+         }
+
+         invokeAll(subtreeTasks);
+      }
+   }
+
+   private static class SubtreeTask extends RecursiveAction
+   {
+      private static final long serialVersionUID = 6233585452358463125L;
+
+      private final ReferenceFrameTreeUpdater updater;
+      private boolean computeTransformsToRoot;
+      private long updateID;
+
+      private SubtreeTask(ReferenceFrameTreeUpdater updater)
+      {
+         this.updater = updater;
+      }
+
+      @Override
+      protected void compute()
+      {
+         if (computeTransformsToRoot)
+            updater.computeTransformsToRoot(updateID);
+         else
+            updater.updateTransformsToParent();
+      }
+   }
+}
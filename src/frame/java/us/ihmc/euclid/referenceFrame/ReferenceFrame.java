@@ -1,8 +1,12 @@
 package us.ihmc.euclid.referenceFrame;
 
+import java.lang.invoke.VarHandle;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 import us.ihmc.euclid.exceptions.NotARotationMatrixException;
@@ -142,9 +146,19 @@ public abstract class ReferenceFrame
     * </p>
     */
    private final RigidBodyTransform transformToParent;
+   /**
+    * Version of {@link #transformToParent}, incremented at each update of this frame. It is used by
+    * {@link FrameTransformHandle} to detect changes along the path between two frames, it is volatile
+    * such that a handle queried from another thread sees the update.
+    */
+   volatile long transformToParentVersion = 0;
 
    // These need to be longs instead of integers or they'll role over too soon. With longs, you get at least 100 years of runtime.
-   static long nextTransformToRootID = 1;
+   /**
+    * Counter for the root frame only, used to generate the IDs of the transforms to root in its tree.
+    * Each tree has its own counter such that independent trees can be updated concurrently.
+    */
+   long nextTransformToRootID = 1;
 
    long transformToRootID = Long.MIN_VALUE;
 
@@ -160,6 +174,30 @@ public abstract class ReferenceFrame
    private boolean accessingTransformToRoot = false;
    /** Condition for the root frame only. */
    private Predicate<ReferenceFrame> treeUpdateCondition = null;
+   /**
+    * Sequence of the writes of the tree for the root frame only, it is only created when concurrent
+    * access is enabled for the tree.
+    *
+    * @see #setConcurrentAccessEnabled(boolean)
+    */
+   private volatile TreeSequence treeSequence = null;
+   /**
+    * Buffer used to compose the transform between two frames when concurrent access is enabled, one
+    * per thread.
+    */
+   private static final ThreadLocal<RigidBodyTransform> concurrentTransformBuffer = ThreadLocal.withInitial(RigidBodyTransform::new);
+   /**
+    * Registry indexing the frames of the tree, for the root frame only. It is only created when first
+    * requested.
+    *
+    * @see #getFrameRegistry()
+    */
+   private ReferenceFrameRegistry frameRegistry = null;
+   /**
+    * Buffer used to compute the new transform to parent before publishing it when concurrent access
+    * is enabled. Only instantiated at the first update in concurrent mode.
+    */
+   private RigidBodyTransform transformToParentBuffer = null;
 
    /**
     * Field initialized at construction time that specifies if this reference frame represents a
@@ -176,6 +214,28 @@ public abstract class ReferenceFrame
     * Whether this frame is rigid attached to its parent such that its transform is immutable.
     */
    private final boolean isFixedInParent;
+   /**
+    * For a frame at the end of a chain of at least two frames fixed in their parent: the closest
+    * ancestor that is not fixed in its parent or the root frame, {@code null} otherwise.
+    */
+   private final ReferenceFrame fixedChainAnchor;
+   /**
+    * Transform from this frame to the {@link #fixedChainAnchor}, i.e. the product of the transforms
+    * to parent of the fixed chain, such that the transform to root of this frame can be computed with
+    * a single multiplication.
+    */
+   private final RigidBodyTransform transformToFixedChainAnchor;
+   /** Value of the root's {@link #fixedChainsVersion} when the collapsed transform was computed. */
+   private long fixedChainVersion;
+   /**
+    * Counter for the root frame only, incremented every time the transform to parent of a frame fixed
+    * in parent is updated to invalidate the collapsed transforms of the tree. It is incremented
+    * atomically as frames of different subtrees may be updated concurrently, see
+    * {@link ParallelReferenceFrameTreeUpdater}.
+    */
+   volatile long fixedChainsVersion = 0;
+   private static final AtomicLongFieldUpdater<ReferenceFrame> fixedChainsVersionUpdater = AtomicLongFieldUpdater.newUpdater(ReferenceFrame.class,
+                                                                                                                            "fixedChainsVersion");
 
    /**
     * List of active listeners currently attached to this frame. Only instantiated when adding the
@@ -348,8 +408,9 @@ public abstract class ReferenceFrame
     * @param isZupFrame         refers to whether this new frame has its z-axis aligned with the root
     *                           frame at all time or not.
     * @param isFixedInParent    refers to whether this new frame should be considered as rigidly
-    *                           attached to its parent, its pose is constant. This class does not use
-    *                           this flag internally, it can be later accessed via
+    *                           attached to its parent, its pose is constant. Chains of frames fixed
+    *                           in their parent are collapsed to reduce the cost of computing their
+    *                           transform to root, it can be later accessed via
     *                           {@link #isFixedInParent()}.
     * @throws IllegalArgumentException if {@code isAStationaryFrame} is {@code true} and the
     *                                  {@code parentFrame} is not a stationary frame.
@@ -382,6 +443,9 @@ public abstract class ReferenceFrame
          this.isAStationaryFrame = true;
          this.isZupFrame = true;
          this.isFixedInParent = true;
+
+         fixedChainAnchor = null;
+         transformToFixedChainAnchor = null;
       }
       else
       {
@@ -413,6 +477,22 @@ public abstract class ReferenceFrame
          this.isZupFrame = isZupFrame;
          this.isFixedInParent = isFixedInParent;
 
+         if (isFixedInParent && parentFrame.isFixedInParent && parentFrame.parentFrame != null)
+         {
+            fixedChainAnchor = parentFrame.fixedChainAnchor != null ? parentFrame.fixedChainAnchor : parentFrame.parentFrame;
+            transformToFixedChainAnchor = new RigidBodyTransform();
+            computeTransformToFixedChainAnchor();
+         }
+         else
+         {
+            fixedChainAnchor = null;
+            transformToFixedChainAnchor = null;
+         }
+
+         ReferenceFrameRegistry registry = framesStartingWithRootEndingWithThis[0].frameRegistry;
+         if (registry != null)
+            registry.register(this);
+
          notifyListeners(ChangeType.FRAME_ADDED, this, parentFrame);
       }
    }
@@ -506,8 +586,41 @@ public abstract class ReferenceFrame
          return;
       }
 
-      updateTransformToParent(transformToParent);
-      transformToRootID = Long.MIN_VALUE;
+      TreeSequence treeSequence = framesStartingWithRootEndingWithThis[0].treeSequence;
+
+      if (treeSequence == null)
+      {
+         updateTransformToParent(transformToParent);
+         transformToParentVersion++;
+         transformToRootID = Long.MIN_VALUE;
+         if (isFixedInParent)
+            fixedChainsVersionUpdater.incrementAndGet(framesStartingWithRootEndingWithThis[0]);
+         return;
+      }
+
+      /*
+       * The new transform is computed before starting the write as the implementation of
+       * updateTransformToParent may query transforms of the same tree. Only copying it is a write.
+       */
+      if (transformToParentBuffer == null)
+         transformToParentBuffer = new RigidBodyTransform();
+      transformToParentBuffer.set(transformToParent);
+      updateTransformToParent(transformToParentBuffer);
+
+      treeSequence.beginWrite();
+
+      try
+      {
+         transformToParent.set(transformToParentBuffer);
+         transformToParentVersion++;
+         transformToRootID = Long.MIN_VALUE;
+         if (isFixedInParent)
+            fixedChainsVersionUpdater.incrementAndGet(framesStartingWithRootEndingWithThis[0]);
+      }
+      finally
+      {
+         treeSequence.endWrite();
+      }
    }
 
    /**
@@ -708,6 +821,14 @@ public abstract class ReferenceFrame
 
          verifySameRoots(desiredFrame);
 
+         TreeSequence treeSequence = framesStartingWithRootEndingWithThis[0].treeSequence;
+
+         if (treeSequence != null)
+         {
+            getTransformToDesiredFrameConcurrently(transformToPack, desiredFrame, treeSequence);
+            return;
+         }
+
          // The general approach is:
          // transformToPack = (desiredFrame.transformToRoot)^-1 * this.transformToRoot
          // As this requires a transform multiplication, we first check for simpler cases:
@@ -761,8 +882,7 @@ public abstract class ReferenceFrame
          }
          else
          { // This is the general scenario:
-            transformToPack.setAndInvert(desiredFrame.getTransformToRoot());
-            transformToPack.multiply(getTransformToRoot());
+            computeTransformToDesiredFrame(transformToPack, desiredFrame);
          }
       }
       catch (NotARotationMatrixException e)
@@ -772,6 +892,205 @@ public abstract class ReferenceFrame
       }
    }
 
+   /**
+    * Computes the transform from this frame to {@code desiredFrame} for the general case where the
+    * two frames are not directly related.
+    * <p>
+    * The path is selected with {@link #selectCommonAncestorIndex(ReferenceFrame)}.
+    * </p>
+    */
+   private void computeTransformToDesiredFrame(RigidBodyTransformBasics transformToPack, ReferenceFrame desiredFrame)
+   {
+      int ancestorIndex = selectCommonAncestorIndex(desiredFrame);
+
+      if (ancestorIndex < 0)
+      {
+         transformToPack.setAndInvert(desiredFrame.getTransformToRoot());
+         transformToPack.multiply(getTransformToRoot());
+         return;
+      }
+
+      composeTransformsToParent(transformToPack, desiredFrame, ancestorIndex);
+   }
+
+   /**
+    * Composes the transforms to parent of the frames between this frame, {@code desiredFrame} and
+    * their common ancestor, without using nor updating the transforms to root.
+    *
+    * @param ancestorIndex the index of the common ancestor in the paths from the root of both frames.
+    */
+   private void composeTransformsToParent(RigidBodyTransformBasics transformToPack, ReferenceFrame desiredFrame, int ancestorIndex)
+   {
+      ReferenceFrame[] thisPath = framesStartingWithRootEndingWithThis;
+      ReferenceFrame[] desiredPath = desiredFrame.framesStartingWithRootEndingWithThis;
+
+      // transformToPack = (desiredFrame -> ancestor)^-1 * (this -> ancestor)
+      transformToPack.setToZero();
+
+      for (int i = ancestorIndex + 1; i < thisPath.length; i++)
+         transformToPack.multiply(thisPath[i].transformToParent);
+      for (int i = ancestorIndex + 1; i < desiredPath.length; i++)
+         transformToPack.preMultiplyInvertOther(desiredPath[i].transformToParent);
+   }
+
+   /**
+    * Gets the index in {@link #framesStartingWithRootEndingWithThis} of the lowest common ancestor of
+    * this frame and {@code desiredFrame}.
+    */
+   private int lowestCommonAncestorIndex(ReferenceFrame desiredFrame)
+   {
+      ReferenceFrame[] thisPath = framesStartingWithRootEndingWithThis;
+      ReferenceFrame[] desiredPath = desiredFrame.framesStartingWithRootEndingWithThis;
+
+      // The root frame being at least in common.
+      int ancestorIndex = 0;
+      int maxAncestorIndex = Math.min(thisPath.length, desiredPath.length) - 1;
+
+      while (ancestorIndex < maxAncestorIndex && thisPath[ancestorIndex + 1] == desiredPath[ancestorIndex + 1])
+         ancestorIndex++;
+
+      return ancestorIndex;
+   }
+
+   /**
+    * Selects the path used to transform from this frame to {@code desiredFrame} when the two frames
+    * are not directly related.
+    * <p>
+    * Two paths are possible:
+    * <ul>
+    * <li>through the root frame: {@code (desiredFrame.transformToRoot)^-1 * this.transformToRoot}.
+    * This requires a single multiplication when both transforms to root are up-to-date, but
+    * otherwise the stale part of both paths from the root has to be recomputed first.
+    * <li>through the lowest common ancestor of the two frames: only the transforms to parent of the
+    * frames between each frame and the common ancestor are involved. This is preferable when the
+    * frames share a deep ancestor, as the transforms between the root and the ancestor are not
+    * involved, which also improves the accuracy of the result.
+    * </ul>
+    * The path requiring the fewest multiplications is used, the common ancestor path being preferred
+    * in case of equality.
+    * </p>
+    *
+    * @param desiredFrame the frame to transform to.
+    * @return the index in {@link #framesStartingWithRootEndingWithThis} of the lowest common
+    *         ancestor, or {@code -1} if the path through the root frame should be used.
+    */
+   private int selectCommonAncestorIndex(ReferenceFrame desiredFrame)
+   {
+      ReferenceFrame[] thisPath = framesStartingWithRootEndingWithThis;
+      ReferenceFrame[] desiredPath = desiredFrame.framesStartingWithRootEndingWithThis;
+      int ancestorIndex = lowestCommonAncestorIndex(desiredFrame);
+
+      int ancestorPathCost = thisPath.length + desiredPath.length - 2 * (ancestorIndex + 1);
+      int rootPathCost = 1;
+      if (isTreeUpdateAllowed())
+         rootPathCost += countStaleTransformsToRoot(thisPath) + countStaleTransformsToRoot(desiredPath);
+
+      return ancestorPathCost > rootPathCost ? -1 : ancestorIndex;
+   }
+
+   /**
+    * Counts the number of transforms to root that would have to be recomputed along the given path.
+    */
+   private static int countStaleTransformsToRoot(ReferenceFrame[] path)
+   {
+      ReferenceFrame rootFrame = path[0];
+      int count = 0;
+      boolean isParentUpToDate = true;
+      long parentUpdateId = 0;
+      boolean isAnchorUpToDate = true;
+      long anchorUpdateId = 0;
+
+      for (int i = 1; i < path.length; i++)
+      {
+         ReferenceFrame referenceFrame = path[i];
+         boolean isUpToDate = referenceFrame.isTransformToRootUpToDate(rootFrame, isParentUpToDate, parentUpdateId, isAnchorUpToDate, anchorUpdateId);
+
+         if (!isUpToDate && !isIntermediateFixedFrame(path, i))
+            count++;
+
+         isParentUpToDate = isUpToDate;
+         parentUpdateId = referenceFrame.transformToRootID;
+
+         if (!referenceFrame.isFixedInParent)
+         {
+            isAnchorUpToDate = isUpToDate;
+            anchorUpdateId = parentUpdateId;
+         }
+      }
+
+      return count;
+   }
+
+   /**
+    * Tests whether the transform to root of this frame is up-to-date given the state of its parent and
+    * of the last frame before it in the path that is not fixed in its parent.
+    * <p>
+    * The transform to root of a frame at the end of a fixed chain only depends on the transform to
+    * root of its {@link #fixedChainAnchor}, such that it does not matter whether the intermediate frames
+    * of the chain are up-to-date.
+    * </p>
+    */
+   private boolean isTransformToRootUpToDate(ReferenceFrame rootFrame,
+                                             boolean isParentUpToDate,
+                                             long parentUpdateId,
+                                             boolean isAnchorUpToDate,
+                                             long anchorUpdateId)
+   {
+      if (fixedChainAnchor != null)
+         return isAnchorUpToDate && fixedChainVersion == rootFrame.fixedChainsVersion && transformToRootID >= anchorUpdateId;
+      else
+         return isParentUpToDate && transformToRootID >= parentUpdateId;
+   }
+
+   /**
+    * Whether the transform to root of the {@code index}<sup>th</sup> frame of the path does not have to
+    * be computed as the next frame is at the end of a fixed chain and is computed from the chain
+    * anchor.
+    */
+   private static boolean isIntermediateFixedFrame(ReferenceFrame[] path, int index)
+   {
+      return index < path.length - 1 && path[index + 1].fixedChainAnchor != null;
+   }
+
+   private void getTransformToDesiredFrameConcurrently(RigidBodyTransformBasics transformToPack, ReferenceFrame desiredFrame, TreeSequence treeSequence)
+   {
+      while (true)
+      {
+         // Optimistic read: nothing is locked, the result is only kept if no write happened meanwhile.
+         long stamp = treeSequence.tryOptimisticRead();
+
+         if (stamp != TreeSequence.WRITING)
+         {
+            if (isTransformToRootUpToDate() && desiredFrame.isTransformToRootUpToDate())
+               packTransformFromRoots(transformToPack, desiredFrame);
+            else // Only the writer updates the transforms to root, the reader composes its own result instead.
+               composeTransformsToParent(transformToPack, desiredFrame, lowestCommonAncestorIndex(desiredFrame));
+
+            if (treeSequence.validate(stamp))
+               return;
+         }
+
+         Thread.onSpinWait();
+      }
+   }
+
+   private void packTransformFromRoots(RigidBodyTransformBasics transformToPack, ReferenceFrame desiredFrame)
+   {
+      if (isRootFrame())
+      {
+         transformToPack.setAndInvert(desiredFrame.transformToRoot);
+      }
+      else if (desiredFrame.isRootFrame())
+      {
+         transformToPack.set(transformToRoot);
+      }
+      else
+      {
+         transformToPack.setAndInvert(desiredFrame.transformToRoot);
+         transformToPack.multiply(transformToRoot);
+      }
+   }
+
    /**
     * Test whether the given frame is the parent of this frame.
     *
@@ -837,6 +1156,14 @@ public abstract class ReferenceFrame
 
       verifySameRoots(desiredFrame);
 
+      TreeSequence treeSequence = framesStartingWithRootEndingWithThis[0].treeSequence;
+
+      if (treeSequence != null)
+      {
+         transformFromThisToDesiredFrameConcurrently(desiredFrame, objectToTransform, treeSequence);
+         return;
+      }
+
       // The general approach is:
       // objectToTransform = (desired.transformToRoot)^-1 * this.transformToRoot * objectToTransform
       // Or code-wise:
@@ -894,17 +1221,46 @@ public abstract class ReferenceFrame
       }
       else
       { // This is the general scenario:
-         objectToTransform.applyTransform(getTransformToRoot());
-         objectToTransform.applyInverseTransform(desiredFrame.getTransformToRoot());
+         int ancestorIndex = selectCommonAncestorIndex(desiredFrame);
+
+         if (ancestorIndex < 0)
+         {
+            objectToTransform.applyTransform(getTransformToRoot());
+            objectToTransform.applyInverseTransform(desiredFrame.getTransformToRoot());
+         }
+         else
+         {
+            ReferenceFrame[] thisPath = framesStartingWithRootEndingWithThis;
+            ReferenceFrame[] desiredPath = desiredFrame.framesStartingWithRootEndingWithThis;
+
+            for (int i = thisPath.length - 1; i > ancestorIndex; i--)
+               objectToTransform.applyTransform(thisPath[i].transformToParent);
+            for (int i = ancestorIndex + 1; i < desiredPath.length; i++)
+               objectToTransform.applyInverseTransform(desiredPath[i].transformToParent);
+         }
       }
    }
 
+   private void transformFromThisToDesiredFrameConcurrently(ReferenceFrame desiredFrame, Transformable objectToTransform, TreeSequence treeSequence)
+   {
+      // The transform is composed first into a buffer of this thread using the same optimistic read as
+      // the other queries, and the object is only transformed once the result is known to be consistent.
+      RigidBodyTransform transform = concurrentTransformBuffer.get();
+      getTransformToDesiredFrameConcurrently(transform, desiredFrame, treeSequence);
+      objectToTransform.applyTransform(transform);
+   }
+
    /**
     * Returns the internal reference to this frame's transform to the root frame.
     * <p>
     * The transform can be used to transform a geometry object defined in this frame to obtain its
     * equivalent expressed in the root frame.
     * </p>
+    * <p>
+    * When concurrent access is enabled, this method updates the transforms to root of the tree and
+    * should only be called by the thread updating the tree, the other threads should use
+    * {@link #getTransformToRoot(RigidBodyTransformBasics)} instead.
+    * </p>
     *
     * @return the internal reference to the transform from this frame to the root frame.
     */
@@ -914,82 +1270,324 @@ public abstract class ReferenceFrame
       return transformToRoot;
    }
 
-   private void efficientComputeTransform()
+   /**
+    * Packs this frame's transform to the root frame.
+    * <p>
+    * The transform can be used to transform a geometry object defined in this frame to obtain its
+    * equivalent expressed in the root frame.
+    * </p>
+    * <p>
+    * When concurrent access is enabled, the packed transform is guaranteed to be consistent with the
+    * transforms to parent of the frames from the root to this frame, even when these are being updated
+    * by another thread.
+    * </p>
+    *
+    * @param transformToPack the transform in which this frame's transform to the root frame is stored.
+    *                        Modified.
+    * @see #setConcurrentAccessEnabled(boolean)
+    */
+   public void getTransformToRoot(RigidBodyTransformBasics transformToPack)
    {
-      Predicate<ReferenceFrame> treeUpdateCondition = framesStartingWithRootEndingWithThis[0].treeUpdateCondition;
+      checkIfRemoved();
+
+      if (parentFrame == null)
+      {
+         transformToPack.setToZero();
+         return;
+      }
+
+      ReferenceFrame rootFrame = framesStartingWithRootEndingWithThis[0];
+      TreeSequence treeSequence = rootFrame.treeSequence;
+
+      if (treeSequence == null)
+      {
+         transformToPack.set(getTransformToRoot());
+         return;
+      }
+
+      while (true)
+      {
+         // Optimistic read: nothing is locked, the result is only kept if no write happened meanwhile.
+         long stamp = treeSequence.tryOptimisticRead();
+
+         if (stamp != TreeSequence.WRITING)
+         {
+            if (isTransformToRootUpToDate())
+               transformToPack.set(transformToRoot);
+            else // Only the writer updates the transforms to root, the reader composes its own result instead.
+               composeTransformsToParent(transformToPack, rootFrame, 0);
 
-      if (treeUpdateCondition != null && !treeUpdateCondition.test(this))
+            if (treeSequence.validate(stamp))
+               return;
+         }
+
+         Thread.onSpinWait();
+      }
+   }
+
+   private void efficientComputeTransform()
+   {
+      if (!isTreeUpdateAllowed())
          return;
 
       checkIfRemoved();
 
-      int chainLength = framesStartingWithRootEndingWithThis.length;
+      TreeSequence treeSequence = framesStartingWithRootEndingWithThis[0].treeSequence;
+
+      if (treeSequence == null)
+      {
+         computeTransformToRoot();
+         return;
+      }
 
-      boolean updateFromHereOnOut = false;
-      long previousUpdateId = 0;
+      // Only the thread updating the tree gets here, it does not have to validate its own reads.
+      if (isTransformToRootUpToDate())
+         return;
 
-      for (int i = 0; i < chainLength; i++)
+      treeSequence.beginWrite();
+
+      try
+      {
+         computeTransformToRoot();
+      }
+      finally
       {
-         ReferenceFrame referenceFrame = framesStartingWithRootEndingWithThis[i];
+         treeSequence.endWrite();
+      }
+   }
 
-         if (!updateFromHereOnOut)
+   private boolean isTreeUpdateAllowed()
+   {
+      Predicate<ReferenceFrame> treeUpdateCondition = framesStartingWithRootEndingWithThis[0].treeUpdateCondition;
+      return treeUpdateCondition == null || treeUpdateCondition.test(this);
+   }
+
+   private boolean isTransformToRootUpToDate()
+   {
+      return countStaleTransformsToRoot(framesStartingWithRootEndingWithThis) == 0;
+   }
+
+   private void computeTransformToRoot()
+   {
+      ReferenceFrame[] path = framesStartingWithRootEndingWithThis;
+      ReferenceFrame rootFrame = path[0];
+
+      boolean isParentUpToDate = true;
+      long parentUpdateId = 0;
+      // State of the last frame that is not fixed in its parent, i.e. the anchor of the next fixed chain.
+      boolean isAnchorUpToDate = true;
+      long anchorUpdateId = 0;
+      long updateID = 0;
+
+      for (int i = 1; i < path.length; i++)
+      {
+         ReferenceFrame referenceFrame = path[i];
+         boolean isUpToDate = referenceFrame.isTransformToRootUpToDate(rootFrame, isParentUpToDate, parentUpdateId, isAnchorUpToDate, anchorUpdateId);
+
+         if (!isUpToDate && !isIntermediateFixedFrame(path, i))
          {
-            if (referenceFrame.transformToRootID < previousUpdateId)
-            {
-               updateFromHereOnOut = true;
-               nextTransformToRootID++;
+            if (updateID == 0)
+               updateID = ++rootFrame.nextTransformToRootID;
+
+            if (!referenceFrame.updateTransformToRoot(rootFrame, updateID))
+            { // We have concurrent access of the transform to root, let's abort the update.
+               return;
             }
+
+            isUpToDate = true;
          }
 
-         if (updateFromHereOnOut)
+         isParentUpToDate = isUpToDate;
+         parentUpdateId = referenceFrame.transformToRootID;
+
+         if (!referenceFrame.isFixedInParent)
          {
-            if (referenceFrame.parentFrame != null)
+            isAnchorUpToDate = isUpToDate;
+            anchorUpdateId = parentUpdateId;
+         }
+      }
+   }
+
+   /**
+    * Computes the transform to root of this frame from the transform to root of its parent, or of its
+    * {@link #fixedChainAnchor} if it is at the end of a fixed chain, assuming it is up-to-date.
+    *
+    * @return {@code false} if the update was aborted because of concurrent access.
+    */
+   private boolean updateTransformToRoot(ReferenceFrame rootFrame, long updateID)
+   {
+      if (accessingTransformToRoot)
+         return false;
+
+      try
+      {
+         accessingTransformToRoot = true;
+
+         ReferenceFrame previousFrame;
+         RigidBodyTransform transformToPreviousFrame;
+
+         if (fixedChainAnchor != null)
+         {
+            if (fixedChainVersion != rootFrame.fixedChainsVersion)
+               computeTransformToFixedChainAnchor();
+
+            previousFrame = fixedChainAnchor;
+            transformToPreviousFrame = transformToFixedChainAnchor;
+         }
+         else
+         {
+            previousFrame = parentFrame;
+            transformToPreviousFrame = transformToParent;
+         }
+
+         RigidBodyTransform previousTransformToRoot = previousFrame.transformToRoot;
+
+         if (previousTransformToRoot != null)
+         {
+            if (previousFrame.accessingTransformToRoot)
+               return false;
+
+            previousFrame.accessingTransformToRoot = true;
+            try
+            {
+               transformToRoot.set(previousTransformToRoot);
+            }
+            finally
             {
-               if (referenceFrame.accessingTransformToRoot)
-               { // We have concurrent access of the transform to root, let's abort the update.
-                  return;
-               }
-
-               try
-               {
-                  referenceFrame.accessingTransformToRoot = true;
-
-                  RigidBodyTransform parentsTransformToRoot = referenceFrame.parentFrame.transformToRoot;
-
-                  if (parentsTransformToRoot != null)
-                  {
-                     if (referenceFrame.parentFrame.accessingTransformToRoot)
-                     { // We have concurrent access of the transform to root, let's abort the update.
-                        return;
-                     }
-
-                     referenceFrame.parentFrame.accessingTransformToRoot = true;
-                     try
-                     {
-                        referenceFrame.transformToRoot.set(parentsTransformToRoot);
-                     }
-                     finally
-                     {
-                        referenceFrame.parentFrame.accessingTransformToRoot = false;
-                     }
-                     referenceFrame.transformToRoot.multiply(referenceFrame.transformToParent);
-                     referenceFrame.transformToRoot.normalizeRotationPart();
-                  }
-                  else
-                  {
-                     referenceFrame.transformToRoot.set(referenceFrame.transformToParent);
-                  }
-
-                  referenceFrame.transformToRootID = nextTransformToRootID;
-               }
-               finally
-               {
-                  referenceFrame.accessingTransformToRoot = false;
-               }
+               previousFrame.accessingTransformToRoot = false;
             }
+            transformToRoot.multiply(transformToPreviousFrame);
+            transformToRoot.normalizeRotationPart();
+         }
+         else
+         {
+            transformToRoot.set(transformToPreviousFrame);
+         }
+
+         transformToRootID = updateID;
+         return true;
+      }
+      finally
+      {
+         accessingTransformToRoot = false;
+      }
+   }
+
+   private void computeTransformToFixedChainAnchor()
+   {
+      ReferenceFrame[] path = framesStartingWithRootEndingWithThis;
+      int anchorIndex = fixedChainAnchor.framesStartingWithRootEndingWithThis.length - 1;
+
+      transformToFixedChainAnchor.set(path[anchorIndex + 1].transformToParent);
+
+      for (int i = anchorIndex + 2; i < path.length; i++)
+         transformToFixedChainAnchor.multiply(path[i].transformToParent);
+
+      transformToFixedChainAnchor.normalizeRotationPart();
+      fixedChainVersion = path[0].fixedChainsVersion;
+   }
+
+   /**
+    * Computes in a single pass the transforms to root of the given frames.
+    * <p>
+    * The frames have to be sorted such that each frame comes after its parent. The first frame is the
+    * only one which parent is not in the array, its index in {@code parentIndices} is ignored.
+    * </p>
+    *
+    * @param frames         the frames to compute the transform to root of. Not modified.
+    * @param parentIndices  the index of the parent of each frame in {@code frames}. Not modified.
+    * @param numberOfFrames the number of frames to process.
+    * @see ReferenceFrameTreeUpdater
+    */
+   static void computeTransformsToRoot(ReferenceFrame[] frames, int[] parentIndices, int numberOfFrames)
+   {
+      ReferenceFrame firstFrame = frames[0];
+      ReferenceFrame rootFrame = firstFrame.framesStartingWithRootEndingWithThis[0];
+      TreeSequence treeSequence = rootFrame.treeSequence;
+      if (treeSequence != null)
+         treeSequence.beginWrite();
+
+      try
+      {
+         if (firstFrame.parentFrame != null)
+            firstFrame.parentFrame.computeTransformToRoot();
+
+         computeTransformsToRoot(frames, parentIndices, numberOfFrames, ++rootFrame.nextTransformToRootID);
+      }
+      finally
+      {
+         if (treeSequence != null)
+            treeSequence.endWrite();
+      }
+   }
+
+   /**
+    * Runs a batched computation of transforms to root as a single write of the tree of the given
+    * frame, such that the readers discard their results when concurrent access is enabled.
+    * <p>
+    * The computation is given a new update ID with which the computed transforms have to be stamped.
+    * The computation may be distributed over several threads as long as they all complete before it
+    * returns.
+    * </p>
+    *
+    * @param frame  any frame of the tree to update.
+    * @param update the computation to run.
+    */
+   static void runTransformsToRootUpdate(ReferenceFrame frame, LongConsumer update)
+   {
+      ReferenceFrame rootFrame = frame.framesStartingWithRootEndingWithThis[0];
+      TreeSequence treeSequence = rootFrame.treeSequence;
+      if (treeSequence != null)
+         treeSequence.beginWrite();
+
+      try
+      {
+         update.accept(++rootFrame.nextTransformToRootID);
+      }
+      finally
+      {
+         if (treeSequence != null)
+            treeSequence.endWrite();
+      }
+   }
+
+   /**
+    * Computes the transforms to root of the given frames assuming that the transform to root of the
+    * parent of the first frame is up-to-date.
+    * <p>
+    * This method does not synchronize, it should only be called from a computation run with
+    * {@link #runTransformsToRootUpdate(ReferenceFrame, LongConsumer)}.
+    * </p>
+    *
+    * @param frames         the frames to compute the transform to root of, sorted such that each frame
+    *                       comes after its parent. Not modified.
+    * @param parentIndices  the index of the parent of each frame in {@code frames}. Not modified.
+    * @param numberOfFrames the number of frames to process.
+    * @param updateID       the ID to stamp the computed transforms with.
+    */
+   static void computeTransformsToRoot(ReferenceFrame[] frames, int[] parentIndices, int numberOfFrames, long updateID)
+   {
+      for (int i = 0; i < numberOfFrames; i++)
+      {
+         ReferenceFrame referenceFrame = frames[i];
+
+         if (referenceFrame.parentFrame == null)
+            continue;
+
+         ReferenceFrame parentFrame = i == 0 ? referenceFrame.parentFrame : frames[parentIndices[i]];
+
+         if (parentFrame.transformToRoot != null)
+         {
+            referenceFrame.transformToRoot.set(parentFrame.transformToRoot);
+            referenceFrame.transformToRoot.multiply(referenceFrame.transformToParent);
+            referenceFrame.transformToRoot.normalizeRotationPart();
+         }
+         else
+         {
+            referenceFrame.transformToRoot.set(referenceFrame.transformToParent);
          }
 
-         previousUpdateId = referenceFrame.transformToRootID;
+         referenceFrame.transformToRootID = updateID;
       }
    }
 
@@ -1157,6 +1755,11 @@ public abstract class ReferenceFrame
       this.additionalNameBasedHashCode = additionalNameBasedHashCode;
    }
 
+   boolean isRemoved()
+   {
+      return hasBeenRemoved;
+   }
+
    protected void checkIfRemoved()
    {
       if (hasBeenRemoved)
@@ -1232,11 +1835,37 @@ public abstract class ReferenceFrame
 
    private void disableRecursivly()
    {
+      ReferenceFrameRegistry registry = framesStartingWithRootEndingWithThis[0].frameRegistry;
+      if (registry != null)
+         registry.unregister(this);
+
       hasBeenRemoved = true;
       children.stream().map(WeakReference::get).filter(child -> child != null).forEach(child -> child.disableRecursivly());
       changedListeners = null;
    }
 
+   /**
+    * Gets the registry indexing all the frames of the tree this frame belongs to.
+    * <p>
+    * The registry is created the first time it is requested, which requires a traversal of the tree,
+    * and is then maintained as frames are created, removed, or garbage collected. It allows to look up
+    * frames by name, name-based identifier, or frame index, and to test whether a frame belongs to the
+    * tree, without traversing the tree.
+    * </p>
+    *
+    * @return the registry of the tree.
+    */
+   public ReferenceFrameRegistry getFrameRegistry()
+   {
+      checkIfRemoved();
+      ReferenceFrame rootFrame = framesStartingWithRootEndingWithThis[0];
+
+      if (rootFrame.frameRegistry == null)
+         rootFrame.frameRegistry = new ReferenceFrameRegistry(rootFrame);
+
+      return rootFrame.frameRegistry;
+   }
+
    /**
     * Gets the number of children attached to this frame.
     *
@@ -1303,6 +1932,67 @@ public abstract class ReferenceFrame
       getRootFrame().treeUpdateCondition = treeUpdateCondition;
    }
 
+   /**
+    * Enables or disables the concurrent access mode for the tree this reference frame belongs to.
+    * <p>
+    * When enabled, the transforms of the tree can be updated by one thread while being queried by
+    * other threads. Nothing is locked and the writer never waits for the readers:
+    * <ul>
+    * <li>every write of the tree, i.e. the copy of the new transform to parent in {@link #update()} or
+    * the computation of transforms to root, is counted by the tree before and after it happens. The new
+    * transform to parent is computed before the write starts.
+    * <li>{@link #getTransformToRoot(RigidBodyTransformBasics)} and
+    * {@link #getTransformToDesiredFrame(RigidBodyTransformBasics, ReferenceFrame)} use optimistic
+    * reads: the result is computed into the given transform and only kept if no write was in progress
+    * or started meanwhile, the read being repeated otherwise. The transforms to root are used when
+    * up-to-date, otherwise the result is composed from the transforms to parent. The readers never
+    * modify the frames, only the thread updating the tree updates the transforms to root.
+    * <li>{@link #transformFromThisToDesiredFrame(ReferenceFrame, Transformable)} performs the same
+    * optimistic read into a transform local to the calling thread and then transforms the object.
+    * </ul>
+    * In this mode, {@link #getTransformToDesiredFrame(RigidBodyTransformBasics, ReferenceFrame)} does
+    * not use the shortcuts for parent, child, and sibling frames and does not compare the cost of the
+    * possible paths: it goes through the root frame when the transforms to root are up-to-date and
+    * through the lowest common ancestor of the two frames otherwise.
+    * </p>
+    * <p>
+    * Each query is consistent with the transforms to parent at a single point in time. However, when a
+    * tick updates several frames with successive calls to {@link #update()}, a reader may see some of
+    * these frames from the new tick and the others from the previous tick.
+    * </p>
+    * <p>
+    * The internal reference returned by {@link #getTransformToRoot()} is not protected and this method
+    * updates the transforms to root, it should only be used by the thread updating the tree.
+    * </p>
+    * <p>
+    * The mode should be set before sharing the tree between threads.
+    * </p>
+    *
+    * @param enable whether the frames of the tree can be accessed concurrently.
+    */
+   public void setConcurrentAccessEnabled(boolean enable)
+   {
+      checkIfRemoved();
+      ReferenceFrame rootFrame = getRootFrame();
+
+      if (!enable)
+         rootFrame.treeSequence = null;
+      else if (rootFrame.treeSequence == null)
+         rootFrame.treeSequence = new TreeSequence();
+   }
+
+   /**
+    * Whether the concurrent access mode is enabled for the tree this reference frame belongs to.
+    *
+    * @return {@code true} if the frames of the tree can be accessed concurrently.
+    * @see #setConcurrentAccessEnabled(boolean)
+    */
+   public boolean isConcurrentAccessEnabled()
+   {
+      checkIfRemoved();
+      return framesStartingWithRootEndingWithThis[0].treeSequence != null;
+   }
+
    /**
     * Adds a listener to this reference frame.
     *
@@ -1354,6 +2044,49 @@ public abstract class ReferenceFrame
          parentFrame.notifyListeners(type, target, targetParent);
    }
 
+   /**
+    * Sequence of the writes of a tree when concurrent access is enabled.
+    * <p>
+    * The writers never wait: they only count the writes they start and complete, several writers may
+    * write different frames at the same time. A read is only valid if no write was in progress when it
+    * started and no write started before it ended.
+    * </p>
+    */
+   private static final class TreeSequence
+   {
+      /** Stamp returned by {@link #tryOptimisticRead()} while a write is in progress. */
+      private static final long WRITING = -1L;
+
+      private final AtomicLong startedWrites = new AtomicLong(0);
+      private final AtomicLong completedWrites = new AtomicLong(0);
+
+      private void beginWrite()
+      {
+         // The atomic update also prevents the following writes from being reordered before it.
+         startedWrites.getAndIncrement();
+      }
+
+      private void endWrite()
+      {
+         completedWrites.getAndIncrement();
+      }
+
+      private long tryOptimisticRead()
+      {
+         // The completed writes are read first such that equal counts imply that no write is in progress.
+         long completed = completedWrites.get();
+         long started = startedWrites.get();
+         return started == completed ? started : WRITING;
+      }
+
+      private boolean validate(long stamp)
+      {
+         // Prevents the reads of the tree from being reordered after the following read.
+         VarHandle.acquireFence();
+         return startedWrites.get() == stamp;
+      }
+   }
+
    private enum ChangeType
    {
       FRAME_ADDED, FRAME_REMOVED, FRAME_GCED
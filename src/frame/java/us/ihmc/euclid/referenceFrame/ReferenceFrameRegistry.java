@@ -0,0 +1,270 @@
+package us.ihmc.euclid.referenceFrame;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ReferenceFrameRegistry} indexes all the frames of a reference frame tree by name,
+ * {@link ReferenceFrame#getNameId() nameId} and {@link ReferenceFrame#getFrameIndex() frameIndex}.
+ * <p>
+ * The registry of a tree is obtained with {@link ReferenceFrame#getFrameRegistry()}. It is created
+ * the first time it is requested and is then maintained incrementally: frames are registered when
+ * created, and unregistered when removed from the tree with {@link ReferenceFrame#remove()} or
+ * {@link ReferenceFrame#clearChildren()}. The registry only holds weak references to the frames such
+ * that it does not prevent them from being garbage collected, the entries of collected frames are
+ * purged at the next access to the registry.
+ * </p>
+ * <p>
+ * As for the frame tree itself, the registry is not thread-safe.
+ * </p>
+ */
+public class ReferenceFrameRegistry
+{
+   private final ReferenceFrame rootFrame;
+   private final Map<String, List<FrameReference>> framesByName = new HashMap<>();
+   private final Map<String, List<FrameReference>> framesByNameId = new HashMap<>();
+   private final Map<Long, FrameReference> framesByFrameIndex = new HashMap<>();
+   private final ReferenceQueue<ReferenceFrame> collectedFrames = new ReferenceQueue<>();
+
+   /**
+    * Creates a registry for the tree of the given root frame, registering all the frames currently in
+    * the tree.
+    */
+   ReferenceFrameRegistry(ReferenceFrame rootFrame)
+   {
+      this.rootFrame = rootFrame;
+      registerSubtree(rootFrame);
+   }
+
+   private void registerSubtree(ReferenceFrame frame)
+   {
+      register(frame);
+
+      for (int i = 0; i < frame.getNumberOfChildren(); i++)
+      {
+         ReferenceFrame child = frame.getChild(i);
+
+         if (child != null)
+            registerSubtree(child);
+      }
+   }
+
+   void register(ReferenceFrame frame)
+   {
+      purgeCollectedFrames();
+
+      FrameReference reference = new FrameReference(frame, collectedFrames);
+      framesByName.computeIfAbsent(reference.name, key -> new ArrayList<>(1)).add(reference);
+      framesByNameId.computeIfAbsent(reference.nameId, key -> new ArrayList<>(1)).add(reference);
+      framesByFrameIndex.put(reference.frameIndex, reference);
+   }
+
+   void unregister(ReferenceFrame frame)
+   {
+      FrameReference reference = framesByFrameIndex.get(frame.getFrameIndex());
+
+      if (reference != null && reference.get() == frame)
+         unregister(reference);
+   }
+
+   private void unregister(FrameReference reference)
+   {
+      framesByFrameIndex.remove(reference.frameIndex, reference);
+      removeFromBucket(framesByName, reference.name, reference);
+      removeFromBucket(framesByNameId, reference.nameId, reference);
+   }
+
+   private static void removeFromBucket(Map<String, List<FrameReference>> map, String key, FrameReference reference)
+   {
+      List<FrameReference> bucket = map.get(key);
+
+      if (bucket == null)
+         return;
+
+      for (int i = 0; i < bucket.size(); i++)
+      {
+         if (bucket.get(i) == reference)
+         {
+            bucket.remove(i);
+            break;
+         }
+      }
+
+      if (bucket.isEmpty())
+         map.remove(key);
+   }
+
+   private void purgeCollectedFrames()
+   {
+      FrameReference reference;
+
+      while ((reference = (FrameReference) collectedFrames.poll()) != null)
+         unregister(reference);
+   }
+
+   /**
+    * Gets the root frame of the tree indexed by this registry.
+    *
+    * @return the root frame.
+    */
+   public ReferenceFrame getRootFrame()
+   {
+      return rootFrame;
+   }
+
+   /**
+    * Gets the number of frames currently registered, including the root frame.
+    * <p>
+    * Frames that are no longer referenced may still be counted until they are garbage collected.
+    * </p>
+    *
+    * @return the number of frames in the tree.
+    */
+   public int getNumberOfFrames()
+   {
+      purgeCollectedFrames();
+      return framesByFrameIndex.size();
+   }
+
+   /**
+    * Finds a frame of the tree with the given name.
+    * <p>
+    * Frame names are not unique, when several frames have the given name, the first one registered is
+    * returned.
+    * </p>
+    *
+    * @param frameName the name of the frame to find.
+    * @return the frame, or {@code null} if no frame of the tree has this name.
+    */
+   public ReferenceFrame findFrameByName(String frameName)
+   {
+      purgeCollectedFrames();
+      return first(framesByName.get(frameName));
+   }
+
+   /**
+    * Finds all the frames of the tree with the given name.
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
+    *
+    * @param frameName the name of the frames to find.
+    * @return the list of frames with this name, empty if no frame of the tree has this name.
+    */
+   public List<ReferenceFrame> findFramesByName(String frameName)
+   {
+      purgeCollectedFrames();
+      List<ReferenceFrame> frames = new ArrayList<>();
+      List<FrameReference> bucket = framesByName.get(frameName);
+
+      if (bucket != null)
+      {
+         for (int i = 0; i < bucket.size(); i++)
+         {
+            ReferenceFrame frame = bucket.get(i).get();
+
+            if (frame != null)
+               frames.add(frame);
+         }
+      }
+
+      return frames;
+   }
+
+   /**
+    * Finds the frame of the tree with the given name-based identifier.
+    *
+    * @param nameId the identifier of the frame to find.
+    * @return the frame, or {@code null} if no frame of the tree has this identifier.
+    * @see ReferenceFrame#getNameId()
+    */
+   public ReferenceFrame findFrameByNameId(String nameId)
+   {
+      purgeCollectedFrames();
+      return first(framesByNameId.get(nameId));
+   }
+
+   /**
+    * Finds the frame of the tree with the given index.
+    *
+    * @param frameIndex the index of the frame to find.
+    * @return the frame, or {@code null} if no frame of the tree has this index.
+    * @see ReferenceFrame#getFrameIndex()
+    */
+   public ReferenceFrame findFrameByFrameIndex(long frameIndex)
+   {
+      purgeCollectedFrames();
+      FrameReference reference = framesByFrameIndex.get(frameIndex);
+      return reference == null ? null : reference.get();
+   }
+
+   /**
+    * Tests whether the given frame is part of the tree indexed by this registry.
+    *
+    * @param frame the query. Not modified.
+    * @return {@code true} if the frame belongs to the tree and has not been removed, {@code false}
+    *         otherwise.
+    */
+   public boolean contains(ReferenceFrame frame)
+   {
+      return !frame.isRemoved() && findFrameByFrameIndex(frame.getFrameIndex()) == frame;
+   }
+
+   /**
+    * Adds all the frames of the tree to the given collection, in no particular order.
+    *
+    * @param framesToPack the collection to which the frames are added. Modified.
+    */
+   public void getFrames(Collection<ReferenceFrame> framesToPack)
+   {
+      purgeCollectedFrames();
+
+      for (FrameReference reference : framesByFrameIndex.values())
+      {
+         ReferenceFrame frame = reference.get();
+
+         if (frame != null)
+            framesToPack.add(frame);
+      }
+   }
+
+   private static ReferenceFrame first(List<FrameReference> bucket)
+   {
+      if (bucket == null)
+         return null;
+
+      for (int i = 0; i < bucket.size(); i++)
+      {
+         ReferenceFrame frame = bucket.get(i).get();
+
+         if (frame != null)
+            return frame;
+      }
+
+      return null;
+   }
+
+   /**
+    * Weak reference to a frame that keeps the keys under which the frame was registered such that the
+    * entries can be removed once the frame has been garbage collected.
+    */
+   private static class FrameReference extends WeakReference<ReferenceFrame>
+   {
+      private final String name;
+      private final String nameId;
+      private final long frameIndex;
+
+      private FrameReference(ReferenceFrame frame, ReferenceQueue<ReferenceFrame> queue)
+      {
+         super(frame, queue);
+         name = frame.getName();
+         nameId = frame.getNameId();
+         frameIndex = frame.getFrameIndex();
+      }
+   }
+}
@@ -0,0 +1,245 @@
+package us.ihmc.euclid.referenceFrame;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+/**
+ * {@code ReferenceFrameTreeSnapshot} is a flat copy of the state of a reference frame tree at a
+ * given instant.
+ * <p>
+ * The frames are stored in breadth-first order, each frame being identified by its index. For each
+ * frame, the snapshot holds its name, the index of its parent, and its transform to the root frame
+ * packed in a primitive array. The snapshot does not reference any {@link ReferenceFrame} such that
+ * it can be queried from any thread without interfering with the live frame tree.
+ * </p>
+ * <p>
+ * Snapshots are published by a {@link ReferenceFrameTreeSnapshotPublisher}. A snapshot obtained via
+ * {@link ReferenceFrameTreeSnapshotPublisher#acquireLatestSnapshot()} is guaranteed to remain
+ * unchanged until it is released with {@link #release()}, after which it can be recycled by the
+ * publisher.
+ * </p>
+ */
+public class ReferenceFrameTreeSnapshot
+{
+   /** Number of values used to store a transform: 9 for the rotation and 3 for the translation. */
+   static final int TRANSFORM_SIZE = 12;
+
+   private int numberOfFrames = 0;
+   private String[] frameNames = new String[0];
+   private int[] parentIndices = new int[0];
+   /** The transforms to root stored as 3-by-4 row-major matrices. */
+   private double[] transformsToRoot = new double[0];
+   /** The version of the tree structure the names and parent indices were copied from. */
+   private long treeStructureVersion = -1;
+   private long sequenceNumber = -1;
+   /** Number of readers currently holding onto this snapshot. */
+   final AtomicInteger numberOfReaders = new AtomicInteger(0);
+
+   ReferenceFrameTreeSnapshot()
+   {
+   }
+
+   /**
+    * Sets the structure of the tree, only called when the structure has changed since the last time
+    * this snapshot was written.
+    */
+   void setTreeStructure(long treeStructureVersion, ReferenceFrameTreeUpdater flattenedTree)
+   {
+      this.treeStructureVersion = treeStructureVersion;
+      numberOfFrames = flattenedTree.getNumberOfFrames();
+
+      if (frameNames.length < numberOfFrames)
+      {
+         frameNames = new String[numberOfFrames];
+         parentIndices = new int[numberOfFrames];
+         transformsToRoot = new double[TRANSFORM_SIZE * numberOfFrames];
+      }
+
+      for (int i = 0; i < numberOfFrames; i++)
+      {
+         frameNames[i] = flattenedTree.getFrame(i).getName();
+         parentIndices[i] = flattenedTree.getParentIndex(i);
+      }
+
+      // Releasing the names of the frames that are no longer part of the tree.
+      Arrays.fill(frameNames, numberOfFrames, frameNames.length, null);
+   }
+
+   void setTransformToRoot(int index, RigidBodyTransform transformToRoot)
+   {
+      int offset = TRANSFORM_SIZE * index;
+      transformsToRoot[offset] = transformToRoot.getM00();
+      transformsToRoot[offset + 1] = transformToRoot.getM01();
+      transformsToRoot[offset + 2] = transformToRoot.getM02();
+      transformsToRoot[offset + 3] = transformToRoot.getM03();
+      transformsToRoot[offset + 4] = transformToRoot.getM10();
+      transformsToRoot[offset + 5] = transformToRoot.getM11();
+      transformsToRoot[offset + 6] = transformToRoot.getM12();
+      transformsToRoot[offset + 7] = transformToRoot.getM13();
+      transformsToRoot[offset + 8] = transformToRoot.getM20();
+      transformsToRoot[offset + 9] = transformToRoot.getM21();
+      transformsToRoot[offset + 10] = transformToRoot.getM22();
+      transformsToRoot[offset + 11] = transformToRoot.getM23();
+   }
+
+   void setSequenceNumber(long sequenceNumber)
+   {
+      this.sequenceNumber = sequenceNumber;
+   }
+
+   long getTreeStructureVersion()
+   {
+      return treeStructureVersion;
+   }
+
+   /**
+    * Releases this snapshot once the reader is done with it, it should not be used afterwards.
+    *
+    * @throws IllegalStateException if this snapshot is not currently acquired.
+    */
+   public void release()
+   {
+      if (numberOfReaders.decrementAndGet() < 0)
+      {
+         numberOfReaders.incrementAndGet();
+         throw new IllegalStateException("This snapshot has not been acquired.");
+      }
+   }
+
+   /**
+    * Gets the number of the snapshot, incremented every time the publisher publishes a new snapshot.
+    *
+    * @return the sequence number of this snapshot.
+    */
+   public long getSequenceNumber()
+   {
+      return sequenceNumber;
+   }
+
+   /**
+    * Gets the number of frames in this snapshot.
+    *
+    * @return the number of frames.
+    */
+   public int getNumberOfFrames()
+   {
+      return numberOfFrames;
+   }
+
+   /**
+    * Gets the name of the {@code index}<sup>th</sup> frame.
+    *
+    * @param index the index of the frame.
+    * @return the frame's name.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfFrames()}[.
+    */
+   public String getFrameName(int index)
+   {
+      checkIndex(index);
+      return frameNames[index];
+   }
+
+   /**
+    * Gets the index of the parent of the {@code index}<sup>th</sup> frame.
+    *
+    * @param index the index of the frame.
+    * @return the index of the parent frame, or {@code -1} for the first frame.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfFrames()}[.
+    */
+   public int getParentIndex(int index)
+   {
+      checkIndex(index);
+      return parentIndices[index];
+   }
+
+   /**
+    * Finds the index of the first frame with the given name in this snapshot.
+    *
+    * @param frameName the name of the frame to search for.
+    * @return the index of the frame, or {@code -1} if no frame has this name.
+    */
+   public int indexOf(String frameName)
+   {
+      for (int i = 0; i < numberOfFrames; i++)
+      {
+         if (frameNames[i].equals(frameName))
+            return i;
+      }
+      return -1;
+   }
+
+   /**
+    * Packs the transform from the {@code index}<sup>th</sup> frame to the root frame.
+    *
+    * @param index           the index of the frame.
+    * @param transformToPack the transform in which the frame's transform to the root frame is stored.
+    *                        Modified.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfFrames()}[.
+    */
+   public void getTransformToRoot(int index, RigidBodyTransform transformToPack)
+   {
+      checkIndex(index);
+      int offset = TRANSFORM_SIZE * index;
+      double[] t = transformsToRoot;
+      transformToPack.setUnsafe(t[offset],
+                                t[offset + 1],
+                                t[offset + 2],
+                                t[offset + 3],
+                                t[offset + 4],
+                                t[offset + 5],
+                                t[offset + 6],
+                                t[offset + 7],
+                                t[offset + 8],
+                                t[offset + 9],
+                                t[offset + 10],
+                                t[offset + 11]);
+   }
+
+   /**
+    * Packs the transform from the {@code index}<sup>th</sup> frame to the
+    * {@code desiredIndex}<sup>th</sup> frame.
+    *
+    * @param index           the index of the frame to compute the transform of.
+    * @param desiredIndex    the index of the frame the transform is to be expressed in.
+    * @param transformToPack the transform in which the result is stored. Modified.
+    * @throws IndexOutOfBoundsException if any of the two indices is not in [0,
+    *                                   {@link #getNumberOfFrames()}[.
+    */
+   public void getTransformToDesiredFrame(int index, int desiredIndex, RigidBodyTransform transformToPack)
+   {
+      checkIndex(index);
+      checkIndex(desiredIndex);
+
+      double[] t = transformsToRoot;
+      int a = TRANSFORM_SIZE * index;
+      int d = TRANSFORM_SIZE * desiredIndex;
+
+      // transformToPack = (desired.transformToRoot)^-1 * this.transformToRoot
+      double dx = t[a + 3] - t[d + 3];
+      double dy = t[a + 7] - t[d + 7];
+      double dz = t[a + 11] - t[d + 11];
+
+      double m00 = t[d] * t[a] + t[d + 4] * t[a + 4] + t[d + 8] * t[a + 8];
+      double m01 = t[d] * t[a + 1] + t[d + 4] * t[a + 5] + t[d + 8] * t[a + 9];
+      double m02 = t[d] * t[a + 2] + t[d + 4] * t[a + 6] + t[d + 8] * t[a + 10];
+      double m10 = t[d + 1] * t[a] + t[d + 5] * t[a + 4] + t[d + 9] * t[a + 8];
+      double m11 = t[d + 1] * t[a + 1] + t[d + 5] * t[a + 5] + t[d + 9] * t[a + 9];
+      double m12 = t[d + 1] * t[a + 2] + t[d + 5] * t[a + 6] + t[d + 9] * t[a + 10];
+      double m20 = t[d + 2] * t[a] + t[d + 6] * t[a + 4] + t[d + 10] * t[a + 8];
+      double m21 = t[d + 2] * t[a + 1] + t[d + 6] * t[a + 5] + t[d + 10] * t[a + 9];
+      double m22 = t[d + 2] * t[a + 2] + t[d + 6] * t[a + 6] + t[d + 10] * t[a + 10];
+      double x = t[d] * dx + t[d + 4] * dy + t[d + 8] * dz;
+      double y = t[d + 1] * dx + t[d + 5] * dy + t[d + 9] * dz;
+      double z = t[d + 2] * dx + t[d + 6] * dy + t[d + 10] * dz;
+
+      transformToPack.setUnsafe(m00, m01, m02, x, m10, m11, m12, y, m20, m21, m22, z);
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= numberOfFrames)
+         throw new IndexOutOfBoundsException("Index: " + index + ", number of frames: " + numberOfFrames);
+   }
+}
@@ -0,0 +1,148 @@
+package us.ihmc.euclid.referenceFrame;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+/**
+ * {@code ReferenceFrameTreeSnapshotPublisher} publishes {@link ReferenceFrameTreeSnapshot}s of a
+ * reference frame tree such that other threads can query the state of the tree without accessing
+ * the live frames.
+ * <p>
+ * The thread owning the frame tree calls {@link #publish()}, typically at the end of each tick once
+ * all the frames have been updated. Reader threads call {@link #acquireLatestSnapshot()} to get the
+ * most recent snapshot and {@link ReferenceFrameTreeSnapshot#release()} once done with it.
+ * </p>
+ * <p>
+ * The snapshots are double-buffered: the publisher writes into the back snapshot while the readers
+ * use the front snapshot, the two being swapped at the end of {@link #publish()}. Publishing is
+ * linear in the number of frames and does not allocate as long as the structure of the tree does not
+ * change and no reader holds onto a snapshot for longer than a tick. When a reader still holds the
+ * back snapshot at the time of publishing, a new snapshot is created instead of waiting for the
+ * reader.
+ * </p>
+ * <p>
+ * The publisher holds a reference to every frame of the tree, {@link #dispose()} should be called
+ * once it is no longer needed such that the frames can be garbage collected.
+ * </p>
+ */
+public class ReferenceFrameTreeSnapshotPublisher
+{
+   private final ReferenceFrameTreeUpdater flattenedTree;
+   private long sequenceNumber = 0;
+   private final RigidBodyTransform transformToParent = new RigidBodyTransform();
+   private final RigidBodyTransform transformToRoot = new RigidBodyTransform();
+
+   private ReferenceFrameTreeSnapshot backSnapshot = new ReferenceFrameTreeSnapshot();
+   private final AtomicReference<ReferenceFrameTreeSnapshot> frontSnapshot = new AtomicReference<>(null);
+
+   /**
+    * Creates a new publisher for the tree starting at the given frame.
+    * <p>
+    * The start frame does not have to be a root frame, in which case only the frames of its subtree
+    * are part of the snapshots. The transforms stored in the snapshots are always expressed with
+    * respect to the root frame of the tree.
+    * </p>
+    *
+    * @param startFrame the first frame of the tree to publish snapshots of.
+    */
+   public ReferenceFrameTreeSnapshotPublisher(ReferenceFrame startFrame)
+   {
+      flattenedTree = new ReferenceFrameTreeUpdater(startFrame);
+   }
+
+   /**
+    * Detaches this publisher from the tree and releases the frames it holds.
+    * <p>
+    * The snapshots already published remain valid but this publisher cannot publish afterwards.
+    * </p>
+    *
+    * @see ReferenceFrameTreeUpdater#dispose()
+    */
+   public void dispose()
+   {
+      flattenedTree.dispose();
+   }
+
+   /**
+    * Copies the current state of the tree into a new snapshot and makes it available to the readers.
+    * <p>
+    * This method has to be called by the thread that updates the frame tree.
+    * </p>
+    *
+    * @throws IllegalStateException if this publisher has been disposed.
+    */
+   public void publish()
+   {
+      ReferenceFrameTreeSnapshot snapshot = backSnapshot;
+
+      if (snapshot.numberOfReaders.get() > 0)
+      { // A reader is still using the old snapshot, it is left to the reader and a new one is used instead.
+         snapshot = new ReferenceFrameTreeSnapshot();
+      }
+
+      long treeStructureVersion = flattenedTree.updateTreeStructure();
+      if (snapshot.getTreeStructureVersion() != treeStructureVersion)
+         snapshot.setTreeStructure(treeStructureVersion, flattenedTree);
+
+      // Only the start frame walks the path from the root, the other frames are sorted such that each frame comes after its parent.
+      flattenedTree.getFrame(0).getTransformToRoot(transformToRoot);
+      snapshot.setTransformToRoot(0, transformToRoot);
+
+      for (int i = 1; i < snapshot.getNumberOfFrames(); i++)
+      {
+         flattenedTree.getFrame(i).getTransformToParent(transformToParent);
+         snapshot.getTransformToRoot(flattenedTree.getParentIndex(i), transformToRoot);
+         transformToRoot.multiply(transformToParent);
+         transformToRoot.normalizeRotationPart();
+         snapshot.setTransformToRoot(i, transformToRoot);
+      }
+
+      snapshot.setSequenceNumber(sequenceNumber++);
+      backSnapshot = frontSnapshot.getAndSet(snapshot);
+
+      if (backSnapshot == null)
+         backSnapshot = new ReferenceFrameTreeSnapshot();
+   }
+
+   /**
+    * Gets the most recent snapshot and marks it as being used such that it is not modified until
+    * {@link ReferenceFrameTreeSnapshot#release()} is called.
+    * <p>
+    * This method can be called from any thread.
+    * </p>
+    *
+    * @return the latest snapshot, or {@code null} if none has been published yet.
+    */
+   public ReferenceFrameTreeSnapshot acquireLatestSnapshot()
+   {
+      while (true)
+      {
+         ReferenceFrameTreeSnapshot snapshot = frontSnapshot.get();
+
+         if (snapshot == null)
+            return null;
+
+         snapshot.numberOfReaders.incrementAndGet();
+
+         /*
+          * The publisher may have swapped the snapshots between the two previous lines, in which case it may
+          * already be writing into this snapshot.
+          */
+         if (frontSnapshot.get() == snapshot)
+            return snapshot;
+
+         snapshot.numberOfReaders.decrementAndGet();
+      }
+   }
+
+   /**
+    * Gets the frame from which the published tree starts.
+    *
+    * @return the start frame.
+    */
+   public ReferenceFrame getStartFrame()
+   {
+      return flattenedTree.getStartFrame();
+   }
+}
@@ -0,0 +1,269 @@
+package us.ihmc.euclid.referenceFrame;
+
+import java.util.Arrays;
+
+/**
+ * {@code ReferenceFrameTreeUpdater} updates all the frames of a reference frame tree at once.
+ * <p>
+ * By default, each moving frame has to be updated with {@link ReferenceFrame#update()} and its
+ * transform to root is then lazily recomputed when queried, which requires to walk the path from
+ * the root to the frame at each query. This updater instead flattens the tree in breadth-first
+ * order, i.e. each frame comes after its parent, into an array of frames and an array of parent
+ * indices. {@link #updateAll()} can then update all the frames with a single pass over these
+ * arrays, computing the transform to root of each frame exactly once.
+ * </p>
+ * <p>
+ * The updater registers a listener on the start frame such that the flattened tree is rebuilt at
+ * the next update when a frame is added to or removed from the tree. Note that the updater holds a
+ * reference to every frame of the tree and that the listener keeps the updater reachable as long as
+ * the start frame is, such that frames that are not removed with {@link ReferenceFrame#remove()}
+ * cannot be garbage collected until {@link #dispose()} is called.
+ * </p>
+ */
+public class ReferenceFrameTreeUpdater
+{
+   /** The frame from which the tree to update starts. */
+   private final ReferenceFrame startFrame;
+   /** Frames which subtree is not part of the tree to update, may be empty. */
+   private final ReferenceFrame[] excludedFrames;
+   /** The frames of the tree sorted in breadth-first order, the first frame is the start frame. */
+   private ReferenceFrame[] frames = new ReferenceFrame[0];
+   /** The index in {@link #frames} of the parent of each frame, {@code -1} for the start frame. */
+   private int[] parentIndices = new int[0];
+   private int numberOfFrames = 0;
+   /** Whether the structure of the tree changed since the last time it was flattened. */
+   private boolean isTreeStructureStale = true;
+   /** Incremented every time the tree is flattened. */
+   private long treeStructureVersion = 0;
+   /** Flags the flattened tree as stale when a frame is added to or removed from the tree. */
+   private final ReferenceFrameChangedListener treeStructureListener = change -> isTreeStructureStale = true;
+   private boolean isDisposed = false;
+
+   /**
+    * Creates a new updater for the tree starting at the given frame.
+    * <p>
+    * The start frame does not have to be a root frame, in which case only the frames of its subtree
+    * are updated by this updater.
+    * </p>
+    *
+    * @param startFrame the first frame of the tree to update.
+    */
+   public ReferenceFrameTreeUpdater(ReferenceFrame startFrame)
+   {
+      this(startFrame, new ReferenceFrame[0]);
+   }
+
+   /**
+    * Creates a new updater for the tree starting at the given frame, excluding the subtrees starting
+    * at the given frames.
+    *
+    * @param startFrame     the first frame of the tree to update.
+    * @param excludedFrames the frames which subtrees are not to be updated by this updater.
+    */
+   ReferenceFrameTreeUpdater(ReferenceFrame startFrame, ReferenceFrame[] excludedFrames)
+   {
+      this.startFrame = startFrame;
+      this.excludedFrames = excludedFrames;
+      startFrame.addListener(treeStructureListener);
+   }
+
+   /**
+    * Detaches this updater from the tree and releases the frames it holds.
+    * <p>
+    * This updater cannot be used afterwards.
+    * </p>
+    */
+   public void dispose()
+   {
+      if (isDisposed)
+         return;
+
+      isDisposed = true;
+      // The listeners of a removed frame are already cleared.
+      if (!startFrame.isRemoved())
+         startFrame.removeListener(treeStructureListener);
+      frames = new ReferenceFrame[0];
+      parentIndices = new int[0];
+      numberOfFrames = 0;
+   }
+
+   /**
+    * Whether {@link #dispose()} has been called.
+    *
+    * @return {@code true} if this updater has been disposed, {@code false} otherwise.
+    */
+   public boolean isDisposed()
+   {
+      return isDisposed;
+   }
+
+   /**
+    * Updates all the frames of the tree:
+    * <ol>
+    * <li>the transform to parent of each frame is updated with {@link ReferenceFrame#update()},
+    * parents first.
+    * <li>the transform to root of each frame is computed from the one of its parent.
+    * </ol>
+    * <p>
+    * This is equivalent to calling {@link ReferenceFrame#update()} on each frame of the tree and then
+    * querying the transform to root of each frame, but avoids walking the path from the root for
+    * each frame.
+    * </p>
+    *
+    * @throws IllegalStateException if this updater has been disposed.
+    */
+   public void updateAll()
+   {
+      updateTransformsToParent();
+      ReferenceFrame.computeTransformsToRoot(frames, parentIndices, numberOfFrames);
+   }
+
+   /**
+    * Updates the transform to parent of each frame of the tree, parents first.
+    */
+   void updateTransformsToParent()
+   {
+      updateTreeStructure();
+
+      for (int i = 0; i < numberOfFrames; i++)
+      {
+         frames[i].update();
+      }
+   }
+
+   /**
+    * Computes the transform to root of each frame of the tree assuming that the transform to root of
+    * the parent of the start frame is up-to-date.
+    *
+    * @param updateID the ID to stamp the computed transforms with.
+    * @see ReferenceFrame#runTransformsToRootUpdate(ReferenceFrame, java.util.function.LongConsumer)
+    */
+   void computeTransformsToRoot(long updateID)
+   {
+      ReferenceFrame.computeTransformsToRoot(frames, parentIndices, numberOfFrames, updateID);
+   }
+
+   /**
+    * Rebuilds the flattened tree if a frame has been added to or removed from the tree since it was
+    * last flattened.
+    *
+    * @return the version of the tree structure, which changes every time the tree is flattened.
+    * @throws IllegalStateException if this updater has been disposed.
+    */
+   long updateTreeStructure()
+   {
+      if (isDisposed)
+         throw new IllegalStateException("Can not use an updater that was disposed.");
+      if (isTreeStructureStale)
+         flattenTree();
+      return treeStructureVersion;
+   }
+
+   private void flattenTree()
+   {
+      startFrame.checkIfRemoved();
+      isTreeStructureStale = false;
+      treeStructureVersion++;
+      numberOfFrames = 0;
+      addFrame(startFrame, -1);
+
+      // The array is its own breadth-first queue.
+      for (int parentIndex = 0; parentIndex < numberOfFrames; parentIndex++)
+      {
+         ReferenceFrame parent = frames[parentIndex];
+
+         for (int childIndex = 0; childIndex < parent.getNumberOfChildren(); childIndex++)
+         {
+            ReferenceFrame child = parent.getChild(childIndex);
+
+            if (child != null && !isExcluded(child))
+               addFrame(child, parentIndex);
+         }
+      }
+
+      // Releasing the frames that are no longer part of the tree.
+      Arrays.fill(frames, numberOfFrames, frames.length, null);
+   }
+
+   private boolean isExcluded(ReferenceFrame frame)
+   {
+      for (ReferenceFrame excludedFrame : excludedFrames)
+      {
+         if (frame == excludedFrame)
+            return true;
+      }
+      return false;
+   }
+
+   private void addFrame(ReferenceFrame frame, int parentIndex)
+   {
+      if (numberOfFrames == frames.length)
+      {
+         int newLength = Math.max(16, 2 * frames.length);
+         frames = Arrays.copyOf(frames, newLength);
+         parentIndices = Arrays.copyOf(parentIndices, newLength);
+      }
+
+      frames[numberOfFrames] = frame;
+      parentIndices[numberOfFrames] = parentIndex;
+      numberOfFrames++;
+   }
+
+   /**
+    * Gets the frame from which the tree to update starts.
+    *
+    * @return the start frame.
+    */
+   public ReferenceFrame getStartFrame()
+   {
+      return startFrame;
+   }
+
+   /**
+    * Gets the number of frames in the tree, including the start frame.
+    * <p>
+    * The flattened tree is rebuilt if its structure has changed since the last update.
+    * </p>
+    *
+    * @return the number of frames.
+    * @throws IllegalStateException if this updater has been disposed.
+    */
+   public int getNumberOfFrames()
+   {
+      updateTreeStructure();
+      return numberOfFrames;
+   }
+
+   /**
+    * Gets the {@code index}<sup>th</sup> frame in breadth-first order, the frame at index 0 being the
+    * start frame.
+    *
+    * @param index the index of the frame.
+    * @return the frame.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfFrames()}[.
+    */
+   public ReferenceFrame getFrame(int index)
+   {
+      checkIndex(index);
+      return frames[index];
+   }
+
+   /**
+    * Gets the index of the parent of the {@code index}<sup>th</sup> frame.
+    *
+    * @param index the index of the frame.
+    * @return the index of the parent frame, or {@code -1} for the start frame.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfFrames()}[.
+    */
+   public int getParentIndex(int index)
+   {
+      checkIndex(index);
+      return parentIndices[index];
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= getNumberOfFrames())
+         throw new IndexOutOfBoundsException("Index: " + index + ", number of frames: " + numberOfFrames);
+   }
+}
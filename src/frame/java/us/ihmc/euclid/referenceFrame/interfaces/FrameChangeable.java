@@ -1,7 +1,9 @@
 package us.ihmc.euclid.referenceFrame.interfaces;
 
 import us.ihmc.euclid.interfaces.Transformable;
+import us.ihmc.euclid.referenceFrame.FrameTransformHandle;
 import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.referenceFrame.exceptions.ReferenceFrameMismatchException;
 
 /**
  * Interface used for any transformable object that this associated with a reference frame.
@@ -36,4 +38,29 @@ public interface FrameChangeable extends ReferenceFrameHolder, Transformable
       getReferenceFrame().transformFromThisToDesiredFrame(desiredFrame, this);
       setReferenceFrame(desiredFrame);
    }
+
+   /**
+    * Transforms this geometry such that the transformation represents the same geometry but from the
+    * perspective of the frame {@link FrameTransformHandle#getToFrame()}, using the transform cached in
+    * the given handle.
+    * <p>
+    * Once the geometry is transformed, the reference frame is updated to
+    * {@link FrameTransformHandle#getToFrame()}.
+    * </p>
+    *
+    * @param transformHandle the handle providing the transform from the current frame of this
+    *                        geometry to the desired frame. Not modified.
+    * @throws ReferenceFrameMismatchException if this geometry is not expressed in
+    *                                         {@link FrameTransformHandle#getFromFrame()}.
+    */
+   default void changeFrame(FrameTransformHandle transformHandle)
+   {
+      checkReferenceFrameMatch(transformHandle.getFromFrame());
+
+      if (transformHandle.getToFrame() == getReferenceFrame())
+         return;
+
+      applyTransform(transformHandle.getTransform());
+      setReferenceFrame(transformHandle.getToFrame());
+   }
 }
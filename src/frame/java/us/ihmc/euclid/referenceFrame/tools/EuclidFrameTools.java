@@ -1,17 +1,22 @@
 package us.ihmc.euclid.referenceFrame.tools;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import us.ihmc.euclid.Axis3D;
 import us.ihmc.euclid.axisAngle.AxisAngle;
 import us.ihmc.euclid.geometry.exceptions.BoundingBoxException;
 import us.ihmc.euclid.geometry.tools.EuclidGeometryTools;
+import us.ihmc.euclid.matrix.interfaces.RotationMatrixReadOnly;
 import us.ihmc.euclid.orientation.interfaces.Orientation3DBasics;
 import us.ihmc.euclid.referenceFrame.FramePoint2D;
 import us.ihmc.euclid.referenceFrame.FramePoint3D;
+import us.ihmc.euclid.referenceFrame.FrameTransformHandle;
 import us.ihmc.euclid.referenceFrame.FrameVector2D;
 import us.ihmc.euclid.referenceFrame.FrameVector3D;
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
 import us.ihmc.euclid.referenceFrame.exceptions.ReferenceFrameMismatchException;
 import us.ihmc.euclid.referenceFrame.interfaces.EuclidFrameGeometry;
 import us.ihmc.euclid.referenceFrame.interfaces.FixedFrameOrientation3DBasics;
@@ -19,15 +24,19 @@ import us.ihmc.euclid.referenceFrame.interfaces.FixedFramePoint2DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FixedFramePoint3DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FixedFrameVector2DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FixedFrameVector3DBasics;
+import us.ihmc.euclid.referenceFrame.interfaces.FrameChangeable;
 import us.ihmc.euclid.referenceFrame.interfaces.FrameOrientation3DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FramePoint2DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FramePoint2DReadOnly;
 import us.ihmc.euclid.referenceFrame.interfaces.FramePoint3DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FramePoint3DReadOnly;
+import us.ihmc.euclid.referenceFrame.interfaces.FrameTuple3DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FrameVector2DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FrameVector2DReadOnly;
 import us.ihmc.euclid.referenceFrame.interfaces.FrameVector3DBasics;
 import us.ihmc.euclid.referenceFrame.interfaces.FrameVector3DReadOnly;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.transform.interfaces.RigidBodyTransformReadOnly;
 import us.ihmc.euclid.tuple2D.Point2D;
 import us.ihmc.euclid.tuple3D.Point3D;
 import us.ihmc.euclid.tuple3D.Vector3D;
@@ -41,6 +50,16 @@ import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
  */
 public class EuclidFrameTools
 {
+   /**
+    * Number of elements from which the bulk frame changes, such as
+    * {@link #changeFrame(List, ReferenceFrame)}, are performed in parallel using the common
+    * fork-join pool.
+    */
+   public static final int PARALLEL_CHANGE_FRAME_THRESHOLD = 20000;
+
+   /** Buffer in which the bulk frame changes pack the transform to the desired frame. */
+   private static final ThreadLocal<RigidBodyTransform> transformToDesiredFrame = ThreadLocal.withInitial(RigidBodyTransform::new);
+
    private EuclidFrameTools()
    {
       // Suppresses default constructor, ensuring non-instantiability.
@@ -7493,4 +7512,207 @@ public class EuclidFrameTools
    {
       return (a == b) || (a != null && a.geometricallyEquals(b, epsilon));
    }
+
+   /**
+    * Changes the frame of all the given tuples to {@code desiredFrame}.
+    * <p>
+    * This is equivalent to calling {@link FrameChangeable#changeFrame(ReferenceFrame)} on each tuple,
+    * but the transform to the desired frame is only computed once. The tuples are transformed
+    * in parallel when there are at least {@link #PARALLEL_CHANGE_FRAME_THRESHOLD} of them.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage when the tuples are transformed in parallel.
+    * </p>
+    *
+    * @param frameTuples  the tuples to change the frame of. Modified.
+    * @param desiredFrame the reference frame in which the tuples are to be expressed.
+    * @throws ReferenceFrameMismatchException if the tuples are not all expressed in the same reference
+    *                                         frame.
+    */
+   public static void changeFrame(List<? extends FrameTuple3DBasics> frameTuples, ReferenceFrame desiredFrame)
+   {
+      if (frameTuples.isEmpty())
+         return;
+
+      ReferenceFrame currentFrame = frameTuples.get(0).getReferenceFrame();
+      checkReferenceFrameMatch(frameTuples, currentFrame);
+
+      if (currentFrame == desiredFrame)
+         return;
+
+      RigidBodyTransform transform = transformToDesiredFrame.get();
+      currentFrame.getTransformToDesiredFrame(transform, desiredFrame);
+      changeFrame(frameTuples, transform, desiredFrame);
+   }
+
+   /**
+    * Changes the frame of all the given tuples to {@code desiredFrame}.
+    * <p>
+    * This is equivalent to calling {@link FrameChangeable#changeFrame(ReferenceFrame)} on each tuple,
+    * but the transform to the desired frame is only computed once. The tuples are transformed
+    * in parallel when there are at least {@link #PARALLEL_CHANGE_FRAME_THRESHOLD} of them.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
+    *
+    * @param frameTuples  the tuples to change the frame of. Modified.
+    * @param desiredFrame the reference frame in which the tuples are to be expressed.
+    * @throws ReferenceFrameMismatchException if the tuples are not all expressed in the same reference
+    *                                         frame.
+    */
+   public static void changeFrame(FrameTuple3DBasics[] frameTuples, ReferenceFrame desiredFrame)
+   {
+      changeFrame(Arrays.asList(frameTuples), desiredFrame);
+   }
+
+   /**
+    * Changes the frame of all the given tuples using the transform cached in the given handle.
+    * <p>
+    * This is equivalent to calling {@link FrameChangeable#changeFrame(FrameTransformHandle)} on each
+    * tuple. The tuples are transformed in parallel when there are at least
+    * {@link #PARALLEL_CHANGE_FRAME_THRESHOLD} of them.
+    * </p>
+    *
+    * @param frameTuples     the tuples to change the frame of. Modified.
+    * @param transformHandle the handle providing the transform from the current frame of the tuples
+    *                        to the desired frame. Not modified.
+    * @throws ReferenceFrameMismatchException if the tuples are not all expressed in
+    *                                         {@link FrameTransformHandle#getFromFrame()}.
+    */
+   public static void changeFrame(List<? extends FrameTuple3DBasics> frameTuples, FrameTransformHandle transformHandle)
+   {
+      checkReferenceFrameMatch(frameTuples, transformHandle.getFromFrame());
+      changeFrame(frameTuples, transformHandle.getTransform(), transformHandle.getToFrame());
+   }
+
+   private static void changeFrame(List<? extends FrameTuple3DBasics> frameTuples, RigidBodyTransformReadOnly transformToDesiredFrame, ReferenceFrame desiredFrame)
+   {
+      if (frameTuples.size() >= PARALLEL_CHANGE_FRAME_THRESHOLD)
+      {
+         frameTuples.parallelStream().forEach(frameTuple ->
+         {
+            frameTuple.applyTransform(transformToDesiredFrame);
+            frameTuple.setReferenceFrame(desiredFrame);
+         });
+      }
+      else
+      {
+         for (int i = 0; i < frameTuples.size(); i++)
+         {
+            FrameTuple3DBasics frameTuple = frameTuples.get(i);
+            frameTuple.applyTransform(transformToDesiredFrame);
+            frameTuple.setReferenceFrame(desiredFrame);
+         }
+      }
+   }
+
+   /**
+    * Checks the frames of all the tuples before modifying any of them.
+    */
+   private static void checkReferenceFrameMatch(List<? extends FrameTuple3DBasics> frameTuples, ReferenceFrame expectedFrame)
+   {
+      for (int i = 0; i < frameTuples.size(); i++)
+         frameTuples.get(i).checkReferenceFrameMatch(expectedFrame);
+   }
+
+   /**
+    * Transforms points packed in a buffer as {@code (x0, y0, z0, x1, y1, z1, ...)} from
+    * {@code currentFrame} to {@code desiredFrame}.
+    * <p>
+    * The transform is only computed once for all the points. The points are transformed in parallel
+    * when there are at least {@link #PARALLEL_CHANGE_FRAME_THRESHOLD} of them.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage when the points are transformed in parallel.
+    * </p>
+    *
+    * @param packedPoints   the buffer containing the coordinates of the points. Modified.
+    * @param startIndex     the index in the buffer of the x-coordinate of the first point.
+    * @param numberOfPoints the number of points to transform.
+    * @param currentFrame   the reference frame in which the points are currently expressed.
+    * @param desiredFrame   the reference frame in which the points are to be expressed.
+    * @throws IndexOutOfBoundsException if the buffer is too small to hold {@code numberOfPoints}
+    *                                   points from {@code startIndex}.
+    */
+   public static void changeFrameOfPackedPoint3Ds(double[] packedPoints, int startIndex, int numberOfPoints, ReferenceFrame currentFrame, ReferenceFrame desiredFrame)
+   {
+      checkPackedTuple3DsBounds(packedPoints, startIndex, numberOfPoints);
+
+      if (currentFrame == desiredFrame)
+         return;
+
+      RigidBodyTransform transform = transformToDesiredFrame.get();
+      currentFrame.getTransformToDesiredFrame(transform, desiredFrame);
+      transformPackedTuple3Ds(packedPoints, startIndex, numberOfPoints, transform, true);
+   }
+
+   /**
+    * Transforms vectors packed in a buffer as {@code (x0, y0, z0, x1, y1, z1, ...)} from
+    * {@code currentFrame} to {@code desiredFrame}, only the rotation part of the transform is applied.
+    * <p>
+    * The transform is only computed once for all the vectors. The vectors are transformed in parallel
+    * when there are at least {@link #PARALLEL_CHANGE_FRAME_THRESHOLD} of them.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage when the vectors are transformed in parallel.
+    * </p>
+    *
+    * @param packedVectors   the buffer containing the coordinates of the vectors. Modified.
+    * @param startIndex      the index in the buffer of the x-coordinate of the first vector.
+    * @param numberOfVectors the number of vectors to transform.
+    * @param currentFrame    the reference frame in which the vectors are currently expressed.
+    * @param desiredFrame    the reference frame in which the vectors are to be expressed.
+    * @throws IndexOutOfBoundsException if the buffer is too small to hold {@code numberOfVectors}
+    *                                   vectors from {@code startIndex}.
+    */
+   public static void changeFrameOfPackedVector3Ds(double[] packedVectors, int startIndex, int numberOfVectors, ReferenceFrame currentFrame, ReferenceFrame desiredFrame)
+   {
+      checkPackedTuple3DsBounds(packedVectors, startIndex, numberOfVectors);
+
+      if (currentFrame == desiredFrame)
+         return;
+
+      RigidBodyTransform transform = transformToDesiredFrame.get();
+      currentFrame.getTransformToDesiredFrame(transform, desiredFrame);
+      transformPackedTuple3Ds(packedVectors, startIndex, numberOfVectors, transform, false);
+   }
+
+   private static void checkPackedTuple3DsBounds(double[] packedTuples, int startIndex, int numberOfTuples)
+   {
+      if (startIndex < 0 || startIndex > packedTuples.length)
+         throw new IndexOutOfBoundsException("The start index " + startIndex + " is outside the buffer of length " + packedTuples.length);
+      // Written such that it cannot overflow for large numbers of tuples.
+      if (numberOfTuples < 0 || numberOfTuples > (packedTuples.length - startIndex) / 3)
+         throw new IndexOutOfBoundsException("Cannot fit " + numberOfTuples + " tuples from the index " + startIndex + " in a buffer of length "
+               + packedTuples.length);
+   }
+
+   private static void transformPackedTuple3Ds(double[] packedTuples, int startIndex, int numberOfTuples, RigidBodyTransform transform, boolean areTuplesPoints)
+   {
+      RotationMatrixReadOnly rotation = transform.getRotation();
+      double tx = areTuplesPoints ? transform.getTranslationX() : 0.0;
+      double ty = areTuplesPoints ? transform.getTranslationY() : 0.0;
+      double tz = areTuplesPoints ? transform.getTranslationZ() : 0.0;
+
+      if (numberOfTuples >= PARALLEL_CHANGE_FRAME_THRESHOLD)
+      {
+         IntStream.range(0, numberOfTuples).parallel().forEach(i -> transformPackedTuple3D(packedTuples, startIndex + 3 * i, rotation, tx, ty, tz));
+      }
+      else
+      {
+         for (int i = 0; i < numberOfTuples; i++)
+            transformPackedTuple3D(packedTuples, startIndex + 3 * i, rotation, tx, ty, tz);
+      }
+   }
+
+   private static void transformPackedTuple3D(double[] packedTuples, int index, RotationMatrixReadOnly rotation, double tx, double ty, double tz)
+   {
+      double x = packedTuples[index];
+      double y = packedTuples[index + 1];
+      double z = packedTuples[index + 2];
+      packedTuples[index] = rotation.getM00() * x + rotation.getM01() * y + rotation.getM02() * z + tx;
+      packedTuples[index + 1] = rotation.getM10() * x + rotation.getM11() * y + rotation.getM12() * z + ty;
+      packedTuples[index + 2] = rotation.getM20() * x + rotation.getM21() * y + rotation.getM22() * z + tz;
+   }
 }
@@ -0,0 +1,183 @@
+package us.ihmc.euclid.geometry.tools;
+
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.HEADER_SIZE;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.getQuaternion;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.getTuple3D;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.putQuaternion;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.putTuple3D;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.readHeader;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.writeHeader;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import us.ihmc.euclid.geometry.interfaces.BoundingBox2DBasics;
+import us.ihmc.euclid.geometry.interfaces.BoundingBox2DReadOnly;
+import us.ihmc.euclid.geometry.interfaces.BoundingBox3DBasics;
+import us.ihmc.euclid.geometry.interfaces.BoundingBox3DReadOnly;
+import us.ihmc.euclid.geometry.interfaces.Pose2DBasics;
+import us.ihmc.euclid.geometry.interfaces.Pose2DReadOnly;
+import us.ihmc.euclid.geometry.interfaces.Pose3DBasics;
+import us.ihmc.euclid.geometry.interfaces.Pose3DReadOnly;
+import us.ihmc.euclid.tools.EuclidCoreBinaryIOTools;
+
+/**
+ * This class provides a compact binary encoding of the geometry types to read from and write to a
+ * {@link ByteBuffer}, heap or direct.
+ * <p>
+ * The encoding follows the format described in {@link EuclidCoreBinaryIOTools}: a header with the
+ * type tag and the format version followed by the components of the object as {@code double}s. The
+ * type tags of this class are in the range [32, 63].
+ * </p>
+ * <p>
+ * The methods of this class do not generate garbage.
+ * </p>
+ */
+public class EuclidGeometryBinaryIOTools
+{
+   /** Type tag for a pose 2D. */
+   public static final byte POSE_2D_TAG = 32;
+   /** Type tag for a pose 3D. */
+   public static final byte POSE_3D_TAG = 33;
+   /** Type tag for a bounding box 2D. */
+   public static final byte BOUNDING_BOX_2D_TAG = 34;
+   /** Type tag for a bounding box 3D. */
+   public static final byte BOUNDING_BOX_3D_TAG = 35;
+   /** Type tag for a file of time-stamped poses 3D, see {@link MappedPose3DTrajectory}. */
+   public static final byte POSE_3D_TRAJECTORY_TAG = 36;
+
+   /** The number of bytes of an encoded pose 2D. */
+   public static final int POSE_2D_SIZE = HEADER_SIZE + 3 * Double.BYTES;
+   /** The number of bytes of an encoded pose 3D. */
+   public static final int POSE_3D_SIZE = HEADER_SIZE + 7 * Double.BYTES;
+   /** The number of bytes of an encoded bounding box 2D. */
+   public static final int BOUNDING_BOX_2D_SIZE = HEADER_SIZE + 4 * Double.BYTES;
+   /** The number of bytes of an encoded bounding box 3D. */
+   public static final int BOUNDING_BOX_3D_SIZE = HEADER_SIZE + 6 * Double.BYTES;
+
+   private EuclidGeometryBinaryIOTools()
+   {
+      // Suppresses default constructor, ensuring non-instantiability.
+   }
+
+   /**
+    * Writes the given pose 2D as its position followed by its yaw angle.
+    *
+    * @param pose   the pose to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #POSE_2D_SIZE} remaining
+    *                                 bytes.
+    */
+   public static void writePose2D(Pose2DReadOnly pose, ByteBuffer buffer)
+   {
+      writeHeader(POSE_2D_TAG, POSE_2D_SIZE, buffer);
+      buffer.putDouble(pose.getX());
+      buffer.putDouble(pose.getY());
+      buffer.putDouble(pose.getYaw());
+   }
+
+   /**
+    * Reads a pose 2D.
+    *
+    * @param buffer     the buffer to read from. Modified.
+    * @param poseToPack the pose in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a pose 2D.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readPose2D(ByteBuffer buffer, Pose2DBasics poseToPack)
+   {
+      readHeader(POSE_2D_TAG, POSE_2D_SIZE, buffer);
+      poseToPack.set(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the given pose 3D as its position followed by its orientation as a quaternion.
+    *
+    * @param pose   the pose to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #POSE_3D_SIZE} remaining
+    *                                 bytes.
+    */
+   public static void writePose3D(Pose3DReadOnly pose, ByteBuffer buffer)
+   {
+      writeHeader(POSE_3D_TAG, POSE_3D_SIZE, buffer);
+      putTuple3D(pose.getPosition(), buffer);
+      putQuaternion(pose.getOrientation(), buffer);
+   }
+
+   /**
+    * Reads a pose 3D.
+    *
+    * @param buffer     the buffer to read from. Modified.
+    * @param poseToPack the pose in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a pose 3D.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readPose3D(ByteBuffer buffer, Pose3DBasics poseToPack)
+   {
+      readHeader(POSE_3D_TAG, POSE_3D_SIZE, buffer);
+      getTuple3D(buffer, poseToPack.getPosition());
+      getQuaternion(buffer, poseToPack.getOrientation());
+   }
+
+   /**
+    * Writes the given bounding box 2D as its minimum coordinates followed by its maximum coordinates.
+    *
+    * @param boundingBox the bounding box to write. Not modified.
+    * @param buffer      the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #BOUNDING_BOX_2D_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writeBoundingBox2D(BoundingBox2DReadOnly boundingBox, ByteBuffer buffer)
+   {
+      writeHeader(BOUNDING_BOX_2D_TAG, BOUNDING_BOX_2D_SIZE, buffer);
+      buffer.putDouble(boundingBox.getMinX());
+      buffer.putDouble(boundingBox.getMinY());
+      buffer.putDouble(boundingBox.getMaxX());
+      buffer.putDouble(boundingBox.getMaxY());
+   }
+
+   /**
+    * Reads a bounding box 2D.
+    *
+    * @param buffer            the buffer to read from. Modified.
+    * @param boundingBoxToPack the bounding box in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a bounding box 2D.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readBoundingBox2D(ByteBuffer buffer, BoundingBox2DBasics boundingBoxToPack)
+   {
+      readHeader(BOUNDING_BOX_2D_TAG, BOUNDING_BOX_2D_SIZE, buffer);
+      boundingBoxToPack.set(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the given bounding box 3D as its minimum coordinates followed by its maximum coordinates.
+    *
+    * @param boundingBox the bounding box to write. Not modified.
+    * @param buffer      the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #BOUNDING_BOX_3D_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writeBoundingBox3D(BoundingBox3DReadOnly boundingBox, ByteBuffer buffer)
+   {
+      writeHeader(BOUNDING_BOX_3D_TAG, BOUNDING_BOX_3D_SIZE, buffer);
+      putTuple3D(boundingBox.getMinPoint(), buffer);
+      putTuple3D(boundingBox.getMaxPoint(), buffer);
+   }
+
+   /**
+    * Reads a bounding box 3D.
+    *
+    * @param buffer            the buffer to read from. Modified.
+    * @param boundingBoxToPack the bounding box in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a bounding box 3D.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readBoundingBox3D(ByteBuffer buffer, BoundingBox3DBasics boundingBoxToPack)
+   {
+      readHeader(BOUNDING_BOX_3D_TAG, BOUNDING_BOX_3D_SIZE, buffer);
+      boundingBoxToPack.set(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+   }
+}
@@ -0,0 +1,465 @@
+package us.ihmc.euclid.geometry.tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import us.ihmc.euclid.geometry.interfaces.Pose3DBasics;
+import us.ihmc.euclid.geometry.interfaces.Pose3DReadOnly;
+import us.ihmc.euclid.interfaces.EuclidGeometry;
+import us.ihmc.euclid.tools.EuclidCoreBinaryIOTools;
+import us.ihmc.euclid.tools.EuclidCoreIOTools;
+import us.ihmc.euclid.tools.EuclidHashCodeTools;
+import us.ihmc.euclid.tools.QuaternionTools;
+import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+import us.ihmc.euclid.tuple4D.interfaces.QuaternionBasics;
+import us.ihmc.euclid.tuple4D.interfaces.QuaternionReadOnly;
+
+/**
+ * A read-only trajectory of time-stamped poses 3D backed by a memory-mapped file written with
+ * {@link Pose3DTrajectoryWriter}.
+ * <p>
+ * The file is never loaded in the heap: the poses are read directly from the mapped file on
+ * demand, such that trajectories of several gigabytes can be browsed at little memory cost. The
+ * file is mapped in segments of less than 2GB each.
+ * </p>
+ * <p>
+ * File format: a header of {@link #FILE_HEADER_SIZE} bytes starting with the type tag
+ * {@link EuclidGeometryBinaryIOTools#POSE_3D_TRAJECTORY_TAG} and the format version, followed by
+ * records of {@link #RECORD_SIZE} bytes each. A record holds the timestamp as a {@code long} and
+ * the pose as 7 {@code double}s: position (x, y, z) followed by orientation (qx, qy, qz, qs). All
+ * values are encoded in little-endian order. The timestamps are in an arbitrary unit, e.g.
+ * nanoseconds, and are in non-decreasing order. A partially written record at the end of the file
+ * is ignored.
+ * </p>
+ * <p>
+ * This class is not thread-safe, views created from it can be used by different threads as long
+ * as each thread uses its own views.
+ * </p>
+ */
+public class MappedPose3DTrajectory
+{
+   /** The number of bytes of the file header. */
+   public static final int FILE_HEADER_SIZE = 64;
+   /** The number of bytes of a record. */
+   public static final int RECORD_SIZE = Long.BYTES + 7 * Double.BYTES;
+   /** The byte order used to encode the file. */
+   public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+   static final int DEFAULT_RECORDS_PER_SEGMENT = Integer.MAX_VALUE / RECORD_SIZE;
+
+   private static final int TIMESTAMP_OFFSET = 0;
+   private static final int POSITION_OFFSET = TIMESTAMP_OFFSET + Long.BYTES;
+   private static final int ORIENTATION_OFFSET = POSITION_OFFSET + 3 * Double.BYTES;
+
+   private final int size;
+   private final int recordsPerSegment;
+   private final ByteBuffer[] segments;
+
+   private final View previousView = new View();
+   private final View nextView = new View();
+
+   /**
+    * Maps the given trajectory file.
+    * <p>
+    * The file is mapped read-only and the underlying channel is closed before returning. The
+    * mapping remains valid until this trajectory is garbage collected.
+    * </p>
+    *
+    * @param path the path to the trajectory file.
+    * @return the mapped trajectory.
+    * @throws IOException if an I/O error occurs or if the file is not a pose 3D trajectory file.
+    */
+   public static MappedPose3DTrajectory open(Path path) throws IOException
+   {
+      return open(path, DEFAULT_RECORDS_PER_SEGMENT);
+   }
+
+   static MappedPose3DTrajectory open(Path path, int recordsPerSegment) throws IOException
+   {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+      {
+         ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(BYTE_ORDER);
+         channel.read(header, 0);
+         header.flip();
+
+         try
+         {
+            EuclidCoreBinaryIOTools.readHeader(EuclidGeometryBinaryIOTools.POSE_3D_TRAJECTORY_TAG, FILE_HEADER_SIZE, header);
+         }
+         catch (RuntimeException e)
+         {
+            throw new IOException("Not a pose 3D trajectory file: " + path, e);
+         }
+
+         long numberOfRecords = (channel.size() - FILE_HEADER_SIZE) / RECORD_SIZE;
+         if (numberOfRecords > Integer.MAX_VALUE)
+            throw new IOException("Too many records: " + numberOfRecords);
+
+         int size = (int) numberOfRecords;
+         ByteBuffer[] segments = new ByteBuffer[(size + recordsPerSegment - 1) / recordsPerSegment];
+
+         for (int i = 0; i < segments.length; i++)
+         {
+            long position = FILE_HEADER_SIZE + (long) i * recordsPerSegment * RECORD_SIZE;
+            long length = (long) Math.min(recordsPerSegment, size - i * recordsPerSegment) * RECORD_SIZE;
+            MappedByteBuffer segment = channel.map(MapMode.READ_ONLY, position, length);
+            segments[i] = segment.order(BYTE_ORDER);
+         }
+
+         return new MappedPose3DTrajectory(size, recordsPerSegment, segments);
+      }
+   }
+
+   private MappedPose3DTrajectory(int size, int recordsPerSegment, ByteBuffer[] segments)
+   {
+      this.size = size;
+      this.recordsPerSegment = recordsPerSegment;
+      this.segments = segments;
+   }
+
+   /**
+    * Gets the number of poses in this trajectory.
+    *
+    * @return the number of poses.
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /**
+    * Tests whether this trajectory has no poses.
+    *
+    * @return {@code true} if this trajectory is empty, {@code false} otherwise.
+    */
+   public boolean isEmpty()
+   {
+      return size == 0;
+   }
+
+   /**
+    * Gets the timestamp of the {@code index}<sup>th</sup> pose.
+    *
+    * @param index the index of the pose.
+    * @return the timestamp of the pose.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public long getTimestamp(int index)
+   {
+      checkIndex(index);
+      return segment(index).getLong(offset(index) + TIMESTAMP_OFFSET);
+   }
+
+   /**
+    * Packs the {@code index}<sup>th</sup> pose.
+    *
+    * @param index      the index of the pose.
+    * @param poseToPack the pose in which the result is stored. Modified.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public void getPose(int index, Pose3DBasics poseToPack)
+   {
+      checkIndex(index);
+      previousView.index = index;
+      poseToPack.set(previousView);
+   }
+
+   /**
+    * Searches the last pose with a timestamp that is less than or equal to {@code timestamp}.
+    * <p>
+    * This method performs a binary search over the timestamps.
+    * </p>
+    *
+    * @param timestamp the query timestamp.
+    * @return the index of the pose, or {@code -1} if this trajectory is empty or the first pose is
+    *         after {@code timestamp}.
+    */
+   public int floorIndex(long timestamp)
+   {
+      int low = 0;
+      int high = size - 1;
+
+      while (low <= high)
+      {
+         int mid = (low + high) >>> 1;
+
+         if (getTimestamp(mid) <= timestamp)
+            low = mid + 1;
+         else
+            high = mid - 1;
+      }
+
+      return high;
+   }
+
+   /**
+    * Computes the pose at the given {@code timestamp} by interpolating between the two neighbouring
+    * poses.
+    * <p>
+    * The position is linearly interpolated and the orientation is interpolated with
+    * {@link QuaternionTools#interpolate(QuaternionReadOnly, QuaternionReadOnly, double, QuaternionBasics)}.
+    * When {@code timestamp} is outside the time range of this trajectory, the first or last pose is
+    * used.
+    * </p>
+    *
+    * @param timestamp  the query timestamp.
+    * @param poseToPack the pose in which the result is stored. Modified.
+    * @throws IllegalStateException if this trajectory is empty.
+    */
+   public void interpolate(long timestamp, Pose3DBasics poseToPack)
+   {
+      if (isEmpty())
+         throw new IllegalStateException("The trajectory is empty.");
+
+      int index = floorIndex(timestamp);
+
+      if (index < 0)
+      {
+         getPose(0, poseToPack);
+         return;
+      }
+      if (index == size - 1)
+      {
+         getPose(index, poseToPack);
+         return;
+      }
+
+      previousView.index = index;
+      nextView.index = index + 1;
+      long previousTimestamp = previousView.getTimestamp();
+      long nextTimestamp = nextView.getTimestamp();
+      double alpha = (double) (timestamp - previousTimestamp) / (double) (nextTimestamp - previousTimestamp);
+
+      poseToPack.getPosition().interpolate(previousView.getPosition(), nextView.getPosition(), alpha);
+      QuaternionTools.interpolate(previousView.getOrientation(), nextView.getOrientation(), alpha, poseToPack.getOrientation());
+   }
+
+   /**
+    * Creates a new flyweight view on the first pose of this trajectory.
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
+    *
+    * @return the new view.
+    */
+   public View newView()
+   {
+      return new View();
+   }
+
+   private ByteBuffer segment(int index)
+   {
+      return segments[index / recordsPerSegment];
+   }
+
+   private int offset(int index)
+   {
+      return (index % recordsPerSegment) * RECORD_SIZE;
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+   }
+
+   private double getDouble(int index, int recordOffset)
+   {
+      return segment(index).getDouble(offset(index) + recordOffset);
+   }
+
+   /**
+    * A flyweight {@link Pose3DReadOnly} reading one pose of the enclosing trajectory directly from
+    * the mapped file.
+    */
+   public class View implements Pose3DReadOnly
+   {
+      private int index;
+
+      private final Point3DReadOnly position = new Point3DReadOnly()
+      {
+         @Override
+         public double getX()
+         {
+            return getDouble(index, POSITION_OFFSET);
+         }
+
+         @Override
+         public double getY()
+         {
+            return getDouble(index, POSITION_OFFSET + Double.BYTES);
+         }
+
+         @Override
+         public double getZ()
+         {
+            return getDouble(index, POSITION_OFFSET + 2 * Double.BYTES);
+         }
+
+         @Override
+         public boolean equals(Object object)
+         {
+            if (object instanceof Tuple3DReadOnly)
+               return equals((EuclidGeometry) object);
+            else
+               return false;
+         }
+
+         @Override
+         public String toString()
+         {
+            return toString(EuclidCoreIOTools.DEFAULT_FORMAT);
+         }
+
+         @Override
+         public int hashCode()
+         {
+            return EuclidHashCodeTools.toIntHashCode(getX(), getY(), getZ());
+         }
+      };
+
+      private final QuaternionReadOnly orientation = new QuaternionReadOnly()
+      {
+         @Override
+         public double getX()
+         {
+            return getDouble(index, ORIENTATION_OFFSET);
+         }
+
+         @Override
+         public double getY()
+         {
+            return getDouble(index, ORIENTATION_OFFSET + Double.BYTES);
+         }
+
+         @Override
+         public double getZ()
+         {
+            return getDouble(index, ORIENTATION_OFFSET + 2 * Double.BYTES);
+         }
+
+         @Override
+         public double getS()
+         {
+            return getDouble(index, ORIENTATION_OFFSET + 3 * Double.BYTES);
+         }
+
+         @Override
+         public boolean equals(Object object)
+         {
+            if (object instanceof QuaternionReadOnly)
+               return equals((EuclidGeometry) object);
+            else
+               return false;
+         }
+
+         @Override
+         public String toString()
+         {
+            return toString(EuclidCoreIOTools.DEFAULT_FORMAT);
+         }
+
+         @Override
+         public int hashCode()
+         {
+            return EuclidHashCodeTools.toIntHashCode(getX(), getY(), getZ(), getS());
+         }
+      };
+
+      private View()
+      {
+      }
+
+      /**
+       * Moves this view to the {@code index}<sup>th</sup> pose of the enclosing trajectory.
+       *
+       * @param index the index of the pose to view.
+       * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+       */
+      public void setIndex(int index)
+      {
+         checkIndex(index);
+         this.index = index;
+      }
+
+      /**
+       * Gets the index of the pose this view is on.
+       *
+       * @return the index of the pose.
+       */
+      public int getIndex()
+      {
+         return index;
+      }
+
+      /**
+       * Gets the timestamp of the pose this view is on.
+       *
+       * @return the timestamp of the pose.
+       */
+      public long getTimestamp()
+      {
+         return segment(index).getLong(offset(index) + TIMESTAMP_OFFSET);
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public Point3DReadOnly getPosition()
+      {
+         return position;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public QuaternionReadOnly getOrientation()
+      {
+         return orientation;
+      }
+
+      /**
+       * Tests if the given {@code object}'s class is the same as this, in which case the method returns
+       * {@link #equals(EuclidGeometry)}, it returns {@code false} otherwise.
+       *
+       * @param object the object to compare against this. Not modified.
+       * @return {@code true} if {@code object} and this are exactly equal, {@code false} otherwise.
+       */
+      @Override
+      public boolean equals(Object object)
+      {
+         if (object instanceof Pose3DReadOnly)
+            return equals((EuclidGeometry) object);
+         else
+            return false;
+      }
+
+      /**
+       * Provides a {@code String} representation of this pose 3D as follows:<br>
+       * Pose 3D: position = (x, y, z), orientation = (x, y, z, s)
+       *
+       * @return the {@code String} representing this pose 3D.
+       */
+      @Override
+      public String toString()
+      {
+         return toString(EuclidCoreIOTools.DEFAULT_FORMAT);
+      }
+
+      /**
+       * Calculates and returns a hash code value from the value of each component of this pose 3D.
+       *
+       * @return the hash code value for this pose 3D.
+       */
+      @Override
+      public int hashCode()
+      {
+         return EuclidHashCodeTools.toIntHashCode(position, orientation);
+      }
+   }
+}
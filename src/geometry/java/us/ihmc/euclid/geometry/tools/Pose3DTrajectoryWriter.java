@@ -0,0 +1,163 @@
+package us.ihmc.euclid.geometry.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import us.ihmc.euclid.geometry.interfaces.Pose3DReadOnly;
+import us.ihmc.euclid.tools.EuclidCoreBinaryIOTools;
+import us.ihmc.euclid.transform.interfaces.RigidBodyTransformReadOnly;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+import us.ihmc.euclid.tuple4D.Quaternion;
+import us.ihmc.euclid.tuple4D.interfaces.QuaternionReadOnly;
+
+/**
+ * Writes time-stamped poses 3D to a file that can then be mapped with
+ * {@link MappedPose3DTrajectory}.
+ * <p>
+ * The records are accumulated in a direct buffer that is written to the file when full, when
+ * {@link #flush()} is called, or when this writer is closed. Once the buffer is allocated, appending
+ * a pose does not generate garbage.
+ * </p>
+ */
+public class Pose3DTrajectoryWriter implements Closeable
+{
+   /** The default number of records buffered before being written to the file. */
+   public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+   private final FileChannel channel;
+   private final ByteBuffer buffer;
+   private final Quaternion orientation = new Quaternion();
+
+   private long lastTimestamp = Long.MIN_VALUE;
+   private long numberOfRecords = 0;
+
+   /**
+    * Creates a new trajectory file, or truncates the existing one, and writes its header.
+    *
+    * @param path the path to the trajectory file.
+    * @throws IOException if an I/O error occurs.
+    */
+   public Pose3DTrajectoryWriter(Path path) throws IOException
+   {
+      this(path, DEFAULT_BUFFER_SIZE);
+   }
+
+   /**
+    * Creates a new trajectory file, or truncates the existing one, and writes its header.
+    *
+    * @param path       the path to the trajectory file.
+    * @param bufferSize the number of records buffered before being written to the file.
+    * @throws IOException if an I/O error occurs.
+    */
+   public Pose3DTrajectoryWriter(Path path, int bufferSize) throws IOException
+   {
+      if (bufferSize < 1)
+         throw new IllegalArgumentException("The buffer size must be positive, was: " + bufferSize);
+
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      buffer = ByteBuffer.allocateDirect(Math.max(bufferSize * MappedPose3DTrajectory.RECORD_SIZE, MappedPose3DTrajectory.FILE_HEADER_SIZE))
+                         .order(MappedPose3DTrajectory.BYTE_ORDER);
+
+      EuclidCoreBinaryIOTools.writeHeader(EuclidGeometryBinaryIOTools.POSE_3D_TRAJECTORY_TAG, MappedPose3DTrajectory.FILE_HEADER_SIZE, buffer);
+      while (buffer.position() < MappedPose3DTrajectory.FILE_HEADER_SIZE)
+         buffer.put((byte) 0);
+      writeBuffer();
+   }
+
+   /**
+    * Appends a pose to the trajectory.
+    *
+    * @param timestamp the timestamp of the pose, it cannot be less than the timestamp of the
+    *                  previous pose.
+    * @param pose      the pose to append. Not modified.
+    * @throws IllegalArgumentException if {@code timestamp} is less than the previous timestamp.
+    * @throws IOException              if an I/O error occurs.
+    */
+   public void append(long timestamp, Pose3DReadOnly pose) throws IOException
+   {
+      append(timestamp, pose.getPosition(), pose.getOrientation());
+   }
+
+   /**
+    * Appends a pose, given as a rigid-body transform, to the trajectory.
+    *
+    * @param timestamp the timestamp of the pose, it cannot be less than the timestamp of the
+    *                  previous pose.
+    * @param transform the transform to append. Not modified.
+    * @throws IllegalArgumentException if {@code timestamp} is less than the previous timestamp.
+    * @throws IOException              if an I/O error occurs.
+    */
+   public void append(long timestamp, RigidBodyTransformReadOnly transform) throws IOException
+   {
+      orientation.set(transform.getRotation());
+      append(timestamp, transform.getTranslation(), orientation);
+   }
+
+   private void append(long timestamp, Tuple3DReadOnly position, QuaternionReadOnly orientation) throws IOException
+   {
+      if (timestamp < lastTimestamp)
+         throw new IllegalArgumentException("The timestamps must be non-decreasing, previous: " + lastTimestamp + ", new: " + timestamp);
+
+      if (buffer.remaining() < MappedPose3DTrajectory.RECORD_SIZE)
+         flush();
+
+      buffer.putLong(timestamp);
+      EuclidCoreBinaryIOTools.putTuple3D(position, buffer);
+      EuclidCoreBinaryIOTools.putQuaternion(orientation, buffer);
+      lastTimestamp = timestamp;
+      numberOfRecords++;
+   }
+
+   /**
+    * Gets the number of poses appended so far.
+    *
+    * @return the number of poses.
+    */
+   public long getNumberOfRecords()
+   {
+      return numberOfRecords;
+   }
+
+   /**
+    * Writes the buffered poses to the file.
+    *
+    * @throws IOException if an I/O error occurs.
+    */
+   public void flush() throws IOException
+   {
+      writeBuffer();
+   }
+
+   /**
+    * Writes the buffered poses to the file and closes it.
+    *
+    * @throws IOException if an I/O error occurs.
+    */
+   @Override
+   public void close() throws IOException
+   {
+      if (!channel.isOpen())
+         return;
+
+      try
+      {
+         writeBuffer();
+      }
+      finally
+      {
+         channel.close();
+      }
+   }
+
+   private void writeBuffer() throws IOException
+   {
+      buffer.flip();
+      while (buffer.hasRemaining())
+         channel.write(buffer);
+      buffer.clear();
+   }
+}
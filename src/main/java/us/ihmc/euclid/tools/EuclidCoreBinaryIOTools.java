@@ -0,0 +1,432 @@
+package us.ihmc.euclid.tools;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import us.ihmc.euclid.matrix.RotationMatrix;
+import us.ihmc.euclid.matrix.interfaces.RotationMatrixBasics;
+import us.ihmc.euclid.matrix.interfaces.RotationMatrixReadOnly;
+import us.ihmc.euclid.orientation.interfaces.Orientation3DReadOnly;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.transform.interfaces.RigidBodyTransformReadOnly;
+import us.ihmc.euclid.tuple2D.interfaces.Tuple2DBasics;
+import us.ihmc.euclid.tuple2D.interfaces.Tuple2DReadOnly;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+import us.ihmc.euclid.tuple4D.interfaces.QuaternionBasics;
+import us.ihmc.euclid.tuple4D.interfaces.QuaternionReadOnly;
+import us.ihmc.euclid.tuple4D.interfaces.Tuple4DBasics;
+import us.ihmc.euclid.tuple4D.interfaces.Tuple4DReadOnly;
+
+/**
+ * This class provides a compact binary encoding of the core Euclid types to read from and write to
+ * a {@link ByteBuffer}, heap or direct.
+ * <p>
+ * Each encoded object starts with a header of {@value #HEADER_SIZE} bytes: a type tag identifying
+ * the type of the object followed by the version of the format, currently
+ * {@value #FORMAT_VERSION}. The header is followed by the components of the object as
+ * {@code double}s, in the byte order of the buffer.
+ * </p>
+ * <p>
+ * The type tags are shared across Euclid: the range [1, 31] is used by this class, the range [32,
+ * 63] by {@code EuclidGeometryBinaryIOTools}, and the range [64, 127] by
+ * {@code EuclidShapeBinaryIOTools}.
+ * </p>
+ * <p>
+ * The methods of this class do not generate garbage. When reading, the header is checked before
+ * consuming any byte such that the buffer is left unchanged if the next object is not of the
+ * expected type.
+ * </p>
+ */
+public class EuclidCoreBinaryIOTools
+{
+   /** The current version of the binary format. */
+   public static final byte FORMAT_VERSION = 1;
+   /** The number of bytes of the header preceding each encoded object. */
+   public static final int HEADER_SIZE = 2;
+
+   /** Type tag for a 2D tuple. */
+   public static final byte TUPLE_2D_TAG = 1;
+   /** Type tag for a 3D tuple. */
+   public static final byte TUPLE_3D_TAG = 2;
+   /** Type tag for a 4D tuple. */
+   public static final byte TUPLE_4D_TAG = 3;
+   /** Type tag for a quaternion. */
+   public static final byte QUATERNION_TAG = 4;
+   /** Type tag for a rotation matrix. */
+   public static final byte ROTATION_MATRIX_TAG = 5;
+   /** Type tag for a rigid-body transform. */
+   public static final byte RIGID_BODY_TRANSFORM_TAG = 6;
+
+   /** The number of bytes of an encoded 2D tuple. */
+   public static final int TUPLE_2D_SIZE = HEADER_SIZE + 2 * Double.BYTES;
+   /** The number of bytes of an encoded 3D tuple. */
+   public static final int TUPLE_3D_SIZE = HEADER_SIZE + 3 * Double.BYTES;
+   /** The number of bytes of an encoded 4D tuple. */
+   public static final int TUPLE_4D_SIZE = HEADER_SIZE + 4 * Double.BYTES;
+   /** The number of bytes of an encoded quaternion. */
+   public static final int QUATERNION_SIZE = HEADER_SIZE + 4 * Double.BYTES;
+   /** The number of bytes of an encoded rotation matrix. */
+   public static final int ROTATION_MATRIX_SIZE = HEADER_SIZE + 9 * Double.BYTES;
+   /** The number of bytes of an encoded rigid-body transform. */
+   public static final int RIGID_BODY_TRANSFORM_SIZE = HEADER_SIZE + 12 * Double.BYTES;
+
+   private EuclidCoreBinaryIOTools()
+   {
+      // Suppresses default constructor, ensuring non-instantiability.
+   }
+
+   /**
+    * Writes the header of an object: its type tag followed by the current format version.
+    * <p>
+    * The remaining space of the buffer is checked first such that nothing is written if the object
+    * does not fit.
+    * </p>
+    *
+    * @param typeTag     the type tag of the object to write.
+    * @param encodedSize the number of bytes of the encoded object, header included.
+    * @param buffer      the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@code encodedSize}
+    *                                 remaining bytes.
+    */
+   public static void writeHeader(byte typeTag, int encodedSize, ByteBuffer buffer)
+   {
+      if (buffer.remaining() < encodedSize)
+         throw new BufferOverflowException();
+
+      buffer.put(typeTag);
+      buffer.put(FORMAT_VERSION);
+   }
+
+   /**
+    * Reads and checks the header of the next object.
+    * <p>
+    * The header and the remaining bytes of the buffer are checked first such that the buffer's
+    * position is left unchanged if the next object cannot be read.
+    * </p>
+    *
+    * @param expectedTypeTag the type tag of the object to read.
+    * @param encodedSize     the number of bytes of the encoded object, header included.
+    * @param buffer          the buffer to read from. Modified.
+    * @throws IllegalArgumentException if the type tag differs from {@code expectedTypeTag} or if
+    *                                  the version is not supported.
+    * @throws BufferUnderflowException if the buffer has less than {@code encodedSize} remaining
+    *                                  bytes.
+    */
+   public static void readHeader(byte expectedTypeTag, int encodedSize, ByteBuffer buffer)
+   {
+      if (buffer.remaining() < encodedSize)
+         throw new BufferUnderflowException();
+
+      int position = buffer.position();
+      byte typeTag = buffer.get(position);
+      byte version = buffer.get(position + 1);
+
+      if (typeTag != expectedTypeTag)
+         throw new IllegalArgumentException("Unexpected type tag, expected: " + expectedTypeTag + ", was: " + typeTag);
+      if (version < 1 || version > FORMAT_VERSION)
+         throw new IllegalArgumentException("Unsupported format version: " + version);
+
+      buffer.position(position + HEADER_SIZE);
+   }
+
+   /**
+    * Gets the type tag of the next object in the buffer without consuming it.
+    *
+    * @param buffer the buffer to read from. Not modified.
+    * @return the type tag of the next object.
+    * @throws IndexOutOfBoundsException if the buffer has no remaining bytes.
+    */
+   public static byte peekTypeTag(ByteBuffer buffer)
+   {
+      return buffer.get(buffer.position());
+   }
+
+   /**
+    * Writes the given 2D tuple.
+    *
+    * @param tuple  the tuple to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #TUPLE_2D_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writeTuple2D(Tuple2DReadOnly tuple, ByteBuffer buffer)
+   {
+      writeHeader(TUPLE_2D_TAG, TUPLE_2D_SIZE, buffer);
+      buffer.putDouble(tuple.getX());
+      buffer.putDouble(tuple.getY());
+   }
+
+   /**
+    * Reads a 2D tuple.
+    *
+    * @param buffer      the buffer to read from. Modified.
+    * @param tupleToPack the tuple in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a 2D tuple.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readTuple2D(ByteBuffer buffer, Tuple2DBasics tupleToPack)
+   {
+      readHeader(TUPLE_2D_TAG, TUPLE_2D_SIZE, buffer);
+      tupleToPack.set(buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the given 3D tuple.
+    *
+    * @param tuple  the tuple to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #TUPLE_3D_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writeTuple3D(Tuple3DReadOnly tuple, ByteBuffer buffer)
+   {
+      writeHeader(TUPLE_3D_TAG, TUPLE_3D_SIZE, buffer);
+      putTuple3D(tuple, buffer);
+   }
+
+   /**
+    * Reads a 3D tuple.
+    *
+    * @param buffer      the buffer to read from. Modified.
+    * @param tupleToPack the tuple in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a 3D tuple.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readTuple3D(ByteBuffer buffer, Tuple3DBasics tupleToPack)
+   {
+      readHeader(TUPLE_3D_TAG, TUPLE_3D_SIZE, buffer);
+      getTuple3D(buffer, tupleToPack);
+   }
+
+   /**
+    * Writes the given 4D tuple.
+    *
+    * @param tuple  the tuple to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #TUPLE_4D_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writeTuple4D(Tuple4DReadOnly tuple, ByteBuffer buffer)
+   {
+      writeHeader(TUPLE_4D_TAG, TUPLE_4D_SIZE, buffer);
+      buffer.putDouble(tuple.getX());
+      buffer.putDouble(tuple.getY());
+      buffer.putDouble(tuple.getZ());
+      buffer.putDouble(tuple.getS());
+   }
+
+   /**
+    * Reads a 4D tuple.
+    *
+    * @param buffer      the buffer to read from. Modified.
+    * @param tupleToPack the tuple in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a 4D tuple.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readTuple4D(ByteBuffer buffer, Tuple4DBasics tupleToPack)
+   {
+      readHeader(TUPLE_4D_TAG, TUPLE_4D_SIZE, buffer);
+      tupleToPack.set(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the given quaternion.
+    *
+    * @param quaternion the quaternion to write. Not modified.
+    * @param buffer     the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #QUATERNION_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writeQuaternion(QuaternionReadOnly quaternion, ByteBuffer buffer)
+   {
+      writeHeader(QUATERNION_TAG, QUATERNION_SIZE, buffer);
+      putQuaternion(quaternion, buffer);
+   }
+
+   /**
+    * Reads a quaternion.
+    * <p>
+    * The quaternion is not normalized such that it is read exactly as it was written.
+    * </p>
+    *
+    * @param buffer           the buffer to read from. Modified.
+    * @param quaternionToPack the quaternion in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a quaternion.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readQuaternion(ByteBuffer buffer, QuaternionBasics quaternionToPack)
+   {
+      readHeader(QUATERNION_TAG, QUATERNION_SIZE, buffer);
+      getQuaternion(buffer, quaternionToPack);
+   }
+
+   /**
+    * Writes the given rotation matrix.
+    *
+    * @param rotationMatrix the rotation matrix to write. Not modified.
+    * @param buffer         the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than
+    *                                          {@link #ROTATION_MATRIX_SIZE} remaining bytes.
+    */
+   public static void writeRotationMatrix(RotationMatrixReadOnly rotationMatrix, ByteBuffer buffer)
+   {
+      writeHeader(ROTATION_MATRIX_TAG, ROTATION_MATRIX_SIZE, buffer);
+      putRotationMatrix(rotationMatrix, buffer);
+   }
+
+   /**
+    * Reads a rotation matrix.
+    * <p>
+    * The matrix is not checked to be a proper rotation matrix.
+    * </p>
+    *
+    * @param buffer               the buffer to read from. Modified.
+    * @param rotationMatrixToPack the rotation matrix in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a rotation matrix.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readRotationMatrix(ByteBuffer buffer, RotationMatrixBasics rotationMatrixToPack)
+   {
+      readHeader(ROTATION_MATRIX_TAG, ROTATION_MATRIX_SIZE, buffer);
+      getRotationMatrix(buffer, rotationMatrixToPack);
+   }
+
+   /**
+    * Writes the given rigid-body transform as its rotation matrix followed by its translation.
+    * <p>
+    * WARNING: This method generates garbage when the rotation of the transform is not a rotation
+    * matrix, e.g. for a {@link us.ihmc.euclid.transform.QuaternionBasedTransform}.
+    * </p>
+    *
+    * @param transform the transform to write. Not modified.
+    * @param buffer    the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than
+    *                                          {@link #RIGID_BODY_TRANSFORM_SIZE} remaining bytes.
+    */
+   public static void writeRigidBodyTransform(RigidBodyTransformReadOnly transform, ByteBuffer buffer)
+   {
+      writeHeader(RIGID_BODY_TRANSFORM_TAG, RIGID_BODY_TRANSFORM_SIZE, buffer);
+      Orientation3DReadOnly rotation = transform.getRotation();
+      if (rotation instanceof RotationMatrixReadOnly)
+         putRotationMatrix((RotationMatrixReadOnly) rotation, buffer);
+      else
+         putRotationMatrix(new RotationMatrix(rotation), buffer);
+      putTuple3D(transform.getTranslation(), buffer);
+   }
+
+   /**
+    * Reads a rigid-body transform.
+    * <p>
+    * The rotation part is not checked to be a proper rotation matrix.
+    * </p>
+    *
+    * @param buffer          the buffer to read from. Modified.
+    * @param transformToPack the transform in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a rigid-body transform.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readRigidBodyTransform(ByteBuffer buffer, RigidBodyTransform transformToPack)
+   {
+      readHeader(RIGID_BODY_TRANSFORM_TAG, RIGID_BODY_TRANSFORM_SIZE, buffer);
+      getRotationMatrix(buffer, transformToPack.getRotation());
+      getTuple3D(buffer, transformToPack.getTranslation());
+   }
+
+   /**
+    * Writes the components of the given 3D tuple without header.
+    *
+    * @param tuple  the tuple to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    */
+   public static void putTuple3D(Tuple3DReadOnly tuple, ByteBuffer buffer)
+   {
+      buffer.putDouble(tuple.getX());
+      buffer.putDouble(tuple.getY());
+      buffer.putDouble(tuple.getZ());
+   }
+
+   /**
+    * Reads the components of a 3D tuple written with
+    * {@link #putTuple3D(Tuple3DReadOnly, ByteBuffer)}.
+    *
+    * @param buffer      the buffer to read from. Modified.
+    * @param tupleToPack the tuple in which the result is stored. Modified.
+    */
+   public static void getTuple3D(ByteBuffer buffer, Tuple3DBasics tupleToPack)
+   {
+      tupleToPack.set(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the components of the given quaternion without header.
+    *
+    * @param quaternion the quaternion to write. Not modified.
+    * @param buffer     the buffer to write to. Modified.
+    */
+   public static void putQuaternion(QuaternionReadOnly quaternion, ByteBuffer buffer)
+   {
+      buffer.putDouble(quaternion.getX());
+      buffer.putDouble(quaternion.getY());
+      buffer.putDouble(quaternion.getZ());
+      buffer.putDouble(quaternion.getS());
+   }
+
+   /**
+    * Reads the components of a quaternion written with
+    * {@link #putQuaternion(QuaternionReadOnly, ByteBuffer)}.
+    * <p>
+    * The quaternion is not normalized such that it is read exactly as it was written.
+    * </p>
+    *
+    * @param buffer           the buffer to read from. Modified.
+    * @param quaternionToPack the quaternion in which the result is stored. Modified.
+    */
+   public static void getQuaternion(ByteBuffer buffer, QuaternionBasics quaternionToPack)
+   {
+      quaternionToPack.setUnsafe(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the components of the given rotation matrix without header, row by row.
+    *
+    * @param rotationMatrix the rotation matrix to write. Not modified.
+    * @param buffer         the buffer to write to. Modified.
+    */
+   public static void putRotationMatrix(RotationMatrixReadOnly rotationMatrix, ByteBuffer buffer)
+   {
+      buffer.putDouble(rotationMatrix.getM00());
+      buffer.putDouble(rotationMatrix.getM01());
+      buffer.putDouble(rotationMatrix.getM02());
+      buffer.putDouble(rotationMatrix.getM10());
+      buffer.putDouble(rotationMatrix.getM11());
+      buffer.putDouble(rotationMatrix.getM12());
+      buffer.putDouble(rotationMatrix.getM20());
+      buffer.putDouble(rotationMatrix.getM21());
+      buffer.putDouble(rotationMatrix.getM22());
+   }
+
+   /**
+    * Reads the components of a rotation matrix written with
+    * {@link #putRotationMatrix(RotationMatrixReadOnly, ByteBuffer)}.
+    * <p>
+    * The matrix is not checked to be a proper rotation matrix.
+    * </p>
+    *
+    * @param buffer               the buffer to read from. Modified.
+    * @param rotationMatrixToPack the rotation matrix in which the result is stored. Modified.
+    */
+   public static void getRotationMatrix(ByteBuffer buffer, RotationMatrixBasics rotationMatrixToPack)
+   {
+      rotationMatrixToPack.setUnsafe(buffer.getDouble(),
+                                     buffer.getDouble(),
+                                     buffer.getDouble(),
+                                     buffer.getDouble(),
+                                     buffer.getDouble(),
+                                     buffer.getDouble(),
+                                     buffer.getDouble(),
+                                     buffer.getDouble(),
+                                     buffer.getDouble());
+   }
+}
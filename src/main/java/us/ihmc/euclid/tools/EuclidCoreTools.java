@@ -1,5 +1,7 @@
 package us.ihmc.euclid.tools;
 
+import java.util.Locale;
+
 import org.ejml.MatrixDimensionException;
 import org.ejml.data.Matrix;
 
@@ -42,6 +44,19 @@ public class EuclidCoreTools
     */
    public static final double CLAMP_EPS = 1.0e-10;
 
+   /**
+    * Name of the system property that can be used to select at startup the backend used for the
+    * trigonometric functions, the value is the name of one of the {@link EuclidMathBackend}s.
+    * <p>
+    * The name is case insensitive. When the property is not set or its value does not name a backend,
+    * {@link EuclidMathBackend#STRICT} is used without reporting an error such that this class can
+    * always be loaded. Use {@link #getMathBackend()} to verify the backend actually in use.
+    * </p>
+    */
+   public static final String MATH_BACKEND_PROPERTY = "euclid.math.backend";
+
+   private static EuclidMathBackend mathBackend = parseMathBackend(System.getProperty(MATH_BACKEND_PROPERTY));
+
    /**
     * Constant representing the coordinates (0, 0) of the origin in the 2D plane.
     */
@@ -1128,6 +1143,59 @@ public class EuclidCoreTools
       return (1.0 - alpha) * a + alpha * b;
    }
 
+   /**
+    * Selects the backend used for the trigonometric functions of this class.
+    * <p>
+    * This method is meant to be called once at startup before any computation. Changing the backend
+    * while other threads are using Euclid may result in inconsistent results.
+    * </p>
+    *
+    * @param mathBackend the new backend to use. Not modified.
+    * @see #MATH_BACKEND_PROPERTY
+    */
+   public static void setMathBackend(EuclidMathBackend mathBackend)
+   {
+      if (mathBackend == null)
+         throw new IllegalArgumentException("The math backend cannot be null.");
+      EuclidCoreTools.mathBackend = mathBackend;
+   }
+
+   /**
+    * Parses the value of the system property {@link #MATH_BACKEND_PROPERTY}, case insensitive.
+    * <p>
+    * An invalid value should not prevent this class from loading, {@link EuclidMathBackend#STRICT} is
+    * silently used instead.
+    * </p>
+    *
+    * @param value the value of the property, can be {@code null}.
+    * @return the backend named by {@code value}, or {@link EuclidMathBackend#STRICT} if the value is
+    *         {@code null} or does not name a backend.
+    */
+   static EuclidMathBackend parseMathBackend(String value)
+   {
+      if (value == null)
+         return EuclidMathBackend.STRICT;
+
+      try
+      {
+         return EuclidMathBackend.valueOf(value.trim().toUpperCase(Locale.ROOT));
+      }
+      catch (IllegalArgumentException e)
+      {
+         return EuclidMathBackend.STRICT;
+      }
+   }
+
+   /**
+    * Gets the backend currently used for the trigonometric functions of this class.
+    *
+    * @return the current backend.
+    */
+   public static EuclidMathBackend getMathBackend()
+   {
+      return mathBackend;
+   }
+
    /**
     * Returns the trigonometric tangent of an angle.
     *
@@ -1137,7 +1205,7 @@ public class EuclidCoreTools
     */
    public static double tan(double a)
    {
-      return StrictMath.tan(a);
+      return mathBackend.tan(a);
    }
 
    /**
@@ -1150,7 +1218,7 @@ public class EuclidCoreTools
     */
    public static double atan(double a)
    {
-      return StrictMath.atan(a);
+      return mathBackend.atan(a);
    }
 
    /**
@@ -1166,7 +1234,7 @@ public class EuclidCoreTools
     */
    public static double atan2(double y, double x)
    {
-      return StrictMath.atan2(y, x);
+      return mathBackend.atan2(y, x);
    }
 
    /**
@@ -1178,7 +1246,7 @@ public class EuclidCoreTools
     */
    public static double cos(double a)
    {
-      return StrictMath.cos(a);
+      return mathBackend.cos(a);
    }
 
    /**
@@ -1190,7 +1258,7 @@ public class EuclidCoreTools
     */
    public static double sin(double a)
    {
-      return StrictMath.sin(a);
+      return mathBackend.sin(a);
    }
 
    /**
@@ -1202,7 +1270,7 @@ public class EuclidCoreTools
     */
    public static double acos(double a)
    {
-      return StrictMath.acos(a);
+      return mathBackend.acos(a);
    }
 
    /**
@@ -1234,7 +1302,7 @@ public class EuclidCoreTools
     */
    public static double asin(double a)
    {
-      return StrictMath.asin(a);
+      return mathBackend.asin(a);
    }
 
    /**
@@ -0,0 +1,282 @@
+package us.ihmc.euclid.tools;
+
+/**
+ * This class provides fast approximations of the trigonometric functions used by
+ * {@link EuclidMathBackend#FAST_APPROXIMATION}.
+ * <p>
+ * The approximations rely on a single Cody-Waite range reduction followed by polynomial kernels
+ * derived from fdlibm. They skip the slow paths of {@link StrictMath} and trade the last bits of
+ * accuracy for speed. The maximum absolute errors with respect to {@link StrictMath} are:
+ * <ul>
+ * <li>{@link #sin(double)}, {@link #cos(double)}: 5.0e-16 for |a| &le; 1.0e5.
+ * <li>{@link #tan(double)}: 1.0e-15 relative error.
+ * <li>{@link #atan(double)}, {@link #atan2(double, double)}, {@link #asin(double)},
+ * {@link #acos(double)}: 5.0e-16.
+ * </ul>
+ * Arguments outside the supported range, infinities, and NaNs are delegated to {@link Math}.
+ * </p>
+ */
+public class EuclidFastMathTools
+{
+   /** Arguments larger than this are delegated to {@link Math}, the range reduction losing precision. */
+   static final double MAX_REDUCIBLE_ANGLE = 1.0e5;
+
+   private static final double TWO_OVER_PI = 6.36619772367581382433e-01;
+   // pi/2 split in three parts such that k * part is exact for |k| < 2^20.
+   private static final double PIO2_1 = 1.57079632673412561417e+00;
+   private static final double PIO2_2 = 6.07710050630396597660e-11;
+   private static final double PIO2_2T = 2.02226624879595063154e-21;
+
+   private static final double S1 = -1.66666666666666324348e-01;
+   private static final double S2 = 8.33333333332248946124e-03;
+   private static final double S3 = -1.98412698298579493134e-04;
+   private static final double S4 = 2.75573137070700676789e-06;
+   private static final double S5 = -2.50507602534068634195e-08;
+   private static final double S6 = 1.58969099521155010221e-10;
+
+   private static final double C1 = 4.16666666666666019037e-02;
+   private static final double C2 = -1.38888888888741095749e-03;
+   private static final double C3 = 2.48015872894767294178e-05;
+   private static final double C4 = -2.75573143513906633035e-07;
+   private static final double C5 = 2.08757232129817482790e-09;
+   private static final double C6 = -1.13596475577881948265e-11;
+
+   private static final double[] ATAN_HI = {4.63647609000806093515e-01, 7.85398163397448278999e-01, 9.82793723247329054082e-01, 1.57079632679489655800e+00};
+   private static final double[] ATAN_LO = {2.26987774529616870924e-17, 3.06161699786838301793e-17, 1.39033110312309984516e-17, 6.12323399573676603587e-17};
+   private static final double AT0 = 3.33333333333329318027e-01;
+   private static final double AT1 = -1.99999999998764832476e-01;
+   private static final double AT2 = 1.42857142725034663711e-01;
+   private static final double AT3 = -1.11111104054623557880e-01;
+   private static final double AT4 = 9.09088713343650656196e-02;
+   private static final double AT5 = -7.69187620504482999495e-02;
+   private static final double AT6 = 6.66107313738753120669e-02;
+   private static final double AT7 = -5.83357013379057348645e-02;
+   private static final double AT8 = 4.97687799461593236017e-02;
+   private static final double AT9 = -3.65315727442169155270e-02;
+   private static final double AT10 = 1.62858201153657823623e-02;
+
+   private static final double PI_OVER_2 = Math.PI / 2.0;
+
+   private EuclidFastMathTools()
+   {
+      // Suppresses default constructor, ensuring non-instantiability.
+   }
+
+   /**
+    * Returns an approximation of the trigonometric sine of an angle.
+    *
+    * @param a an angle, in radians.
+    * @return the sine of the argument.
+    */
+   public static double sin(double a)
+   {
+      if (!(Math.abs(a) <= MAX_REDUCIBLE_ANGLE))
+         return Math.sin(a);
+
+      double k = Math.rint(a * TWO_OVER_PI);
+      double r = reduce(a, k);
+
+      switch ((int) k & 3)
+      {
+         case 0:
+            return sinKernel(r);
+         case 1:
+            return cosKernel(r);
+         case 2:
+            return -sinKernel(r);
+         default:
+            return -cosKernel(r);
+      }
+   }
+
+   /**
+    * Returns an approximation of the trigonometric cosine of an angle.
+    *
+    * @param a an angle, in radians.
+    * @return the cosine of the argument.
+    */
+   public static double cos(double a)
+   {
+      if (!(Math.abs(a) <= MAX_REDUCIBLE_ANGLE))
+         return Math.cos(a);
+
+      double k = Math.rint(a * TWO_OVER_PI);
+      double r = reduce(a, k);
+
+      switch ((int) k & 3)
+      {
+         case 0:
+            return cosKernel(r);
+         case 1:
+            return -sinKernel(r);
+         case 2:
+            return -cosKernel(r);
+         default:
+            return sinKernel(r);
+      }
+   }
+
+   /**
+    * Returns an approximation of the trigonometric tangent of an angle.
+    *
+    * @param a an angle, in radians.
+    * @return the tangent of the argument.
+    */
+   public static double tan(double a)
+   {
+      if (!(Math.abs(a) <= MAX_REDUCIBLE_ANGLE))
+         return Math.tan(a);
+
+      double k = Math.rint(a * TWO_OVER_PI);
+      double r = reduce(a, k);
+
+      if (((int) k & 1) == 0)
+         return sinKernel(r) / cosKernel(r);
+      else
+         return -cosKernel(r) / sinKernel(r);
+   }
+
+   /**
+    * Returns an approximation of the arc tangent of a value; the returned angle is in the range
+    * -<i>pi</i>/2 through <i>pi</i>/2.
+    *
+    * @param a the value whose arc tangent is to be returned.
+    * @return the arc tangent of the argument.
+    */
+   public static double atan(double a)
+   {
+      if (Double.isNaN(a))
+         return a;
+
+      return Math.copySign(atanPositive(Math.abs(a)), a);
+   }
+
+   /**
+    * Returns an approximation of the angle <i>theta</i> from the conversion of rectangular coordinates
+    * ({@code x},&nbsp;{@code y}) to polar coordinates (r,&nbsp;<i>theta</i>).
+    *
+    * @param y the ordinate coordinate
+    * @param x the abscissa coordinate
+    * @return the <i>theta</i> component of the point (<i>r</i>,&nbsp;<i>theta</i>) in polar
+    *         coordinates that corresponds to the point (<i>x</i>,&nbsp;<i>y</i>) in Cartesian
+    *         coordinates.
+    */
+   public static double atan2(double y, double x)
+   {
+      double absX = Math.abs(x);
+      double absY = Math.abs(y);
+
+      // Infinities, NaNs, and the signed zeros are handled by Math.
+      if (!(absX < Double.POSITIVE_INFINITY && absY < Double.POSITIVE_INFINITY) || (absX == 0.0 && absY == 0.0))
+         return Math.atan2(y, x);
+
+      double angle;
+
+      if (absY <= absX)
+         angle = atanPositive(absY / absX);
+      else
+         angle = PI_OVER_2 - atanPositive(absX / absY);
+
+      if (x < 0.0)
+         angle = Math.PI - angle;
+
+      return Math.copySign(angle, y);
+   }
+
+   /**
+    * Returns an approximation of the arc sine of a value; the returned angle is in the range
+    * -<i>pi</i>/2 through <i>pi</i>/2.
+    *
+    * @param a the value whose arc sine is to be returned.
+    * @return the arc sine of the argument, or {@link Double#NaN} if |a| &gt; 1.
+    */
+   public static double asin(double a)
+   {
+      if (!(Math.abs(a) <= 1.0))
+         return Double.NaN;
+
+      return atan2(a, Math.sqrt((1.0 - a) * (1.0 + a)));
+   }
+
+   /**
+    * Returns an approximation of the arc cosine of a value; the returned angle is in the range 0.0
+    * through <i>pi</i>.
+    *
+    * @param a the value whose arc cosine is to be returned.
+    * @return the arc cosine of the argument, or {@link Double#NaN} if |a| &gt; 1.
+    */
+   public static double acos(double a)
+   {
+      if (!(Math.abs(a) <= 1.0))
+         return Double.NaN;
+
+      return atan2(Math.sqrt((1.0 - a) * (1.0 + a)), a);
+   }
+
+   /**
+    * Reduces the angle {@code a} to the range [-<i>pi</i>/4, <i>pi</i>/4] by subtracting
+    * {@code k}&times;<i>pi</i>/2.
+    */
+   private static double reduce(double a, double k)
+   {
+      return ((a - k * PIO2_1) - k * PIO2_2) - k * PIO2_2T;
+   }
+
+   /** Sine for |r| &le; <i>pi</i>/4. */
+   private static double sinKernel(double r)
+   {
+      double z = r * r;
+      return r + r * z * (S1 + z * (S2 + z * (S3 + z * (S4 + z * (S5 + z * S6)))));
+   }
+
+   /** Cosine for |r| &le; <i>pi</i>/4. */
+   private static double cosKernel(double r)
+   {
+      double z = r * r;
+      double hz = 0.5 * z;
+      double w = 1.0 - hz;
+      // Compensating the rounding error of w such that the result is accurate close to 1.
+      return w + (((1.0 - w) - hz) + z * z * (C1 + z * (C2 + z * (C3 + z * (C4 + z * (C5 + z * C6))))));
+   }
+
+   /** Arc tangent for a &ge; 0, including +&infin;. */
+   private static double atanPositive(double a)
+   {
+      int id;
+
+      if (a < 0.4375)
+      {
+         id = -1;
+      }
+      else if (a < 0.6875)
+      {
+         id = 0;
+         a = (2.0 * a - 1.0) / (2.0 + a);
+      }
+      else if (a < 1.1875)
+      {
+         id = 1;
+         a = (a - 1.0) / (a + 1.0);
+      }
+      else if (a < 2.4375)
+      {
+         id = 2;
+         a = (a - 1.5) / (1.0 + 1.5 * a);
+      }
+      else
+      {
+         id = 3;
+         a = -1.0 / a;
+      }
+
+      double z = a * a;
+      double w = z * z;
+      double s1 = z * (AT0 + w * (AT2 + w * (AT4 + w * (AT6 + w * (AT8 + w * AT10)))));
+      double s2 = w * (AT1 + w * (AT3 + w * (AT5 + w * (AT7 + w * AT9))));
+
+      if (id < 0)
+         return a - a * (s1 + s2);
+      else
+         return ATAN_HI[id] - ((a * (s1 + s2) - ATAN_LO[id]) - a);
+   }
+}
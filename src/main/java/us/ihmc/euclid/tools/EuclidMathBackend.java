@@ -0,0 +1,229 @@
+package us.ihmc.euclid.tools;
+
+/**
+ * {@code EuclidMathBackend} defines the implementations of the trigonometric functions that
+ * {@link EuclidCoreTools} can delegate to. These functions are used by all the orientation
+ * conversions, e.g. yaw-pitch-roll, axis-angle, and quaternion conversions, and by the
+ * interpolation of orientations.
+ * <p>
+ * The backend is selected once at startup, either with the system property
+ * {@value EuclidCoreTools#MATH_BACKEND_PROPERTY}, e.g. {@code -Deuclid.math.backend=JAVA_MATH}, or
+ * with {@link EuclidCoreTools#setMathBackend(EuclidMathBackend)}. The default backend is
+ * {@link #STRICT}.
+ * </p>
+ */
+public enum EuclidMathBackend
+{
+   /**
+    * Delegates to {@link StrictMath}, the results are reproducible across platforms. This is the
+    * default backend.
+    */
+   STRICT
+   {
+      @Override
+      public double sin(double a)
+      {
+         return StrictMath.sin(a);
+      }
+
+      @Override
+      public double cos(double a)
+      {
+         return StrictMath.cos(a);
+      }
+
+      @Override
+      public double tan(double a)
+      {
+         return StrictMath.tan(a);
+      }
+
+      @Override
+      public double atan(double a)
+      {
+         return StrictMath.atan(a);
+      }
+
+      @Override
+      public double atan2(double y, double x)
+      {
+         return StrictMath.atan2(y, x);
+      }
+
+      @Override
+      public double asin(double a)
+      {
+         return StrictMath.asin(a);
+      }
+
+      @Override
+      public double acos(double a)
+      {
+         return StrictMath.acos(a);
+      }
+   },
+   /**
+    * Delegates to {@link Math}, which may use the intrinsics of the platform. The results are within
+    * 1 ulp of the exact result but may differ across platforms.
+    */
+   JAVA_MATH
+   {
+      @Override
+      public double sin(double a)
+      {
+         return Math.sin(a);
+      }
+
+      @Override
+      public double cos(double a)
+      {
+         return Math.cos(a);
+      }
+
+      @Override
+      public double tan(double a)
+      {
+         return Math.tan(a);
+      }
+
+      @Override
+      public double atan(double a)
+      {
+         return Math.atan(a);
+      }
+
+      @Override
+      public double atan2(double y, double x)
+      {
+         return Math.atan2(y, x);
+      }
+
+      @Override
+      public double asin(double a)
+      {
+         return Math.asin(a);
+      }
+
+      @Override
+      public double acos(double a)
+      {
+         return Math.acos(a);
+      }
+   },
+   /**
+    * Delegates to the approximations of {@link EuclidFastMathTools}, see its documentation for the
+    * maximum error of each function.
+    */
+   FAST_APPROXIMATION
+   {
+      @Override
+      public double sin(double a)
+      {
+         return EuclidFastMathTools.sin(a);
+      }
+
+      @Override
+      public double cos(double a)
+      {
+         return EuclidFastMathTools.cos(a);
+      }
+
+      @Override
+      public double tan(double a)
+      {
+         return EuclidFastMathTools.tan(a);
+      }
+
+      @Override
+      public double atan(double a)
+      {
+         return EuclidFastMathTools.atan(a);
+      }
+
+      @Override
+      public double atan2(double y, double x)
+      {
+         return EuclidFastMathTools.atan2(y, x);
+      }
+
+      @Override
+      public double asin(double a)
+      {
+         return EuclidFastMathTools.asin(a);
+      }
+
+      @Override
+      public double acos(double a)
+      {
+         return EuclidFastMathTools.acos(a);
+      }
+   };
+
+   /**
+    * Static final field holding the return from {@link #values()}. This field should be used in place
+    * of calling values() for garbage-free operations.
+    */
+   public static final EuclidMathBackend[] values = values();
+
+   /**
+    * Returns the trigonometric sine of an angle.
+    *
+    * @param a an angle, in radians.
+    * @return the sine of the argument.
+    */
+   public abstract double sin(double a);
+
+   /**
+    * Returns the trigonometric cosine of an angle.
+    *
+    * @param a an angle, in radians.
+    * @return the cosine of the argument.
+    */
+   public abstract double cos(double a);
+
+   /**
+    * Returns the trigonometric tangent of an angle.
+    *
+    * @param a an angle, in radians.
+    * @return the tangent of the argument.
+    */
+   public abstract double tan(double a);
+
+   /**
+    * Returns the arc tangent of a value; the returned angle is in the range -<i>pi</i>/2 through
+    * <i>pi</i>/2.
+    *
+    * @param a the value whose arc tangent is to be returned.
+    * @return the arc tangent of the argument.
+    */
+   public abstract double atan(double a);
+
+   /**
+    * Returns the angle <i>theta</i> from the conversion of rectangular coordinates
+    * ({@code x},&nbsp;{@code y}) to polar coordinates (r,&nbsp;<i>theta</i>).
+    *
+    * @param y the ordinate coordinate
+    * @param x the abscissa coordinate
+    * @return the <i>theta</i> component of the point (<i>r</i>,&nbsp;<i>theta</i>) in polar
+    *         coordinates that corresponds to the point (<i>x</i>,&nbsp;<i>y</i>) in Cartesian
+    *         coordinates.
+    */
+   public abstract double atan2(double y, double x);
+
+   /**
+    * Returns the arc sine of a value; the returned angle is in the range -<i>pi</i>/2 through
+    * <i>pi</i>/2.
+    *
+    * @param a the value whose arc sine is to be returned.
+    * @return the arc sine of the argument.
+    */
+   public abstract double asin(double a);
+
+   /**
+    * Returns the arc cosine of a value; the returned angle is in the range 0.0 through <i>pi</i>.
+    *
+    * @param a the value whose arc cosine is to be returned.
+    * @return the arc cosine of the argument.
+    */
+   public abstract double acos(double a);
+}
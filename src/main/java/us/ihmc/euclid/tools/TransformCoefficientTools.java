@@ -0,0 +1,143 @@
+package us.ihmc.euclid.tools;
+
+import us.ihmc.euclid.matrix.interfaces.Matrix3DReadOnly;
+import us.ihmc.euclid.orientation.interfaces.Orientation3DReadOnly;
+import us.ihmc.euclid.transform.interfaces.AffineTransformReadOnly;
+import us.ihmc.euclid.transform.interfaces.RigidBodyTransformReadOnly;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+import us.ihmc.euclid.tuple4D.interfaces.QuaternionReadOnly;
+
+/**
+ * Extraction of the coefficients of a transform as a flat array, such that the transform can be
+ * applied in a single loop over packed component arrays.
+ * <p>
+ * This is the single implementation shared by the structure-of-arrays tuple buffers, e.g.
+ * {@link us.ihmc.euclid.tuple3D.Tuple3DArray}, and the batch kernels of the simd artifact. It is
+ * only public so these can reach it from their own packages and should not be considered part of
+ * the API of Euclid.
+ * </p>
+ */
+public final class TransformCoefficientTools
+{
+   private TransformCoefficientTools()
+   {
+      // Suppresses default constructor, ensuring non-instantiability.
+   }
+
+   /**
+    * Extracts the coefficients of the given transform, or of its inverse, in the form
+    * {@code [m00, m01, m02, m10, m11, m12, m20, m21, m22, tx, ty, tz]}.
+    * <p>
+    * The coefficients can be extracted from any rigid-body transform and, for the forward transform
+    * only, from any affine transform.
+    * </p>
+    *
+    * @param transform          the transform to extract the coefficients of. Not modified.
+    * @param inverse            whether the coefficients of the inverse of the transform are
+    *                           extracted.
+    * @param coefficientsToPack the array in which the coefficients are stored, its length has to be
+    *                           at least 12. Modified.
+    * @return {@code false} if the coefficients cannot be extracted without allocating, in which case
+    *         the transform has to be applied tuple by tuple.
+    */
+   public static boolean getTransformCoefficients(Transform transform, boolean inverse, double[] coefficientsToPack)
+   {
+      Tuple3DReadOnly translation;
+
+      if (transform instanceof RigidBodyTransformReadOnly)
+      {
+         RigidBodyTransformReadOnly rigidBodyTransform = (RigidBodyTransformReadOnly) transform;
+         Orientation3DReadOnly rotation = rigidBodyTransform.getRotation();
+
+         if (rotation instanceof Matrix3DReadOnly)
+            getMatrixCoefficients((Matrix3DReadOnly) rotation, coefficientsToPack);
+         else if (rotation instanceof QuaternionReadOnly)
+            getQuaternionCoefficients((QuaternionReadOnly) rotation, coefficientsToPack);
+         else
+            return false;
+
+         translation = rigidBodyTransform.getTranslation();
+      }
+      else if (transform instanceof AffineTransformReadOnly && !inverse)
+      {
+         AffineTransformReadOnly affineTransform = (AffineTransformReadOnly) transform;
+         getMatrixCoefficients(affineTransform.getLinearTransform(), coefficientsToPack);
+         translation = affineTransform.getTranslation();
+      }
+      else
+      {
+         return false;
+      }
+
+      double tx = translation.getX();
+      double ty = translation.getY();
+      double tz = translation.getZ();
+
+      if (inverse)
+      { // The inverse of a rigid-body transform: R^T * (p - t)
+         swap(coefficientsToPack, 1, 3);
+         swap(coefficientsToPack, 2, 6);
+         swap(coefficientsToPack, 5, 7);
+         coefficientsToPack[9] = -(coefficientsToPack[0] * tx + coefficientsToPack[1] * ty + coefficientsToPack[2] * tz);
+         coefficientsToPack[10] = -(coefficientsToPack[3] * tx + coefficientsToPack[4] * ty + coefficientsToPack[5] * tz);
+         coefficientsToPack[11] = -(coefficientsToPack[6] * tx + coefficientsToPack[7] * ty + coefficientsToPack[8] * tz);
+      }
+      else
+      {
+         coefficientsToPack[9] = tx;
+         coefficientsToPack[10] = ty;
+         coefficientsToPack[11] = tz;
+      }
+
+      return true;
+   }
+
+   private static void getMatrixCoefficients(Matrix3DReadOnly matrix, double[] coefficientsToPack)
+   {
+      coefficientsToPack[0] = matrix.getM00();
+      coefficientsToPack[1] = matrix.getM01();
+      coefficientsToPack[2] = matrix.getM02();
+      coefficientsToPack[3] = matrix.getM10();
+      coefficientsToPack[4] = matrix.getM11();
+      coefficientsToPack[5] = matrix.getM12();
+      coefficientsToPack[6] = matrix.getM20();
+      coefficientsToPack[7] = matrix.getM21();
+      coefficientsToPack[8] = matrix.getM22();
+   }
+
+   private static void getQuaternionCoefficients(QuaternionReadOnly quaternion, double[] coefficientsToPack)
+   {
+      double qx = quaternion.getX();
+      double qy = quaternion.getY();
+      double qz = quaternion.getZ();
+      double qs = quaternion.getS();
+
+      double yy2 = 2.0 * qy * qy;
+      double zz2 = 2.0 * qz * qz;
+      double xx2 = 2.0 * qx * qx;
+      double xy2 = 2.0 * qx * qy;
+      double sz2 = 2.0 * qs * qz;
+      double xz2 = 2.0 * qx * qz;
+      double sy2 = 2.0 * qs * qy;
+      double yz2 = 2.0 * qy * qz;
+      double sx2 = 2.0 * qs * qx;
+
+      coefficientsToPack[0] = 1.0 - yy2 - zz2;
+      coefficientsToPack[1] = xy2 - sz2;
+      coefficientsToPack[2] = xz2 + sy2;
+      coefficientsToPack[3] = xy2 + sz2;
+      coefficientsToPack[4] = 1.0 - xx2 - zz2;
+      coefficientsToPack[5] = yz2 - sx2;
+      coefficientsToPack[6] = xz2 - sy2;
+      coefficientsToPack[7] = yz2 + sx2;
+      coefficientsToPack[8] = 1.0 - xx2 - yy2;
+   }
+
+   private static void swap(double[] array, int i, int j)
+   {
+      double tmp = array[i];
+      array[i] = array[j];
+      array[j] = tmp;
+   }
+}
@@ -0,0 +1,193 @@
+package us.ihmc.euclid.tuple3D;
+
+import us.ihmc.euclid.interfaces.EuclidGeometry;
+import us.ihmc.euclid.tools.EuclidCoreIOTools;
+import us.ihmc.euclid.tools.EuclidHashCodeTools;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.interfaces.Point3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+
+/**
+ * A resizable array of 3D points stored as a structure of arrays using double precision.
+ * <p>
+ * The translation of a transform is applied to the points, see {@link Vector3DArray} for an array
+ * of vectors.
+ * </p>
+ * <p>
+ * Individual points can be accessed as {@link Point3DBasics} through a {@link View}, a flyweight
+ * that reads and writes directly into this array.
+ * </p>
+ */
+public class Point3DArray extends Tuple3DArray
+{
+   private final View perTupleView = new View(0);
+
+   /**
+    * Creates a new empty array of points.
+    */
+   public Point3DArray()
+   {
+      this(16);
+   }
+
+   /**
+    * Creates a new empty array of points.
+    *
+    * @param initialCapacity the number of points that can be stored before growing the arrays.
+    */
+   public Point3DArray(int initialCapacity)
+   {
+      super(initialCapacity, true);
+   }
+
+   /**
+    * Creates a new view on the {@code index}<sup>th</sup> point of this array.
+    * <p>
+    * WARNING: This method generates garbage, a view can be moved to another point with
+    * {@link View#setIndex(int)}.
+    * </p>
+    *
+    * @param index the index of the point to view.
+    * @return the new view.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public View newView(int index)
+   {
+      checkIndex(index);
+      return new View(index);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   protected void applyTransformPerTuple(Transform transform, boolean inverse)
+   {
+      for (int i = 0; i < size; i++)
+      {
+         perTupleView.index = i;
+
+         if (inverse)
+            transform.inverseTransform(perTupleView);
+         else
+            transform.transform(perTupleView);
+      }
+   }
+
+   /**
+    * A flyweight {@link Point3DBasics} reading and writing the components of one point of the
+    * enclosing array.
+    * <p>
+    * The view does not check that its index remains valid when the enclosing array is shrunk.
+    * </p>
+    */
+   public class View implements Point3DBasics
+   {
+      private int index;
+
+      private View(int index)
+      {
+         this.index = index;
+      }
+
+      /**
+       * Moves this view to the {@code index}<sup>th</sup> point of the enclosing array.
+       *
+       * @param index the index of the point to view.
+       * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+       */
+      public void setIndex(int index)
+      {
+         checkIndex(index);
+         this.index = index;
+      }
+
+      /**
+       * Gets the index of the point this view is on.
+       *
+       * @return the index of the point.
+       */
+      public int getIndex()
+      {
+         return index;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public void setX(double x)
+      {
+         xs[index] = x;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public void setY(double y)
+      {
+         ys[index] = y;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public void setZ(double z)
+      {
+         zs[index] = z;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public double getX()
+      {
+         return xs[index];
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public double getY()
+      {
+         return ys[index];
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public double getZ()
+      {
+         return zs[index];
+      }
+
+      /**
+       * Tests if the given {@code object}'s class is the same as this, in which case the method returns
+       * {@link #equals(EuclidGeometry)}, it returns {@code false} otherwise.
+       *
+       * @param object the object to compare against this. Not modified.
+       * @return {@code true} if {@code object} and this are exactly equal, {@code false} otherwise.
+       */
+      @Override
+      public boolean equals(Object object)
+      {
+         if (object instanceof Tuple3DReadOnly)
+            return equals((EuclidGeometry) object);
+         else
+            return false;
+      }
+
+      /**
+       * Provides a {@code String} representation of this point 3D as follows: (x, y, z).
+       *
+       * @return the {@code String} representing this point 3D.
+       */
+      @Override
+      public String toString()
+      {
+         return toString(EuclidCoreIOTools.DEFAULT_FORMAT);
+      }
+
+      /**
+       * Calculates and returns a hash code value from the value of each component of this point 3D.
+       *
+       * @return the hash code value for this point 3D.
+       */
+      @Override
+      public int hashCode()
+      {
+         return EuclidHashCodeTools.toIntHashCode(getX(), getY(), getZ());
+      }
+   }
+}
@@ -0,0 +1,457 @@
+package us.ihmc.euclid.tuple3D;
+
+import java.util.Arrays;
+
+import us.ihmc.euclid.interfaces.Transformable;
+import us.ihmc.euclid.tools.EuclidCoreTools;
+import us.ihmc.euclid.tools.TransformCoefficientTools;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+
+/**
+ * Base class for a resizable array of 3D tuples stored as a structure of arrays, i.e. one array per
+ * component, using double precision.
+ * <p>
+ * In contrast to a {@code List<Point3D>}, the components are stored contiguously such that the
+ * batch operations of this class, e.g. {@link #applyTransform(Transform)}, are simple loops over
+ * primitive arrays that the JIT can compile into SIMD instructions.
+ * </p>
+ *
+ * @see Point3DArray
+ * @see Vector3DArray
+ */
+public abstract class Tuple3DArray implements Transformable
+{
+   private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+   /** The components of the tuples, only the first {@link #size} elements are valid. */
+   protected double[] xs, ys, zs;
+   /** The number of tuples in this array. */
+   protected int size = 0;
+   /** Whether the translation of a transform is applied to the tuples, i.e. tuples are points. */
+   private final boolean isTranslationApplied;
+   private final double[] transformCoefficients = new double[12];
+
+   /**
+    * Creates a new empty array of tuples.
+    *
+    * @param initialCapacity      the number of tuples that can be stored before growing the arrays.
+    * @param isTranslationApplied whether the translation of a transform is applied to the tuples.
+    */
+   protected Tuple3DArray(int initialCapacity, boolean isTranslationApplied)
+   {
+      if (initialCapacity < 0)
+         throw new IllegalArgumentException("The capacity cannot be negative: " + initialCapacity);
+
+      this.isTranslationApplied = isTranslationApplied;
+      xs = new double[initialCapacity];
+      ys = new double[initialCapacity];
+      zs = new double[initialCapacity];
+   }
+
+   /**
+    * Gets the number of tuples in this array.
+    *
+    * @return the size of this array.
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /**
+    * Removes all the tuples from this array, the capacity remains unchanged.
+    */
+   public void clear()
+   {
+      size = 0;
+   }
+
+   /**
+    * Changes the number of tuples in this array, the tuples added to the array are set to zero.
+    *
+    * @param newSize the new size of this array.
+    */
+   public void setSize(int newSize)
+   {
+      if (newSize < 0)
+         throw new IllegalArgumentException("The size cannot be negative: " + newSize);
+
+      ensureCapacity(newSize);
+
+      if (newSize > size)
+      {
+         Arrays.fill(xs, size, newSize, 0.0);
+         Arrays.fill(ys, size, newSize, 0.0);
+         Arrays.fill(zs, size, newSize, 0.0);
+      }
+
+      size = newSize;
+   }
+
+   /**
+    * Grows the component arrays if needed such that this array can hold at least
+    * {@code minimumCapacity} tuples.
+    * <p>
+    * WARNING: This method generates garbage when the arrays have to grow.
+    * </p>
+    *
+    * @param minimumCapacity the minimum number of tuples this array has to be able to hold.
+    */
+   public void ensureCapacity(int minimumCapacity)
+   {
+      if (minimumCapacity <= xs.length)
+         return;
+
+      int newCapacity = Math.max(minimumCapacity, Math.max(DEFAULT_INITIAL_CAPACITY, 2 * xs.length));
+      xs = Arrays.copyOf(xs, newCapacity);
+      ys = Arrays.copyOf(ys, newCapacity);
+      zs = Arrays.copyOf(zs, newCapacity);
+   }
+
+   /**
+    * Adds a new tuple at the end of this array.
+    *
+    * @param x the x-component of the new tuple.
+    * @param y the y-component of the new tuple.
+    * @param z the z-component of the new tuple.
+    */
+   public void append(double x, double y, double z)
+   {
+      ensureCapacity(size + 1);
+      xs[size] = x;
+      ys[size] = y;
+      zs[size] = z;
+      size++;
+   }
+
+   /**
+    * Adds a new tuple at the end of this array.
+    *
+    * @param tuple the tuple to add. Not modified.
+    */
+   public void append(Tuple3DReadOnly tuple)
+   {
+      append(tuple.getX(), tuple.getY(), tuple.getZ());
+   }
+
+   /**
+    * Sets the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple to set.
+    * @param x     the new x-component.
+    * @param y     the new y-component.
+    * @param z     the new z-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public void set(int index, double x, double y, double z)
+   {
+      checkIndex(index);
+      xs[index] = x;
+      ys[index] = y;
+      zs[index] = z;
+   }
+
+   /**
+    * Sets the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple to set.
+    * @param tuple the tuple to copy the components of. Not modified.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public void set(int index, Tuple3DReadOnly tuple)
+   {
+      set(index, tuple.getX(), tuple.getY(), tuple.getZ());
+   }
+
+   /**
+    * Packs the {@code index}<sup>th</sup> tuple of this array into the given tuple.
+    *
+    * @param index       the index of the tuple to get.
+    * @param tupleToPack the tuple in which the components are stored. Modified.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public void get(int index, Tuple3DBasics tupleToPack)
+   {
+      checkIndex(index);
+      tupleToPack.set(xs[index], ys[index], zs[index]);
+   }
+
+   /**
+    * Gets the x-component of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the x-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public double getX(int index)
+   {
+      checkIndex(index);
+      return xs[index];
+   }
+
+   /**
+    * Gets the y-component of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the y-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public double getY(int index)
+   {
+      checkIndex(index);
+      return ys[index];
+   }
+
+   /**
+    * Gets the z-component of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the z-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public double getZ(int index)
+   {
+      checkIndex(index);
+      return zs[index];
+   }
+
+   /**
+    * Adds the given tuple to each tuple of this array.
+    *
+    * @param tuple the tuple to add. Not modified.
+    */
+   public void add(Tuple3DReadOnly tuple)
+   {
+      double x = tuple.getX();
+      double y = tuple.getY();
+      double z = tuple.getZ();
+
+      for (int i = 0; i < size; i++)
+      {
+         xs[i] += x;
+         ys[i] += y;
+         zs[i] += z;
+      }
+   }
+
+   /**
+    * Adds element-wise the tuples of {@code other} to the tuples of this array.
+    *
+    * @param other the array of tuples to add. Not modified.
+    * @throws IllegalArgumentException if the two arrays have different sizes.
+    */
+   public void add(Tuple3DArray other)
+   {
+      checkSameSize(other.size);
+      double[] otherXs = other.xs, otherYs = other.ys, otherZs = other.zs;
+
+      for (int i = 0; i < size; i++)
+      {
+         xs[i] += otherXs[i];
+         ys[i] += otherYs[i];
+         zs[i] += otherZs[i];
+      }
+   }
+
+   /**
+    * Scales each tuple of this array by the given factor.
+    *
+    * @param scaleFactor the scale factor to use.
+    */
+   public void scale(double scaleFactor)
+   {
+      for (int i = 0; i < size; i++)
+      {
+         xs[i] *= scaleFactor;
+         ys[i] *= scaleFactor;
+         zs[i] *= scaleFactor;
+      }
+   }
+
+   /**
+    * Calculates the norm of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the norm of the tuple.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public double norm(int index)
+   {
+      checkIndex(index);
+      return EuclidCoreTools.norm(xs[index], ys[index], zs[index]);
+   }
+
+   /**
+    * Calculates the norm of each tuple of this array.
+    *
+    * @param normsToPack the array in which the norms are stored, its length has to be at least
+    *                    {@link #size()}. Modified.
+    * @throws IllegalArgumentException if {@code normsToPack} is too small.
+    */
+   public void norms(double[] normsToPack)
+   {
+      if (normsToPack.length < size)
+         throw new IllegalArgumentException("The array is too small, expected at least " + size + " elements, was: " + normsToPack.length);
+
+      for (int i = 0; i < size; i++)
+         normsToPack[i] = Math.sqrt(xs[i] * xs[i] + ys[i] * ys[i] + zs[i] * zs[i]);
+   }
+
+   /**
+    * Transforms all the tuples of this array.
+    * <p>
+    * Rigid-body and affine transforms are applied in a single loop over the component arrays, other
+    * transforms are applied tuple by tuple.
+    * </p>
+    *
+    * @param transform the transform to apply. Not modified.
+    */
+   @Override
+   public void applyTransform(Transform transform)
+   {
+      if (TransformCoefficientTools.getTransformCoefficients(transform, false, transformCoefficients))
+         transform(transformCoefficients);
+      else
+         applyTransformPerTuple(transform, false);
+   }
+
+   /**
+    * Transforms all the tuples of this array by the inverse of the given transform.
+    * <p>
+    * Rigid-body transforms are applied in a single loop over the component arrays, other transforms
+    * are applied tuple by tuple.
+    * </p>
+    *
+    * @param transform the transform which inverse is applied. Not modified.
+    */
+   @Override
+   public void applyInverseTransform(Transform transform)
+   {
+      if (TransformCoefficientTools.getTransformCoefficients(transform, true, transformCoefficients))
+         transform(transformCoefficients);
+      else
+         applyTransformPerTuple(transform, true);
+   }
+
+   private void transform(double[] coefficients)
+   {
+      double m00 = coefficients[0], m01 = coefficients[1], m02 = coefficients[2];
+      double m10 = coefficients[3], m11 = coefficients[4], m12 = coefficients[5];
+      double m20 = coefficients[6], m21 = coefficients[7], m22 = coefficients[8];
+
+      if (isTranslationApplied)
+      {
+         double tx = coefficients[9], ty = coefficients[10], tz = coefficients[11];
+
+         for (int i = 0; i < size; i++)
+         {
+            double x = xs[i], y = ys[i], z = zs[i];
+            xs[i] = m00 * x + m01 * y + m02 * z + tx;
+            ys[i] = m10 * x + m11 * y + m12 * z + ty;
+            zs[i] = m20 * x + m21 * y + m22 * z + tz;
+         }
+      }
+      else
+      {
+         for (int i = 0; i < size; i++)
+         {
+            double x = xs[i], y = ys[i], z = zs[i];
+            xs[i] = m00 * x + m01 * y + m02 * z;
+            ys[i] = m10 * x + m11 * y + m12 * z;
+            zs[i] = m20 * x + m21 * y + m22 * z;
+         }
+      }
+   }
+
+   /**
+    * Applies the transform, or its inverse, to each tuple of this array one at a time.
+    *
+    * @param transform the transform to apply. Not modified.
+    * @param inverse   whether the inverse of the transform is applied.
+    */
+   protected abstract void applyTransformPerTuple(Transform transform, boolean inverse);
+
+   /**
+    * Gets the internal array holding the x-components of the tuples.
+    * <p>
+    * Only the first {@link #size()} elements are valid. The array is replaced when this array grows,
+    * such that the reference should not be kept.
+    * </p>
+    *
+    * @return the x-components.
+    */
+   public double[] getXs()
+   {
+      return xs;
+   }
+
+   /**
+    * Gets the internal array holding the y-components of the tuples.
+    * <p>
+    * Only the first {@link #size()} elements are valid. The array is replaced when this array grows,
+    * such that the reference should not be kept.
+    * </p>
+    *
+    * @return the y-components.
+    */
+   public double[] getYs()
+   {
+      return ys;
+   }
+
+   /**
+    * Gets the internal array holding the z-components of the tuples.
+    * <p>
+    * Only the first {@link #size()} elements are valid. The array is replaced when this array grows,
+    * such that the reference should not be kept.
+    * </p>
+    *
+    * @return the z-components.
+    */
+   public double[] getZs()
+   {
+      return zs;
+   }
+
+   /**
+    * Checks that {@code index} is in [0, {@link #size()}[.
+    *
+    * @param index the index to check.
+    * @throws IndexOutOfBoundsException if the index is out of bounds.
+    */
+   protected void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+   }
+
+   /**
+    * Checks that this array has the given size.
+    *
+    * @param otherSize the expected size.
+    * @throws IllegalArgumentException if the sizes differ.
+    */
+   protected void checkSameSize(int otherSize)
+   {
+      if (size != otherSize)
+         throw new IllegalArgumentException("The arrays have different sizes: " + size + " and " + otherSize);
+   }
+
+   /**
+    * Gets a representative {@code String} of this array of tuples.
+    *
+    * @return the {@code String} representing this array.
+    */
+   @Override
+   public String toString()
+   {
+      StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append("[size: ").append(size).append("]");
+
+      for (int i = 0; i < size; i++)
+         sb.append("\n").append(i).append(": (").append(xs[i]).append(", ").append(ys[i]).append(", ").append(zs[i]).append(")");
+
+      return sb.toString();
+   }
+}
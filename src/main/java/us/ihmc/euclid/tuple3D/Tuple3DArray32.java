@@ -0,0 +1,456 @@
+package us.ihmc.euclid.tuple3D;
+
+import java.util.Arrays;
+
+import us.ihmc.euclid.interfaces.Transformable;
+import us.ihmc.euclid.tools.EuclidCoreTools;
+import us.ihmc.euclid.tools.TransformCoefficientTools;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+
+/**
+ * Base class for a resizable array of 3D tuples stored as a structure of arrays, i.e. one array per
+ * component, using single precision.
+ * <p>
+ * The batch operations of this class compute in single precision such that twice as many tuples fit
+ * in a SIMD register compared to {@link Tuple3DArray}, at the cost of precision.
+ * </p>
+ *
+ * @see Point3DArray32
+ * @see Vector3DArray32
+ */
+public abstract class Tuple3DArray32 implements Transformable
+{
+   private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+   /** The components of the tuples, only the first {@link #size} elements are valid. */
+   protected float[] xs, ys, zs;
+   /** The number of tuples in this array. */
+   protected int size = 0;
+   /** Whether the translation of a transform is applied to the tuples, i.e. tuples are points. */
+   private final boolean isTranslationApplied;
+   private final double[] transformCoefficients = new double[12];
+
+   /**
+    * Creates a new empty array of tuples.
+    *
+    * @param initialCapacity      the number of tuples that can be stored before growing the arrays.
+    * @param isTranslationApplied whether the translation of a transform is applied to the tuples.
+    */
+   protected Tuple3DArray32(int initialCapacity, boolean isTranslationApplied)
+   {
+      if (initialCapacity < 0)
+         throw new IllegalArgumentException("The capacity cannot be negative: " + initialCapacity);
+
+      this.isTranslationApplied = isTranslationApplied;
+      xs = new float[initialCapacity];
+      ys = new float[initialCapacity];
+      zs = new float[initialCapacity];
+   }
+
+   /**
+    * Gets the number of tuples in this array.
+    *
+    * @return the size of this array.
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /**
+    * Removes all the tuples from this array, the capacity remains unchanged.
+    */
+   public void clear()
+   {
+      size = 0;
+   }
+
+   /**
+    * Changes the number of tuples in this array, the tuples added to the array are set to zero.
+    *
+    * @param newSize the new size of this array.
+    */
+   public void setSize(int newSize)
+   {
+      if (newSize < 0)
+         throw new IllegalArgumentException("The size cannot be negative: " + newSize);
+
+      ensureCapacity(newSize);
+
+      if (newSize > size)
+      {
+         Arrays.fill(xs, size, newSize, 0.0f);
+         Arrays.fill(ys, size, newSize, 0.0f);
+         Arrays.fill(zs, size, newSize, 0.0f);
+      }
+
+      size = newSize;
+   }
+
+   /**
+    * Grows the component arrays if needed such that this array can hold at least
+    * {@code minimumCapacity} tuples.
+    * <p>
+    * WARNING: This method generates garbage when the arrays have to grow.
+    * </p>
+    *
+    * @param minimumCapacity the minimum number of tuples this array has to be able to hold.
+    */
+   public void ensureCapacity(int minimumCapacity)
+   {
+      if (minimumCapacity <= xs.length)
+         return;
+
+      int newCapacity = Math.max(minimumCapacity, Math.max(DEFAULT_INITIAL_CAPACITY, 2 * xs.length));
+      xs = Arrays.copyOf(xs, newCapacity);
+      ys = Arrays.copyOf(ys, newCapacity);
+      zs = Arrays.copyOf(zs, newCapacity);
+   }
+
+   /**
+    * Adds a new tuple at the end of this array.
+    *
+    * @param x the x-component of the new tuple.
+    * @param y the y-component of the new tuple.
+    * @param z the z-component of the new tuple.
+    */
+   public void append(float x, float y, float z)
+   {
+      ensureCapacity(size + 1);
+      xs[size] = x;
+      ys[size] = y;
+      zs[size] = z;
+      size++;
+   }
+
+   /**
+    * Adds a new tuple at the end of this array.
+    *
+    * @param tuple the tuple to add. Not modified.
+    */
+   public void append(Tuple3DReadOnly tuple)
+   {
+      append(tuple.getX32(), tuple.getY32(), tuple.getZ32());
+   }
+
+   /**
+    * Sets the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple to set.
+    * @param x     the new x-component.
+    * @param y     the new y-component.
+    * @param z     the new z-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public void set(int index, float x, float y, float z)
+   {
+      checkIndex(index);
+      xs[index] = x;
+      ys[index] = y;
+      zs[index] = z;
+   }
+
+   /**
+    * Sets the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple to set.
+    * @param tuple the tuple to copy the components of. Not modified.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public void set(int index, Tuple3DReadOnly tuple)
+   {
+      set(index, tuple.getX32(), tuple.getY32(), tuple.getZ32());
+   }
+
+   /**
+    * Packs the {@code index}<sup>th</sup> tuple of this array into the given tuple.
+    *
+    * @param index       the index of the tuple to get.
+    * @param tupleToPack the tuple in which the components are stored. Modified.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public void get(int index, Tuple3DBasics tupleToPack)
+   {
+      checkIndex(index);
+      tupleToPack.set(xs[index], ys[index], zs[index]);
+   }
+
+   /**
+    * Gets the x-component of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the x-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public float getX(int index)
+   {
+      checkIndex(index);
+      return xs[index];
+   }
+
+   /**
+    * Gets the y-component of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the y-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public float getY(int index)
+   {
+      checkIndex(index);
+      return ys[index];
+   }
+
+   /**
+    * Gets the z-component of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the z-component.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public float getZ(int index)
+   {
+      checkIndex(index);
+      return zs[index];
+   }
+
+   /**
+    * Adds the given tuple to each tuple of this array.
+    *
+    * @param tuple the tuple to add. Not modified.
+    */
+   public void add(Tuple3DReadOnly tuple)
+   {
+      float x = tuple.getX32();
+      float y = tuple.getY32();
+      float z = tuple.getZ32();
+
+      for (int i = 0; i < size; i++)
+      {
+         xs[i] += x;
+         ys[i] += y;
+         zs[i] += z;
+      }
+   }
+
+   /**
+    * Adds element-wise the tuples of {@code other} to the tuples of this array.
+    *
+    * @param other the array of tuples to add. Not modified.
+    * @throws IllegalArgumentException if the two arrays have different sizes.
+    */
+   public void add(Tuple3DArray32 other)
+   {
+      checkSameSize(other.size);
+      float[] otherXs = other.xs, otherYs = other.ys, otherZs = other.zs;
+
+      for (int i = 0; i < size; i++)
+      {
+         xs[i] += otherXs[i];
+         ys[i] += otherYs[i];
+         zs[i] += otherZs[i];
+      }
+   }
+
+   /**
+    * Scales each tuple of this array by the given factor.
+    *
+    * @param scaleFactor the scale factor to use.
+    */
+   public void scale(float scaleFactor)
+   {
+      for (int i = 0; i < size; i++)
+      {
+         xs[i] *= scaleFactor;
+         ys[i] *= scaleFactor;
+         zs[i] *= scaleFactor;
+      }
+   }
+
+   /**
+    * Calculates the norm of the {@code index}<sup>th</sup> tuple of this array.
+    *
+    * @param index the index of the tuple.
+    * @return the norm of the tuple.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public float norm(int index)
+   {
+      checkIndex(index);
+      return (float) EuclidCoreTools.norm(xs[index], ys[index], zs[index]);
+   }
+
+   /**
+    * Calculates the norm of each tuple of this array.
+    *
+    * @param normsToPack the array in which the norms are stored, its length has to be at least
+    *                    {@link #size()}. Modified.
+    * @throws IllegalArgumentException if {@code normsToPack} is too small.
+    */
+   public void norms(float[] normsToPack)
+   {
+      if (normsToPack.length < size)
+         throw new IllegalArgumentException("The array is too small, expected at least " + size + " elements, was: " + normsToPack.length);
+
+      for (int i = 0; i < size; i++)
+         normsToPack[i] = (float) Math.sqrt(xs[i] * xs[i] + ys[i] * ys[i] + zs[i] * zs[i]);
+   }
+
+   /**
+    * Transforms all the tuples of this array.
+    * <p>
+    * Rigid-body and affine transforms are applied in a single loop over the component arrays in
+    * single precision, other transforms are applied tuple by tuple.
+    * </p>
+    *
+    * @param transform the transform to apply. Not modified.
+    */
+   @Override
+   public void applyTransform(Transform transform)
+   {
+      if (TransformCoefficientTools.getTransformCoefficients(transform, false, transformCoefficients))
+         transform(transformCoefficients);
+      else
+         applyTransformPerTuple(transform, false);
+   }
+
+   /**
+    * Transforms all the tuples of this array by the inverse of the given transform.
+    * <p>
+    * Rigid-body transforms are applied in a single loop over the component arrays in single
+    * precision, other transforms are applied tuple by tuple.
+    * </p>
+    *
+    * @param transform the transform which inverse is applied. Not modified.
+    */
+   @Override
+   public void applyInverseTransform(Transform transform)
+   {
+      if (TransformCoefficientTools.getTransformCoefficients(transform, true, transformCoefficients))
+         transform(transformCoefficients);
+      else
+         applyTransformPerTuple(transform, true);
+   }
+
+   private void transform(double[] coefficients)
+   {
+      float m00 = (float) coefficients[0], m01 = (float) coefficients[1], m02 = (float) coefficients[2];
+      float m10 = (float) coefficients[3], m11 = (float) coefficients[4], m12 = (float) coefficients[5];
+      float m20 = (float) coefficients[6], m21 = (float) coefficients[7], m22 = (float) coefficients[8];
+
+      if (isTranslationApplied)
+      {
+         float tx = (float) coefficients[9], ty = (float) coefficients[10], tz = (float) coefficients[11];
+
+         for (int i = 0; i < size; i++)
+         {
+            float x = xs[i], y = ys[i], z = zs[i];
+            xs[i] = m00 * x + m01 * y + m02 * z + tx;
+            ys[i] = m10 * x + m11 * y + m12 * z + ty;
+            zs[i] = m20 * x + m21 * y + m22 * z + tz;
+         }
+      }
+      else
+      {
+         for (int i = 0; i < size; i++)
+         {
+            float x = xs[i], y = ys[i], z = zs[i];
+            xs[i] = m00 * x + m01 * y + m02 * z;
+            ys[i] = m10 * x + m11 * y + m12 * z;
+            zs[i] = m20 * x + m21 * y + m22 * z;
+         }
+      }
+   }
+
+   /**
+    * Applies the transform, or its inverse, to each tuple of this array one at a time.
+    *
+    * @param transform the transform to apply. Not modified.
+    * @param inverse   whether the inverse of the transform is applied.
+    */
+   protected abstract void applyTransformPerTuple(Transform transform, boolean inverse);
+
+   /**
+    * Gets the internal array holding the x-components of the tuples.
+    * <p>
+    * Only the first {@link #size()} elements are valid. The array is replaced when this array grows,
+    * such that the reference should not be kept.
+    * </p>
+    *
+    * @return the x-components.
+    */
+   public float[] getXs()
+   {
+      return xs;
+   }
+
+   /**
+    * Gets the internal array holding the y-components of the tuples.
+    * <p>
+    * Only the first {@link #size()} elements are valid. The array is replaced when this array grows,
+    * such that the reference should not be kept.
+    * </p>
+    *
+    * @return the y-components.
+    */
+   public float[] getYs()
+   {
+      return ys;
+   }
+
+   /**
+    * Gets the internal array holding the z-components of the tuples.
+    * <p>
+    * Only the first {@link #size()} elements are valid. The array is replaced when this array grows,
+    * such that the reference should not be kept.
+    * </p>
+    *
+    * @return the z-components.
+    */
+   public float[] getZs()
+   {
+      return zs;
+   }
+
+   /**
+    * Checks that {@code index} is in [0, {@link #size()}[.
+    *
+    * @param index the index to check.
+    * @throws IndexOutOfBoundsException if the index is out of bounds.
+    */
+   protected void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+   }
+
+   /**
+    * Checks that this array has the given size.
+    *
+    * @param otherSize the expected size.
+    * @throws IllegalArgumentException if the sizes differ.
+    */
+   protected void checkSameSize(int otherSize)
+   {
+      if (size != otherSize)
+         throw new IllegalArgumentException("The arrays have different sizes: " + size + " and " + otherSize);
+   }
+
+   /**
+    * Gets a representative {@code String} of this array of tuples.
+    *
+    * @return the {@code String} representing this array.
+    */
+   @Override
+   public String toString()
+   {
+      StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append("[size: ").append(size).append("]");
+
+      for (int i = 0; i < size; i++)
+         sb.append("\n").append(i).append(": (").append(xs[i]).append(", ").append(ys[i]).append(", ").append(zs[i]).append(")");
+
+      return sb.toString();
+   }
+}
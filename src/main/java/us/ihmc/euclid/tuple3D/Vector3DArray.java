@@ -0,0 +1,193 @@
+package us.ihmc.euclid.tuple3D;
+
+import us.ihmc.euclid.interfaces.EuclidGeometry;
+import us.ihmc.euclid.tools.EuclidCoreIOTools;
+import us.ihmc.euclid.tools.EuclidHashCodeTools;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DBasics;
+
+/**
+ * A resizable array of 3D vectors stored as a structure of arrays using double precision.
+ * <p>
+ * The translation of a transform is not applied to the vectors, see {@link Point3DArray} for an
+ * array of points.
+ * </p>
+ * <p>
+ * Individual vectors can be accessed as {@link Vector3DBasics} through a {@link View}, a flyweight
+ * that reads and writes directly into this array.
+ * </p>
+ */
+public class Vector3DArray extends Tuple3DArray
+{
+   private final View perTupleView = new View(0);
+
+   /**
+    * Creates a new empty array of vectors.
+    */
+   public Vector3DArray()
+   {
+      this(16);
+   }
+
+   /**
+    * Creates a new empty array of vectors.
+    *
+    * @param initialCapacity the number of vectors that can be stored before growing the arrays.
+    */
+   public Vector3DArray(int initialCapacity)
+   {
+      super(initialCapacity, false);
+   }
+
+   /**
+    * Creates a new view on the {@code index}<sup>th</sup> vector of this array.
+    * <p>
+    * WARNING: This method generates garbage, a view can be moved to another vector with
+    * {@link View#setIndex(int)}.
+    * </p>
+    *
+    * @param index the index of the vector to view.
+    * @return the new view.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+    */
+   public View newView(int index)
+   {
+      checkIndex(index);
+      return new View(index);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   protected void applyTransformPerTuple(Transform transform, boolean inverse)
+   {
+      for (int i = 0; i < size; i++)
+      {
+         perTupleView.index = i;
+
+         if (inverse)
+            transform.inverseTransform(perTupleView);
+         else
+            transform.transform(perTupleView);
+      }
+   }
+
+   /**
+    * A flyweight {@link Vector3DBasics} reading and writing the components of one vector of the
+    * enclosing array.
+    * <p>
+    * The view does not check that its index remains valid when the enclosing array is shrunk.
+    * </p>
+    */
+   public class View implements Vector3DBasics
+   {
+      private int index;
+
+      private View(int index)
+      {
+         this.index = index;
+      }
+
+      /**
+       * Moves this view to the {@code index}<sup>th</sup> vector of the enclosing array.
+       *
+       * @param index the index of the vector to view.
+       * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #size()}[.
+       */
+      public void setIndex(int index)
+      {
+         checkIndex(index);
+         this.index = index;
+      }
+
+      /**
+       * Gets the index of the vector this view is on.
+       *
+       * @return the index of the vector.
+       */
+      public int getIndex()
+      {
+         return index;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public void setX(double x)
+      {
+         xs[index] = x;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public void setY(double y)
+      {
+         ys[index] = y;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public void setZ(double z)
+      {
+         zs[index] = z;
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public double getX()
+      {
+         return xs[index];
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public double getY()
+      {
+         return ys[index];
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public double getZ()
+      {
+         return zs[index];
+      }
+
+      /**
+       * Tests if the given {@code object}'s class is the same as this, in which case the method returns
+       * {@link #equals(EuclidGeometry)}, it returns {@code false} otherwise.
+       *
+       * @param object the object to compare against this. Not modified.
+       * @return {@code true} if {@code object} and this are exactly equal, {@code false} otherwise.
+       */
+      @Override
+      public boolean equals(Object object)
+      {
+         if (object instanceof Tuple3DReadOnly)
+            return equals((EuclidGeometry) object);
+         else
+            return false;
+      }
+
+      /**
+       * Provides a {@code String} representation of this vector 3D as follows: (x, y, z).
+       *
+       * @return the {@code String} representing this vector 3D.
+       */
+      @Override
+      public String toString()
+      {
+         return toString(EuclidCoreIOTools.DEFAULT_FORMAT);
+      }
+
+      /**
+       * Calculates and returns a hash code value from the value of each component of this vector 3D.
+       *
+       * @return the hash code value for this vector 3D.
+       */
+      @Override
+      public int hashCode()
+      {
+         return EuclidHashCodeTools.toIntHashCode(getX(), getY(), getZ());
+      }
+   }
+}
@@ -0,0 +1,286 @@
+package us.ihmc.euclid.shape.collision;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
+import us.ihmc.euclid.shape.collision.interfaces.EuclidShape3DCollisionResultBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+
+/**
+ * Collision detector that evaluates a batch of pairs of shapes in parallel.
+ * <p>
+ * The pairs to evaluate are registered via {@link #addPair(Shape3DReadOnly, Shape3DReadOnly)},
+ * which can be used directly as the pair consumer of a broad-phase, and are then evaluated all at
+ * once with {@link #evaluateCollisions(EuclidShape3DCollisionResultBasics[])}. The work is
+ * distributed over the workers of a {@link ForkJoinPool}, each worker using its own detector.
+ * Workers pick small chunks of consecutive pairs until all the pairs have been evaluated, such that
+ * the load remains balanced even when the cost of the evaluation varies from one pair to another.
+ * </p>
+ * <p>
+ * The result of the i<sup>th</sup> pair is always stored at the i<sup>th</sup> index of the result
+ * array, and is identical to the result of a sequential evaluation, regardless of the number of
+ * workers.
+ * </p>
+ * <p>
+ * This class itself is not thread-safe: pairs should not be registered while evaluating.
+ * </p>
+ */
+public class BatchCollisionDetector
+{
+   /** The default number of consecutive pairs a worker evaluates before picking another chunk. */
+   public static final int DEFAULT_CHUNK_SIZE = 16;
+
+   /** The pool used to run the workers. */
+   private final ForkJoinPool pool;
+   /** The workers, each having its own detector. */
+   private final Worker[] workers;
+   /** Task used to start the workers from the pool. */
+   private final RootTask rootTask = new RootTask();
+   /** The index of the next pair to be evaluated. */
+   private final AtomicInteger nextPairIndex = new AtomicInteger();
+   private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+   /** The first shape of each pair. */
+   private Shape3DReadOnly[] shapesA = new Shape3DReadOnly[64];
+   /** The second shape of each pair. */
+   private Shape3DReadOnly[] shapesB = new Shape3DReadOnly[64];
+   /** The number of pairs registered. */
+   private int numberOfPairs = 0;
+   /** The results to pack, only non-null during an evaluation. */
+   private EuclidShape3DCollisionResultBasics[] results = null;
+
+   /**
+    * Creates a new detector that uses the common pool.
+    *
+    * @see ForkJoinPool#commonPool()
+    */
+   public BatchCollisionDetector()
+   {
+      this(ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Creates a new detector that uses the given pool.
+    * <p>
+    * One worker is created for each thread of the pool as given by
+    * {@link ForkJoinPool#getParallelism()}.
+    * </p>
+    *
+    * @param pool the pool used to run the evaluations. Not modified, reference saved.
+    */
+   public BatchCollisionDetector(ForkJoinPool pool)
+   {
+      this.pool = pool;
+      workers = new Worker[Math.max(1, pool.getParallelism())];
+      for (int i = 0; i < workers.length; i++)
+         workers[i] = new Worker();
+   }
+
+   /**
+    * Removes all the pairs registered.
+    */
+   public void clear()
+   {
+      Arrays.fill(shapesA, 0, numberOfPairs, null);
+      Arrays.fill(shapesB, 0, numberOfPairs, null);
+      numberOfPairs = 0;
+   }
+
+   /**
+    * Registers a new pair of shapes to be evaluated at the next call to
+    * {@link #evaluateCollisions(EuclidShape3DCollisionResultBasics[])}.
+    *
+    * @param shapeA the first shape of the pair. Not modified, reference saved.
+    * @param shapeB the second shape of the pair. Not modified, reference saved.
+    */
+   public void addPair(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+   {
+      if (numberOfPairs == shapesA.length)
+      {
+         shapesA = Arrays.copyOf(shapesA, 2 * numberOfPairs);
+         shapesB = Arrays.copyOf(shapesB, 2 * numberOfPairs);
+      }
+
+      shapesA[numberOfPairs] = shapeA;
+      shapesB[numberOfPairs] = shapeB;
+      numberOfPairs++;
+   }
+
+   /**
+    * Evaluates the collision state of each registered pair.
+    * <p>
+    * The result of the i<sup>th</sup> pair registered is stored in {@code resultsToPack[i]}. The
+    * remaining elements of the array are not modified.
+    * </p>
+    *
+    * @param resultsToPack the array in which the results are stored. Its length has to be at least
+    *                      equal to the number of pairs and each of the first elements has to be
+    *                      non-null. Modified.
+    * @throws IllegalArgumentException if the array is too short.
+    */
+   public void evaluateCollisions(EuclidShape3DCollisionResultBasics[] resultsToPack)
+   {
+      if (resultsToPack.length < numberOfPairs)
+         throw new IllegalArgumentException("The result array is too short, expected at least " + numberOfPairs + " elements, was: "
+               + resultsToPack.length);
+
+      if (numberOfPairs == 0)
+         return;
+
+      results = resultsToPack;
+      nextPairIndex.set(0);
+
+      try
+      {
+         if (workers.length == 1 || numberOfPairs <= chunkSize)
+         { // Not worth the overhead of the pool.
+            workers[0].evaluatePairs();
+         }
+         else
+         {
+            rootTask.reinitialize();
+            pool.invoke(rootTask);
+         }
+      }
+      finally
+      {
+         results = null;
+      }
+   }
+
+   /**
+    * Sets the number of consecutive pairs a worker evaluates before picking the next chunk.
+    * <p>
+    * Small chunks improve the balance of the load between the workers while large chunks reduce the
+    * contention between the workers.
+    * </p>
+    *
+    * @param chunkSize the number of pairs in a chunk. Default value {@value #DEFAULT_CHUNK_SIZE}.
+    * @throws IllegalArgumentException if {@code chunkSize} is not strictly positive.
+    */
+   public void setChunkSize(int chunkSize)
+   {
+      if (chunkSize < 1)
+         throw new IllegalArgumentException("The chunk size has to be strictly positive, was: " + chunkSize);
+      this.chunkSize = chunkSize;
+   }
+
+   /**
+    * Gets the number of consecutive pairs a worker evaluates before picking the next chunk.
+    *
+    * @return the number of pairs in a chunk.
+    */
+   public int getChunkSize()
+   {
+      return chunkSize;
+   }
+
+   /**
+    * Gets the number of pairs registered.
+    *
+    * @return the number of pairs.
+    */
+   public int getNumberOfPairs()
+   {
+      return numberOfPairs;
+   }
+
+   /**
+    * Gets the first shape of the {@code index}<sup>th</sup> pair.
+    *
+    * @param index the index of the pair.
+    * @return the first shape of the pair.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfPairs()}[.
+    */
+   public Shape3DReadOnly getShapeA(int index)
+   {
+      checkPairIndex(index);
+      return shapesA[index];
+   }
+
+   /**
+    * Gets the second shape of the {@code index}<sup>th</sup> pair.
+    *
+    * @param index the index of the pair.
+    * @return the second shape of the pair.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0, {@link #getNumberOfPairs()}[.
+    */
+   public Shape3DReadOnly getShapeB(int index)
+   {
+      checkPairIndex(index);
+      return shapesB[index];
+   }
+
+   /**
+    * Gets the number of workers, i.e. the maximum number of pairs that can be evaluated
+    * simultaneously.
+    *
+    * @return the number of workers.
+    */
+   public int getNumberOfWorkers()
+   {
+      return workers.length;
+   }
+
+   private void checkPairIndex(int index)
+   {
+      if (index < 0 || index >= numberOfPairs)
+         throw new IndexOutOfBoundsException("Index: " + index + ", number of pairs: " + numberOfPairs);
+   }
+
+   /**
+    * Task that forks the workers, evaluates with the first worker in the current thread, and waits
+    * for the other workers to be done.
+    */
+   private class RootTask extends RecursiveAction
+   {
+      private static final long serialVersionUID = 5226045567522306137L;
+
+      @Override
+      protected void compute()
+      {
+         for (int i = 1; i < workers.length; i++)
+         {
+            workers[i].reinitialize();
+            workers[i].fork();
+         }
+
+         workers[0].evaluatePairs();
+
+         for (int i = 1; i < workers.length; i++)
+            workers[i].join();
+      }
+   }
+
+   private class Worker extends RecursiveAction
+   {
+      private static final long serialVersionUID = -3049883127466066342L;
+
+      /** The detector owned by this worker. */
+      private final ExpandingPolytopeAlgorithm detector = new ExpandingPolytopeAlgorithm();
+
+      @Override
+      protected void compute()
+      {
+         evaluatePairs();
+      }
+
+      private void evaluatePairs()
+      {
+         while (true)
+         {
+            int start = nextPairIndex.getAndAdd(chunkSize);
+            if (start >= numberOfPairs)
+               return;
+
+            int end = Math.min(start + chunkSize, numberOfPairs);
+
+            for (int i = start; i < end; i++)
+               detector.evaluateCollision(shapesA[i], shapesB[i], results[i]);
+         }
+      }
+   }
+}
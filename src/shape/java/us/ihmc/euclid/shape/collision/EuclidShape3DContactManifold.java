@@ -0,0 +1,270 @@
+package us.ihmc.euclid.shape.collision;
+
+import us.ihmc.euclid.interfaces.Settable;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.tools.EuclidCoreIOTools;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
+
+/**
+ * Class for holding the contact manifold between two colliding shapes.
+ * <p>
+ * While {@link EuclidShape3DCollisionResult} describes a collision with a single pair of points, a
+ * contact manifold describes the contact area between the two shapes with a set of contact points,
+ * for instance the corners of the area where a box lies on another box. Each contact is described
+ * by a pair of points, one on the surface of each shape, such that:
+ *
+ * <pre>
+ * pointOnA = pointOnB + depth * normal
+ * </pre>
+ *
+ * where {@code depth} is the penetration depth at the contact and {@code normal} is the contact
+ * normal which points from the shape A toward the shape B.
+ * </p>
+ */
+public class EuclidShape3DContactManifold implements Settable<EuclidShape3DContactManifold>
+{
+   /** The maximum number of contacts a manifold can hold. */
+   public static final int MAX_NUMBER_OF_CONTACTS = 8;
+
+   /** The first shape in the collision. */
+   private Shape3DReadOnly shapeA;
+   /** The second shape in the collision. */
+   private Shape3DReadOnly shapeB;
+   /** The contact normal pointing from the shape A toward the shape B. */
+   private final Vector3D normal = new Vector3D();
+   /** The contact points on the shape A. */
+   private final Point3D[] pointsOnA = new Point3D[MAX_NUMBER_OF_CONTACTS];
+   /** The contact points on the shape B. */
+   private final Point3D[] pointsOnB = new Point3D[MAX_NUMBER_OF_CONTACTS];
+   /** The number of contacts in this manifold. */
+   private int numberOfContacts = 0;
+
+   /**
+    * Creates a new empty contact manifold.
+    */
+   public EuclidShape3DContactManifold()
+   {
+      for (int i = 0; i < MAX_NUMBER_OF_CONTACTS; i++)
+      {
+         pointsOnA[i] = new Point3D();
+         pointsOnB[i] = new Point3D();
+      }
+
+      clear();
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void set(EuclidShape3DContactManifold other)
+   {
+      shapeA = other.shapeA;
+      shapeB = other.shapeB;
+      normal.set(other.normal);
+      numberOfContacts = other.numberOfContacts;
+
+      for (int i = 0; i < numberOfContacts; i++)
+      {
+         pointsOnA[i].set(other.pointsOnA[i]);
+         pointsOnB[i].set(other.pointsOnB[i]);
+      }
+   }
+
+   /**
+    * Removes all the contacts, sets the normal to {@link Double#NaN} and the shapes to {@code null}.
+    */
+   public void clear()
+   {
+      shapeA = null;
+      shapeB = null;
+      normal.setToNaN();
+      numberOfContacts = 0;
+   }
+
+   /**
+    * Sets the reference to the first shape.
+    *
+    * @param shapeA the first shape in the collision.
+    */
+   public void setShapeA(Shape3DReadOnly shapeA)
+   {
+      this.shapeA = shapeA;
+   }
+
+   /**
+    * Sets the reference to the second shape.
+    *
+    * @param shapeB the second shape in the collision.
+    */
+   public void setShapeB(Shape3DReadOnly shapeB)
+   {
+      this.shapeB = shapeB;
+   }
+
+   /**
+    * Sets the contact normal.
+    *
+    * @param normal the contact normal pointing from the shape A toward the shape B. Not modified.
+    */
+   public void setNormal(Vector3DReadOnly normal)
+   {
+      this.normal.set(normal);
+   }
+
+   /**
+    * Adds a contact to this manifold.
+    *
+    * @param pointOnA the contact point on the shape A. Not modified.
+    * @param pointOnB the contact point on the shape B. Not modified.
+    * @return {@code true} if the contact was added, {@code false} if this manifold is full.
+    */
+   public boolean addContact(Point3DReadOnly pointOnA, Point3DReadOnly pointOnB)
+   {
+      return addContact(pointOnA.getX(), pointOnA.getY(), pointOnA.getZ(), pointOnB.getX(), pointOnB.getY(), pointOnB.getZ());
+   }
+
+   /**
+    * Adds a contact to this manifold.
+    *
+    * @param pointOnAX the x-coordinate of the contact point on the shape A.
+    * @param pointOnAY the y-coordinate of the contact point on the shape A.
+    * @param pointOnAZ the z-coordinate of the contact point on the shape A.
+    * @param pointOnBX the x-coordinate of the contact point on the shape B.
+    * @param pointOnBY the y-coordinate of the contact point on the shape B.
+    * @param pointOnBZ the z-coordinate of the contact point on the shape B.
+    * @return {@code true} if the contact was added, {@code false} if this manifold is full.
+    */
+   public boolean addContact(double pointOnAX, double pointOnAY, double pointOnAZ, double pointOnBX, double pointOnBY, double pointOnBZ)
+   {
+      if (numberOfContacts == MAX_NUMBER_OF_CONTACTS)
+         return false;
+
+      pointsOnA[numberOfContacts].set(pointOnAX, pointOnAY, pointOnAZ);
+      pointsOnB[numberOfContacts].set(pointOnBX, pointOnBY, pointOnBZ);
+      numberOfContacts++;
+      return true;
+   }
+
+   /**
+    * Gets the reference to the first shape.
+    *
+    * @return the shape A.
+    */
+   public Shape3DReadOnly getShapeA()
+   {
+      return shapeA;
+   }
+
+   /**
+    * Gets the reference to the second shape.
+    *
+    * @return the shape B.
+    */
+   public Shape3DReadOnly getShapeB()
+   {
+      return shapeB;
+   }
+
+   /**
+    * Gets the contact normal which points from the shape A toward the shape B.
+    *
+    * @return the contact normal.
+    */
+   public Vector3DReadOnly getNormal()
+   {
+      return normal;
+   }
+
+   /**
+    * Gets the number of contacts in this manifold.
+    *
+    * @return the number of contacts.
+    */
+   public int getNumberOfContacts()
+   {
+      return numberOfContacts;
+   }
+
+   /**
+    * Gets the contact point on the shape A of the {@code index}<sup>th</sup> contact.
+    *
+    * @param index the index of the contact.
+    * @return the contact point on the shape A.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0,
+    *                                   {@link #getNumberOfContacts()}[.
+    */
+   public Point3DReadOnly getPointOnA(int index)
+   {
+      checkIndex(index);
+      return pointsOnA[index];
+   }
+
+   /**
+    * Gets the contact point on the shape B of the {@code index}<sup>th</sup> contact.
+    *
+    * @param index the index of the contact.
+    * @return the contact point on the shape B.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0,
+    *                                   {@link #getNumberOfContacts()}[.
+    */
+   public Point3DReadOnly getPointOnB(int index)
+   {
+      checkIndex(index);
+      return pointsOnB[index];
+   }
+
+   /**
+    * Gets the penetration depth of the {@code index}<sup>th</sup> contact, i.e. the distance between
+    * the two contact points measured along the contact normal.
+    *
+    * @param index the index of the contact.
+    * @return the penetration depth, positive when the shapes are penetrating at the contact.
+    * @throws IndexOutOfBoundsException if {@code index} is not in [0,
+    *                                   {@link #getNumberOfContacts()}[.
+    */
+   public double getPenetrationDepth(int index)
+   {
+      checkIndex(index);
+      Point3D pointOnA = pointsOnA[index];
+      Point3D pointOnB = pointsOnB[index];
+      return normal.getX() * (pointOnA.getX() - pointOnB.getX()) + normal.getY() * (pointOnA.getY() - pointOnB.getY())
+            + normal.getZ() * (pointOnA.getZ() - pointOnB.getZ());
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= numberOfContacts)
+         throw new IndexOutOfBoundsException("Index: " + index + ", number of contacts: " + numberOfContacts);
+   }
+
+   /**
+    * Provides a {@code String} representation of this contact manifold as follows:
+    *
+    * <pre>
+    * Contact manifold: Box3D - Box3D, normal: ( 0.000,  0.000,  1.000 ), 2 contacts:
+    *    on A: ( 0.540,  0.110,  0.319 ), on B: ( 0.540,  0.110,  0.309 ), depth: 0.010
+    *    on A: ( 0.320,  0.110,  0.319 ), on B: ( 0.320,  0.110,  0.299 ), depth: 0.020
+    * </pre>
+    *
+    * @return the {@code String} representing this contact manifold.
+    */
+   @Override
+   public String toString()
+   {
+      String format = EuclidCoreIOTools.DEFAULT_FORMAT;
+      String shapeAName = shapeA == null ? "null" : shapeA.getClass().getSimpleName();
+      String shapeBName = shapeB == null ? "null" : shapeB.getClass().getSimpleName();
+      String string = "Contact manifold: " + shapeAName + " - " + shapeBName + ", normal: " + EuclidCoreIOTools.getTuple3DString(format, normal) + ", "
+            + numberOfContacts + " contacts:";
+
+      for (int i = 0; i < numberOfContacts; i++)
+      {
+         string += "\n   on A: " + EuclidCoreIOTools.getTuple3DString(format, pointsOnA[i]) + ", on B: "
+               + EuclidCoreIOTools.getTuple3DString(format, pointsOnB[i]) + ", depth: " + String.format(format, getPenetrationDepth(i));
+      }
+
+      return string;
+   }
+}
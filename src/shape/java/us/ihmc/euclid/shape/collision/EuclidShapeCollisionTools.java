@@ -1,6 +1,7 @@
 package us.ihmc.euclid.shape.collision;
 
 import us.ihmc.euclid.geometry.tools.EuclidGeometryTools;
+import us.ihmc.euclid.matrix.interfaces.RotationMatrixReadOnly;
 import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
 import us.ihmc.euclid.shape.collision.gjk.GilbertJohnsonKeerthiCollisionDetector;
 import us.ihmc.euclid.shape.collision.interfaces.EuclidShape3DCollisionResultBasics;
@@ -10,12 +11,16 @@ import us.ihmc.euclid.shape.primitives.interfaces.Cylinder3DReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.Ellipsoid3DReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.PointShape3DReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.Ramp3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DPoseReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.Sphere3DReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.Torus3DReadOnly;
 import us.ihmc.euclid.shape.tools.EuclidShapeTools;
+import us.ihmc.euclid.tools.EuclidCoreTools;
 import us.ihmc.euclid.tuple3D.interfaces.Point3DBasics;
 import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DBasics;
 import us.ihmc.euclid.tuple3D.interfaces.Vector3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
 
 /**
  * This class provides tools to evaluate collision between primitive shapes.
@@ -29,6 +34,20 @@ import us.ihmc.euclid.tuple3D.interfaces.Vector3DBasics;
  */
 public class EuclidShapeCollisionTools
 {
+   /** Below this norm, the cross product of two box edges is not considered as a separating axis. */
+   private static final double BOX3D_PARALLEL_EDGES_EPSILON = 1.0e-6;
+   /** Margin by which an edge axis has to beat the face axes to be selected as collision normal. */
+   private static final double BOX3D_FACE_AXIS_PREFERENCE = 1.0e-9;
+   /** Distance squared below which two contacts of a manifold are considered duplicates. */
+   private static final double BOX3D_DUPLICATE_CONTACT_EPSILON = 1.0e-20;
+   /** Tolerance used when clipping the incident face such that coincident boundaries are kept. */
+   private static final double BOX3D_CLIPPING_EPSILON = 1.0e-12;
+   /** Precision on the position along the capsule axis of its closest point to a cylinder. */
+   private static final double CYLINDER3D_BISECTION_EPSILON = 1.0e-12;
+   /** Signs used to iterate over the 4 vertices of a box face in order. */
+   private static final double[] BOX3D_FACE_SIGNS_1 = {1.0, -1.0, -1.0, 1.0};
+   private static final double[] BOX3D_FACE_SIGNS_2 = {1.0, 1.0, -1.0, -1.0};
+
    private EuclidShapeCollisionTools()
    {
       // Suppresses default constructor, ensuring non-instantiability.
@@ -84,6 +103,1024 @@ public class EuclidShapeCollisionTools
       resultToPack.setSignedDistance(distance);
    }
 
+   /**
+    * Evaluates the collision state between a capsule and a box.
+    * <p>
+    * When the axis of the capsule does not intersect the box, the closest points are evaluated
+    * exactly from the closest pair of features: either an endpoint of the axis against the box, or
+    * the axis against one of the 12 edges of the box. When the axis of the capsule intersects the
+    * box, the penetration is given by the separating axis theorem applied to the 3 face normals of
+    * the box and the 3 cross products between the edges of the box and the axis of the capsule.
+    * </p>
+    *
+    * @param shapeA       the capsule. Not modified.
+    * @param shapeB       the box. Not modified.
+    * @param resultToPack the object in which the collision result is stored. Modified.
+    */
+   public static void evaluateCapsule3DBox3DCollision(Capsule3DReadOnly shapeA, Box3DReadOnly shapeB, EuclidShape3DCollisionResultBasics resultToPack)
+   {
+      resultToPack.setToNaN();
+      resultToPack.setShapeA(shapeA);
+      resultToPack.setShapeB(shapeB);
+
+      RotationMatrixReadOnly orientation = shapeB.getPose().getShapeOrientation();
+      Point3DReadOnly boxPosition = shapeB.getPose().getShapePosition();
+      Point3DReadOnly capsulePosition = shapeA.getPosition();
+      Vector3DReadOnly capsuleAxis = shapeA.getAxis();
+
+      // The axis of the capsule expressed in the local frame of the box.
+      double dx = capsulePosition.getX() - boxPosition.getX();
+      double dy = capsulePosition.getY() - boxPosition.getY();
+      double dz = capsulePosition.getZ() - boxPosition.getZ();
+      double mx = dot(orientation, 0, dx, dy, dz);
+      double my = dot(orientation, 1, dx, dy, dz);
+      double mz = dot(orientation, 2, dx, dy, dz);
+      double ax = dot(orientation, 0, capsuleAxis.getX(), capsuleAxis.getY(), capsuleAxis.getZ());
+      double ay = dot(orientation, 1, capsuleAxis.getX(), capsuleAxis.getY(), capsuleAxis.getZ());
+      double az = dot(orientation, 2, capsuleAxis.getX(), capsuleAxis.getY(), capsuleAxis.getZ());
+      double halfLength = shapeA.getHalfLength();
+      double radius = shapeA.getRadius();
+      double halfX = 0.5 * shapeB.getSizeX();
+      double halfY = 0.5 * shapeB.getSizeY();
+      double halfZ = 0.5 * shapeB.getSizeZ();
+
+      Point3DBasics pointOnA = resultToPack.getPointOnA();
+      Point3DBasics pointOnB = resultToPack.getPointOnB();
+      Vector3DBasics normalOnA = resultToPack.getNormalOnA();
+      Vector3DBasics normalOnB = resultToPack.getNormalOnB();
+
+      // Testing the face normals of the box.
+      double minOverlap = Double.POSITIVE_INFINITY;
+      double nx = Double.NaN, ny = Double.NaN, nz = Double.NaN;
+
+      for (int i = 0; i < 3; i++)
+      {
+         double m = i == 0 ? mx : i == 1 ? my : mz;
+         double a = i == 0 ? ax : i == 1 ? ay : az;
+         double half = i == 0 ? halfX : i == 1 ? halfY : halfZ;
+         double overlap = half + halfLength * Math.abs(a) - Math.abs(m);
+
+         if (overlap < minOverlap)
+         {
+            minOverlap = overlap;
+            // Orienting the normal from the capsule to the box.
+            double sign = m > 0.0 ? -1.0 : 1.0;
+            nx = i == 0 ? sign : 0.0;
+            ny = i == 1 ? sign : 0.0;
+            nz = i == 2 ? sign : 0.0;
+         }
+      }
+
+      // Testing the cross products between the edges of the box and the axis of the capsule.
+      for (int i = 0; i < 3; i++)
+      {
+         double lx = i == 0 ? 0.0 : i == 1 ? az : -ay;
+         double ly = i == 0 ? -az : i == 1 ? 0.0 : ax;
+         double lz = i == 0 ? ay : i == 1 ? -ax : 0.0;
+         double length = EuclidCoreTools.norm(lx, ly, lz);
+
+         if (length < BOX3D_PARALLEL_EDGES_EPSILON)
+            continue; // The axis is parallel to the edges, the axis is covered by the face normals.
+
+         lx /= length;
+         ly /= length;
+         lz /= length;
+         double projection = lx * mx + ly * my + lz * mz;
+         double overlap = halfX * Math.abs(lx) + halfY * Math.abs(ly) + halfZ * Math.abs(lz) - Math.abs(projection);
+
+         if (overlap < minOverlap - BOX3D_FACE_AXIS_PREFERENCE)
+         {
+            minOverlap = overlap;
+            double sign = projection > 0.0 ? -1.0 : 1.0;
+            nx = sign * lx;
+            ny = sign * ly;
+            nz = sign * lz;
+         }
+      }
+
+      if (minOverlap >= 0.0)
+      { // The axis of the capsule intersects the box, the deepest point of the capsule along the normal is pushed out.
+         double axisDotNormal = ax * nx + ay * ny + az * nz;
+         double s = axisDotNormal > 0.0 ? halfLength : axisDotNormal < 0.0 ? -halfLength : 0.0;
+         double depth = minOverlap + radius;
+         pointOnA.set(mx + s * ax + radius * nx, my + s * ay + radius * ny, mz + s * az + radius * nz);
+         pointOnB.set(pointOnA.getX() - depth * nx, pointOnA.getY() - depth * ny, pointOnA.getZ() - depth * nz);
+         normalOnA.set(nx, ny, nz);
+         resultToPack.setSignedDistance(-depth);
+      }
+      else
+      {
+         double distance = closestPointsBetweenCenteredSegmentAndBox3D(mx,
+                                                                       my,
+                                                                       mz,
+                                                                       ax,
+                                                                       ay,
+                                                                       az,
+                                                                       halfLength,
+                                                                       halfX,
+                                                                       halfY,
+                                                                       halfZ,
+                                                                       pointOnA,
+                                                                       pointOnB,
+                                                                       normalOnA,
+                                                                       normalOnB);
+         normalOnA.sub(pointOnB, pointOnA);
+         normalOnA.scale(1.0 / distance);
+         pointOnA.scaleAdd(radius, normalOnA, pointOnA);
+         resultToPack.setSignedDistance(distance - radius);
+      }
+
+      resultToPack.setShapesAreColliding(resultToPack.getSignedDistance() < 0.0);
+      shapeB.transformToWorld(pointOnA);
+      shapeB.transformToWorld(pointOnB);
+      orientation.transform(normalOnA);
+      normalOnB.setAndNegate(normalOnA);
+   }
+
+   /**
+    * Computes the closest points between a line segment and an axis-aligned box centered at the
+    * origin that do not intersect.
+    * <p>
+    * The closest points are either between an endpoint of the segment and the box, or between the
+    * segment and one of the 12 edges of the box.
+    * </p>
+    *
+    * @return the distance between the two closest points.
+    */
+   private static double closestPointsBetweenCenteredSegmentAndBox3D(double centerX,
+                                                                     double centerY,
+                                                                     double centerZ,
+                                                                     double directionX,
+                                                                     double directionY,
+                                                                     double directionZ,
+                                                                     double halfLength,
+                                                                     double halfX,
+                                                                     double halfY,
+                                                                     double halfZ,
+                                                                     Point3DBasics closestPointOnSegmentToPack,
+                                                                     Point3DBasics closestPointOnBoxToPack,
+                                                                     Tuple3DBasics candidateOnSegment,
+                                                                     Tuple3DBasics candidateOnBox)
+   {
+      double minDistanceSquared = Double.POSITIVE_INFINITY;
+
+      // The endpoints of the segment against the box.
+      for (int endpoint = 0; endpoint < 2; endpoint++)
+      {
+         double s = endpoint == 0 ? halfLength : -halfLength;
+         double px = centerX + s * directionX;
+         double py = centerY + s * directionY;
+         double pz = centerZ + s * directionZ;
+         double cx = EuclidCoreTools.clamp(px, halfX);
+         double cy = EuclidCoreTools.clamp(py, halfY);
+         double cz = EuclidCoreTools.clamp(pz, halfZ);
+         double distanceSquared = EuclidCoreTools.normSquared(px - cx, py - cy, pz - cz);
+
+         if (distanceSquared < minDistanceSquared)
+         {
+            minDistanceSquared = distanceSquared;
+            closestPointOnSegmentToPack.set(px, py, pz);
+            closestPointOnBoxToPack.set(cx, cy, cz);
+         }
+      }
+
+      if (halfLength == 0.0)
+         return Math.sqrt(minDistanceSquared);
+
+      // The segment against the edges of the box.
+      double minDistance = Math.sqrt(minDistanceSquared);
+
+      for (int i = 0; i < 3; i++)
+      {
+         double halfLengthEdge = i == 0 ? halfX : i == 1 ? halfY : halfZ;
+
+         for (int edgeIndex = 0; edgeIndex < 4; edgeIndex++)
+         {
+            double edgeX = i == 0 ? 0.0 : (i == 1 ? BOX3D_FACE_SIGNS_2[edgeIndex] : BOX3D_FACE_SIGNS_1[edgeIndex]) * halfX;
+            double edgeY = i == 1 ? 0.0 : (i == 2 ? BOX3D_FACE_SIGNS_2[edgeIndex] : BOX3D_FACE_SIGNS_1[edgeIndex]) * halfY;
+            double edgeZ = i == 2 ? 0.0 : (i == 0 ? BOX3D_FACE_SIGNS_2[edgeIndex] : BOX3D_FACE_SIGNS_1[edgeIndex]) * halfZ;
+
+            // Quick rejection using the bounding spheres of the edge and the segment.
+            double upperBound = minDistance + halfLength + halfLengthEdge;
+            if (EuclidCoreTools.normSquared(edgeX - centerX, edgeY - centerY, edgeZ - centerZ) >= upperBound * upperBound)
+               continue;
+
+            double distanceSquared = closestPointsBetweenCenteredSegments(centerX,
+                                                                          centerY,
+                                                                          centerZ,
+                                                                          directionX,
+                                                                          directionY,
+                                                                          directionZ,
+                                                                          halfLength,
+                                                                          edgeX,
+                                                                          edgeY,
+                                                                          edgeZ,
+                                                                          i == 0 ? 1.0 : 0.0,
+                                                                          i == 1 ? 1.0 : 0.0,
+                                                                          i == 2 ? 1.0 : 0.0,
+                                                                          halfLengthEdge,
+                                                                          candidateOnSegment,
+                                                                          candidateOnBox);
+
+            if (distanceSquared < minDistanceSquared)
+            {
+               minDistanceSquared = distanceSquared;
+               minDistance = Math.sqrt(minDistanceSquared);
+               closestPointOnSegmentToPack.set(candidateOnSegment);
+               closestPointOnBoxToPack.set(candidateOnBox);
+            }
+         }
+      }
+
+      return minDistance;
+   }
+
+   /**
+    * Evaluates the collision state between two boxes.
+    * <p>
+    * The evaluation relies on the separating axis theorem applied to the 15 potential separating
+    * axes: the 3 face normals of each box and the 9 cross products between the edges of the two
+    * boxes. The evaluation of the axes stops as soon as a separating axis is found.
+    * </p>
+    * <p>
+    * When the boxes are colliding, the penetration depth and the normal are given by the axis of
+    * minimum overlap. The pair of points stored in the result is the deepest contact of the contact
+    * manifold, see
+    * {@link #evaluateBox3DBox3DCollision(Box3DReadOnly, Box3DReadOnly, EuclidShape3DCollisionResultBasics, EuclidShape3DContactManifold)}.
+    * When the boxes are not colliding, the closest points are evaluated exactly from the closest
+    * pair of features.
+    * </p>
+    *
+    * @param shapeA       the first box. Not modified.
+    * @param shapeB       the second box. Not modified.
+    * @param resultToPack the object in which the collision result is stored. Modified.
+    */
+   public static void evaluateBox3DBox3DCollision(Box3DReadOnly shapeA, Box3DReadOnly shapeB, EuclidShape3DCollisionResultBasics resultToPack)
+   {
+      evaluateBox3DBox3DCollision(shapeA, shapeB, resultToPack, null);
+   }
+
+   /**
+    * Evaluates the collision state between two boxes and the contact manifold when they are
+    * colliding.
+    * <p>
+    * The evaluation relies on the separating axis theorem applied to the 15 potential separating
+    * axes: the 3 face normals of each box and the 9 cross products between the edges of the two
+    * boxes. The evaluation of the axes stops as soon as a separating axis is found.
+    * </p>
+    * <p>
+    * When the boxes are colliding, the penetration depth and the normal are given by the axis of
+    * minimum overlap. When this axis is a face normal, the contact manifold is computed by clipping
+    * the face of the other box that is the most anti-parallel to the axis, the incident face, against
+    * the face of the box which the axis belongs to, the reference face. The manifold then contains up
+    * to 8 contacts. When the axis results from the cross product of two edges, the manifold contains
+    * the single pair of closest points between the two edges.
+    * </p>
+    *
+    * @param shapeA         the first box. Not modified.
+    * @param shapeB         the second box. Not modified.
+    * @param resultToPack   the object in which the collision result is stored. Modified.
+    * @param manifoldToPack the object in which the contact manifold is stored, it is empty when the
+    *                       boxes are not colliding. Can be {@code null}. Modified.
+    */
+   public static void evaluateBox3DBox3DCollision(Box3DReadOnly shapeA,
+                                                  Box3DReadOnly shapeB,
+                                                  EuclidShape3DCollisionResultBasics resultToPack,
+                                                  EuclidShape3DContactManifold manifoldToPack)
+   {
+      resultToPack.setToNaN();
+      resultToPack.setShapeA(shapeA);
+      resultToPack.setShapeB(shapeB);
+
+      if (manifoldToPack != null)
+      {
+         manifoldToPack.clear();
+         manifoldToPack.setShapeA(shapeA);
+         manifoldToPack.setShapeB(shapeB);
+      }
+
+      Shape3DPoseReadOnly poseA = shapeA.getPose();
+      Shape3DPoseReadOnly poseB = shapeB.getPose();
+      RotationMatrixReadOnly orientationA = poseA.getShapeOrientation();
+      RotationMatrixReadOnly orientationB = poseB.getShapeOrientation();
+      double tx = poseB.getShapePosition().getX() - poseA.getShapePosition().getX();
+      double ty = poseB.getShapePosition().getY() - poseA.getShapePosition().getY();
+      double tz = poseB.getShapePosition().getZ() - poseA.getShapePosition().getZ();
+
+      double minOverlap = Double.POSITIVE_INFINITY;
+      int bestAxisA = -1;
+      int bestAxisB = -1;
+      double nx = Double.NaN, ny = Double.NaN, nz = Double.NaN;
+
+      // Testing the face normals of A.
+      for (int i = 0; i < 3; i++)
+      {
+         double ax = orientationA.getElement(0, i);
+         double ay = orientationA.getElement(1, i);
+         double az = orientationA.getElement(2, i);
+         double overlap = computeBox3DBox3DOverlap(ax, ay, az, tx, ty, tz, shapeA, shapeB);
+
+         if (overlap < 0.0)
+         {
+            evaluateSeparatedBox3DBox3DCollision(shapeA, shapeB, resultToPack);
+            return;
+         }
+
+         if (overlap < minOverlap)
+         {
+            minOverlap = overlap;
+            bestAxisA = i;
+            nx = ax;
+            ny = ay;
+            nz = az;
+         }
+      }
+
+      // Testing the face normals of B.
+      for (int j = 0; j < 3; j++)
+      {
+         double bx = orientationB.getElement(0, j);
+         double by = orientationB.getElement(1, j);
+         double bz = orientationB.getElement(2, j);
+         double overlap = computeBox3DBox3DOverlap(bx, by, bz, tx, ty, tz, shapeA, shapeB);
+
+         if (overlap < 0.0)
+         {
+            evaluateSeparatedBox3DBox3DCollision(shapeA, shapeB, resultToPack);
+            return;
+         }
+
+         if (overlap < minOverlap)
+         {
+            minOverlap = overlap;
+            bestAxisA = -1;
+            bestAxisB = j;
+            nx = bx;
+            ny = by;
+            nz = bz;
+         }
+      }
+
+      // Testing the cross products between the edges of A and B.
+      for (int i = 0; i < 3; i++)
+      {
+         double ax = orientationA.getElement(0, i);
+         double ay = orientationA.getElement(1, i);
+         double az = orientationA.getElement(2, i);
+
+         for (int j = 0; j < 3; j++)
+         {
+            double bx = orientationB.getElement(0, j);
+            double by = orientationB.getElement(1, j);
+            double bz = orientationB.getElement(2, j);
+            double lx = ay * bz - az * by;
+            double ly = az * bx - ax * bz;
+            double lz = ax * by - ay * bx;
+            double length = EuclidCoreTools.norm(lx, ly, lz);
+
+            if (length < BOX3D_PARALLEL_EDGES_EPSILON)
+               continue; // The edges are parallel, the axis is covered by the face normals.
+
+            lx /= length;
+            ly /= length;
+            lz /= length;
+            double overlap = computeBox3DBox3DOverlap(lx, ly, lz, tx, ty, tz, shapeA, shapeB);
+
+            if (overlap < 0.0)
+            {
+               evaluateSeparatedBox3DBox3DCollision(shapeA, shapeB, resultToPack);
+               return;
+            }
+
+            // Face normals are preferred for the manifold they provide.
+            if (overlap < minOverlap - BOX3D_FACE_AXIS_PREFERENCE)
+            {
+               minOverlap = overlap;
+               bestAxisA = i;
+               bestAxisB = j;
+               nx = lx;
+               ny = ly;
+               nz = lz;
+            }
+         }
+      }
+
+      // Orienting the normal from A to B.
+      if (nx * tx + ny * ty + nz * tz < 0.0)
+      {
+         nx = -nx;
+         ny = -ny;
+         nz = -nz;
+      }
+
+      resultToPack.getNormalOnA().set(nx, ny, nz);
+      resultToPack.getNormalOnB().set(-nx, -ny, -nz);
+      resultToPack.setSignedDistance(-minOverlap);
+      resultToPack.setShapesAreColliding(minOverlap > 0.0);
+
+      if (manifoldToPack != null)
+         manifoldToPack.setNormal(resultToPack.getNormalOnA());
+
+      if (bestAxisB == -1)
+         computeBox3DBox3DFaceContacts(shapeA, shapeB, true, bestAxisA, nx, ny, nz, resultToPack, manifoldToPack);
+      else if (bestAxisA == -1)
+         computeBox3DBox3DFaceContacts(shapeB, shapeA, false, bestAxisB, -nx, -ny, -nz, resultToPack, manifoldToPack);
+      else
+         computeBox3DBox3DEdgeContact(shapeA, shapeB, bestAxisA, bestAxisB, nx, ny, nz, resultToPack, manifoldToPack);
+   }
+
+   /**
+    * Computes the overlap of the projections of two boxes onto an axis.
+    *
+    * @return the overlap, negative if the axis is a separating axis.
+    */
+   private static double computeBox3DBox3DOverlap(double lx, double ly, double lz, double tx, double ty, double tz, Box3DReadOnly boxA, Box3DReadOnly boxB)
+   {
+      RotationMatrixReadOnly orientationA = boxA.getPose().getShapeOrientation();
+      RotationMatrixReadOnly orientationB = boxB.getPose().getShapeOrientation();
+      double radiusA = 0.5 * (boxA.getSizeX() * Math.abs(dot(orientationA, 0, lx, ly, lz)) + boxA.getSizeY() * Math.abs(dot(orientationA, 1, lx, ly, lz))
+            + boxA.getSizeZ() * Math.abs(dot(orientationA, 2, lx, ly, lz)));
+      double radiusB = 0.5 * (boxB.getSizeX() * Math.abs(dot(orientationB, 0, lx, ly, lz)) + boxB.getSizeY() * Math.abs(dot(orientationB, 1, lx, ly, lz))
+            + boxB.getSizeZ() * Math.abs(dot(orientationB, 2, lx, ly, lz)));
+      return radiusA + radiusB - Math.abs(lx * tx + ly * ty + lz * tz);
+   }
+
+   /**
+    * Computes the contacts between a reference face and the incident face of the other box by
+    * clipping the incident face against the sides of the reference face.
+    * <p>
+    * The contact area is the intersection of the reference face and the projection of the incident
+    * face onto the reference face, and its vertices are: the vertices of the incident face that are
+    * above the reference face, the vertices of the reference face that are above the incident face,
+    * and the intersections between the edges of the two faces. Only the points below the reference
+    * face are kept.
+    * </p>
+    */
+   private static void computeBox3DBox3DFaceContacts(Box3DReadOnly referenceBox,
+                                                     Box3DReadOnly incidentBox,
+                                                     boolean isReferenceBoxA,
+                                                     int referenceAxis,
+                                                     double nx,
+                                                     double ny,
+                                                     double nz,
+                                                     EuclidShape3DCollisionResultBasics resultToPack,
+                                                     EuclidShape3DContactManifold manifoldToPack)
+   {
+      Shape3DPoseReadOnly referencePose = referenceBox.getPose();
+      Shape3DPoseReadOnly incidentPose = incidentBox.getPose();
+      Point3DReadOnly referenceCenter = referencePose.getShapePosition();
+
+      // The reference face is defined by its outward normal n and the 2 other axes u and v.
+      int uIndex = (referenceAxis + 1) % 3;
+      int vIndex = (referenceAxis + 2) % 3;
+      RotationMatrixReadOnly referenceOrientation = referencePose.getShapeOrientation();
+      RotationMatrixReadOnly incidentOrientation = incidentPose.getShapeOrientation();
+      double ux = referenceOrientation.getElement(0, uIndex);
+      double uy = referenceOrientation.getElement(1, uIndex);
+      double uz = referenceOrientation.getElement(2, uIndex);
+      double vx = referenceOrientation.getElement(0, vIndex);
+      double vy = referenceOrientation.getElement(1, vIndex);
+      double vz = referenceOrientation.getElement(2, vIndex);
+      double halfN = 0.5 * referenceBox.getSize().getElement(referenceAxis);
+      double halfU = 0.5 * referenceBox.getSize().getElement(uIndex);
+      double halfV = 0.5 * referenceBox.getSize().getElement(vIndex);
+
+      // The incident face is the face of the incident box which normal is the most anti-parallel to n.
+      int incidentAxis = 0;
+      double maxDot = 0.0;
+
+      for (int k = 0; k < 3; k++)
+      {
+         double axisDot = dot(incidentOrientation, k, nx, ny, nz);
+
+         if (Math.abs(axisDot) > Math.abs(maxDot))
+         {
+            maxDot = axisDot;
+            incidentAxis = k;
+         }
+      }
+
+      int k1Index = (incidentAxis + 1) % 3;
+      int k2Index = (incidentAxis + 2) % 3;
+      double k1x = incidentOrientation.getElement(0, k1Index);
+      double k1y = incidentOrientation.getElement(1, k1Index);
+      double k1z = incidentOrientation.getElement(2, k1Index);
+      double k2x = incidentOrientation.getElement(0, k2Index);
+      double k2y = incidentOrientation.getElement(1, k2Index);
+      double k2z = incidentOrientation.getElement(2, k2Index);
+      double half1 = 0.5 * incidentBox.getSize().getElement(k1Index);
+      double half2 = 0.5 * incidentBox.getSize().getElement(k2Index);
+      // Outward normal of the incident face.
+      double faceSign = maxDot > 0.0 ? -1.0 : 1.0;
+      double fnx = faceSign * incidentOrientation.getElement(0, incidentAxis);
+      double fny = faceSign * incidentOrientation.getElement(1, incidentAxis);
+      double fnz = faceSign * incidentOrientation.getElement(2, incidentAxis);
+      double incidentHalfN = 0.5 * incidentBox.getSize().getElement(incidentAxis);
+      double fcx = incidentPose.getShapePosition().getX() + incidentHalfN * fnx;
+      double fcy = incidentPose.getShapePosition().getY() + incidentHalfN * fny;
+      double fcz = incidentPose.getShapePosition().getZ() + incidentHalfN * fnz;
+
+      double maxDepth = Double.NEGATIVE_INFINITY;
+
+      // Vertices of the incident face that are above the reference face.
+      for (int q = 0; q < 4; q++)
+      {
+         double s1 = BOX3D_FACE_SIGNS_1[q] * half1;
+         double s2 = BOX3D_FACE_SIGNS_2[q] * half2;
+         double px = fcx + s1 * k1x + s2 * k2x;
+         double py = fcy + s1 * k1y + s2 * k2y;
+         double pz = fcz + s1 * k1z + s2 * k2z;
+         double dx = px - referenceCenter.getX();
+         double dy = py - referenceCenter.getY();
+         double dz = pz - referenceCenter.getZ();
+
+         if (Math.abs(ux * dx + uy * dy + uz * dz) > halfU + BOX3D_CLIPPING_EPSILON || Math.abs(vx * dx + vy * dy + vz * dz) > halfV + BOX3D_CLIPPING_EPSILON)
+            continue;
+
+         double depth = halfN - (nx * dx + ny * dy + nz * dz);
+         maxDepth = addBox3DBox3DFaceContact(px, py, pz, depth, nx, ny, nz, isReferenceBoxA, maxDepth, resultToPack, manifoldToPack);
+      }
+
+      // Vertices of the reference face that are above the incident face.
+      double normalDot = nx * fnx + ny * fny + nz * fnz;
+
+      for (int q = 0; q < 4; q++)
+      {
+         double s1 = BOX3D_FACE_SIGNS_1[q] * halfU;
+         double s2 = BOX3D_FACE_SIGNS_2[q] * halfV;
+         double cx = referenceCenter.getX() + halfN * nx + s1 * ux + s2 * vx;
+         double cy = referenceCenter.getY() + halfN * ny + s1 * uy + s2 * vy;
+         double cz = referenceCenter.getZ() + halfN * nz + s1 * uz + s2 * vz;
+         // Projecting the corner onto the incident face along n.
+         double depth = ((cx - fcx) * fnx + (cy - fcy) * fny + (cz - fcz) * fnz) / normalDot;
+         double px = cx - depth * nx;
+         double py = cy - depth * ny;
+         double pz = cz - depth * nz;
+
+         if (Math.abs(k1x * (px - fcx) + k1y * (py - fcy) + k1z * (pz - fcz)) > half1 + BOX3D_CLIPPING_EPSILON
+               || Math.abs(k2x * (px - fcx) + k2y * (py - fcy) + k2z * (pz - fcz)) > half2 + BOX3D_CLIPPING_EPSILON)
+            continue;
+
+         maxDepth = addBox3DBox3DFaceContact(px, py, pz, depth, nx, ny, nz, isReferenceBoxA, maxDepth, resultToPack, manifoldToPack);
+      }
+
+      // Intersections between the edges of the incident face and the sides of the reference face.
+      for (int q = 0; q < 4; q++)
+      {
+         int next = (q + 1) % 4;
+         double x0 = fcx + BOX3D_FACE_SIGNS_1[q] * half1 * k1x + BOX3D_FACE_SIGNS_2[q] * half2 * k2x;
+         double y0 = fcy + BOX3D_FACE_SIGNS_1[q] * half1 * k1y + BOX3D_FACE_SIGNS_2[q] * half2 * k2y;
+         double z0 = fcz + BOX3D_FACE_SIGNS_1[q] * half1 * k1z + BOX3D_FACE_SIGNS_2[q] * half2 * k2z;
+         double x1 = fcx + BOX3D_FACE_SIGNS_1[next] * half1 * k1x + BOX3D_FACE_SIGNS_2[next] * half2 * k2x;
+         double y1 = fcy + BOX3D_FACE_SIGNS_1[next] * half1 * k1y + BOX3D_FACE_SIGNS_2[next] * half2 * k2y;
+         double z1 = fcz + BOX3D_FACE_SIGNS_1[next] * half1 * k1z + BOX3D_FACE_SIGNS_2[next] * half2 * k2z;
+
+         double u0 = ux * (x0 - referenceCenter.getX()) + uy * (y0 - referenceCenter.getY()) + uz * (z0 - referenceCenter.getZ());
+         double u1 = ux * (x1 - referenceCenter.getX()) + uy * (y1 - referenceCenter.getY()) + uz * (z1 - referenceCenter.getZ());
+         double v0 = vx * (x0 - referenceCenter.getX()) + vy * (y0 - referenceCenter.getY()) + vz * (z0 - referenceCenter.getZ());
+         double v1 = vx * (x1 - referenceCenter.getX()) + vy * (y1 - referenceCenter.getY()) + vz * (z1 - referenceCenter.getZ());
+         double n0 = nx * (x0 - referenceCenter.getX()) + ny * (y0 - referenceCenter.getY()) + nz * (z0 - referenceCenter.getZ());
+         double n1 = nx * (x1 - referenceCenter.getX()) + ny * (y1 - referenceCenter.getY()) + nz * (z1 - referenceCenter.getZ());
+
+         for (int side = 0; side < 4; side++)
+         {
+            boolean isUSide = side < 2;
+            double bound = (side % 2 == 0) ? (isUSide ? halfU : halfV) : (isUSide ? -halfU : -halfV);
+            double start = isUSide ? u0 : v0;
+            double end = isUSide ? u1 : v1;
+
+            if (Math.abs(end - start) < BOX3D_CLIPPING_EPSILON)
+               continue; // The edge is parallel to the side, its vertices are handled above.
+
+            double alpha = (bound - start) / (end - start);
+
+            if (alpha <= 0.0 || alpha >= 1.0)
+               continue;
+
+            double other = isUSide ? EuclidCoreTools.interpolate(v0, v1, alpha) : EuclidCoreTools.interpolate(u0, u1, alpha);
+
+            if (Math.abs(other) > (isUSide ? halfV : halfU) + BOX3D_CLIPPING_EPSILON)
+               continue;
+
+            double depth = halfN - EuclidCoreTools.interpolate(n0, n1, alpha);
+            double px = EuclidCoreTools.interpolate(x0, x1, alpha);
+            double py = EuclidCoreTools.interpolate(y0, y1, alpha);
+            double pz = EuclidCoreTools.interpolate(z0, z1, alpha);
+            maxDepth = addBox3DBox3DFaceContact(px, py, pz, depth, nx, ny, nz, isReferenceBoxA, maxDepth, resultToPack, manifoldToPack);
+         }
+      }
+
+      if (maxDepth == Double.NEGATIVE_INFINITY)
+      { // Can only happen because of numerical errors, falling back to the deepest vertex of the incident face.
+         int deepestVertex = 0;
+         double deepestDepth = Double.NEGATIVE_INFINITY;
+
+         for (int q = 0; q < 4; q++)
+         {
+            double s1 = BOX3D_FACE_SIGNS_1[q] * half1;
+            double s2 = BOX3D_FACE_SIGNS_2[q] * half2;
+            double depth = -(nx * (s1 * k1x + s2 * k2x) + ny * (s1 * k1y + s2 * k2y) + nz * (s1 * k1z + s2 * k2z));
+
+            if (depth > deepestDepth)
+            {
+               deepestDepth = depth;
+               deepestVertex = q;
+            }
+         }
+
+         double s1 = BOX3D_FACE_SIGNS_1[deepestVertex] * half1;
+         double s2 = BOX3D_FACE_SIGNS_2[deepestVertex] * half2;
+         double px = fcx + s1 * k1x + s2 * k2x;
+         double py = fcy + s1 * k1y + s2 * k2y;
+         double pz = fcz + s1 * k1z + s2 * k2z;
+         double depth = halfN - (nx * (px - referenceCenter.getX()) + ny * (py - referenceCenter.getY()) + nz * (pz - referenceCenter.getZ()));
+         addBox3DBox3DFaceContact(px, py, pz, Math.max(0.0, depth), nx, ny, nz, isReferenceBoxA, maxDepth, resultToPack, manifoldToPack);
+      }
+   }
+
+   /**
+    * Adds a contact between a point on the incident face and its projection onto the reference face.
+    *
+    * @return the maximum depth of the contacts added so far.
+    */
+   private static double addBox3DBox3DFaceContact(double px,
+                                                  double py,
+                                                  double pz,
+                                                  double depth,
+                                                  double nx,
+                                                  double ny,
+                                                  double nz,
+                                                  boolean isReferenceBoxA,
+                                                  double maxDepth,
+                                                  EuclidShape3DCollisionResultBasics resultToPack,
+                                                  EuclidShape3DContactManifold manifoldToPack)
+   {
+      if (depth < 0.0)
+         return maxDepth;
+
+      double rx = px + depth * nx;
+      double ry = py + depth * ny;
+      double rz = pz + depth * nz;
+
+      if (manifoldToPack != null)
+      {
+         boolean isDuplicate = false;
+
+         for (int i = 0; i < manifoldToPack.getNumberOfContacts(); i++)
+         {
+            Point3DReadOnly pointOnIncident = isReferenceBoxA ? manifoldToPack.getPointOnB(i) : manifoldToPack.getPointOnA(i);
+
+            if (EuclidGeometryTools.distanceSquaredBetweenPoint3Ds(px, py, pz, pointOnIncident) < BOX3D_DUPLICATE_CONTACT_EPSILON)
+            {
+               isDuplicate = true;
+               break;
+            }
+         }
+
+         if (!isDuplicate)
+         {
+            if (isReferenceBoxA)
+               manifoldToPack.addContact(rx, ry, rz, px, py, pz);
+            else
+               manifoldToPack.addContact(px, py, pz, rx, ry, rz);
+         }
+      }
+
+      if (depth <= maxDepth)
+         return maxDepth;
+
+      if (isReferenceBoxA)
+      {
+         resultToPack.getPointOnA().set(rx, ry, rz);
+         resultToPack.getPointOnB().set(px, py, pz);
+      }
+      else
+      {
+         resultToPack.getPointOnA().set(px, py, pz);
+         resultToPack.getPointOnB().set(rx, ry, rz);
+      }
+
+      return depth;
+   }
+
+   /**
+    * Computes the contact when the axis of minimum overlap results from the cross product between
+    * the edge of A along {@code axisA} and the edge of B along {@code axisB}.
+    */
+   private static void computeBox3DBox3DEdgeContact(Box3DReadOnly boxA,
+                                                    Box3DReadOnly boxB,
+                                                    int axisA,
+                                                    int axisB,
+                                                    double nx,
+                                                    double ny,
+                                                    double nz,
+                                                    EuclidShape3DCollisionResultBasics resultToPack,
+                                                    EuclidShape3DContactManifold manifoldToPack)
+   {
+      Shape3DPoseReadOnly poseA = boxA.getPose();
+      Shape3DPoseReadOnly poseB = boxB.getPose();
+      RotationMatrixReadOnly orientationA = poseA.getShapeOrientation();
+      RotationMatrixReadOnly orientationB = poseB.getShapeOrientation();
+
+      // The edge of A the furthest along n, and the edge of B the furthest along -n.
+      double centerAX = poseA.getShapePosition().getX();
+      double centerAY = poseA.getShapePosition().getY();
+      double centerAZ = poseA.getShapePosition().getZ();
+      double centerBX = poseB.getShapePosition().getX();
+      double centerBY = poseB.getShapePosition().getY();
+      double centerBZ = poseB.getShapePosition().getZ();
+
+      for (int k = 0; k < 3; k++)
+      {
+         if (k != axisA)
+         {
+            double offset = 0.5 * boxA.getSize().getElement(k) * (dot(orientationA, k, nx, ny, nz) >= 0.0 ? 1.0 : -1.0);
+            centerAX += offset * orientationA.getElement(0, k);
+            centerAY += offset * orientationA.getElement(1, k);
+            centerAZ += offset * orientationA.getElement(2, k);
+         }
+
+         if (k != axisB)
+         {
+            double offset = 0.5 * boxB.getSize().getElement(k) * (dot(orientationB, k, nx, ny, nz) >= 0.0 ? -1.0 : 1.0);
+            centerBX += offset * orientationB.getElement(0, k);
+            centerBY += offset * orientationB.getElement(1, k);
+            centerBZ += offset * orientationB.getElement(2, k);
+         }
+      }
+
+      closestPointsBetweenCenteredSegments(centerAX,
+                                           centerAY,
+                                           centerAZ,
+                                           orientationA.getElement(0, axisA),
+                                           orientationA.getElement(1, axisA),
+                                           orientationA.getElement(2, axisA),
+                                           0.5 * boxA.getSize().getElement(axisA),
+                                           centerBX,
+                                           centerBY,
+                                           centerBZ,
+                                           orientationB.getElement(0, axisB),
+                                           orientationB.getElement(1, axisB),
+                                           orientationB.getElement(2, axisB),
+                                           0.5 * boxB.getSize().getElement(axisB),
+                                           resultToPack.getPointOnA(),
+                                           resultToPack.getPointOnB());
+
+      if (manifoldToPack != null)
+         manifoldToPack.addContact(resultToPack.getPointOnA(), resultToPack.getPointOnB());
+   }
+
+   /**
+    * Evaluates the closest points between two separated boxes.
+    * <p>
+    * The closest points between two convex polyhedra can always be found either between a vertex of
+    * one polyhedron and the other polyhedron, or between two edges. The search is performed in the
+    * local frame of A where A is axis-aligned.
+    * </p>
+    */
+   private static void evaluateSeparatedBox3DBox3DCollision(Box3DReadOnly shapeA, Box3DReadOnly shapeB, EuclidShape3DCollisionResultBasics resultToPack)
+   {
+      RotationMatrixReadOnly orientationA = shapeA.getPose().getShapeOrientation();
+      RotationMatrixReadOnly orientationB = shapeB.getPose().getShapeOrientation();
+      Point3DReadOnly positionA = shapeA.getPose().getShapePosition();
+      Point3DReadOnly positionB = shapeB.getPose().getShapePosition();
+
+      // Pose of B expressed in the local frame of A.
+      double dx = positionB.getX() - positionA.getX();
+      double dy = positionB.getY() - positionA.getY();
+      double dz = positionB.getZ() - positionA.getZ();
+      double tx = dot(orientationA, 0, dx, dy, dz);
+      double ty = dot(orientationA, 1, dx, dy, dz);
+      double tz = dot(orientationA, 2, dx, dy, dz);
+      double r00 = dotColumns(orientationA, 0, orientationB, 0);
+      double r01 = dotColumns(orientationA, 0, orientationB, 1);
+      double r02 = dotColumns(orientationA, 0, orientationB, 2);
+      double r10 = dotColumns(orientationA, 1, orientationB, 0);
+      double r11 = dotColumns(orientationA, 1, orientationB, 1);
+      double r12 = dotColumns(orientationA, 1, orientationB, 2);
+      double r20 = dotColumns(orientationA, 2, orientationB, 0);
+      double r21 = dotColumns(orientationA, 2, orientationB, 1);
+      double r22 = dotColumns(orientationA, 2, orientationB, 2);
+
+      double halfAX = 0.5 * shapeA.getSizeX();
+      double halfAY = 0.5 * shapeA.getSizeY();
+      double halfAZ = 0.5 * shapeA.getSizeZ();
+      double halfBX = 0.5 * shapeB.getSizeX();
+      double halfBY = 0.5 * shapeB.getSizeY();
+      double halfBZ = 0.5 * shapeB.getSizeZ();
+
+      Point3DBasics pointOnA = resultToPack.getPointOnA();
+      Point3DBasics pointOnB = resultToPack.getPointOnB();
+      double minDistanceSquared = Double.POSITIVE_INFINITY;
+
+      // Vertices of B against A.
+      for (int vertexIndex = 0; vertexIndex < 8; vertexIndex++)
+      {
+         double sx = (vertexIndex & 1) == 0 ? halfBX : -halfBX;
+         double sy = (vertexIndex & 2) == 0 ? halfBY : -halfBY;
+         double sz = (vertexIndex & 4) == 0 ? halfBZ : -halfBZ;
+         double vx = tx + r00 * sx + r01 * sy + r02 * sz;
+         double vy = ty + r10 * sx + r11 * sy + r12 * sz;
+         double vz = tz + r20 * sx + r21 * sy + r22 * sz;
+         double cx = EuclidCoreTools.clamp(vx, halfAX);
+         double cy = EuclidCoreTools.clamp(vy, halfAY);
+         double cz = EuclidCoreTools.clamp(vz, halfAZ);
+         double distanceSquared = EuclidCoreTools.normSquared(vx - cx, vy - cy, vz - cz);
+
+         if (distanceSquared < minDistanceSquared)
+         {
+            minDistanceSquared = distanceSquared;
+            pointOnA.set(cx, cy, cz);
+            pointOnB.set(vx, vy, vz);
+         }
+      }
+
+      // Vertices of A against B, the vertices are first expressed in the local frame of B.
+      for (int vertexIndex = 0; vertexIndex < 8; vertexIndex++)
+      {
+         double vx = (vertexIndex & 1) == 0 ? halfAX : -halfAX;
+         double vy = (vertexIndex & 2) == 0 ? halfAY : -halfAY;
+         double vz = (vertexIndex & 4) == 0 ? halfAZ : -halfAZ;
+         double localX = r00 * (vx - tx) + r10 * (vy - ty) + r20 * (vz - tz);
+         double localY = r01 * (vx - tx) + r11 * (vy - ty) + r21 * (vz - tz);
+         double localZ = r02 * (vx - tx) + r12 * (vy - ty) + r22 * (vz - tz);
+         double cx = EuclidCoreTools.clamp(localX, halfBX);
+         double cy = EuclidCoreTools.clamp(localY, halfBY);
+         double cz = EuclidCoreTools.clamp(localZ, halfBZ);
+         double distanceSquared = EuclidCoreTools.normSquared(localX - cx, localY - cy, localZ - cz);
+
+         if (distanceSquared < minDistanceSquared)
+         {
+            minDistanceSquared = distanceSquared;
+            pointOnA.set(vx, vy, vz);
+            pointOnB.set(tx + r00 * cx + r01 * cy + r02 * cz, ty + r10 * cx + r11 * cy + r12 * cz, tz + r20 * cx + r21 * cy + r22 * cz);
+         }
+      }
+
+      // Edges of B against the edges of A.
+      // The normals are used as buffers to evaluate the edge pairs.
+      Vector3DBasics candidateOnA = resultToPack.getNormalOnA();
+      Vector3DBasics candidateOnB = resultToPack.getNormalOnB();
+
+      for (int j = 0; j < 3; j++)
+      {
+         double halfLengthB = j == 0 ? halfBX : j == 1 ? halfBY : halfBZ;
+         double edgeX = j == 0 ? r00 : j == 1 ? r01 : r02;
+         double edgeY = j == 0 ? r10 : j == 1 ? r11 : r12;
+         double edgeZ = j == 0 ? r20 : j == 1 ? r21 : r22;
+
+         for (int vertexIndex = 0; vertexIndex < 8; vertexIndex++)
+         {
+            if ((vertexIndex & (1 << j)) != 0)
+               continue; // Each edge is visited once from the vertex on its positive side.
+
+            double sx = j == 0 ? 0.0 : (vertexIndex & 1) == 0 ? halfBX : -halfBX;
+            double sy = j == 1 ? 0.0 : (vertexIndex & 2) == 0 ? halfBY : -halfBY;
+            double sz = j == 2 ? 0.0 : (vertexIndex & 4) == 0 ? halfBZ : -halfBZ;
+            double centerX = tx + r00 * sx + r01 * sy + r02 * sz;
+            double centerY = ty + r10 * sx + r11 * sy + r12 * sz;
+            double centerZ = tz + r20 * sx + r21 * sy + r22 * sz;
+
+            // Quick rejection using the bounding sphere of the edge of B against A.
+            double minDistance = Math.sqrt(minDistanceSquared);
+            double lowerBound = EuclidCoreTools.norm(centerX - EuclidCoreTools.clamp(centerX, halfAX),
+                                                     centerY - EuclidCoreTools.clamp(centerY, halfAY),
+                                                     centerZ - EuclidCoreTools.clamp(centerZ, halfAZ))
+                  - halfLengthB;
+            if (lowerBound >= minDistance)
+               continue;
+
+            for (int i = 0; i < 3; i++)
+            {
+               double halfLengthA = i == 0 ? halfAX : i == 1 ? halfAY : halfAZ;
+
+               for (int edgeIndexA = 0; edgeIndexA < 4; edgeIndexA++)
+               {
+                  double centerAX = i == 0 ? 0.0 : (i == 1 ? BOX3D_FACE_SIGNS_2[edgeIndexA] : BOX3D_FACE_SIGNS_1[edgeIndexA]) * halfAX;
+                  double centerAY = i == 1 ? 0.0 : (i == 2 ? BOX3D_FACE_SIGNS_2[edgeIndexA] : BOX3D_FACE_SIGNS_1[edgeIndexA]) * halfAY;
+                  double centerAZ = i == 2 ? 0.0 : (i == 0 ? BOX3D_FACE_SIGNS_2[edgeIndexA] : BOX3D_FACE_SIGNS_1[edgeIndexA]) * halfAZ;
+
+                  // Quick rejection using the bounding spheres of the edges.
+                  double upperBound = minDistance + halfLengthA + halfLengthB;
+                  if (EuclidCoreTools.normSquared(centerAX - centerX, centerAY - centerY, centerAZ - centerZ) >= upperBound * upperBound)
+                     continue;
+
+                  double distanceSquared = closestPointsBetweenCenteredSegments(centerAX,
+                                                                                centerAY,
+                                                                                centerAZ,
+                                                                                i == 0 ? 1.0 : 0.0,
+                                                                                i == 1 ? 1.0 : 0.0,
+                                                                                i == 2 ? 1.0 : 0.0,
+                                                                                halfLengthA,
+                                                                                centerX,
+                                                                                centerY,
+                                                                                centerZ,
+                                                                                edgeX,
+                                                                                edgeY,
+                                                                                edgeZ,
+                                                                                halfLengthB,
+                                                                                candidateOnA,
+                                                                                candidateOnB);
+
+                  if (distanceSquared < minDistanceSquared)
+                  {
+                     minDistanceSquared = distanceSquared;
+                     minDistance = Math.sqrt(minDistanceSquared);
+                     pointOnA.set(candidateOnA);
+                     pointOnB.set(candidateOnB);
+                  }
+               }
+            }
+         }
+      }
+
+      shapeA.transformToWorld(pointOnA);
+      shapeA.transformToWorld(pointOnB);
+
+      double distance = Math.sqrt(minDistanceSquared);
+      resultToPack.getNormalOnA().sub(pointOnB, pointOnA);
+      resultToPack.getNormalOnA().scale(1.0 / distance);
+      resultToPack.getNormalOnB().setAndNegate(resultToPack.getNormalOnA());
+      resultToPack.setSignedDistance(distance);
+      resultToPack.setShapesAreColliding(false);
+   }
+
+   /**
+    * Computes the closest points between two line segments each defined by its center, a unit
+    * direction, and its half-length.
+    *
+    * @return the distance squared between the two closest points.
+    */
+   private static double closestPointsBetweenCenteredSegments(double center1X,
+                                                              double center1Y,
+                                                              double center1Z,
+                                                              double direction1X,
+                                                              double direction1Y,
+                                                              double direction1Z,
+                                                              double halfLength1,
+                                                              double center2X,
+                                                              double center2Y,
+                                                              double center2Z,
+                                                              double direction2X,
+                                                              double direction2Y,
+                                                              double direction2Z,
+                                                              double halfLength2,
+                                                              Tuple3DBasics closestPointOnSegment1ToPack,
+                                                              Tuple3DBasics closestPointOnSegment2ToPack)
+   {
+      double rx = center1X - center2X;
+      double ry = center1Y - center2Y;
+      double rz = center1Z - center2Z;
+      double b = direction1X * direction2X + direction1Y * direction2Y + direction1Z * direction2Z;
+      double c = direction1X * rx + direction1Y * ry + direction1Z * rz;
+      double f = direction2X * rx + direction2Y * ry + direction2Z * rz;
+      double denominator = 1.0 - b * b;
+
+      // When the segments are parallel, any point on the first segment can be picked first.
+      double s = denominator > BOX3D_PARALLEL_EDGES_EPSILON * BOX3D_PARALLEL_EDGES_EPSILON ? EuclidCoreTools.clamp((b * f - c) / denominator, halfLength1) : 0.0;
+      double t = b * s + f;
+
+      if (t < -halfLength2)
+      {
+         t = -halfLength2;
+         s = EuclidCoreTools.clamp(b * t - c, halfLength1);
+      }
+      else if (t > halfLength2)
+      {
+         t = halfLength2;
+         s = EuclidCoreTools.clamp(b * t - c, halfLength1);
+      }
+
+      double x1 = center1X + s * direction1X;
+      double y1 = center1Y + s * direction1Y;
+      double z1 = center1Z + s * direction1Z;
+      double x2 = center2X + t * direction2X;
+      double y2 = center2Y + t * direction2Y;
+      double z2 = center2Z + t * direction2Z;
+      closestPointOnSegment1ToPack.set(x1, y1, z1);
+      closestPointOnSegment2ToPack.set(x2, y2, z2);
+      return EuclidCoreTools.normSquared(x1 - x2, y1 - y2, z1 - z2);
+   }
+
+   /**
+    * Computes the dot product between the {@code column}<sup>th</sup> column of the given rotation
+    * matrix, i.e. one of the axes of a shape, and the vector (x, y, z).
+    */
+   private static double dot(RotationMatrixReadOnly orientation, int column, double x, double y, double z)
+   {
+      return orientation.getElement(0, column) * x + orientation.getElement(1, column) * y + orientation.getElement(2, column) * z;
+   }
+
+   /**
+    * Computes the dot product between the {@code columnA}<sup>th</sup> column of {@code a} and the
+    * {@code columnB}<sup>th</sup> column of {@code b}.
+    */
+   private static double dotColumns(RotationMatrixReadOnly a, int columnA, RotationMatrixReadOnly b, int columnB)
+   {
+      return a.getElement(0, columnA) * b.getElement(0, columnB) + a.getElement(1, columnA) * b.getElement(1, columnB)
+            + a.getElement(2, columnA) * b.getElement(2, columnB);
+   }
+
    /**
     * Evaluates the collision state between a point shape and a capsule.
     *
@@ -173,6 +1210,115 @@ public class EuclidShapeCollisionTools
       resultToPack.setSignedDistance(distance);
    }
 
+   /**
+    * Evaluates the collision state between a cylinder and a capsule.
+    * <p>
+    * The signed distance to the cylinder is convex along the axis of the capsule, its minimum is
+    * located by bisection on its derivative and the collision is then evaluated as for a sphere
+    * centered at this minimum. When the axis of the capsule does not intersect the cylinder, the
+    * result is exact. Otherwise, the penetration is measured from the point of the axis that is the
+    * deepest inside the cylinder.
+    * </p>
+    *
+    * @param shapeA       the cylinder. Not modified.
+    * @param shapeB       the capsule. Not modified.
+    * @param resultToPack the object in which the collision result is stored. Modified.
+    */
+   public static void evaluateCylinder3DCapsule3DCollision(Cylinder3DReadOnly shapeA, Capsule3DReadOnly shapeB, EuclidShape3DCollisionResultBasics resultToPack)
+   {
+      resultToPack.setToNaN();
+      resultToPack.setShapeA(shapeA);
+      resultToPack.setShapeB(shapeB);
+
+      if (shapeA.getRadius() <= 0.0 || shapeA.getLength() <= 0.0)
+         return;
+
+      // The axis of the capsule goes from its bottom center to its top center.
+      Point3DReadOnly capsulePosition = shapeB.getPosition();
+      Vector3DReadOnly capsuleAxis = shapeB.getAxis();
+      double halfLength = shapeB.getHalfLength();
+      double startX = capsulePosition.getX() - halfLength * capsuleAxis.getX();
+      double startY = capsulePosition.getY() - halfLength * capsuleAxis.getY();
+      double startZ = capsulePosition.getZ() - halfLength * capsuleAxis.getZ();
+      double segmentX = 2.0 * halfLength * capsuleAxis.getX();
+      double segmentY = 2.0 * halfLength * capsuleAxis.getY();
+      double segmentZ = 2.0 * halfLength * capsuleAxis.getZ();
+
+      double alpha;
+
+      if (computeCylinder3DDistanceDerivative(shapeA, startX, startY, startZ, segmentX, segmentY, segmentZ, 0.0, resultToPack) >= 0.0)
+      {
+         alpha = 0.0;
+      }
+      else if (computeCylinder3DDistanceDerivative(shapeA, startX, startY, startZ, segmentX, segmentY, segmentZ, 1.0, resultToPack) <= 0.0)
+      {
+         alpha = 1.0;
+      }
+      else
+      {
+         double lower = 0.0;
+         double upper = 1.0;
+
+         while (upper - lower > CYLINDER3D_BISECTION_EPSILON)
+         {
+            double middle = 0.5 * (lower + upper);
+
+            if (computeCylinder3DDistanceDerivative(shapeA, startX, startY, startZ, segmentX, segmentY, segmentZ, middle, resultToPack) < 0.0)
+               lower = middle;
+            else
+               upper = middle;
+         }
+
+         alpha = 0.5 * (lower + upper);
+      }
+
+      Point3DBasics pointOnB = resultToPack.getPointOnB();
+      pointOnB.set(startX + alpha * segmentX, startY + alpha * segmentY, startZ + alpha * segmentZ);
+      double distance = EuclidShapeTools.evaluatePoint3DCylinder3DCollision(pointOnB,
+                                                                            shapeA.getPosition(),
+                                                                            shapeA.getAxis(),
+                                                                            shapeA.getLength(),
+                                                                            shapeA.getRadius(),
+                                                                            resultToPack.getPointOnA(),
+                                                                            resultToPack.getNormalOnA());
+      resultToPack.getNormalOnB().setAndNegate(resultToPack.getNormalOnA());
+      pointOnB.scaleAdd(shapeB.getRadius(), resultToPack.getNormalOnB(), pointOnB);
+
+      distance -= shapeB.getRadius();
+      resultToPack.setShapesAreColliding(distance < 0.0);
+      resultToPack.setSignedDistance(distance);
+   }
+
+   /**
+    * Computes the derivative with respect to {@code alpha} of the signed distance from the cylinder
+    * to the point {@code start + alpha * segment}.
+    * <p>
+    * The point on A and the normal on A of the result are used as buffers.
+    * </p>
+    */
+   private static double computeCylinder3DDistanceDerivative(Cylinder3DReadOnly cylinder3D,
+                                                             double startX,
+                                                             double startY,
+                                                             double startZ,
+                                                             double segmentX,
+                                                             double segmentY,
+                                                             double segmentZ,
+                                                             double alpha,
+                                                             EuclidShape3DCollisionResultBasics resultToPack)
+   {
+      Point3DBasics query = resultToPack.getPointOnB();
+      Vector3DBasics normal = resultToPack.getNormalOnA();
+      query.set(startX + alpha * segmentX, startY + alpha * segmentY, startZ + alpha * segmentZ);
+      EuclidShapeTools.evaluatePoint3DCylinder3DCollision(query,
+                                                          cylinder3D.getPosition(),
+                                                          cylinder3D.getAxis(),
+                                                          cylinder3D.getLength(),
+                                                          cylinder3D.getRadius(),
+                                                          resultToPack.getPointOnA(),
+                                                          normal);
+      return normal.getX() * segmentX + normal.getY() * segmentY + normal.getZ() * segmentZ;
+   }
+
    /**
     * Evaluates the collision state between a point shape and a cylinder.
     *
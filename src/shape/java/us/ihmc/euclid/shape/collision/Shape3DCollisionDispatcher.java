@@ -0,0 +1,326 @@
+package us.ihmc.euclid.shape.collision;
+
+import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
+import us.ihmc.euclid.shape.collision.interfaces.EuclidShape3DCollisionResultBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Box3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Capsule3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Cylinder3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Ellipsoid3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.PointShape3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Ramp3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Sphere3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Torus3DReadOnly;
+
+/**
+ * Collision detector that can evaluate any pair of shapes.
+ * <p>
+ * When {@link EuclidShapeCollisionTools} provides a closed-form routine for the given pair of
+ * shapes, in either order, this routine is used. Otherwise, the evaluation falls back to the
+ * {@link ExpandingPolytopeAlgorithm}, in which case both shapes have to be convex.
+ * </p>
+ * <p>
+ * The algorithm to use for each pair of shape types is precomputed in a table when creating the
+ * dispatcher. The type of a shape is resolved from its class once per class and then cached, such
+ * that dispatching a pair of shapes only requires two lookups.
+ * </p>
+ * <p>
+ * Regardless of the algorithm used, the shape A of the result is always the first shape given to
+ * {@link #evaluateCollision(Shape3DReadOnly, Shape3DReadOnly, EuclidShape3DCollisionResultBasics)}.
+ * </p>
+ * <p>
+ * The dispatcher counts the number of evaluations for each pair of shape types and can also measure
+ * the time spent in the evaluations, see {@link #setTimingEnabled(boolean)}.
+ * </p>
+ */
+public class Shape3DCollisionDispatcher
+{
+   private static final int POINT_SHAPE = 0;
+   private static final int SPHERE = 1;
+   private static final int BOX = 2;
+   private static final int CAPSULE = 3;
+   private static final int CYLINDER = 4;
+   private static final int ELLIPSOID = 5;
+   private static final int RAMP = 6;
+   private static final int TORUS = 7;
+   /** Index for all the other shapes, which are only handled by the fallback detector. */
+   private static final int OTHER = 8;
+   private static final int NUMBER_OF_TYPES = 9;
+
+   /** The read-only interface defining each type of shape. */
+   private static final Class<?>[] TYPE_INTERFACES = {PointShape3DReadOnly.class, Sphere3DReadOnly.class, Box3DReadOnly.class, Capsule3DReadOnly.class,
+         Cylinder3DReadOnly.class, Ellipsoid3DReadOnly.class, Ramp3DReadOnly.class, Torus3DReadOnly.class, Shape3DReadOnly.class};
+   private static final String[] TYPE_NAMES = {"PointShape3D", "Sphere3D", "Box3D", "Capsule3D", "Cylinder3D", "Ellipsoid3D", "Ramp3D", "Torus3D", "Shape3D"};
+
+   /** Cache of the type index of each class of shape. */
+   private static final ClassValue<Integer> TYPE_INDICES = new ClassValue<Integer>()
+   {
+      @Override
+      protected Integer computeValue(Class<?> type)
+      {
+         for (int i = 0; i < OTHER; i++)
+         {
+            if (TYPE_INTERFACES[i].isAssignableFrom(type))
+               return i;
+         }
+         return OTHER;
+      }
+   };
+
+   /** The kind of algorithm used for a pair of shapes. */
+   private enum AlgorithmKind
+   {
+      CLOSED_FORM("closed-form"), SWAPPED_CLOSED_FORM("closed-form (swapped)"), FALLBACK("expanding polytope");
+
+      /** The name of the algorithm, used for reporting. */
+      private final String displayName;
+
+      AlgorithmKind(String displayName)
+      {
+         this.displayName = displayName;
+      }
+   }
+
+   /** The algorithm used for a pair of shapes. */
+   private interface PairEvaluator
+   {
+      void evaluate(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB, EuclidShape3DCollisionResultBasics resultToPack);
+   }
+
+   /** The detector used for the pairs of shapes without closed-form routine. */
+   private final ExpandingPolytopeAlgorithm fallbackDetector = new ExpandingPolytopeAlgorithm();
+   /** The algorithm for each pair of types, at the index {@code typeA * NUMBER_OF_TYPES + typeB}. */
+   private final PairEvaluator[] evaluators = new PairEvaluator[NUMBER_OF_TYPES * NUMBER_OF_TYPES];
+   /** The kind of algorithm for each pair of types. */
+   private final AlgorithmKind[] algorithmKinds = new AlgorithmKind[NUMBER_OF_TYPES * NUMBER_OF_TYPES];
+
+   private final long[] numberOfCalls = new long[NUMBER_OF_TYPES * NUMBER_OF_TYPES];
+   private final long[] totalTimes = new long[NUMBER_OF_TYPES * NUMBER_OF_TYPES];
+   private boolean timingEnabled = false;
+
+   /**
+    * Creates a new dispatcher.
+    */
+   public Shape3DCollisionDispatcher()
+   {
+      registerClosedForm(POINT_SHAPE, BOX, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DBox3DCollision((PointShape3DReadOnly) a, (Box3DReadOnly) b, r));
+      registerClosedForm(POINT_SHAPE, CAPSULE, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DCapsule3DCollision((PointShape3DReadOnly) a, (Capsule3DReadOnly) b, r));
+      registerClosedForm(POINT_SHAPE, CYLINDER, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DCylinder3DCollision((PointShape3DReadOnly) a, (Cylinder3DReadOnly) b, r));
+      registerClosedForm(POINT_SHAPE, ELLIPSOID, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DEllipsoid3DCollision((PointShape3DReadOnly) a, (Ellipsoid3DReadOnly) b, r));
+      registerClosedForm(POINT_SHAPE, POINT_SHAPE, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DPointShape3DCollision((PointShape3DReadOnly) a, (PointShape3DReadOnly) b, r));
+      registerClosedForm(POINT_SHAPE, RAMP, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DRamp3DCollision((PointShape3DReadOnly) a, (Ramp3DReadOnly) b, r));
+      registerClosedForm(POINT_SHAPE, SPHERE, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DSphere3DCollision((PointShape3DReadOnly) a, (Sphere3DReadOnly) b, r));
+      registerClosedForm(POINT_SHAPE, TORUS, (a, b, r) -> EuclidShapeCollisionTools.evaluatePointShape3DTorus3DCollision((PointShape3DReadOnly) a, (Torus3DReadOnly) b, r));
+
+      registerClosedForm(SPHERE, BOX, (a, b, r) -> EuclidShapeCollisionTools.evaluateSphere3DBox3DCollision((Sphere3DReadOnly) a, (Box3DReadOnly) b, r));
+      registerClosedForm(SPHERE, CAPSULE, (a, b, r) -> EuclidShapeCollisionTools.evaluateSphere3DCapsule3DCollision((Sphere3DReadOnly) a, (Capsule3DReadOnly) b, r));
+      registerClosedForm(SPHERE, CYLINDER, (a, b, r) -> EuclidShapeCollisionTools.evaluateSphere3DCylinder3DCollision((Sphere3DReadOnly) a, (Cylinder3DReadOnly) b, r));
+      registerClosedForm(SPHERE, ELLIPSOID, (a, b, r) -> EuclidShapeCollisionTools.evaluateSphere3DEllipsoid3DCollision((Sphere3DReadOnly) a, (Ellipsoid3DReadOnly) b, r));
+      registerClosedForm(SPHERE, RAMP, (a, b, r) -> EuclidShapeCollisionTools.evaluateSphere3DRamp3DCollision((Sphere3DReadOnly) a, (Ramp3DReadOnly) b, r));
+      registerClosedForm(SPHERE, SPHERE, (a, b, r) -> EuclidShapeCollisionTools.evaluateSphere3DSphere3DCollision((Sphere3DReadOnly) a, (Sphere3DReadOnly) b, r));
+      registerClosedForm(SPHERE, TORUS, (a, b, r) -> EuclidShapeCollisionTools.evaluateSphere3DTorus3DCollision((Sphere3DReadOnly) a, (Torus3DReadOnly) b, r));
+
+      registerClosedForm(BOX, BOX, (a, b, r) -> EuclidShapeCollisionTools.evaluateBox3DBox3DCollision((Box3DReadOnly) a, (Box3DReadOnly) b, r));
+      registerClosedForm(CAPSULE, BOX, (a, b, r) -> EuclidShapeCollisionTools.evaluateCapsule3DBox3DCollision((Capsule3DReadOnly) a, (Box3DReadOnly) b, r));
+      registerClosedForm(CAPSULE, CAPSULE, (a, b, r) -> EuclidShapeCollisionTools.evaluateCapsule3DCapsule3DCollision((Capsule3DReadOnly) a, (Capsule3DReadOnly) b, r));
+      registerClosedForm(CYLINDER, CAPSULE, (a, b, r) -> EuclidShapeCollisionTools.evaluateCylinder3DCapsule3DCollision((Cylinder3DReadOnly) a, (Capsule3DReadOnly) b, r));
+
+      // Completing the table with the swapped routines and the fallback detector.
+      for (int typeA = 0; typeA < NUMBER_OF_TYPES; typeA++)
+      {
+         for (int typeB = 0; typeB < NUMBER_OF_TYPES; typeB++)
+         {
+            int index = pairIndex(typeA, typeB);
+
+            if (evaluators[index] != null)
+               continue;
+
+            int swappedIndex = pairIndex(typeB, typeA);
+
+            if (algorithmKinds[swappedIndex] == AlgorithmKind.CLOSED_FORM)
+            {
+               PairEvaluator swappedEvaluator = evaluators[swappedIndex];
+               evaluators[index] = (a, b, r) ->
+               {
+                  swappedEvaluator.evaluate(b, a, r);
+                  r.swapShapes();
+               };
+               algorithmKinds[index] = AlgorithmKind.SWAPPED_CLOSED_FORM;
+            }
+            else
+            {
+               evaluators[index] = fallbackDetector::evaluateCollision;
+               algorithmKinds[index] = AlgorithmKind.FALLBACK;
+            }
+         }
+      }
+   }
+
+   private void registerClosedForm(int typeA, int typeB, PairEvaluator evaluator)
+   {
+      evaluators[pairIndex(typeA, typeB)] = evaluator;
+      algorithmKinds[pairIndex(typeA, typeB)] = AlgorithmKind.CLOSED_FORM;
+   }
+
+   /**
+    * Evaluates the collision state between the two given shapes.
+    *
+    * @param shapeA       the first shape. Not modified.
+    * @param shapeB       the second shape. Not modified.
+    * @param resultToPack the object in which the collision result is stored. Modified.
+    */
+   public void evaluateCollision(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB, EuclidShape3DCollisionResultBasics resultToPack)
+   {
+      int index = pairIndex(TYPE_INDICES.get(shapeA.getClass()), TYPE_INDICES.get(shapeB.getClass()));
+      numberOfCalls[index]++;
+
+      if (timingEnabled)
+      {
+         long start = System.nanoTime();
+         evaluators[index].evaluate(shapeA, shapeB, resultToPack);
+         totalTimes[index] += System.nanoTime() - start;
+      }
+      else
+      {
+         evaluators[index].evaluate(shapeA, shapeB, resultToPack);
+      }
+   }
+
+   /**
+    * Enables or disables the measurement of the time spent in the evaluations.
+    * <p>
+    * Measuring the time adds an overhead to each evaluation, it is disabled by default.
+    * </p>
+    *
+    * @param timingEnabled whether the evaluations should be timed.
+    */
+   public void setTimingEnabled(boolean timingEnabled)
+   {
+      this.timingEnabled = timingEnabled;
+   }
+
+   /**
+    * Whether the time spent in the evaluations is being measured.
+    *
+    * @return {@code true} if the evaluations are timed.
+    */
+   public boolean isTimingEnabled()
+   {
+      return timingEnabled;
+   }
+
+   /**
+    * Resets the number of evaluations and the time spent for all the pairs of shape types.
+    */
+   public void resetStatistics()
+   {
+      for (int i = 0; i < numberOfCalls.length; i++)
+      {
+         numberOfCalls[i] = 0;
+         totalTimes[i] = 0;
+      }
+   }
+
+   /**
+    * Gets the number of evaluations performed for the given pair of shape types since the creation
+    * of this dispatcher or the last call to {@link #resetStatistics()}.
+    * <p>
+    * Shapes are grouped by their read-only interface, for instance the statistics for a
+    * {@code Box3D} and a {@code FrameBox3D} are shared. All the shape types without closed-form
+    * routine, such as convex polytopes, are grouped together.
+    * </p>
+    *
+    * @param typeA the type of the first shape.
+    * @param typeB the type of the second shape.
+    * @return the number of evaluations.
+    */
+   public long getNumberOfCalls(Class<? extends Shape3DReadOnly> typeA, Class<? extends Shape3DReadOnly> typeB)
+   {
+      return numberOfCalls[pairIndex(TYPE_INDICES.get(typeA), TYPE_INDICES.get(typeB))];
+   }
+
+   /**
+    * Gets the total time spent in the evaluations for the given pair of shape types while timing was
+    * enabled.
+    *
+    * @param typeA the type of the first shape.
+    * @param typeB the type of the second shape.
+    * @return the total time in nanoseconds.
+    * @see #getNumberOfCalls(Class, Class)
+    * @see #setTimingEnabled(boolean)
+    */
+   public long getTotalTime(Class<? extends Shape3DReadOnly> typeA, Class<? extends Shape3DReadOnly> typeB)
+   {
+      return totalTimes[pairIndex(TYPE_INDICES.get(typeA), TYPE_INDICES.get(typeB))];
+   }
+
+   /**
+    * Whether a closed-form routine is used for the given pair of shape types, in either order.
+    *
+    * @param typeA the type of the first shape.
+    * @param typeB the type of the second shape.
+    * @return {@code true} if a closed-form routine is used, {@code false} if the evaluation falls back
+    *         to the expanding polytope algorithm.
+    */
+   public boolean hasClosedForm(Class<? extends Shape3DReadOnly> typeA, Class<? extends Shape3DReadOnly> typeB)
+   {
+      return algorithmKinds[pairIndex(TYPE_INDICES.get(typeA), TYPE_INDICES.get(typeB))] != AlgorithmKind.FALLBACK;
+   }
+
+   /**
+    * Gets the detector used for the pairs of shapes without closed-form routine.
+    *
+    * @return the fallback detector.
+    */
+   public ExpandingPolytopeAlgorithm getFallbackDetector()
+   {
+      return fallbackDetector;
+   }
+
+   /**
+    * Provides a {@code String} summarizing the evaluations performed for each pair of shape types as
+    * follows:
+    *
+    * <pre>
+    * Capsule3D - Box3D, closed-form: 1200 calls, total: 0.360 ms, average: 0.300 us
+    * Box3D - Ellipsoid3D, expanding polytope: 15 calls, total: 0.180 ms, average: 12.000 us
+    * </pre>
+    *
+    * Only the pairs evaluated at least once are listed, and the times are only provided when timing
+    * is enabled.
+    *
+    * @return the {@code String} summarizing the evaluations.
+    */
+   public String getStatisticsAsString()
+   {
+      StringBuilder builder = new StringBuilder();
+
+      for (int typeA = 0; typeA < NUMBER_OF_TYPES; typeA++)
+      {
+         for (int typeB = 0; typeB < NUMBER_OF_TYPES; typeB++)
+         {
+            int index = pairIndex(typeA, typeB);
+
+            if (numberOfCalls[index] == 0)
+               continue;
+
+            if (builder.length() > 0)
+               builder.append("\n");
+            builder.append(TYPE_NAMES[typeA]).append(" - ").append(TYPE_NAMES[typeB]).append(", ").append(algorithmKinds[index].displayName).append(": ");
+            builder.append(numberOfCalls[index]).append(" calls");
+
+            if (timingEnabled)
+            {
+               builder.append(String.format(", total: %.3f ms, average: %.3f us", totalTimes[index] / 1.0e6, totalTimes[index] / 1.0e3 / numberOfCalls[index]));
+            }
+         }
+      }
+
+      return builder.toString();
+   }
+
+   private static int pairIndex(int typeA, int typeB)
+   {
+      return typeA * NUMBER_OF_TYPES + typeB;
+   }
+}
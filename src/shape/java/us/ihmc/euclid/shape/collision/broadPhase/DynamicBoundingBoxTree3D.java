@@ -0,0 +1,700 @@
+package us.ihmc.euclid.shape.collision.broadPhase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import us.ihmc.euclid.geometry.BoundingBox3D;
+import us.ihmc.euclid.geometry.interfaces.BoundingBox3DReadOnly;
+import us.ihmc.euclid.shape.primitives.Box3D;
+import us.ihmc.euclid.shape.primitives.Ramp3D;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DChangeListener;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+
+/**
+ * Broad-phase collision detection based on a dynamic tree of axis-aligned bounding boxes.
+ * <p>
+ * Each shape registered is stored in a leaf of a binary tree in which each node holds the bounding
+ * box of its sub-tree. The tree is kept balanced using tree rotations and new leaves are inserted
+ * using the surface area heuristic. This allows to find the pairs of shapes which bounding boxes
+ * overlap without testing every possible pair.
+ * </p>
+ * <p>
+ * The bounding box stored in each leaf is fattened by a margin such that a shape moving by small
+ * amounts remains inside its leaf bounding box and the tree does not need to be modified. The
+ * overlaps are still evaluated using the tightest bounding box of each shape.
+ * </p>
+ * <p>
+ * Upon calling {@link #update()}, the tightest bounding boxes of the shapes are re-evaluated and the
+ * shapes that moved outside their leaf bounding box are re-inserted in the tree. Shapes that
+ * support change listeners, i.e. {@link Box3D} and {@link Ramp3D}, are only re-evaluated when they
+ * have notified a change since the last update, the other shapes are re-evaluated at every update.
+ * </p>
+ * <p>
+ * Once the tree has grown to its size, adding, updating, and querying do not generate garbage. This
+ * class is not thread-safe.
+ * </p>
+ */
+public class DynamicBoundingBoxTree3D
+{
+   /** The default value of the margin used to fatten the bounding boxes stored in the leaves. */
+   public static final double DEFAULT_MARGIN = 0.01;
+
+   /** The margin used to fatten the bounding boxes stored in the leaves. */
+   private final double margin;
+   /** The root of the tree, {@code null} when the tree is empty. */
+   private Node root = null;
+   /** The leaves of the tree, one per shape, in no particular order. */
+   private final List<Node> leaves = new ArrayList<>();
+   /** Map from shape to its leaf. */
+   private final Map<Shape3DReadOnly, Node> shapeToLeafMap = new IdentityHashMap<>();
+   /** The nodes that have been removed from the tree and that can be reused. */
+   private final List<Node> unusedNodes = new ArrayList<>();
+   /** Stack used to traverse the tree without recursion. */
+   private Node[] stack = new Node[64];
+   /** Counter used to give a unique identifier to each leaf. */
+   private long leafIdCounter = 0;
+
+   /**
+    * Creates a new empty tree using the default margin {@value #DEFAULT_MARGIN}.
+    */
+   public DynamicBoundingBoxTree3D()
+   {
+      this(DEFAULT_MARGIN);
+   }
+
+   /**
+    * Creates a new empty tree.
+    *
+    * @param margin the margin used to fatten the bounding boxes stored in the leaves. A larger margin
+    *               reduces the number of re-insertions when shapes move but increases the number of
+    *               nodes visited when querying the tree.
+    * @throws IllegalArgumentException if {@code margin} is negative.
+    */
+   public DynamicBoundingBoxTree3D(double margin)
+   {
+      if (margin < 0.0)
+         throw new IllegalArgumentException("The margin cannot be negative, was: " + margin);
+      this.margin = margin;
+   }
+
+   /**
+    * Adds a shape to this tree.
+    * <p>
+    * If the shape supports change listeners, a listener is registered to the shape which will be
+    * removed when removing the shape from this tree.
+    * </p>
+    *
+    * @param shape the shape to add. Not modified, reference saved.
+    * @return {@code true} if the shape was added, {@code false} if it was already in this tree.
+    */
+   public boolean add(Shape3DReadOnly shape)
+   {
+      if (shapeToLeafMap.containsKey(shape))
+         return false;
+
+      Node leaf = newNode();
+      leaf.id = leafIdCounter++;
+      leaf.shape = shape;
+      leaf.isObservable = addChangeListener(shape, leaf);
+      leaf.isDirty = false;
+      leaf.leafIndex = leaves.size();
+      leaves.add(leaf);
+      shapeToLeafMap.put(shape, leaf);
+
+      shape.getBoundingBox(leaf.tightBoundingBox);
+      fatten(leaf.tightBoundingBox, leaf.boundingBox);
+      insertLeaf(leaf);
+      return true;
+   }
+
+   /**
+    * Removes a shape from this tree.
+    *
+    * @param shape the shape to remove.
+    * @return {@code true} if the shape was removed, {@code false} if it was not in this tree.
+    */
+   public boolean remove(Shape3DReadOnly shape)
+   {
+      Node leaf = shapeToLeafMap.remove(shape);
+
+      if (leaf == null)
+         return false;
+
+      if (leaf.isObservable)
+         removeChangeListener(shape, leaf);
+
+      removeLeaf(leaf);
+
+      int lastIndex = leaves.size() - 1;
+      Node lastLeaf = leaves.remove(lastIndex);
+      if (lastLeaf != leaf)
+      {
+         leaves.set(leaf.leafIndex, lastLeaf);
+         lastLeaf.leafIndex = leaf.leafIndex;
+      }
+
+      recycleNode(leaf);
+      return true;
+   }
+
+   /**
+    * Removes all the shapes from this tree.
+    */
+   public void clear()
+   {
+      while (!leaves.isEmpty())
+         remove(leaves.get(leaves.size() - 1).shape);
+   }
+
+   /**
+    * Tests whether the given shape is in this tree.
+    *
+    * @param shape the query.
+    * @return {@code true} if the shape is in this tree, {@code false} otherwise.
+    */
+   public boolean contains(Shape3DReadOnly shape)
+   {
+      return shapeToLeafMap.containsKey(shape);
+   }
+
+   /**
+    * Gets the number of shapes in this tree.
+    *
+    * @return the number of shapes.
+    */
+   public int size()
+   {
+      return leaves.size();
+   }
+
+   /**
+    * Re-evaluates the bounding box of the shapes that may have changed since the last update and
+    * re-inserts the ones that moved outside of their leaf bounding box.
+    *
+    * @return the number of shapes that were re-inserted.
+    */
+   public int update()
+   {
+      int numberOfReinsertions = 0;
+
+      for (int i = 0; i < leaves.size(); i++)
+      {
+         Node leaf = leaves.get(i);
+
+         if (leaf.isObservable && !leaf.isDirty)
+            continue;
+
+         if (refitLeaf(leaf))
+            numberOfReinsertions++;
+      }
+
+      return numberOfReinsertions;
+   }
+
+   /**
+    * Re-evaluates the bounding box of the given shape and re-inserts it if it moved outside of its
+    * leaf bounding box.
+    *
+    * @param shape the shape to update. Not modified.
+    * @return {@code true} if the shape was re-inserted, {@code false} otherwise.
+    * @throws IllegalArgumentException if the shape is not in this tree.
+    */
+   public boolean update(Shape3DReadOnly shape)
+   {
+      Node leaf = shapeToLeafMap.get(shape);
+      if (leaf == null)
+         throw new IllegalArgumentException("The shape is not in this tree: " + shape);
+      return refitLeaf(leaf);
+   }
+
+   private boolean refitLeaf(Node leaf)
+   {
+      leaf.isDirty = false;
+      leaf.shape.getBoundingBox(leaf.tightBoundingBox);
+
+      if (contains(leaf.boundingBox, leaf.tightBoundingBox))
+         return false;
+
+      removeLeaf(leaf);
+      fatten(leaf.tightBoundingBox, leaf.boundingBox);
+      insertLeaf(leaf);
+      return true;
+   }
+
+   /**
+    * Finds all the pairs of shapes which bounding boxes overlap.
+    * <p>
+    * Each pair is reported once, the first shape of the pair being the one that was added first to
+    * this tree. The bounding boxes used are the ones evaluated at the last update, see
+    * {@link #update()}.
+    * </p>
+    *
+    * @param pairConsumer the consumer called for each overlapping pair. Modified.
+    * @return the number of overlapping pairs.
+    */
+   public int findOverlappingPairs(BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> pairConsumer)
+   {
+      int numberOfPairs = 0;
+
+      for (int i = 0; i < leaves.size(); i++)
+      {
+         Node leaf = leaves.get(i);
+         BoundingBox3DReadOnly query = leaf.tightBoundingBox;
+         int stackSize = push(root, 0);
+
+         while (stackSize > 0)
+         {
+            Node node = stack[--stackSize];
+
+            if (!node.boundingBox.intersectsInclusive(query))
+               continue;
+
+            if (node.isLeaf())
+            {
+               if (node.id <= leaf.id || !node.tightBoundingBox.intersectsInclusive(query))
+                  continue;
+
+               pairConsumer.accept(leaf.shape, node.shape);
+               numberOfPairs++;
+            }
+            else
+            {
+               stackSize = push(node.child1, stackSize);
+               stackSize = push(node.child2, stackSize);
+            }
+         }
+      }
+
+      return numberOfPairs;
+   }
+
+   /**
+    * Finds all the shapes which bounding box overlaps with the given query.
+    * <p>
+    * The bounding boxes used are the ones evaluated at the last update, see {@link #update()}.
+    * </p>
+    *
+    * @param query         the bounding box to test against the shapes of this tree. Not modified.
+    * @param shapeConsumer the consumer called for each overlapping shape. Modified.
+    * @return the number of overlapping shapes.
+    */
+   public int findOverlappingShapes(BoundingBox3DReadOnly query, Consumer<? super Shape3DReadOnly> shapeConsumer)
+   {
+      int numberOfShapes = 0;
+      int stackSize = push(root, 0);
+
+      while (stackSize > 0)
+      {
+         Node node = stack[--stackSize];
+
+         if (!node.boundingBox.intersectsInclusive(query))
+            continue;
+
+         if (node.isLeaf())
+         {
+            if (node.tightBoundingBox.intersectsInclusive(query))
+            {
+               shapeConsumer.accept(node.shape);
+               numberOfShapes++;
+            }
+         }
+         else
+         {
+            stackSize = push(node.child1, stackSize);
+            stackSize = push(node.child2, stackSize);
+         }
+      }
+
+      return numberOfShapes;
+   }
+
+   /**
+    * Gets the fattened bounding box stored in the leaf of the given shape.
+    *
+    * @param shape the query.
+    * @return the leaf bounding box, or {@code null} if the shape is not in this tree.
+    */
+   public BoundingBox3DReadOnly getFatBoundingBox(Shape3DReadOnly shape)
+   {
+      Node leaf = shapeToLeafMap.get(shape);
+      return leaf == null ? null : leaf.boundingBox;
+   }
+
+   /**
+    * Gets the height of this tree, i.e. the number of edges on the longest path from the root to a
+    * leaf.
+    *
+    * @return the height of this tree, or {@code -1} if it is empty.
+    */
+   public int getHeight()
+   {
+      return root == null ? -1 : root.height;
+   }
+
+   /**
+    * Gets the margin used to fatten the bounding boxes stored in the leaves.
+    *
+    * @return the margin.
+    */
+   public double getMargin()
+   {
+      return margin;
+   }
+
+   private int push(Node node, int stackSize)
+   {
+      if (node == null)
+         return stackSize;
+      if (stackSize == stack.length)
+         stack = Arrays.copyOf(stack, 2 * stackSize);
+      stack[stackSize] = node;
+      return stackSize + 1;
+   }
+
+   private void insertLeaf(Node leaf)
+   {
+      if (root == null)
+      {
+         root = leaf;
+         leaf.parent = null;
+         return;
+      }
+
+      // Finding the best sibling using the surface area heuristic.
+      BoundingBox3D leafBoundingBox = leaf.boundingBox;
+      Node sibling = root;
+
+      while (!sibling.isLeaf())
+      {
+         Node child1 = sibling.child1;
+         Node child2 = sibling.child2;
+
+         double area = surfaceArea(sibling.boundingBox);
+         double combinedArea = unionSurfaceArea(sibling.boundingBox, leafBoundingBox);
+
+         // Cost of creating a new parent for this node and the new leaf.
+         double cost = 2.0 * combinedArea;
+         // Minimum cost of pushing the leaf further down the tree.
+         double inheritanceCost = 2.0 * (combinedArea - area);
+
+         double cost1 = descendCost(child1, leafBoundingBox) + inheritanceCost;
+         double cost2 = descendCost(child2, leafBoundingBox) + inheritanceCost;
+
+         if (cost < cost1 && cost < cost2)
+            break;
+
+         sibling = cost1 < cost2 ? child1 : child2;
+      }
+
+      Node oldParent = sibling.parent;
+      Node newParent = newNode();
+      newParent.parent = oldParent;
+      newParent.boundingBox.combine(leafBoundingBox, sibling.boundingBox);
+      newParent.height = sibling.height + 1;
+
+      if (oldParent != null)
+      {
+         if (oldParent.child1 == sibling)
+            oldParent.child1 = newParent;
+         else
+            oldParent.child2 = newParent;
+      }
+      else
+      {
+         root = newParent;
+      }
+
+      newParent.child1 = sibling;
+      newParent.child2 = leaf;
+      sibling.parent = newParent;
+      leaf.parent = newParent;
+
+      refitAncestors(leaf.parent);
+   }
+
+   private void removeLeaf(Node leaf)
+   {
+      if (leaf == root)
+      {
+         root = null;
+         return;
+      }
+
+      Node parent = leaf.parent;
+      Node grandParent = parent.parent;
+      Node sibling = parent.child1 == leaf ? parent.child2 : parent.child1;
+
+      if (grandParent != null)
+      {
+         if (grandParent.child1 == parent)
+            grandParent.child1 = sibling;
+         else
+            grandParent.child2 = sibling;
+         sibling.parent = grandParent;
+         recycleNode(parent);
+         refitAncestors(grandParent);
+      }
+      else
+      {
+         root = sibling;
+         sibling.parent = null;
+         recycleNode(parent);
+      }
+
+      leaf.parent = null;
+   }
+
+   /**
+    * Walks back up the tree from the given node to re-balance it and update the height and bounding
+    * box of each node.
+    */
+   private void refitAncestors(Node node)
+   {
+      while (node != null)
+      {
+         node = balance(node);
+         node.height = 1 + Math.max(node.child1.height, node.child2.height);
+         node.boundingBox.combine(node.child1.boundingBox, node.child2.boundingBox);
+         node = node.parent;
+      }
+   }
+
+   /**
+    * Performs a left or right rotation if the node {@code a} is imbalanced.
+    *
+    * @return the new root of the sub-tree.
+    */
+   private Node balance(Node a)
+   {
+      if (a.isLeaf() || a.height < 2)
+         return a;
+
+      Node b = a.child1;
+      Node c = a.child2;
+      int balance = c.height - b.height;
+
+      if (balance > 1)
+      { // Rotate c up
+         Node f = c.child1;
+         Node g = c.child2;
+
+         c.child1 = a;
+         c.parent = a.parent;
+         a.parent = c;
+         replaceChild(c.parent, a, c);
+
+         if (f.height > g.height)
+         {
+            c.child2 = f;
+            a.child2 = g;
+            g.parent = a;
+            a.boundingBox.combine(b.boundingBox, g.boundingBox);
+            c.boundingBox.combine(a.boundingBox, f.boundingBox);
+            a.height = 1 + Math.max(b.height, g.height);
+            c.height = 1 + Math.max(a.height, f.height);
+         }
+         else
+         {
+            c.child2 = g;
+            a.child2 = f;
+            f.parent = a;
+            a.boundingBox.combine(b.boundingBox, f.boundingBox);
+            c.boundingBox.combine(a.boundingBox, g.boundingBox);
+            a.height = 1 + Math.max(b.height, f.height);
+            c.height = 1 + Math.max(a.height, g.height);
+         }
+
+         return c;
+      }
+
+      if (balance < -1)
+      { // Rotate b up
+         Node d = b.child1;
+         Node e = b.child2;
+
+         b.child1 = a;
+         b.parent = a.parent;
+         a.parent = b;
+         replaceChild(b.parent, a, b);
+
+         if (d.height > e.height)
+         {
+            b.child2 = d;
+            a.child1 = e;
+            e.parent = a;
+            a.boundingBox.combine(c.boundingBox, e.boundingBox);
+            b.boundingBox.combine(a.boundingBox, d.boundingBox);
+            a.height = 1 + Math.max(c.height, e.height);
+            b.height = 1 + Math.max(a.height, d.height);
+         }
+         else
+         {
+            b.child2 = e;
+            a.child1 = d;
+            d.parent = a;
+            a.boundingBox.combine(c.boundingBox, d.boundingBox);
+            b.boundingBox.combine(a.boundingBox, e.boundingBox);
+            a.height = 1 + Math.max(c.height, d.height);
+            b.height = 1 + Math.max(a.height, e.height);
+         }
+
+         return b;
+      }
+
+      return a;
+   }
+
+   private void replaceChild(Node parent, Node oldChild, Node newChild)
+   {
+      if (parent == null)
+         root = newChild;
+      else if (parent.child1 == oldChild)
+         parent.child1 = newChild;
+      else
+         parent.child2 = newChild;
+   }
+
+   private Node newNode()
+   {
+      if (unusedNodes.isEmpty())
+         return new Node();
+      else
+         return unusedNodes.remove(unusedNodes.size() - 1);
+   }
+
+   private void recycleNode(Node node)
+   {
+      node.clear();
+      unusedNodes.add(node);
+   }
+
+   private void fatten(BoundingBox3DReadOnly tightBoundingBox, BoundingBox3D fatBoundingBoxToPack)
+   {
+      fatBoundingBoxToPack.set(tightBoundingBox.getMinX() - margin,
+                               tightBoundingBox.getMinY() - margin,
+                               tightBoundingBox.getMinZ() - margin,
+                               tightBoundingBox.getMaxX() + margin,
+                               tightBoundingBox.getMaxY() + margin,
+                               tightBoundingBox.getMaxZ() + margin);
+   }
+
+   private static double descendCost(Node child, BoundingBox3DReadOnly leafBoundingBox)
+   {
+      if (child.isLeaf())
+         return unionSurfaceArea(child.boundingBox, leafBoundingBox);
+      else
+         return unionSurfaceArea(child.boundingBox, leafBoundingBox) - surfaceArea(child.boundingBox);
+   }
+
+   private static boolean contains(BoundingBox3DReadOnly outer, BoundingBox3DReadOnly inner)
+   {
+      return outer.isInsideInclusive(inner.getMinPoint()) && outer.isInsideInclusive(inner.getMaxPoint());
+   }
+
+   private static double surfaceArea(BoundingBox3DReadOnly boundingBox)
+   {
+      return surfaceArea(boundingBox.getMaxX() - boundingBox.getMinX(),
+                         boundingBox.getMaxY() - boundingBox.getMinY(),
+                         boundingBox.getMaxZ() - boundingBox.getMinZ());
+   }
+
+   private static double unionSurfaceArea(BoundingBox3DReadOnly boundingBoxOne, BoundingBox3DReadOnly boundingBoxTwo)
+   {
+      double sizeX = Math.max(boundingBoxOne.getMaxX(), boundingBoxTwo.getMaxX()) - Math.min(boundingBoxOne.getMinX(), boundingBoxTwo.getMinX());
+      double sizeY = Math.max(boundingBoxOne.getMaxY(), boundingBoxTwo.getMaxY()) - Math.min(boundingBoxOne.getMinY(), boundingBoxTwo.getMinY());
+      double sizeZ = Math.max(boundingBoxOne.getMaxZ(), boundingBoxTwo.getMaxZ()) - Math.min(boundingBoxOne.getMinZ(), boundingBoxTwo.getMinZ());
+      return surfaceArea(sizeX, sizeY, sizeZ);
+   }
+
+   private static double surfaceArea(double sizeX, double sizeY, double sizeZ)
+   {
+      return 2.0 * (sizeX * sizeY + sizeY * sizeZ + sizeZ * sizeX);
+   }
+
+   private static boolean addChangeListener(Shape3DReadOnly shape, Shape3DChangeListener listener)
+   {
+      if (shape instanceof Box3D)
+      {
+         ((Box3D) shape).addChangeListener(listener);
+         return true;
+      }
+      else if (shape instanceof Ramp3D)
+      {
+         ((Ramp3D) shape).addChangeListener(listener);
+         return true;
+      }
+      else
+      {
+         return false;
+      }
+   }
+
+   private static void removeChangeListener(Shape3DReadOnly shape, Shape3DChangeListener listener)
+   {
+      if (shape instanceof Box3D)
+         ((Box3D) shape).removeChangeListener(listener);
+      else if (shape instanceof Ramp3D)
+         ((Ramp3D) shape).removeChangeListener(listener);
+   }
+
+   /**
+    * Node of the tree. A leaf holds a shape, an internal node has always two children.
+    */
+   private static class Node implements Shape3DChangeListener
+   {
+      /** The bounding box of the sub-tree, fattened for the leaves. */
+      private final BoundingBox3D boundingBox = new BoundingBox3D();
+      /** The tightest bounding box of the shape, only used for the leaves. */
+      private final BoundingBox3D tightBoundingBox = new BoundingBox3D();
+      private Node parent, child1, child2;
+      /** The height of the sub-tree, 0 for a leaf. */
+      private int height;
+
+      /** Leaf only: the shape. */
+      private Shape3DReadOnly shape;
+      /** Leaf only: unique identifier used to report each overlapping pair once. */
+      private long id;
+      /** Leaf only: index in the list of leaves. */
+      private int leafIndex;
+      /** Leaf only: whether the shape notifies its changes. */
+      private boolean isObservable;
+      /** Leaf only: whether the shape has changed since the last update. */
+      private boolean isDirty;
+
+      private Node()
+      {
+         clear();
+      }
+
+      private void clear()
+      {
+         boundingBox.setToNaN();
+         tightBoundingBox.setToNaN();
+         parent = null;
+         child1 = null;
+         child2 = null;
+         height = 0;
+         shape = null;
+         id = -1;
+         leafIndex = -1;
+         isObservable = false;
+         isDirty = false;
+      }
+
+      private boolean isLeaf()
+      {
+         return child1 == null;
+      }
+
+      @Override
+      public void changed()
+      {
+         isDirty = true;
+      }
+   }
+}
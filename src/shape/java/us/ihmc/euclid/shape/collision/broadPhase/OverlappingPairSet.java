@@ -0,0 +1,188 @@
+package us.ihmc.euclid.shape.collision.broadPhase;
+
+import java.util.Arrays;
+
+/**
+ * Set of unordered pairs of non-negative integer identifiers.
+ * <p>
+ * The pairs are stored densely in a primitive array that can be iterated over and indexed with an
+ * open-addressing hash table, such that adding, removing, and testing a pair can be done in
+ * constant time without generating garbage once this set has grown to the size needed.
+ * </p>
+ * <p>
+ * Removing a pair moves the last pair of this set to the index of the removed pair, iterating
+ * backward over the pairs is therefore safe while removing.
+ * </p>
+ */
+class OverlappingPairSet
+{
+   private static final long EMPTY = -1L;
+
+   /** The pairs stored densely, each pair is stored as a key, see {@link #key(int, int)}. */
+   private long[] pairs = new long[16];
+   /** The number of pairs in this set. */
+   private int size = 0;
+   /** Hash table storing the keys, {@link #EMPTY} is used to indicate an empty slot. */
+   private long[] tableKeys;
+   /** Hash table storing the index in {@link #pairs} of each key. */
+   private int[] tableIndices;
+   /** The number of bits used for the hash table indices. */
+   private int tableBits;
+
+   OverlappingPairSet()
+   {
+      allocateTable(5);
+   }
+
+   /**
+    * Adds the pair {@code (a, b)} to this set.
+    *
+    * @return {@code true} if the pair was added, {@code false} if it was already in this set.
+    */
+   boolean add(int a, int b)
+   {
+      long key = key(a, b);
+      int slot = findSlot(key);
+
+      if (tableKeys[slot] == key)
+         return false;
+
+      if (size == pairs.length)
+         pairs = Arrays.copyOf(pairs, 2 * size);
+
+      tableKeys[slot] = key;
+      tableIndices[slot] = size;
+      pairs[size++] = key;
+
+      if (2 * size > tableKeys.length)
+         rehash(tableBits + 1);
+      return true;
+   }
+
+   /**
+    * Removes the pair {@code (a, b)} from this set.
+    *
+    * @return {@code true} if the pair was removed, {@code false} if it was not in this set.
+    */
+   boolean remove(int a, int b)
+   {
+      long key = key(a, b);
+      int slot = findSlot(key);
+
+      if (tableKeys[slot] != key)
+         return false;
+
+      int index = tableIndices[slot];
+      removeSlot(slot);
+      size--;
+
+      if (index != size)
+      { // Moving the last pair to fill the gap.
+         long lastKey = pairs[size];
+         pairs[index] = lastKey;
+         tableIndices[findSlot(lastKey)] = index;
+      }
+
+      return true;
+   }
+
+   boolean contains(int a, int b)
+   {
+      long key = key(a, b);
+      return tableKeys[findSlot(key)] == key;
+   }
+
+   void clear()
+   {
+      Arrays.fill(tableKeys, EMPTY);
+      size = 0;
+   }
+
+   int size()
+   {
+      return size;
+   }
+
+   /** Gets the smallest identifier of the {@code index}<sup>th</sup> pair. */
+   int getFirst(int index)
+   {
+      return (int) (pairs[index] >>> 32);
+   }
+
+   /** Gets the largest identifier of the {@code index}<sup>th</sup> pair. */
+   int getSecond(int index)
+   {
+      return (int) pairs[index];
+   }
+
+   private int findSlot(long key)
+   {
+      int mask = tableKeys.length - 1;
+      int slot = hash(key);
+
+      while (tableKeys[slot] != EMPTY && tableKeys[slot] != key)
+         slot = (slot + 1) & mask;
+
+      return slot;
+   }
+
+   /**
+    * Empties the given slot and shifts back the following entries of its cluster such that the
+    * linear probing remains valid.
+    */
+   private void removeSlot(int slot)
+   {
+      int mask = tableKeys.length - 1;
+      int next = (slot + 1) & mask;
+
+      while (tableKeys[next] != EMPTY)
+      {
+         int ideal = hash(tableKeys[next]);
+
+         // The entry can be moved to the gap only if the gap is between its ideal slot and its current slot.
+         if (((next - ideal) & mask) >= ((next - slot) & mask))
+         {
+            tableKeys[slot] = tableKeys[next];
+            tableIndices[slot] = tableIndices[next];
+            slot = next;
+         }
+
+         next = (next + 1) & mask;
+      }
+
+      tableKeys[slot] = EMPTY;
+   }
+
+   private void rehash(int newTableBits)
+   {
+      allocateTable(newTableBits);
+
+      for (int index = 0; index < size; index++)
+      {
+         int slot = findSlot(pairs[index]);
+         tableKeys[slot] = pairs[index];
+         tableIndices[slot] = index;
+      }
+   }
+
+   private void allocateTable(int bits)
+   {
+      tableBits = bits;
+      tableKeys = new long[1 << bits];
+      tableIndices = new int[1 << bits];
+      Arrays.fill(tableKeys, EMPTY);
+   }
+
+   private int hash(long key)
+   {
+      return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - tableBits));
+   }
+
+   private static long key(int a, int b)
+   {
+      if (a < b)
+         return ((long) a << 32) | b;
+      else
+         return ((long) b << 32) | a;
+   }
+}
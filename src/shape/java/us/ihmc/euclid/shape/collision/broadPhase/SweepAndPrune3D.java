@@ -0,0 +1,489 @@
+package us.ihmc.euclid.shape.collision.broadPhase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import us.ihmc.euclid.geometry.BoundingBox3D;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+
+/**
+ * Broad-phase collision detection based on the sweep-and-prune algorithm.
+ * <p>
+ * The bounds of the shape bounding boxes are projected on each axis and kept sorted in primitive
+ * arrays. The sorting is updated with an insertion sort which, when the shapes move coherently
+ * between two updates, i.e. by small amounts, performs in nearly linear time. Every time two bounds
+ * are swapped, the overlap of the two corresponding shapes is re-evaluated such that the set of
+ * overlapping pairs is maintained incrementally, and the pairs that started or stopped overlapping
+ * can be reported at each update.
+ * </p>
+ * <p>
+ * Shapes added to or removed from this structure are only taken into account at the next update,
+ * see {@link #update(BiConsumer, BiConsumer)}.
+ * </p>
+ * <p>
+ * Once the structure has grown to its size, updating and querying do not generate garbage. This
+ * class is not thread-safe.
+ * </p>
+ */
+public class SweepAndPrune3D
+{
+   /** Identifier used for the proxies that are not registered. */
+   private static final int NO_ID = -1;
+
+   /** The proxies indexed by their identifier, {@code null} for unused identifiers. */
+   private Proxy[] proxies = new Proxy[16];
+   /** Map from shape to its proxy. */
+   private final Map<Shape3DReadOnly, Proxy> shapeToProxyMap = new IdentityHashMap<>();
+   /** The identifiers that are available for new proxies. */
+   private int[] freeIds = new int[16];
+   private int numberOfFreeIds = 0;
+   /** The next identifier to use when there is no free identifier. */
+   private int nextId = 0;
+   /** The proxies that have been added since the last update. */
+   private final List<Proxy> pendingAdditions = new ArrayList<>();
+   /** The proxies that have been removed since the last update. */
+   private final List<Proxy> pendingRemovals = new ArrayList<>();
+   /** The unused proxies that can be recycled. */
+   private final List<Proxy> unusedProxies = new ArrayList<>();
+
+   /** For each axis, the value of each bound sorted in increasing order. */
+   private final double[][] boundValues = new double[3][16];
+   /**
+    * For each axis, the data of each bound in the same order as {@link #boundValues}. The data of a
+    * bound is {@code (proxyId << 1) | (isMax ? 1 : 0)}.
+    */
+   private final int[][] boundData = new int[3][16];
+   /** The number of bounds registered in the arrays, the same for each axis. */
+   private int numberOfBounds = 0;
+
+   /** The pairs of proxies which bounding boxes overlap. */
+   private final OverlappingPairSet overlappingPairs = new OverlappingPairSet();
+
+   /**
+    * Creates a new empty structure.
+    */
+   public SweepAndPrune3D()
+   {
+   }
+
+   /**
+    * Adds a shape to this structure.
+    * <p>
+    * The shape will be taken into account at the next update.
+    * </p>
+    *
+    * @param shape the shape to add. Not modified, reference saved.
+    * @return {@code true} if the shape was added, {@code false} if it was already in this structure.
+    */
+   public boolean add(Shape3DReadOnly shape)
+   {
+      if (shapeToProxyMap.containsKey(shape))
+         return false;
+
+      Proxy proxy = unusedProxies.isEmpty() ? new Proxy() : unusedProxies.remove(unusedProxies.size() - 1);
+      proxy.shape = shape;
+      shapeToProxyMap.put(shape, proxy);
+      pendingAdditions.add(proxy);
+      return true;
+   }
+
+   /**
+    * Removes a shape from this structure.
+    * <p>
+    * The pairs involving the shape will be reported as removed at the next update.
+    * </p>
+    *
+    * @param shape the shape to remove.
+    * @return {@code true} if the shape was removed, {@code false} if it was not in this structure.
+    */
+   public boolean remove(Shape3DReadOnly shape)
+   {
+      Proxy proxy = shapeToProxyMap.remove(shape);
+
+      if (proxy == null)
+         return false;
+
+      if (proxy.id == NO_ID)
+      { // The proxy was not registered yet.
+         pendingAdditions.remove(proxy);
+         recycleProxy(proxy);
+      }
+      else
+      {
+         pendingRemovals.add(proxy);
+      }
+
+      return true;
+   }
+
+   /**
+    * Removes all the shapes from this structure.
+    * <p>
+    * Unlike {@link #remove(Shape3DReadOnly)}, the removal is immediate and the pairs that were
+    * overlapping are not reported.
+    * </p>
+    */
+   public void clear()
+   {
+      for (int id = 0; id < nextId; id++)
+      {
+         if (proxies[id] != null)
+         {
+            recycleProxy(proxies[id]);
+            proxies[id] = null;
+         }
+      }
+
+      for (int i = 0; i < pendingAdditions.size(); i++)
+         recycleProxy(pendingAdditions.get(i));
+
+      pendingAdditions.clear();
+      pendingRemovals.clear();
+      shapeToProxyMap.clear();
+      overlappingPairs.clear();
+      numberOfBounds = 0;
+      numberOfFreeIds = 0;
+      nextId = 0;
+   }
+
+   /**
+    * Tests whether the given shape is in this structure.
+    *
+    * @param shape the query.
+    * @return {@code true} if the shape is in this structure, {@code false} otherwise.
+    */
+   public boolean contains(Shape3DReadOnly shape)
+   {
+      return shapeToProxyMap.containsKey(shape);
+   }
+
+   /**
+    * Gets the number of shapes in this structure.
+    *
+    * @return the number of shapes.
+    */
+   public int size()
+   {
+      return shapeToProxyMap.size();
+   }
+
+   /**
+    * Re-evaluates the bounding box of each shape and updates the set of overlapping pairs.
+    *
+    * @return the number of bound swaps that were performed, which indicates the amount of work
+    *         performed.
+    */
+   public int update()
+   {
+      return update(null, null);
+   }
+
+   /**
+    * Re-evaluates the bounding box of each shape and updates the set of overlapping pairs.
+    * <p>
+    * The consumers are notified during the update, the shapes of each pair are ordered by increasing
+    * internal identifier. The consumers should not modify this structure.
+    * </p>
+    *
+    * @param addedPairConsumer   the consumer called for each pair of shapes that started overlapping
+    *                            since the last update. Can be {@code null}.
+    * @param removedPairConsumer the consumer called for each pair of shapes that stopped overlapping
+    *                            since the last update, this includes the pairs involving a shape
+    *                            that was removed. Can be {@code null}.
+    * @return the number of bound swaps that were performed, which indicates the amount of work
+    *         performed.
+    */
+   public int update(BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> addedPairConsumer,
+                     BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> removedPairConsumer)
+   {
+      processPendingRemovals(removedPairConsumer);
+      processPendingAdditions();
+
+      for (int i = 0; i < nextId; i++)
+      {
+         Proxy proxy = proxies[i];
+         if (proxy != null)
+            proxy.shape.getBoundingBox(proxy.boundingBox);
+      }
+
+      int numberOfSwaps = 0;
+
+      for (int axis = 0; axis < 3; axis++)
+      {
+         updateBoundValues(axis);
+         numberOfSwaps += sortAxis(axis, addedPairConsumer, removedPairConsumer);
+      }
+
+      return numberOfSwaps;
+   }
+
+   /**
+    * Finds all the pairs of shapes which bounding boxes overlap.
+    * <p>
+    * The pairs are the ones evaluated at the last update, see {@link #update(BiConsumer, BiConsumer)}.
+    * The shapes of each pair are ordered by increasing internal identifier.
+    * </p>
+    *
+    * @param pairConsumer the consumer called for each overlapping pair. Modified.
+    * @return the number of overlapping pairs.
+    */
+   public int findOverlappingPairs(BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> pairConsumer)
+   {
+      for (int i = 0; i < overlappingPairs.size(); i++)
+         pairConsumer.accept(proxies[overlappingPairs.getFirst(i)].shape, proxies[overlappingPairs.getSecond(i)].shape);
+      return overlappingPairs.size();
+   }
+
+   /**
+    * Gets the number of pairs of shapes which bounding boxes overlapped at the last update.
+    *
+    * @return the number of overlapping pairs.
+    */
+   public int getNumberOfOverlappingPairs()
+   {
+      return overlappingPairs.size();
+   }
+
+   private void processPendingRemovals(BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> removedPairConsumer)
+   {
+      if (pendingRemovals.isEmpty())
+         return;
+
+      for (int i = 0; i < pendingRemovals.size(); i++)
+         pendingRemovals.get(i).isBeingRemoved = true;
+
+      // Iterating backward as removing a pair moves the last pair to its index.
+      for (int i = overlappingPairs.size() - 1; i >= 0; i--)
+      {
+         Proxy first = proxies[overlappingPairs.getFirst(i)];
+         Proxy second = proxies[overlappingPairs.getSecond(i)];
+
+         if (first.isBeingRemoved || second.isBeingRemoved)
+         {
+            overlappingPairs.remove(first.id, second.id);
+            if (removedPairConsumer != null)
+               removedPairConsumer.accept(first.shape, second.shape);
+         }
+      }
+
+      for (int axis = 0; axis < 3; axis++)
+      {
+         double[] values = boundValues[axis];
+         int[] data = boundData[axis];
+         int newNumberOfBounds = 0;
+
+         for (int i = 0; i < numberOfBounds; i++)
+         {
+            if (proxies[data[i] >> 1].isBeingRemoved)
+               continue;
+            values[newNumberOfBounds] = values[i];
+            data[newNumberOfBounds] = data[i];
+            newNumberOfBounds++;
+         }
+
+         if (axis == 2)
+            numberOfBounds = newNumberOfBounds;
+      }
+
+      for (int i = 0; i < pendingRemovals.size(); i++)
+      {
+         Proxy proxy = pendingRemovals.get(i);
+         proxies[proxy.id] = null;
+         releaseId(proxy.id);
+         recycleProxy(proxy);
+      }
+
+      pendingRemovals.clear();
+   }
+
+   private void processPendingAdditions()
+   {
+      if (pendingAdditions.isEmpty())
+         return;
+
+      int newNumberOfBounds = numberOfBounds + 2 * pendingAdditions.size();
+
+      if (newNumberOfBounds > boundValues[0].length)
+      {
+         int newCapacity = Math.max(newNumberOfBounds, 2 * boundValues[0].length);
+
+         for (int axis = 0; axis < 3; axis++)
+         {
+            boundValues[axis] = Arrays.copyOf(boundValues[axis], newCapacity);
+            boundData[axis] = Arrays.copyOf(boundData[axis], newCapacity);
+         }
+      }
+
+      for (int i = 0; i < pendingAdditions.size(); i++)
+      {
+         Proxy proxy = pendingAdditions.get(i);
+         proxy.id = acquireId();
+         proxies[proxy.id] = proxy;
+
+         /*
+          * The new bounds are appended at the end of each axis, which is consistent with the proxy
+          * not overlapping with any other proxy. The overlaps will be detected while sorting.
+          */
+         for (int axis = 0; axis < 3; axis++)
+         {
+            boundData[axis][numberOfBounds] = proxy.id << 1;
+            boundData[axis][numberOfBounds + 1] = (proxy.id << 1) | 1;
+         }
+
+         numberOfBounds += 2;
+      }
+
+      pendingAdditions.clear();
+   }
+
+   private void updateBoundValues(int axis)
+   {
+      double[] values = boundValues[axis];
+      int[] data = boundData[axis];
+
+      for (int i = 0; i < numberOfBounds; i++)
+      {
+         BoundingBox3D boundingBox = proxies[data[i] >> 1].boundingBox;
+         boolean isMax = (data[i] & 1) != 0;
+
+         switch (axis)
+         {
+            case 0:
+               values[i] = isMax ? boundingBox.getMaxX() : boundingBox.getMinX();
+               break;
+            case 1:
+               values[i] = isMax ? boundingBox.getMaxY() : boundingBox.getMinY();
+               break;
+            default:
+               values[i] = isMax ? boundingBox.getMaxZ() : boundingBox.getMinZ();
+               break;
+         }
+      }
+   }
+
+   /**
+    * Sorts the bounds of the given axis using an insertion sort and updates the overlapping pairs
+    * every time two bounds are swapped.
+    * <p>
+    * A bound is sorted before another one when its value is smaller, or when the values are equal
+    * and the first one is a min bound and the second a max bound, such that touching bounding boxes
+    * are considered overlapping.
+    * </p>
+    */
+   private int sortAxis(int axis,
+                        BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> addedPairConsumer,
+                        BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> removedPairConsumer)
+   {
+      double[] values = boundValues[axis];
+      int[] data = boundData[axis];
+      int numberOfSwaps = 0;
+
+      for (int i = 1; i < numberOfBounds; i++)
+      {
+         double value = values[i];
+         int bound = data[i];
+         boolean isMax = (bound & 1) != 0;
+         int j = i - 1;
+
+         while (j >= 0 && (value < values[j] || (value == values[j] && !isMax && (data[j] & 1) != 0)))
+         {
+            int otherBound = data[j];
+            int proxyId = bound >> 1;
+            int otherProxyId = otherBound >> 1;
+
+            if (proxyId != otherProxyId)
+            {
+               boolean isOtherMax = (otherBound & 1) != 0;
+
+               if (!isMax && isOtherMax)
+               { // The min bound moves before the other max bound, starting to overlap on this axis.
+                  Proxy proxy = proxies[proxyId];
+                  Proxy other = proxies[otherProxyId];
+
+                  if (proxy.boundingBox.intersectsInclusive(other.boundingBox) && overlappingPairs.add(proxyId, otherProxyId))
+                  {
+                     if (addedPairConsumer != null)
+                        reportPair(proxy, other, addedPairConsumer);
+                  }
+               }
+               else if (isMax && !isOtherMax)
+               { // The max bound moves before the other min bound, stopping to overlap on this axis.
+                  if (overlappingPairs.remove(proxyId, otherProxyId))
+                  {
+                     if (removedPairConsumer != null)
+                        reportPair(proxies[proxyId], proxies[otherProxyId], removedPairConsumer);
+                  }
+               }
+            }
+
+            values[j + 1] = values[j];
+            data[j + 1] = otherBound;
+            j--;
+            numberOfSwaps++;
+         }
+
+         values[j + 1] = value;
+         data[j + 1] = bound;
+      }
+
+      return numberOfSwaps;
+   }
+
+   private static void reportPair(Proxy proxyA, Proxy proxyB, BiConsumer<? super Shape3DReadOnly, ? super Shape3DReadOnly> pairConsumer)
+   {
+      if (proxyA.id < proxyB.id)
+         pairConsumer.accept(proxyA.shape, proxyB.shape);
+      else
+         pairConsumer.accept(proxyB.shape, proxyA.shape);
+   }
+
+   private int acquireId()
+   {
+      if (numberOfFreeIds > 0)
+         return freeIds[--numberOfFreeIds];
+
+      if (nextId == proxies.length)
+         proxies = Arrays.copyOf(proxies, 2 * nextId);
+      return nextId++;
+   }
+
+   private void releaseId(int id)
+   {
+      if (numberOfFreeIds == freeIds.length)
+         freeIds = Arrays.copyOf(freeIds, 2 * numberOfFreeIds);
+      freeIds[numberOfFreeIds++] = id;
+   }
+
+   private void recycleProxy(Proxy proxy)
+   {
+      proxy.clear();
+      unusedProxies.add(proxy);
+   }
+
+   private static class Proxy
+   {
+      /** The tightest bounding box of the shape evaluated at the last update. */
+      private final BoundingBox3D boundingBox = new BoundingBox3D();
+      private Shape3DReadOnly shape;
+      /** The identifier of this proxy, {@link #NO_ID} until registered at the next update. */
+      private int id;
+      private boolean isBeingRemoved;
+
+      private Proxy()
+      {
+         clear();
+      }
+
+      private void clear()
+      {
+         boundingBox.setToNaN();
+         shape = null;
+         id = NO_ID;
+         isBeingRemoved = false;
+      }
+   }
+}
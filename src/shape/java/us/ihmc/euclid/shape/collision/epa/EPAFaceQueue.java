@@ -0,0 +1,161 @@
+package us.ihmc.euclid.shape.collision.epa;
+
+import java.util.Arrays;
+
+/**
+ * Priority queue of {@link EPAFace3D} ordered by increasing distance to the origin.
+ * <p>
+ * This queue is a binary min-heap backed by arrays in which the distance of each face is stored in
+ * a primitive {@code double[]} at the time the face is added. This avoids the boxing and the virtual
+ * calls to {@link EPAFace3D#compareTo(EPAFace3D)} of a {@link java.util.PriorityQueue} and does not
+ * generate garbage once the queue has grown to the size needed.
+ * </p>
+ *
+ * @see ExpandingPolytopeAlgorithm
+ */
+public class EPAFaceQueue
+{
+   /** The default initial capacity of the queue. */
+   private static final int DEFAULT_INITIAL_CAPACITY = 32;
+
+   /** The faces stored in the heap. */
+   private EPAFace3D[] faces;
+   /** The distance squared to the origin of each face, in the same order as {@link #faces}. */
+   private double[] keys;
+   /** The number of faces currently in the queue. */
+   private int size = 0;
+
+   /**
+    * Creates a new empty queue.
+    */
+   public EPAFaceQueue()
+   {
+      this(DEFAULT_INITIAL_CAPACITY);
+   }
+
+   /**
+    * Creates a new empty queue.
+    *
+    * @param initialCapacity the number of faces the queue can hold before growing.
+    */
+   public EPAFaceQueue(int initialCapacity)
+   {
+      initialCapacity = Math.max(1, initialCapacity);
+      faces = new EPAFace3D[initialCapacity];
+      keys = new double[initialCapacity];
+   }
+
+   /**
+    * Removes all the faces from this queue.
+    */
+   public void clear()
+   {
+      Arrays.fill(faces, 0, size, null);
+      size = 0;
+   }
+
+   /**
+    * Adds a face to this queue.
+    * <p>
+    * The face is sorted according to the value of {@link EPAFace3D#getDistanceSquaredToOrigin()} at
+    * the time of this call.
+    * </p>
+    *
+    * @param face the face to add. Not modified, reference saved.
+    */
+   public void add(EPAFace3D face)
+   {
+      if (size == faces.length)
+      {
+         faces = Arrays.copyOf(faces, 2 * size);
+         keys = Arrays.copyOf(keys, 2 * size);
+      }
+
+      double key = face.getDistanceSquaredToOrigin();
+      int index = size++;
+
+      while (index > 0)
+      { // Sift-up
+         int parent = (index - 1) >>> 1;
+         if (keys[parent] <= key)
+            break;
+         faces[index] = faces[parent];
+         keys[index] = keys[parent];
+         index = parent;
+      }
+
+      faces[index] = face;
+      keys[index] = key;
+   }
+
+   /**
+    * Retrieves without removing the face the closest to the origin.
+    *
+    * @return the closest face or {@code null} if this queue is empty.
+    */
+   public EPAFace3D peek()
+   {
+      return size == 0 ? null : faces[0];
+   }
+
+   /**
+    * Retrieves and removes the face the closest to the origin.
+    *
+    * @return the closest face or {@code null} if this queue is empty.
+    */
+   public EPAFace3D poll()
+   {
+      if (size == 0)
+         return null;
+
+      EPAFace3D result = faces[0];
+      size--;
+      EPAFace3D lastFace = faces[size];
+      double lastKey = keys[size];
+      faces[size] = null;
+
+      if (size > 0)
+      {
+         int index = 0;
+         int half = size >>> 1;
+
+         while (index < half)
+         { // Sift-down
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child])
+               child = right;
+            if (lastKey <= keys[child])
+               break;
+            faces[index] = faces[child];
+            keys[index] = keys[child];
+            index = child;
+         }
+
+         faces[index] = lastFace;
+         keys[index] = lastKey;
+      }
+
+      return result;
+   }
+
+   /**
+    * Whether this queue is empty.
+    *
+    * @return {@code true} if this queue contains no face, {@code false} otherwise.
+    */
+   public boolean isEmpty()
+   {
+      return size == 0;
+   }
+
+   /**
+    * Gets the number of faces in this queue.
+    *
+    * @return the size of this queue.
+    */
+   public int size()
+   {
+      return size;
+   }
+}
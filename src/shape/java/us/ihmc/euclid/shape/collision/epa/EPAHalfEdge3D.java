@@ -14,9 +14,9 @@ import us.ihmc.euclid.tools.EuclidHashCodeTools;
 public class EPAHalfEdge3D implements HalfEdge3DReadOnly
 {
    /** The vertex this half-edge starts from. */
-   private final EPAVertex3D v0;
+   private EPAVertex3D v0;
    /** The vertex this half-edge ends at. */
-   private final EPAVertex3D v1;
+   private EPAVertex3D v1;
    /**
     * The half-edge on an adjacent face that starts from {@code destination} and ends at
     * {@code origin}.
@@ -35,6 +35,17 @@ public class EPAHalfEdge3D implements HalfEdge3DReadOnly
    /** Whether this face has been discarded and is no longer part of a polytope. */
    private boolean obsolete = false;
 
+   /**
+    * Creates a new edge that belongs to the given face, its endpoints are to be initialized later with
+    * {@link #set(EPAVertex3D, EPAVertex3D)}.
+    *
+    * @param face the face the half-edge belongs to. Not modified, reference saved.
+    */
+   public EPAHalfEdge3D(EPAFace3D face)
+   {
+      this.face = face;
+   }
+
    /**
     * Creates a new edge and initializes its endpoints and the face it belongs to.
     *
@@ -44,9 +55,28 @@ public class EPAHalfEdge3D implements HalfEdge3DReadOnly
     */
    public EPAHalfEdge3D(EPAVertex3D v0, EPAVertex3D v1, EPAFace3D face)
    {
-      this.face = face;
+      this(face);
+      set(v0, v1);
+   }
+
+   /**
+    * Sets the endpoints of this edge and associates it to {@code v0}.
+    * <p>
+    * The references to the twin, next, and previous half-edges are cleared and this edge is no longer
+    * marked as obsolete.
+    * </p>
+    *
+    * @param v0 the vertex the half-edge starts from. Not modified, reference saved.
+    * @param v1 the vertex the half-edge ends at. Not modified, reference saved.
+    */
+   public void set(EPAVertex3D v0, EPAVertex3D v1)
+   {
       this.v0 = v0;
       this.v1 = v1;
+      twin = null;
+      next = null;
+      previous = null;
+      obsolete = false;
       v0.addAssociatedEdge(this);
    }
 
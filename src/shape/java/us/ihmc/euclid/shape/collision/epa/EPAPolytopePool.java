@@ -0,0 +1,199 @@
+package us.ihmc.euclid.shape.collision.epa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import us.ihmc.euclid.axisAngle.AxisAngle;
+import us.ihmc.euclid.matrix.RotationMatrix;
+import us.ihmc.euclid.shape.collision.gjk.GJKVertex3D;
+import us.ihmc.euclid.shape.collision.interfaces.SupportingVertexHolder;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
+
+/**
+ * Pool of the elements used to build the polytope in the Expanding Polytope algorithm.
+ * <p>
+ * Vertices and faces, and thus half-edges as each face owns its 3 half-edges, are created on demand
+ * and are recycled all together when calling {@link #clear()}. Once this pool has grown to the size
+ * needed by a collision evaluation, subsequent evaluations of similar complexity do not generate
+ * garbage.
+ * </p>
+ * <p>
+ * The elements provided by this pool remain valid until the next call to {@link #clear()}.
+ * </p>
+ *
+ * @see ExpandingPolytopeAlgorithm
+ */
+public class EPAPolytopePool
+{
+   /** The vertices that have been created so far. */
+   private final List<EPAVertex3D> vertices = new ArrayList<>();
+   /** The number of vertices currently in use. */
+   private int numberOfVertices = 0;
+   /** The faces that have been created so far. */
+   private final List<EPAFace3D> faces = new ArrayList<>();
+   /** The number of faces currently in use. */
+   private int numberOfFaces = 0;
+
+   /** Buffer used to evaluate supporting vertices on the first shape. */
+   private final Point3D supportingVertexA = new Point3D();
+   /** Buffer used to evaluate supporting vertices on the second shape. */
+   private final Point3D supportingVertexB = new Point3D();
+   /** Buffer used to store the opposite of the support direction. */
+   private final Vector3D negatedSupportDirection = new Vector3D();
+
+   /** Intermediate variables used by {@link EPATools} to build the initial polytope. */
+   final Vector3D direction = new Vector3D();
+   final Vector3D orthogonal0 = new Vector3D();
+   final Vector3D orthogonal1 = new Vector3D();
+   final Vector3D orthogonal2 = new Vector3D();
+   final AxisAngle axisAngle = new AxisAngle();
+   final RotationMatrix rotationMatrix = new RotationMatrix();
+
+   /**
+    * Creates a new empty pool.
+    */
+   public EPAPolytopePool()
+   {
+   }
+
+   /**
+    * Recycles all the vertices and faces that were provided by this pool.
+    * <p>
+    * After calling this method, all the elements previously obtained from this pool should no longer
+    * be used.
+    * </p>
+    */
+   public void clear()
+   {
+      numberOfVertices = 0;
+      numberOfFaces = 0;
+   }
+
+   /**
+    * Gets the next available vertex and initializes it from the given {@code gjkVertex}.
+    *
+    * @param gjkVertex the GJK vertex to copy. Not modified.
+    * @return the vertex.
+    * @see EPAVertex3D#set(GJKVertex3D)
+    */
+   public EPAVertex3D nextVertex(GJKVertex3D gjkVertex)
+   {
+      EPAVertex3D vertex = nextVertex();
+      vertex.set(gjkVertex);
+      return vertex;
+   }
+
+   /**
+    * Gets the next available vertex and initializes it from the supporting vertices of the two
+    * shapes:
+    *
+    * <pre>
+    * vertex = shapeA.getSupportingVertex(supportDirection) - shapeB.getSupportingVertex(-supportDirection)
+    * </pre>
+    *
+    * @param shapeA           the first shape. Not modified.
+    * @param shapeB           the second shape. Not modified.
+    * @param supportDirection the support direction for the first shape. Not modified.
+    * @return the vertex.
+    */
+   public EPAVertex3D nextVertex(SupportingVertexHolder shapeA, SupportingVertexHolder shapeB, Vector3DReadOnly supportDirection)
+   {
+      negatedSupportDirection.setAndNegate(supportDirection);
+      shapeA.getSupportingVertex(supportDirection, supportingVertexA);
+      shapeB.getSupportingVertex(negatedSupportDirection, supportingVertexB);
+      EPAVertex3D vertex = nextVertex();
+      vertex.set(supportingVertexA, supportingVertexB);
+      return vertex;
+   }
+
+   private EPAVertex3D nextVertex()
+   {
+      if (numberOfVertices == vertices.size())
+         vertices.add(new EPAVertex3D());
+      return vertices.get(numberOfVertices++);
+   }
+
+   /**
+    * Gets the next available face and initializes it from 3 vertices.
+    *
+    * @param v0      the first vertex of the face. Not modified, reference saved.
+    * @param v1      the second vertex of the face. Not modified, reference saved.
+    * @param v2      the third vertex of the face. Not modified, reference saved.
+    * @param epsilon tolerance used notably for determining whether the triangle face is affinely
+    *                dependent or not.
+    * @return the face.
+    * @see EPAFace3D#set(EPAVertex3D, EPAVertex3D, EPAVertex3D, double)
+    */
+   public EPAFace3D nextFace(EPAVertex3D v0, EPAVertex3D v1, EPAVertex3D v2, double epsilon)
+   {
+      EPAFace3D face = nextFace();
+      face.set(v0, v1, v2, epsilon);
+      return face;
+   }
+
+   /**
+    * Gets the next available face and initializes it from a vertex and the twin of one of its edges.
+    *
+    * @param vertex  one of the face vertex. Not modified, reference saved.
+    * @param twin    the twin of one of the face's edges. Not modified, reference saved.
+    * @param epsilon tolerance used notably for determining whether the triangle face is affinely
+    *                dependent or not.
+    * @return the face.
+    * @see EPAFace3D#setFromVertexAndTwinEdge(EPAVertex3D, EPAHalfEdge3D, double)
+    */
+   public EPAFace3D nextFace(EPAVertex3D vertex, EPAHalfEdge3D twin, double epsilon)
+   {
+      EPAFace3D face = nextFace();
+      face.setFromVertexAndTwinEdge(vertex, twin, epsilon);
+      return face;
+   }
+
+   private EPAFace3D nextFace()
+   {
+      if (numberOfFaces == faces.size())
+         faces.add(new EPAFace3D());
+      return faces.get(numberOfFaces++);
+   }
+
+   /**
+    * Gets the number of vertices currently in use.
+    *
+    * @return the number of vertices provided since the last call to {@link #clear()}.
+    */
+   public int getNumberOfVertices()
+   {
+      return numberOfVertices;
+   }
+
+   /**
+    * Gets the number of faces currently in use.
+    *
+    * @return the number of faces provided since the last call to {@link #clear()}.
+    */
+   public int getNumberOfFaces()
+   {
+      return numberOfFaces;
+   }
+
+   /**
+    * Gets the total number of vertices that this pool has created.
+    *
+    * @return the vertex capacity of this pool.
+    */
+   public int getVertexCapacity()
+   {
+      return vertices.size();
+   }
+
+   /**
+    * Gets the total number of faces that this pool has created.
+    *
+    * @return the face capacity of this pool.
+    */
+   public int getFaceCapacity()
+   {
+      return faces.size();
+   }
+}
@@ -145,22 +145,26 @@ public class EPATools
       {
          double normSquared = Double.POSITIVE_INFINITY;
          boolean isAlmostInside = true;
+         // The candidate coordinates are computed in lambdasToPack, the best ones are saved here until the end.
+         double bestLambda1 = lambdasToPack[0];
+         double bestLambda2 = lambdasToPack[1];
+         double bestLambda3 = lambdasToPack[2];
 
          if (compareSigns(muMax, -C1))
          {
             if (Math.abs(C1) > epsilon)
                isAlmostInside = false;
 
-            double[] candidateOutput = barycentricCoordinatesFrom1Simplex(s2, s3);
-            double lambda2 = candidateOutput[0];
-            double lambda3 = candidateOutput[1];
+            barycentricCoordinatesFrom1Simplex(s2, s3, lambdasToPack);
+            double lambda2 = lambdasToPack[0];
+            double lambda3 = lambdasToPack[1];
             p0x = lambda2 * s2x + lambda3 * s3x;
             p0y = lambda2 * s2y + lambda3 * s3y;
             p0z = lambda2 * s2z + lambda3 * s3z;
             double candidateNormSquared = EuclidCoreTools.normSquared(p0x, p0y, p0z);
-            lambdasToPack[0] = 0.0;
-            lambdasToPack[1] = lambda2;
-            lambdasToPack[2] = lambda3;
+            bestLambda1 = 0.0;
+            bestLambda2 = lambda2;
+            bestLambda3 = lambda3;
             normSquared = candidateNormSquared;
          }
 
@@ -169,18 +173,18 @@ public class EPATools
             if (Math.abs(C2) > epsilon)
                isAlmostInside = false;
 
-            double[] candidateOutput = barycentricCoordinatesFrom1Simplex(s1, s3);
-            double lambda1 = candidateOutput[0];
-            double lambda3 = candidateOutput[1];
+            barycentricCoordinatesFrom1Simplex(s1, s3, lambdasToPack);
+            double lambda1 = lambdasToPack[0];
+            double lambda3 = lambdasToPack[1];
             p0x = lambda1 * s1x + lambda3 * s3x;
             p0y = lambda1 * s1y + lambda3 * s3y;
             p0z = lambda1 * s1z + lambda3 * s3z;
             double candidateNormSquared = EuclidCoreTools.normSquared(p0x, p0y, p0z);
             if (candidateNormSquared < normSquared)
             {
-               lambdasToPack[0] = lambda1;
-               lambdasToPack[1] = 0.0;
-               lambdasToPack[2] = lambda3;
+               bestLambda1 = lambda1;
+               bestLambda2 = 0.0;
+               bestLambda3 = lambda3;
                normSquared = candidateNormSquared;
             }
          }
@@ -190,22 +194,26 @@ public class EPATools
             if (Math.abs(C3) > epsilon)
                isAlmostInside = false;
 
-            double[] candidateOutput = barycentricCoordinatesFrom1Simplex(s1, s2);
-            double lambda1 = candidateOutput[0];
-            double lambda2 = candidateOutput[1];
+            barycentricCoordinatesFrom1Simplex(s1, s2, lambdasToPack);
+            double lambda1 = lambdasToPack[0];
+            double lambda2 = lambdasToPack[1];
             p0x = lambda1 * s1x + lambda2 * s2x;
             p0y = lambda1 * s1y + lambda2 * s2y;
             p0z = lambda1 * s1z + lambda2 * s2z;
             double candidateNormSquared = EuclidCoreTools.normSquared(p0x, p0y, p0z);
             if (candidateNormSquared < normSquared)
             {
-               lambdasToPack[0] = lambda1;
-               lambdasToPack[1] = lambda2;
-               lambdasToPack[2] = 0.0;
+               bestLambda1 = lambda1;
+               bestLambda2 = lambda2;
+               bestLambda3 = 0.0;
                normSquared = candidateNormSquared;
             }
          }
 
+         lambdasToPack[0] = bestLambda1;
+         lambdasToPack[1] = bestLambda2;
+         lambdasToPack[2] = bestLambda3;
+
          return isAlmostInside ? BarycentricCoordinatesOutput.INSIDE : BarycentricCoordinatesOutput.OUTSIDE;
       }
    }
@@ -213,11 +221,30 @@ public class EPATools
    /**
     * Computes the barycentric coordinates of the projection of the origin onto the line segment.
     *
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
+    *
     * @param s1 the first vertex of the line segment. Not modified.
     * @param s2 the second vertex of the line segment. Not modified.
     * @return the barycentric coordinates.
     */
    public static double[] barycentricCoordinatesFrom1Simplex(Point3DReadOnly s1, Point3DReadOnly s2)
+   {
+      double[] lambdas = new double[2];
+      barycentricCoordinatesFrom1Simplex(s1, s2, lambdas);
+      return lambdas;
+   }
+
+   /**
+    * Computes the barycentric coordinates of the projection of the origin onto the line segment.
+    *
+    * @param s1            the first vertex of the line segment. Not modified.
+    * @param s2            the second vertex of the line segment. Not modified.
+    * @param lambdasToPack the array used to store the barycentric coordinates. The array length should
+    *                      be at least equal to 2. Modified.
+    */
+   public static void barycentricCoordinatesFrom1Simplex(Point3DReadOnly s1, Point3DReadOnly s2, double[] lambdasToPack)
    {
       double s1x = s1.getX(), s1y = s1.getY(), s1z = s1.getZ();
       double s2x = s2.getX(), s2y = s2.getY(), s2z = s2.getZ();
@@ -276,16 +303,19 @@ public class EPATools
 
          if (compareSigns(muMax, C2))
          { // The projection in between the edge endpoints. Computing the barycentric coordinates.
-            return new double[] {C1 / muMax, C2 / muMax};
+            lambdasToPack[0] = C1 / muMax;
+            lambdasToPack[1] = C2 / muMax;
          }
          else
          {
-            return new double[] {0.0, 1.0};
+            lambdasToPack[0] = 0.0;
+            lambdasToPack[1] = 1.0;
          }
       }
       else
       {
-         return new double[] {1.0, 0.0};
+         lambdasToPack[0] = 1.0;
+         lambdasToPack[1] = 0.0;
       }
    }
 
@@ -303,6 +333,9 @@ public class EPATools
     * In case the simplex provided is a point, or that the generated polytope has a triangle that is
     * affinely dependent, this method fails and return {@code null}.
     * </p>
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
     *
     * @param shapeA      the shape in the collision evaluation used in case additional vertices need to
     *                    be generated. Not modified.
@@ -320,37 +353,84 @@ public class EPATools
                                                               double epsilon)
    {
       List<EPAFace3D> epaPolytope = new ArrayList<>();
+      if (newEPAPolytopeFromGJKSimplex(shapeA, shapeB, gjkVertices, epsilon, new EPAPolytopePool(), epaPolytope))
+         return epaPolytope;
+      else
+         return null;
+   }
+
+   /**
+    * Given a simplex defined by {@code gjkVertices}, construct a polytope usable for the initial
+    * iteration of the expanding polytope algorithm.
+    * <p>
+    * The method ensure the clockwise winding for the faces generated.
+    * </p>
+    * <p>
+    * In case the simplex provided is a line segment or a triangle, additional vertices are generated
+    * to guarantee the output is a polytope.
+    * </p>
+    * <p>
+    * In case the simplex provided is a point, or that the generated polytope has a triangle that is
+    * affinely dependent, this method fails and return {@code false}.
+    * </p>
+    * <p>
+    * The vertices and faces of the polytope are obtained from the given {@code pool} such that this
+    * method does not generate garbage once the pool has grown to the size needed.
+    * </p>
+    *
+    * @param shapeA         the shape in the collision evaluation used in case additional vertices need
+    *                       to be generated. Not modified.
+    * @param shapeB         the shape in the collision evaluation used in case additional vertices need
+    *                       to be generated. Not modified.
+    * @param gjkVertices    the simplex that is commonly the output of the Gilbert-Johnson-Keerthi
+    *                       algorithm. Not modified.
+    * @param epsilon        tolerance required when constructing faces and notably used to determine
+    *                       whether a triangle is affinely dependent or not.
+    * @param pool           the pool used to obtain the vertices and faces of the polytope. Modified.
+    * @param polytopeToPack the list used to store the faces of the convex polytope usable to initiate
+    *                       the Expanding Polytope algorithm. Modified.
+    * @return {@code true} if the polytope was successfully built, {@code false} otherwise.
+    */
+   public static boolean newEPAPolytopeFromGJKSimplex(SupportingVertexHolder shapeA,
+                                                      SupportingVertexHolder shapeB,
+                                                      GJKVertex3D[] gjkVertices,
+                                                      double epsilon,
+                                                      EPAPolytopePool pool,
+                                                      List<EPAFace3D> polytopeToPack)
+   {
+      polytopeToPack.clear();
 
       if (gjkVertices == null)
       {
-         return null;
+         return false;
       }
       else if (gjkVertices.length == 4)
       {
-         EPAVertex3D y0 = new EPAVertex3D(gjkVertices[0]);
-         EPAVertex3D y1 = new EPAVertex3D(gjkVertices[1]);
-         EPAVertex3D y2 = new EPAVertex3D(gjkVertices[2]);
-         EPAVertex3D y3 = new EPAVertex3D(gjkVertices[3]);
+         EPAVertex3D y0 = pool.nextVertex(gjkVertices[0]);
+         EPAVertex3D y1 = pool.nextVertex(gjkVertices[1]);
+         EPAVertex3D y2 = pool.nextVertex(gjkVertices[2]);
+         EPAVertex3D y3 = pool.nextVertex(gjkVertices[3]);
 
          // Estimate the face's normal based on its vertices and knowing the expecting ordering based on the twin-edge: v1, v2, then v3.
-         Vector3D n = EuclidPolytopeTools.crossProductOfLineSegment3Ds(y0, y1, y1, y2);
+         Vector3D n = pool.direction;
+         EuclidPolytopeTools.crossProductOfLineSegment3Ds(y0, y1, y1, y2, n);
          // As the vertices are clockwise ordered the cross-product of 2 successive edges should be negated to obtain the face's normal.
          n.negate();
 
          if (EuclidGeometryTools.isPoint3DAbovePlane3D(y3, y0, n))
          {
-            EPAFace3D f0 = new EPAFace3D(y3, y0, y1, epsilon);
+            EPAFace3D f0 = pool.nextFace(y3, y0, y1, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y3, y1, y2, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y3, y1, y2, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y3, y2, y0, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y3, y2, y0, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y0, y2, y1, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y0, y2, y1, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f0.getEdge1().setTwin(f3.getEdge2()); // e01 <-> e10
             f3.getEdge0().setTwin(f2.getEdge1()); // e02 <-> e20
@@ -360,25 +440,25 @@ public class EPATools
             f0.getEdge2().setTwin(f1.getEdge0()); // e13 <-> e31
             f1.getEdge2().setTwin(f2.getEdge0()); // e23 <-> e32
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
          }
          else
          {
-            EPAFace3D f0 = new EPAFace3D(y3, y1, y0, epsilon);
+            EPAFace3D f0 = pool.nextFace(y3, y1, y0, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y3, y2, y1, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y3, y2, y1, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y3, y0, y2, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y3, y0, y2, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y0, y1, y2, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y0, y1, y2, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f3.getEdge0().setTwin(f0.getEdge1()); // e01 <-> e10
             f2.getEdge1().setTwin(f3.getEdge2()); // e02 <-> e20
@@ -388,48 +468,42 @@ public class EPATools
             f1.getEdge2().setTwin(f0.getEdge0()); // e13 <-> e31
             f2.getEdge2().setTwin(f1.getEdge0()); // e23 <-> e32
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
          }
       }
       else if (gjkVertices.length == 3)
       {
-         EPAVertex3D y0 = new EPAVertex3D(gjkVertices[0]);
-         EPAVertex3D y1 = new EPAVertex3D(gjkVertices[1]);
-         EPAVertex3D y2 = new EPAVertex3D(gjkVertices[2]);
+         EPAVertex3D y0 = pool.nextVertex(gjkVertices[0]);
+         EPAVertex3D y1 = pool.nextVertex(gjkVertices[1]);
+         EPAVertex3D y2 = pool.nextVertex(gjkVertices[2]);
 
          // Estimate the face's normal based on its vertices and knowing the expecting ordering based on the twin-edge: v1, v2, then v3.
-         Vector3D n = EuclidPolytopeTools.crossProductOfLineSegment3Ds(y0, y1, y1, y2);
+         Vector3D n = pool.direction;
+         EuclidPolytopeTools.crossProductOfLineSegment3Ds(y0, y1, y1, y2, n);
          // As the vertices are clockwise ordered the cross-product of 2 successive edges should be negated to obtain the face's normal.
          n.negate();
 
-         Point3DReadOnly vertexA, vertexB;
-         EPAVertex3D y3, y4;
-         vertexA = shapeA.getSupportingVertex(n);
+         EPAVertex3D y3 = pool.nextVertex(shapeA, shapeB, n);
          n.negate();
-         vertexB = shapeB.getSupportingVertex(n);
-         y3 = new EPAVertex3D(vertexA, vertexB);
-         vertexA = shapeA.getSupportingVertex(n);
-         n.negate();
-         vertexB = shapeB.getSupportingVertex(n);
-         y4 = new EPAVertex3D(vertexA, vertexB);
+         EPAVertex3D y4 = pool.nextVertex(shapeA, shapeB, n);
 
          if (EuclidPolytopeTools.tetrahedronContainsOrigin(y0, y1, y2, y3))
          {
-            EPAFace3D f0 = new EPAFace3D(y3, y0, y1, epsilon);
+            EPAFace3D f0 = pool.nextFace(y3, y0, y1, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y3, y1, y2, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y3, y1, y2, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y3, y2, y0, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y3, y2, y0, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y0, y2, y1, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y0, y2, y1, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f0.getEdge1().setTwin(f3.getEdge2()); // e01 <-> e10
             f3.getEdge0().setTwin(f2.getEdge1()); // e02 <-> e20
@@ -439,25 +513,25 @@ public class EPATools
             f0.getEdge2().setTwin(f1.getEdge0()); // e13 <-> e31
             f1.getEdge2().setTwin(f2.getEdge0()); // e23 <-> e32
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
          }
          else if (EuclidPolytopeTools.tetrahedronContainsOrigin(y0, y1, y2, y4))
          {
-            EPAFace3D f0 = new EPAFace3D(y4, y1, y0, epsilon);
+            EPAFace3D f0 = pool.nextFace(y4, y1, y0, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y4, y2, y1, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y4, y2, y1, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y4, y0, y2, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y4, y0, y2, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y0, y1, y2, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y0, y1, y2, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f3.getEdge0().setTwin(f0.getEdge1()); // e01 <-> e10
             f2.getEdge1().setTwin(f3.getEdge2()); // e02 <-> e20
@@ -467,31 +541,31 @@ public class EPATools
             f1.getEdge2().setTwin(f0.getEdge0()); // e14 <-> e41
             f2.getEdge2().setTwin(f1.getEdge0()); // e24 <-> e42
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
          }
          else
          {
-            EPAFace3D f0 = new EPAFace3D(y4, y1, y0, epsilon);
+            EPAFace3D f0 = pool.nextFace(y4, y1, y0, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y4, y2, y1, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y4, y2, y1, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y4, y0, y2, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y4, y0, y2, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y3, y0, y1, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y3, y0, y1, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f4 = new EPAFace3D(y3, y1, y2, epsilon);
+               return false;
+            EPAFace3D f4 = pool.nextFace(y3, y1, y2, epsilon);
             if (f4.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f5 = new EPAFace3D(y3, y2, y0, epsilon);
+               return false;
+            EPAFace3D f5 = pool.nextFace(y3, y2, y0, epsilon);
             if (f5.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f3.getEdge0().setTwin(f5.getEdge2()); // e30 <-> e03
             f4.getEdge0().setTwin(f3.getEdge2()); // e31 <-> e13
@@ -505,20 +579,20 @@ public class EPATools
             f2.getEdge1().setTwin(f5.getEdge1()); // e02 <-> e20
             f4.getEdge1().setTwin(f1.getEdge1()); // e12 <-> e21
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
-            epaPolytope.add(f4);
-            epaPolytope.add(f5);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
+            polytopeToPack.add(f4);
+            polytopeToPack.add(f5);
          }
       }
       else if (gjkVertices.length == 2)
       {
-         EPAVertex3D y0 = new EPAVertex3D(gjkVertices[0]);
-         EPAVertex3D y1 = new EPAVertex3D(gjkVertices[1]);
+         EPAVertex3D y0 = pool.nextVertex(gjkVertices[0]);
+         EPAVertex3D y1 = pool.nextVertex(gjkVertices[1]);
 
-         Vector3D d = new Vector3D();
+         Vector3D d = pool.direction;
          d.sub(y1, y0);
 
          Vector3DReadOnly axis = Axis3D.X;
@@ -536,44 +610,36 @@ public class EPATools
             axis = Axis3D.Z;
          }
 
-         Vector3D v1 = new Vector3D();
+         Vector3D v1 = pool.orthogonal0;
          v1.cross(d, axis);
-         RotationMatrix r = new RotationMatrix(new AxisAngle(d, 2.0 / 3.0 * Math.PI));
-         Vector3D v2 = new Vector3D();
-         Vector3D v3 = new Vector3D();
+         AxisAngle axisAngle = pool.axisAngle;
+         axisAngle.set(d, 2.0 / 3.0 * Math.PI);
+         RotationMatrix r = pool.rotationMatrix;
+         r.set(axisAngle);
+         Vector3D v2 = pool.orthogonal1;
+         Vector3D v3 = pool.orthogonal2;
          r.transform(v1, v2);
          r.transform(v2, v3);
 
-         Point3DReadOnly vertexA, vertexB;
-         EPAVertex3D y2, y3, y4;
-         vertexA = shapeA.getSupportingVertex(v1);
-         v1.negate();
-         vertexB = shapeB.getSupportingVertex(v1);
-         y2 = new EPAVertex3D(vertexA, vertexB);
-         vertexA = shapeA.getSupportingVertex(v2);
-         v2.negate();
-         vertexB = shapeB.getSupportingVertex(v2);
-         y3 = new EPAVertex3D(vertexA, vertexB);
-         vertexA = shapeA.getSupportingVertex(v3);
-         v3.negate();
-         vertexB = shapeB.getSupportingVertex(v3);
-         y4 = new EPAVertex3D(vertexA, vertexB);
+         EPAVertex3D y2 = pool.nextVertex(shapeA, shapeB, v1);
+         EPAVertex3D y3 = pool.nextVertex(shapeA, shapeB, v2);
+         EPAVertex3D y4 = pool.nextVertex(shapeA, shapeB, v3);
 
          if (EuclidPolytopeTools.tetrahedronContainsOrigin(y0, y2, y3, y4))
          {
             // Building the faces such that clockwise winding
-            EPAFace3D f0 = new EPAFace3D(y0, y2, y3, epsilon);
+            EPAFace3D f0 = pool.nextFace(y0, y2, y3, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y0, y3, y4, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y0, y3, y4, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y0, y4, y2, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y0, y4, y2, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y2, y4, y3, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y2, y4, y3, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f0.getEdge0().setTwin(f2.getEdge2()); // e02 <-> e20
             f1.getEdge0().setTwin(f0.getEdge2()); // e03 <-> e30
@@ -583,26 +649,26 @@ public class EPATools
             f3.getEdge0().setTwin(f2.getEdge1()); // e24 <-> e42
             f1.getEdge1().setTwin(f3.getEdge1()); // e34 <-> e43
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
          }
          else if (EuclidPolytopeTools.tetrahedronContainsOrigin(y1, y2, y3, y4))
          {
             // Building the faces such that clockwise winding
-            EPAFace3D f0 = new EPAFace3D(y1, y3, y2, epsilon);
+            EPAFace3D f0 = pool.nextFace(y1, y3, y2, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y1, y4, y3, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y1, y4, y3, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y1, y2, y4, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y1, y2, y4, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y2, y3, y4, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y2, y3, y4, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f2.getEdge0().setTwin(f0.getEdge2()); // e12 <-> e21
             f0.getEdge0().setTwin(f1.getEdge2()); // e13 <-> e31
@@ -612,31 +678,31 @@ public class EPATools
             f2.getEdge1().setTwin(f3.getEdge2()); // e24 <-> e42
             f3.getEdge1().setTwin(f1.getEdge1()); // e34 <-> e43
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
          }
          else
          {
-            EPAFace3D f0 = new EPAFace3D(y0, y2, y3, epsilon);
+            EPAFace3D f0 = pool.nextFace(y0, y2, y3, epsilon);
             if (f0.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f1 = new EPAFace3D(y0, y3, y4, epsilon);
+               return false;
+            EPAFace3D f1 = pool.nextFace(y0, y3, y4, epsilon);
             if (f1.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f2 = new EPAFace3D(y0, y4, y2, epsilon);
+               return false;
+            EPAFace3D f2 = pool.nextFace(y0, y4, y2, epsilon);
             if (f2.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f3 = new EPAFace3D(y1, y3, y2, epsilon);
+               return false;
+            EPAFace3D f3 = pool.nextFace(y1, y3, y2, epsilon);
             if (f3.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f4 = new EPAFace3D(y1, y4, y3, epsilon);
+               return false;
+            EPAFace3D f4 = pool.nextFace(y1, y4, y3, epsilon);
             if (f4.isTriangleAffinelyDependent())
-               return null;
-            EPAFace3D f5 = new EPAFace3D(y1, y2, y4, epsilon);
+               return false;
+            EPAFace3D f5 = pool.nextFace(y1, y2, y4, epsilon);
             if (f5.isTriangleAffinelyDependent())
-               return null;
+               return false;
 
             f0.getEdge0().setTwin(f2.getEdge2()); // e02 <-> e20
             f1.getEdge0().setTwin(f0.getEdge2()); // e03 <-> e30
@@ -654,21 +720,21 @@ public class EPATools
             f5.getEdge1().setTwin(f2.getEdge1()); // e24 <-> e42
             f1.getEdge1().setTwin(f4.getEdge1()); // e34 <-> e43
 
-            epaPolytope.add(f0);
-            epaPolytope.add(f1);
-            epaPolytope.add(f2);
-            epaPolytope.add(f3);
-            epaPolytope.add(f4);
-            epaPolytope.add(f5);
+            polytopeToPack.add(f0);
+            polytopeToPack.add(f1);
+            polytopeToPack.add(f2);
+            polytopeToPack.add(f3);
+            polytopeToPack.add(f4);
+            polytopeToPack.add(f5);
          }
       }
       else if (gjkVertices.length == 1)
       {
          // Supposedly this case only occurs when 2 shapes are only touching with 0-depth.
-         return null;
+         return false;
       }
 
-      return epaPolytope;
+      return true;
    }
 
    /**
@@ -9,6 +9,7 @@ import us.ihmc.euclid.shape.collision.gjk.GJKVertex3D;
 import us.ihmc.euclid.shape.convexPolytope.interfaces.Vertex3DReadOnly;
 import us.ihmc.euclid.tools.EuclidCoreIOTools;
 import us.ihmc.euclid.tools.EuclidHashCodeTools;
+import us.ihmc.euclid.tuple3D.Point3D;
 import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
 
 /**
@@ -23,14 +24,30 @@ import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
 public class EPAVertex3D implements Vertex3DReadOnly
 {
    /** The coordinates of this vertex. */
-   private final double x, y, z;
+   private double x, y, z;
    /** The supporting vertex from the first shape. */
-   private final Point3DReadOnly vertexOnShapeA;
+   private final Point3D vertexOnShapeA = new Point3D();
    /** The supporting vertex from the second shape. */
-   private final Point3DReadOnly vertexOnShapeB;
+   private final Point3D vertexOnShapeB = new Point3D();
    /** List of edges that start at this vertex. */
    private final List<EPAHalfEdge3D> associatedEdges = new ArrayList<>();
 
+   /**
+    * Creates a new vertex with coordinates initialized to {@link Double#NaN}.
+    * <p>
+    * This constructor is meant to be used for preallocating vertices that are to be initialized
+    * later with {@link #set(Point3DReadOnly, Point3DReadOnly)} or {@link #set(GJKVertex3D)}.
+    * </p>
+    */
+   public EPAVertex3D()
+   {
+      x = Double.NaN;
+      y = Double.NaN;
+      z = Double.NaN;
+      vertexOnShapeA.setToNaN();
+      vertexOnShapeB.setToNaN();
+   }
+
    /**
     * Creates a new vertex from a {@code GJKVertex3D} copying its coordinates the supporting vertex
     * from both shapes.
@@ -39,27 +56,53 @@ public class EPAVertex3D implements Vertex3DReadOnly
     */
    public EPAVertex3D(GJKVertex3D gjkVertex3D)
    {
-      vertexOnShapeA = gjkVertex3D.getVertexOnShapeA();
-      vertexOnShapeB = gjkVertex3D.getVertexOnShapeB();
-      x = gjkVertex3D.getX();
-      y = gjkVertex3D.getY();
-      z = gjkVertex3D.getZ();
+      set(gjkVertex3D);
    }
 
    /**
     * Creates a new vertex and initializes its coordinates as follows:<br>
     * {@code this = vertexOnShapeA - vertexOnShapeB}.
     *
-    * @param vertexOnShapeA the supporting vertex from the first shape. Not modified, reference saved.
-    * @param vertexOnShapeB the supporting vertex from the second shape. Not modified, reference saved.
+    * @param vertexOnShapeA the supporting vertex from the first shape. Not modified.
+    * @param vertexOnShapeB the supporting vertex from the second shape. Not modified.
     */
    public EPAVertex3D(Point3DReadOnly vertexOnShapeA, Point3DReadOnly vertexOnShapeB)
    {
-      this.vertexOnShapeA = vertexOnShapeA;
-      this.vertexOnShapeB = vertexOnShapeB;
+      set(vertexOnShapeA, vertexOnShapeB);
+   }
+
+   /**
+    * Sets this vertex from a {@code GJKVertex3D} copying its coordinates the supporting vertex from
+    * both shapes.
+    * <p>
+    * The edges associated to this vertex are cleared.
+    * </p>
+    *
+    * @param gjkVertex3D the GJK vertex to copy. Not modified.
+    */
+   public void set(GJKVertex3D gjkVertex3D)
+   {
+      set(gjkVertex3D.getVertexOnShapeA(), gjkVertex3D.getVertexOnShapeB());
+   }
+
+   /**
+    * Sets the supporting vertices of this vertex and updates its coordinates as follows:<br>
+    * {@code this = vertexOnShapeA - vertexOnShapeB}.
+    * <p>
+    * The edges associated to this vertex are cleared.
+    * </p>
+    *
+    * @param vertexOnShapeA the supporting vertex from the first shape. Not modified.
+    * @param vertexOnShapeB the supporting vertex from the second shape. Not modified.
+    */
+   public void set(Point3DReadOnly vertexOnShapeA, Point3DReadOnly vertexOnShapeB)
+   {
+      this.vertexOnShapeA.set(vertexOnShapeA);
+      this.vertexOnShapeB.set(vertexOnShapeB);
       x = vertexOnShapeA.getX() - vertexOnShapeB.getX();
       y = vertexOnShapeA.getY() - vertexOnShapeB.getY();
       z = vertexOnShapeA.getZ() - vertexOnShapeB.getZ();
+      associatedEdges.clear();
    }
 
    /**
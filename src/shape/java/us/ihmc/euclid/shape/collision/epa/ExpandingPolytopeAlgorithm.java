@@ -2,20 +2,18 @@ package us.ihmc.euclid.shape.collision.epa;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.PriorityQueue;
 
 import us.ihmc.euclid.shape.collision.EuclidShape3DCollisionResult;
 import us.ihmc.euclid.shape.collision.gjk.GJKVertex3D;
 import us.ihmc.euclid.shape.collision.gjk.GilbertJohnsonKeerthiCollisionDetector;
+import us.ihmc.euclid.shape.collision.gjk.RelativeSupportingVertexHolder;
 import us.ihmc.euclid.shape.collision.interfaces.EuclidShape3DCollisionResultBasics;
 import us.ihmc.euclid.shape.collision.interfaces.SupportingVertexHolder;
-import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
 import us.ihmc.euclid.shape.primitives.interfaces.Shape3DPoseReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
 import us.ihmc.euclid.tools.EuclidCoreTools;
 import us.ihmc.euclid.tools.TupleTools;
 import us.ihmc.euclid.tuple3D.Vector3D;
-import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
 
 /**
  * Implementation of the Expanding Polytope algorithm used for collision detection.
@@ -31,6 +29,11 @@ import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
  * the endpoints of the collision and the distance separating them is the penetration depth between
  * the two shapes.
  * </p>
+ * <p>
+ * The vertices, faces, and half-edges of the polytope are recycled from one evaluation to the next.
+ * Once warmed up, evaluating shapes which supporting vertex query is garbage-free does not generate
+ * garbage.
+ * </p>
  *
  * @author Sylvain Bertrand
  */
@@ -55,6 +58,20 @@ public class ExpandingPolytopeAlgorithm
     * evaluation.
     */
    private final GilbertJohnsonKeerthiCollisionDetector gjkCollisionDetector = new GilbertJohnsonKeerthiCollisionDetector();
+   /** Wrapper used to evaluate the shape A in the local frame of one of the two shapes. */
+   private final RelativeSupportingVertexHolder localShapeA = new RelativeSupportingVertexHolder();
+   /** Wrapper used to evaluate the shape B in the local frame of one of the two shapes. */
+   private final RelativeSupportingVertexHolder localShapeB = new RelativeSupportingVertexHolder();
+   /** Pool from which the vertices and faces of the polytope are obtained. */
+   private final EPAPolytopePool polytopePool = new EPAPolytopePool();
+   /** Queue of the faces of the polytope sorted by increasing distance to the origin. */
+   private final EPAFaceQueue queue = new EPAFaceQueue();
+   /** Buffer used to store the initial polytope. */
+   private final List<EPAFace3D> initialPolytope = new ArrayList<>();
+   /** Buffer used to store the silhouette of the polytope as seen from a new vertex. */
+   private final List<EPAHalfEdge3D> silhouette = new ArrayList<>();
+   /** Buffer used to store the support direction. */
+   private final Vector3D supportDirection = new Vector3D();
    /**
     * The face that is the closest to the origin or at the origin resulting from the last collision
     * evaluation.
@@ -105,23 +122,19 @@ public class ExpandingPolytopeAlgorithm
          areColliding = evaluateCollision((SupportingVertexHolder) shapeA, (SupportingVertexHolder) shapeB, resultToPack);
       }
       else if (shapeA.isDefinedByPose())
-      { // Transforming shapeB to be in the local frame of shapeA would save transformations.
+      { // Evaluating shapeB in the local frame of shapeA saves transformations.
          Shape3DPoseReadOnly poseA = shapeA.getPose();
-         Shape3DBasics localShapeA = shapeA.copy();
-         localShapeA.getPose().setToZero();
-         Shape3DBasics localShapeB = shapeB.copy();
-         localShapeB.applyInverseTransform(poseA);
-         areColliding = evaluateCollision((SupportingVertexHolder) localShapeA, (SupportingVertexHolder) localShapeB, resultToPack);
+         localShapeA.initialize(shapeA, poseA);
+         localShapeB.initialize(shapeB, poseA);
+         areColliding = evaluateCollision(localShapeA, localShapeB, resultToPack);
          resultToPack.applyTransform(poseA);
       }
       else if (shapeB.isDefinedByPose())
-      { // Transforming shapeA to be in the local frame of shapeB would save transformations.
+      { // Evaluating shapeA in the local frame of shapeB saves transformations.
          Shape3DPoseReadOnly poseB = shapeB.getPose();
-         Shape3DBasics localShapeA = shapeA.copy();
-         localShapeA.applyInverseTransform(poseB);
-         Shape3DBasics localShapeB = shapeB.copy();
-         localShapeB.getPose().setToZero();
-         areColliding = evaluateCollision((SupportingVertexHolder) localShapeA, (SupportingVertexHolder) localShapeB, resultToPack);
+         localShapeA.initialize(shapeA, poseB);
+         localShapeB.initialize(shapeB, poseB);
+         areColliding = evaluateCollision(localShapeA, localShapeB, resultToPack);
          resultToPack.applyTransform(poseB);
       }
       else
@@ -187,12 +200,13 @@ public class ExpandingPolytopeAlgorithm
                                     GJKVertex3D[] simplex,
                                     EuclidShape3DCollisionResultBasics resultToPack)
    {
-      PriorityQueue<EPAFace3D> queue = new PriorityQueue<>();
+      queue.clear();
+      polytopePool.clear();
       double mu = Double.POSITIVE_INFINITY;
 
-      List<EPAFace3D> initialPolytope = EPATools.newEPAPolytopeFromGJKSimplex(shapeA, shapeB, simplex, epsilon);
+      boolean isInitialPolytopeValid = EPATools.newEPAPolytopeFromGJKSimplex(shapeA, shapeB, simplex, epsilon, polytopePool, initialPolytope);
 
-      if (initialPolytope == null)
+      if (!isInitialPolytopeValid)
       {
          lastResult = null;
          if (VERBOSE)
@@ -200,8 +214,8 @@ public class ExpandingPolytopeAlgorithm
       }
       else
       {
-         initialPolytope.forEach(queue::add);
-         Vector3D supportDirection = new Vector3D();
+         for (int faceIndex = 0; faceIndex < initialPolytope.size(); faceIndex++)
+            queue.add(initialPolytope.get(faceIndex));
          numberOfIterations = 0;
 
          while (numberOfIterations < maxIterations)
@@ -245,16 +259,11 @@ public class ExpandingPolytopeAlgorithm
             else if (supportDirection.getZ() == 0.0)
                supportDirection.setZ(SUPPORT_DIRECTION_ZERO_COMPONENT);
 
-            Point3DReadOnly vertexA = shapeA.getSupportingVertex(supportDirection);
-            supportDirection.negate();
-            Point3DReadOnly vertexB = shapeB.getSupportingVertex(supportDirection);
-
-            EPAVertex3D newVertex = new EPAVertex3D(vertexA, vertexB);
+            EPAVertex3D newVertex = polytopePool.nextVertex(shapeA, shapeB, supportDirection);
 
             if (entry.contains(newVertex))
             {
                boolean retry = false;
-               supportDirection.negate(); // Undoing the last negate.
 
                if (supportDirection.getX() == SUPPORT_DIRECTION_ZERO_COMPONENT)
                {
@@ -276,12 +285,7 @@ public class ExpandingPolytopeAlgorithm
 
                if (retry)
                {
-                  vertexA = shapeA.getSupportingVertex(supportDirection);
-                  supportDirection.negate();
-                  vertexB = shapeB.getSupportingVertex(supportDirection);
-
-                  newVertex = new EPAVertex3D(vertexA, vertexB);
-
+                  newVertex = polytopePool.nextVertex(shapeA, shapeB, supportDirection);
                   terminate = entry.contains(newVertex);
                }
                else
@@ -319,16 +323,16 @@ public class ExpandingPolytopeAlgorithm
             }
 
             entry.markObsolete();
-            List<EPAHalfEdge3D> silhouette = new ArrayList<>();
+            silhouette.clear();
             EPATools.silhouette(entry.getEdge0().getTwin(), newVertex, silhouette);
             EPATools.silhouette(entry.getEdge1().getTwin(), newVertex, silhouette);
             EPATools.silhouette(entry.getEdge2().getTwin(), newVertex, silhouette);
 
             boolean areNewTrianglesFine = true;
 
-            for (EPAHalfEdge3D sentryEdge : silhouette)
+            for (int silhouetteIndex = 0; silhouetteIndex < silhouette.size(); silhouetteIndex++)
             {
-               EPAFace3D newEntry = EPAFace3D.fromVertexAndTwinEdge(newVertex, sentryEdge, epsilon);
+               EPAFace3D newEntry = polytopePool.nextFace(newVertex, silhouette.get(silhouetteIndex), epsilon);
 
                if (newEntry.isTriangleAffinelyDependent())
                {
@@ -373,9 +377,9 @@ public class ExpandingPolytopeAlgorithm
             if (terminate)
                break;
 
-            for (EPAHalfEdge3D sentryEdge : silhouette)
+            for (int silhouetteIndex = 0; silhouetteIndex < silhouette.size(); silhouetteIndex++)
             {
-               EPAVertex3D vertexOnSilhouette = sentryEdge.getOrigin();
+               EPAVertex3D vertexOnSilhouette = silhouette.get(silhouetteIndex).getOrigin();
 
                for (int index = vertexOnSilhouette.getNumberOfAssociatedEdges() - 1; index >= 0; index--)
                { // Remove obsolete edges to limit the growth of the internal list.
@@ -386,7 +390,7 @@ public class ExpandingPolytopeAlgorithm
          }
       }
 
-      if (initialPolytope == null)
+      if (!isInitialPolytopeValid)
       {
          resultToPack.setShapesAreColliding(false);
          resultToPack.setSignedDistance(0.0);
@@ -465,6 +469,9 @@ public class ExpandingPolytopeAlgorithm
    /**
     * Gets the face that is the closest to the origin or at the origin resulting from the last
     * collision evaluation.
+    * <p>
+    * The face is recycled at the next evaluation, it should be copied if needed afterwards.
+    * </p>
     *
     * @return the last evaluation resulting face.
     */
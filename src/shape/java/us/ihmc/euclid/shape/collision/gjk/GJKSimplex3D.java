@@ -6,6 +6,7 @@ import us.ihmc.euclid.tools.TupleTools;
 import us.ihmc.euclid.tuple3D.Point3D;
 import us.ihmc.euclid.tuple3D.Vector3D;
 import us.ihmc.euclid.tuple3D.interfaces.Point3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DBasics;
 
 /**
  * Simplex 3D used in the Gilbert-Johnson-Keerthi algorithm.
@@ -24,17 +25,22 @@ import us.ihmc.euclid.tuple3D.interfaces.Point3DBasics;
  */
 public class GJKSimplex3D
 {
+   /** Shared array used to represent an empty simplex. */
+   private static final GJKVertex3D[] NO_VERTICES = new GJKVertex3D[0];
+   /** Shared array used to represent the barycentric coordinates of an empty simplex. */
+   private static final double[] NO_COORDINATES = new double[0];
+
    /** The vertices composing this simplex. */
-   private final GJKVertex3D[] vertices;
+   private GJKVertex3D[] vertices;
    /**
     * The barycentric coordinates of {@code closestPointToOrigin}. See:
     * <a href="https://en.wikipedia.org/wiki/Barycentric_coordinate_system">link</a>.
     */
-   private final double[] barycentricCoordinates;
+   private double[] barycentricCoordinates;
    /** Location of the point on this simplex that is the closest to the origin. */
-   private final Point3D closestPointToOrigin;
+   private final Point3D closestPointToOrigin = new Point3D();
    /** The square of the distance between this simplex and the origin. */
-   private final double distanceFromOriginSquared;
+   private double distanceFromOriginSquared;
 
    /** The distance between this simplex and the origin, evaluated upon request only. */
    private double distanceFromOrigin = Double.NaN;
@@ -43,15 +49,24 @@ public class GJKSimplex3D
     */
    private double maxDistanceSquaredFromOrigin = Double.NEGATIVE_INFINITY;
 
+   /**
+    * Arrays used to store the vertices when this simplex is updated via one of its setters, the
+    * index of the array is the number of vertices. Allocated on the first call to a setter.
+    */
+   private GJKVertex3D[][] vertexArrays = null;
+   /**
+    * Arrays used to store the barycentric coordinates when this simplex is updated via one of its
+    * setters, the index of the array is the number of vertices. Allocated on the first call to a
+    * setter.
+    */
+   private double[][] coordinateArrays = null;
+
    /**
     * Creates a new empty simplex, i.e. no vertices.
     */
    public GJKSimplex3D()
    {
-      vertices = new GJKVertex3D[0];
-      barycentricCoordinates = new double[0];
-      closestPointToOrigin = null;
-      distanceFromOriginSquared = Double.NaN;
+      setToEmpty();
    }
 
    /**
@@ -61,12 +76,9 @@ public class GJKSimplex3D
     */
    public GJKSimplex3D(GJKVertex3D vertex)
    {
-      vertices = new GJKVertex3D[1];
-      barycentricCoordinates = new double[1];
-      vertices[0] = vertex;
-      barycentricCoordinates[0] = 1.0;
-      closestPointToOrigin = new Point3D(vertex);
-      distanceFromOriginSquared = vertex.distanceFromOriginSquared();
+      vertices = new GJKVertex3D[] {vertex};
+      barycentricCoordinates = new double[] {1.0};
+      update();
    }
 
    /**
@@ -81,11 +93,188 @@ public class GJKSimplex3D
    {
       this.vertices = vertices;
       this.barycentricCoordinates = barycentricCoordinates;
+      update();
+   }
+
+   /**
+    * Clears this simplex such that it has no vertices.
+    */
+   public void setToEmpty()
+   {
+      vertices = NO_VERTICES;
+      barycentricCoordinates = NO_COORDINATES;
+      closestPointToOrigin.setToNaN();
+      distanceFromOriginSquared = Double.NaN;
+      distanceFromOrigin = Double.NaN;
+      maxDistanceSquaredFromOrigin = Double.NEGATIVE_INFINITY;
+   }
+
+   /**
+    * Sets this simplex to a 0-simplex.
+    * <p>
+    * This simplex stores the vertex reference in an internal array, this method does not generate
+    * garbage once this simplex has been used.
+    * </p>
+    *
+    * @param vertex the vertex defining this simplex. Not modified, reference saved.
+    */
+   public void set(GJKVertex3D vertex)
+   {
+      GJKVertex3D[] newVertices = vertexArray(1);
+      double[] newCoordinates = coordinateArray(1);
+      newVertices[0] = vertex;
+      newCoordinates[0] = 1.0;
+      vertices = newVertices;
+      barycentricCoordinates = newCoordinates;
+      update();
+   }
+
+   /**
+    * Sets this simplex to a 1-simplex, i.e. a line segment.
+    *
+    * @param s1      the first vertex. Not modified, reference saved.
+    * @param s2      the second vertex. Not modified, reference saved.
+    * @param lambda1 the barycentric coordinate associated to {@code s1}.
+    * @param lambda2 the barycentric coordinate associated to {@code s2}.
+    */
+   public void set(GJKVertex3D s1, GJKVertex3D s2, double lambda1, double lambda2)
+   {
+      GJKVertex3D[] newVertices = vertexArray(2);
+      double[] newCoordinates = coordinateArray(2);
+      newVertices[0] = s1;
+      newVertices[1] = s2;
+      newCoordinates[0] = lambda1;
+      newCoordinates[1] = lambda2;
+      vertices = newVertices;
+      barycentricCoordinates = newCoordinates;
+      update();
+   }
+
+   /**
+    * Sets this simplex to a 2-simplex, i.e. a triangle.
+    *
+    * @param s1      the first vertex. Not modified, reference saved.
+    * @param s2      the second vertex. Not modified, reference saved.
+    * @param s3      the third vertex. Not modified, reference saved.
+    * @param lambda1 the barycentric coordinate associated to {@code s1}.
+    * @param lambda2 the barycentric coordinate associated to {@code s2}.
+    * @param lambda3 the barycentric coordinate associated to {@code s3}.
+    */
+   public void set(GJKVertex3D s1, GJKVertex3D s2, GJKVertex3D s3, double lambda1, double lambda2, double lambda3)
+   {
+      GJKVertex3D[] newVertices = vertexArray(3);
+      double[] newCoordinates = coordinateArray(3);
+      newVertices[0] = s1;
+      newVertices[1] = s2;
+      newVertices[2] = s3;
+      newCoordinates[0] = lambda1;
+      newCoordinates[1] = lambda2;
+      newCoordinates[2] = lambda3;
+      vertices = newVertices;
+      barycentricCoordinates = newCoordinates;
+      update();
+   }
+
+   /**
+    * Sets this simplex to a 3-simplex, i.e. a tetrahedron.
+    *
+    * @param s1      the first vertex. Not modified, reference saved.
+    * @param s2      the second vertex. Not modified, reference saved.
+    * @param s3      the third vertex. Not modified, reference saved.
+    * @param s4      the fourth vertex. Not modified, reference saved.
+    * @param lambda1 the barycentric coordinate associated to {@code s1}.
+    * @param lambda2 the barycentric coordinate associated to {@code s2}.
+    * @param lambda3 the barycentric coordinate associated to {@code s3}.
+    * @param lambda4 the barycentric coordinate associated to {@code s4}.
+    */
+   public void set(GJKVertex3D s1,
+                   GJKVertex3D s2,
+                   GJKVertex3D s3,
+                   GJKVertex3D s4,
+                   double lambda1,
+                   double lambda2,
+                   double lambda3,
+                   double lambda4)
+   {
+      GJKVertex3D[] newVertices = vertexArray(4);
+      double[] newCoordinates = coordinateArray(4);
+      newVertices[0] = s1;
+      newVertices[1] = s2;
+      newVertices[2] = s3;
+      newVertices[3] = s4;
+      newCoordinates[0] = lambda1;
+      newCoordinates[1] = lambda2;
+      newCoordinates[2] = lambda3;
+      newCoordinates[3] = lambda4;
+      vertices = newVertices;
+      barycentricCoordinates = newCoordinates;
+      update();
+   }
+
+   /**
+    * Copies the vertex references and barycentric coordinates of {@code other} into this simplex.
+    *
+    * @param other the other simplex to copy. Not modified.
+    */
+   public void set(GJKSimplex3D other)
+   {
+      if (other == this)
+         return;
 
-      closestPointToOrigin = new Point3D();
+      int numberOfVertices = other.getNumberOfVertices();
+
+      if (numberOfVertices == 0)
+      {
+         setToEmpty();
+         return;
+      }
+
+      GJKVertex3D[] newVertices = vertexArray(numberOfVertices);
+      double[] newCoordinates = coordinateArray(numberOfVertices);
+      System.arraycopy(other.vertices, 0, newVertices, 0, numberOfVertices);
+      System.arraycopy(other.barycentricCoordinates, 0, newCoordinates, 0, numberOfVertices);
+      vertices = newVertices;
+      barycentricCoordinates = newCoordinates;
+      closestPointToOrigin.set(other.closestPointToOrigin);
+      distanceFromOriginSquared = other.distanceFromOriginSquared;
+      distanceFromOrigin = other.distanceFromOrigin;
+      maxDistanceSquaredFromOrigin = other.maxDistanceSquaredFromOrigin;
+   }
+
+   private GJKVertex3D[] vertexArray(int numberOfVertices)
+   {
+      if (vertexArrays == null)
+      {
+         vertexArrays = new GJKVertex3D[5][];
+         for (int i = 0; i < vertexArrays.length; i++)
+            vertexArrays[i] = new GJKVertex3D[i];
+      }
+      return vertexArrays[numberOfVertices];
+   }
+
+   private double[] coordinateArray(int numberOfVertices)
+   {
+      if (coordinateArrays == null)
+      {
+         coordinateArrays = new double[5][];
+         for (int i = 0; i < coordinateArrays.length; i++)
+            coordinateArrays[i] = new double[i];
+      }
+      return coordinateArrays[numberOfVertices];
+   }
+
+   /**
+    * Updates the closest point to the origin from the current vertices and barycentric coordinates
+    * and resets the lazily evaluated properties.
+    */
+   private void update()
+   {
+      closestPointToOrigin.setToZero();
       for (int i = 0; i < getNumberOfVertices(); i++)
          closestPointToOrigin.scaleAdd(barycentricCoordinates[i], vertices[i], closestPointToOrigin);
       distanceFromOriginSquared = closestPointToOrigin.distanceFromOriginSquared();
+      distanceFromOrigin = Double.NaN;
+      maxDistanceSquaredFromOrigin = Double.NEGATIVE_INFINITY;
    }
 
    /**
@@ -105,8 +294,30 @@ public class GJKSimplex3D
       return false;
    }
 
+   /**
+    * Tests whether the given vertex instance is one of this simplex vertices.
+    * <p>
+    * Unlike {@link #contains(GJKVertex3D)}, this test compares references and not coordinates.
+    * </p>
+    *
+    * @param query the vertex to look for. Not modified.
+    * @return {@code true} if the given instance is used by this simplex, {@code false} otherwise.
+    */
+   public boolean containsReference(GJKVertex3D query)
+   {
+      for (int i = 0; i < vertices.length; i++)
+      {
+         if (vertices[i] == query)
+            return true;
+      }
+      return false;
+   }
+
    /**
     * Gets the coordinates of the point on this simplex that is the closest to the origin.
+    * <p>
+    * When this simplex is empty, the returned point is set to {@link Double#NaN}.
+    * </p>
     *
     * @return the reference to the closest point to the origin.
     */
@@ -156,19 +367,39 @@ public class GJKSimplex3D
    }
 
    /**
-    * When this simplex is a triangle, its computes and returns its normal vector, returns {@code null}
-    * if this simplex is not triangle.
+    * When this simplex is a triangle, it computes and returns its normal vector pointing toward the
+    * origin, returns {@code null} if this simplex is not triangle.
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
     *
     * @return the triangle normal if this is a 2-simplex, {@code null} otherwise.
     */
    public Vector3D getTriangleNormal()
    {
-      if (vertices.length != 3)
+      Vector3D n = new Vector3D();
+      if (getTriangleNormal(n))
+         return n;
+      else
          return null;
-      Vector3D n = EuclidPolytopeTools.crossProductOfLineSegment3Ds(vertices[0], vertices[1], vertices[0], vertices[2]);
-      if (TupleTools.dot(n, closestPointToOrigin) > 0.0)
-         n.negate();
-      return n;
+   }
+
+   /**
+    * When this simplex is a triangle, it computes its normal vector pointing toward the origin, i.e.
+    * opposite to the closest point to the origin.
+    *
+    * @param normalToPack the vector used to store the triangle normal. Modified.
+    * @return {@code true} if this is a 2-simplex and the normal was computed, {@code false} otherwise
+    *         in which case {@code normalToPack} remains unchanged.
+    */
+   public boolean getTriangleNormal(Vector3DBasics normalToPack)
+   {
+      if (vertices.length != 3)
+         return false;
+      EuclidPolytopeTools.crossProductOfLineSegment3Ds(vertices[0], vertices[1], vertices[0], vertices[2], normalToPack);
+      if (TupleTools.dot(normalToPack, closestPointToOrigin) > 0.0)
+         normalToPack.negate();
+      return true;
    }
 
    /**
@@ -111,6 +111,9 @@ public class GJKTools
     * in: <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster
     * and more reliable distance queries between convex objects</a>
     * </p>
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
     *
     * @param oldVertices the vertices that may be filtered out. The array should contain at most 3
     *                    vertices. Not modified.
@@ -118,15 +121,67 @@ public class GJKTools
     * @return the smallest simplex that is the closest to the origin.
     */
    public static GJKSimplex3D simplexClosestToOrigin(GJKVertex3D[] oldVertices, GJKVertex3D newVertex)
+   {
+      GJKSimplex3D output = new GJKSimplex3D();
+      if (simplexClosestToOrigin(oldVertices, newVertex, output, new GJKSimplex3D(), new GJKSimplex3D()))
+         return output;
+      else
+         return null;
+   }
+
+   /**
+    * Finds the smallest simplex that belongs to the simplex defined by the given {@code oldVertices}
+    * and {@code newVertex} and that is the closest to the origin.
+    * <p>
+    * As well as finding the smallest closest simplex, the projection of the origin onto it, its
+    * distance to the origin, and its barycentric coordinates are also computed.
+    * </p>
+    * <p>
+    * This method is an implementation of the <i>Signed Volumes distance sub-algorithm</i> introduced
+    * in: <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster
+    * and more reliable distance queries between convex objects</a>
+    * </p>
+    *
+    * @param oldVertices          the vertices that may be filtered out. The array should contain at
+    *                             most 3 vertices. Not modified.
+    * @param newVertex            the vertex that should not be filtered out by this method. Not
+    *                             modified.
+    * @param simplexToPack        the simplex used to store the result. Modified.
+    * @param intermediateSimplex1 simplex used to store intermediate results. Modified.
+    * @param intermediateSimplex2 simplex used to store intermediate results. Modified.
+    * @return {@code true} if the closest simplex was found, {@code false} if the new simplex is
+    *         degenerate in which case {@code simplexToPack} should be ignored.
+    */
+   public static boolean simplexClosestToOrigin(GJKVertex3D[] oldVertices,
+                                                GJKVertex3D newVertex,
+                                                GJKSimplex3D simplexToPack,
+                                                GJKSimplex3D intermediateSimplex1,
+                                                GJKSimplex3D intermediateSimplex2)
    {
       if (oldVertices.length == 3)
-         return simplexClosestToOriginFrom3Simplex(newVertex, oldVertices[2], oldVertices[1], oldVertices[0]);
+      {
+         return simplexClosestToOriginFrom3Simplex(newVertex,
+                                                   oldVertices[2],
+                                                   oldVertices[1],
+                                                   oldVertices[0],
+                                                   simplexToPack,
+                                                   intermediateSimplex1,
+                                                   intermediateSimplex2);
+      }
       else if (oldVertices.length == 2)
-         return simplexClosestToOriginFrom2Simplex(newVertex, oldVertices[1], oldVertices[0]);
+      {
+         return simplexClosestToOriginFrom2Simplex(newVertex, oldVertices[1], oldVertices[0], simplexToPack, intermediateSimplex1);
+      }
       else if (oldVertices.length == 1)
-         return simplexClosestToOriginFrom1Simplex(newVertex, oldVertices[0]);
+      {
+         simplexClosestToOriginFrom1Simplex(newVertex, oldVertices[0], simplexToPack);
+         return true;
+      }
       else
-         return new GJKSimplex3D(newVertex);
+      {
+         simplexToPack.set(newVertex);
+         return true;
+      }
    }
 
    /**
@@ -141,6 +196,9 @@ public class GJKTools
     * <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster and
     * more reliable distance queries between convex objects</a>
     * </p>
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
     *
     * @param s1 the first vertex of the tetrahedron. <b>This method assumes that this vertex should not
     *           be filtered out</b>. Not modified.
@@ -150,6 +208,45 @@ public class GJKTools
     * @return the smallest simplex that is the closest to the origin.
     */
    public static GJKSimplex3D simplexClosestToOriginFrom3Simplex(GJKVertex3D s1, GJKVertex3D s2, GJKVertex3D s3, GJKVertex3D s4)
+   {
+      GJKSimplex3D output = new GJKSimplex3D();
+      if (simplexClosestToOriginFrom3Simplex(s1, s2, s3, s4, output, new GJKSimplex3D(), new GJKSimplex3D()))
+         return output;
+      else
+         return null;
+   }
+
+   /**
+    * Finds the smallest simplex that belongs to the tetrahedron, defined by the given vertices, that
+    * is the closest to the origin.
+    * <p>
+    * As well as finding the smallest closest simplex, the projection of the origin onto it, its
+    * distance to the origin, and its barycentric coordinates are also computed.
+    * </p>
+    * <p>
+    * This method is an implementation of the <i>Sub-routine for 3-simplex</i> introduced in:
+    * <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster and
+    * more reliable distance queries between convex objects</a>
+    * </p>
+    *
+    * @param s1                  the first vertex of the tetrahedron. <b>This method assumes that this
+    *                            vertex should not be filtered out</b>. Not modified.
+    * @param s2                  the second vertex of the tetrahedron. Not modified.
+    * @param s3                  the third vertex of the tetrahedron. Not modified.
+    * @param s4                  the fourth vertex of the tetrahedron. Not modified.
+    * @param simplexToPack       the simplex used to store the result. Modified.
+    * @param candidateSimplex    simplex used to store intermediate results. Modified.
+    * @param intermediateSimplex simplex used to store intermediate results. Modified.
+    * @return {@code true} if the closest simplex was found, {@code false} if the tetrahedron is
+    *         degenerate in which case {@code simplexToPack} should be ignored.
+    */
+   public static boolean simplexClosestToOriginFrom3Simplex(GJKVertex3D s1,
+                                                            GJKVertex3D s2,
+                                                            GJKVertex3D s3,
+                                                            GJKVertex3D s4,
+                                                            GJKSimplex3D simplexToPack,
+                                                            GJKSimplex3D candidateSimplex,
+                                                            GJKSimplex3D intermediateSimplex)
    {
       double s1x = s1.getX(), s1y = s1.getY(), s1z = s1.getZ();
       double s2x = s2.getX(), s2y = s2.getY(), s2z = s2.getZ();
@@ -164,30 +261,29 @@ public class GJKTools
 
       if (compareSigns(detM, C41) && compareSigns(detM, C42) && compareSigns(detM, C43) && compareSigns(detM, C44))
       {
-         double[] lambdas = {C41 / detM, C42 / detM, C43 / detM, C44 / detM};
-         GJKVertex3D[] supportVertices = {s1, s2, s3, s4};
-         return new GJKSimplex3D(supportVertices, lambdas);
+         simplexToPack.set(s1, s2, s3, s4, C41 / detM, C42 / detM, C43 / detM, C44 / detM);
+         return true;
       }
       else
       {
          double d = Double.POSITIVE_INFINITY;
-         GJKSimplex3D output = null;
+         boolean success = false;
 
          double zeroTestEpsilon = 1.0e-13;
 
          if (compareSigns(detM, -C42))
          {
             if (EuclidCoreTools.isZero(detM, zeroTestEpsilon) && EuclidCoreTools.isZero(C42, zeroTestEpsilon))
-               return null;
+               return false;
 
-            GJKSimplex3D candidateOutput = simplexClosestToOriginFrom2Simplex(s1, s3, s4);
-            if (candidateOutput != null)
+            if (simplexClosestToOriginFrom2Simplex(s1, s3, s4, candidateSimplex, intermediateSimplex))
             {
-               double candidateNorm = candidateOutput.getDistanceSquaredToOrigin();
+               double candidateNorm = candidateSimplex.getDistanceSquaredToOrigin();
                if (candidateNorm < d)
                {
-                  output = candidateOutput;
+                  simplexToPack.set(candidateSimplex);
                   d = candidateNorm;
+                  success = true;
                }
             }
          }
@@ -195,16 +291,16 @@ public class GJKTools
          if (compareSigns(detM, -C43))
          {
             if (EuclidCoreTools.isZero(detM, zeroTestEpsilon) && EuclidCoreTools.isZero(C43, zeroTestEpsilon))
-               return null;
+               return false;
 
-            GJKSimplex3D candidateOutput = simplexClosestToOriginFrom2Simplex(s1, s2, s4);
-            if (candidateOutput != null)
+            if (simplexClosestToOriginFrom2Simplex(s1, s2, s4, candidateSimplex, intermediateSimplex))
             {
-               double candidateNorm = candidateOutput.getDistanceSquaredToOrigin();
+               double candidateNorm = candidateSimplex.getDistanceSquaredToOrigin();
                if (candidateNorm < d)
                {
-                  output = candidateOutput;
+                  simplexToPack.set(candidateSimplex);
                   d = candidateNorm;
+                  success = true;
                }
             }
          }
@@ -212,21 +308,21 @@ public class GJKTools
          if (compareSigns(detM, -C44))
          {
             if (EuclidCoreTools.isZero(detM, zeroTestEpsilon) && EuclidCoreTools.isZero(C44, zeroTestEpsilon))
-               return null;
+               return false;
 
-            GJKSimplex3D candidateOutput = simplexClosestToOriginFrom2Simplex(s1, s2, s3);
-            if (candidateOutput != null)
+            if (simplexClosestToOriginFrom2Simplex(s1, s2, s3, candidateSimplex, intermediateSimplex))
             {
-               double candidateNorm = candidateOutput.getDistanceSquaredToOrigin();
+               double candidateNorm = candidateSimplex.getDistanceSquaredToOrigin();
                if (candidateNorm < d)
                {
-                  output = candidateOutput;
+                  simplexToPack.set(candidateSimplex);
                   d = candidateNorm;
+                  success = true;
                }
             }
          }
 
-         return output;
+         return success;
       }
    }
 
@@ -242,6 +338,9 @@ public class GJKTools
     * <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster and
     * more reliable distance queries between convex objects</a>
     * </p>
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
     *
     * @param s1 the first vertex of the triangle. <b>This method assumes that this vertex should not be
     *           filtered out</b>. Not modified.
@@ -250,6 +349,41 @@ public class GJKTools
     * @return the smallest simplex that is the closest to the origin.
     */
    public static GJKSimplex3D simplexClosestToOriginFrom2Simplex(GJKVertex3D s1, GJKVertex3D s2, GJKVertex3D s3)
+   {
+      GJKSimplex3D output = new GJKSimplex3D();
+      if (simplexClosestToOriginFrom2Simplex(s1, s2, s3, output, new GJKSimplex3D()))
+         return output;
+      else
+         return null;
+   }
+
+   /**
+    * Finds the smallest simplex that belongs to the 3D triangle, defined by the given vertices, that
+    * is the closest to the origin.
+    * <p>
+    * As well as finding the smallest closest simplex, the projection of the origin onto it, its
+    * distance to the origin, and its barycentric coordinates are also computed.
+    * </p>
+    * <p>
+    * This method is an implementation of the <i>Sub-routine for 2-simplex</i> introduced in:
+    * <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster and
+    * more reliable distance queries between convex objects</a>
+    * </p>
+    *
+    * @param s1               the first vertex of the triangle. <b>This method assumes that this vertex
+    *                         should not be filtered out</b>. Not modified.
+    * @param s2               the second vertex of the triangle. Not modified.
+    * @param s3               the third vertex of the triangle. Not modified.
+    * @param simplexToPack    the simplex used to store the result. Modified.
+    * @param candidateSimplex simplex used to store intermediate results. Modified.
+    * @return {@code true} if the closest simplex was found, {@code false} if the triangle is
+    *         degenerate in which case {@code simplexToPack} should be ignored.
+    */
+   public static boolean simplexClosestToOriginFrom2Simplex(GJKVertex3D s1,
+                                                            GJKVertex3D s2,
+                                                            GJKVertex3D s3,
+                                                            GJKSimplex3D simplexToPack,
+                                                            GJKSimplex3D candidateSimplex)
    {
       double s1x = s1.getX(), s1y = s1.getY(), s1z = s1.getZ();
       double s2x = s2.getX(), s2y = s2.getY(), s2z = s2.getZ();
@@ -320,37 +454,37 @@ public class GJKTools
       if (compareSigns(muMax, C1) && compareSigns(muMax, C2) && compareSigns(muMax, C3))
       { // The projection p0 is inside the face. Computing the barycentric coordinates.
          if (Math.abs(C1) < 1.0e-16 && Math.abs(C2) < 1.0e-16 && Math.abs(C3) < 1.0e-16)
-            return null;
+            return false;
 
-         double[] lambdas = {C1 / muMax, C2 / muMax, C3 / muMax};
-         GJKVertex3D[] supportingVerices = {s1, s2, s3};
-         return new GJKSimplex3D(supportingVerices, lambdas);
+         simplexToPack.set(s1, s2, s3, C1 / muMax, C2 / muMax, C3 / muMax);
+         return true;
       }
       else
       { // The projection p0 is outside the face, identifying the closest edge knowing that s1 was just added, so it cannot be rejected.
          double d = Double.POSITIVE_INFINITY;
-         GJKSimplex3D output = null;
+         boolean success = false;
 
          if (compareSigns(muMax, -C2))
          {
-            GJKSimplex3D candidateOutput = simplexClosestToOriginFrom1Simplex(s1, s3);
-            double candidateNorm = candidateOutput.getDistanceSquaredToOrigin();
-            output = candidateOutput;
-            d = candidateNorm;
+            simplexClosestToOriginFrom1Simplex(s1, s3, simplexToPack);
+            d = simplexToPack.getDistanceSquaredToOrigin();
+            success = true;
          }
 
          if (compareSigns(muMax, -C3))
          {
-            GJKSimplex3D candidateOutput = simplexClosestToOriginFrom1Simplex(s1, s2);
+            GJKSimplex3D candidateOutput = success ? candidateSimplex : simplexToPack;
+            simplexClosestToOriginFrom1Simplex(s1, s2, candidateOutput);
             double candidateNorm = candidateOutput.getDistanceSquaredToOrigin();
             if (candidateNorm < d)
             {
-               output = candidateOutput;
+               simplexToPack.set(candidateOutput);
                d = candidateNorm;
+               success = true;
             }
          }
 
-         return output;
+         return success;
       }
    }
 
@@ -366,6 +500,9 @@ public class GJKTools
     * <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster and
     * more reliable distance queries between convex objects</a>
     * </p>
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
     *
     * @param s1 the first vertex of the line segment. <b>This method assumes that this vertex should
     *           not be filtered out</b>. Not modified.
@@ -373,6 +510,31 @@ public class GJKTools
     * @return the smallest simplex that is the closest to the origin.
     */
    public static GJKSimplex3D simplexClosestToOriginFrom1Simplex(GJKVertex3D s1, GJKVertex3D s2)
+   {
+      GJKSimplex3D output = new GJKSimplex3D();
+      simplexClosestToOriginFrom1Simplex(s1, s2, output);
+      return output;
+   }
+
+   /**
+    * Finds the smallest simplex that belongs to the 3D line segment, defined by the given vertices,
+    * that is the closest to the origin.
+    * <p>
+    * As well as finding the smallest closest simplex, the projection of the origin onto it, its
+    * distance to the origin, and its barycentric coordinates are also computed.
+    * </p>
+    * <p>
+    * This method is an implementation of the <i>Sub-routine for 1-simplex</i> introduced in:
+    * <a href="https://dl.acm.org/citation.cfm?id=3083724">Improving the GJK algorithm for faster and
+    * more reliable distance queries between convex objects</a>
+    * </p>
+    *
+    * @param s1            the first vertex of the line segment. <b>This method assumes that this
+    *                      vertex should not be filtered out</b>. Not modified.
+    * @param s2            the second vertex of the line segment. Not modified.
+    * @param simplexToPack the simplex used to store the result. Modified.
+    */
+   public static void simplexClosestToOriginFrom1Simplex(GJKVertex3D s1, GJKVertex3D s2, GJKSimplex3D simplexToPack)
    {
       double s1x = s1.getX(), s1y = s1.getY(), s1z = s1.getZ();
       double s2x = s2.getX(), s2y = s2.getY(), s2z = s2.getZ();
@@ -431,18 +593,16 @@ public class GJKTools
 
          if (compareSigns(muMax, C2))
          { // The projection in between the edge endpoints. Computing the barycentric coordinates.
-            double[] lambdas = {C1 / muMax, C2 / muMax};
-            GJKVertex3D[] supportVertices = {s1, s2};
-            return new GJKSimplex3D(supportVertices, lambdas);
+            simplexToPack.set(s1, s2, C1 / muMax, C2 / muMax);
          }
          else
          { // The projection is outside, since s1 is the new vertex we automatically reject s2.
-            return new GJKSimplex3D(s1);
+            simplexToPack.set(s1);
          }
       }
       else
       { // The projection is outside, since s1 is the new vertex we automatically reject s2.
-         return new GJKSimplex3D(s1);
+         simplexToPack.set(s1);
       }
    }
 
@@ -17,11 +17,25 @@ import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
 public class GJKVertex3D implements Point3DReadOnly
 {
    /** The coordinates of this vertex. */
-   private final double x, y, z;
+   private double x, y, z;
    /** The supporting vertex from the first shape. */
-   private final Point3DReadOnly vertexOnShapeA;
+   private Point3DReadOnly vertexOnShapeA;
    /** The supporting vertex from the second shape. */
-   private final Point3DReadOnly vertexOnShapeB;
+   private Point3DReadOnly vertexOnShapeB;
+
+   /**
+    * Creates a new vertex with coordinates initialized to {@link Double#NaN}.
+    * <p>
+    * This constructor is meant to be used for preallocating vertices that are to be initialized
+    * later with {@link #set(Point3DReadOnly, Point3DReadOnly)}.
+    * </p>
+    */
+   public GJKVertex3D()
+   {
+      x = Double.NaN;
+      y = Double.NaN;
+      z = Double.NaN;
+   }
 
    /**
     * Creates a new vertex and initializes its coordinates as follows:<br>
@@ -31,6 +45,22 @@ public class GJKVertex3D implements Point3DReadOnly
     * @param vertexOnShapeB the supporting vertex from the second shape. Not modified, reference saved.
     */
    public GJKVertex3D(Point3DReadOnly vertexOnShapeA, Point3DReadOnly vertexOnShapeB)
+   {
+      set(vertexOnShapeA, vertexOnShapeB);
+   }
+
+   /**
+    * Sets the supporting vertices of this vertex and updates its coordinates as follows:<br>
+    * {@code this = vertexOnShapeA - vertexOnShapeB}.
+    * <p>
+    * The coordinates are computed once in this method, if any of the two supporting vertices is
+    * modified afterwards, this method has to be called again.
+    * </p>
+    *
+    * @param vertexOnShapeA the supporting vertex from the first shape. Not modified, reference saved.
+    * @param vertexOnShapeB the supporting vertex from the second shape. Not modified, reference saved.
+    */
+   public void set(Point3DReadOnly vertexOnShapeA, Point3DReadOnly vertexOnShapeB)
    {
       this.vertexOnShapeA = vertexOnShapeA;
       this.vertexOnShapeB = vertexOnShapeB;
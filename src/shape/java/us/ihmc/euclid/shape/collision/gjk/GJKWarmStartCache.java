@@ -0,0 +1,300 @@
+package us.ihmc.euclid.shape.collision.gjk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import us.ihmc.euclid.shape.collision.EuclidShape3DCollisionResult;
+import us.ihmc.euclid.shape.collision.interfaces.EuclidShape3DCollisionResultBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
+
+/**
+ * Warm-start cache for the {@link GilbertJohnsonKeerthiCollisionDetector} exploiting temporal
+ * coherence when the same pairs of shapes are evaluated repeatedly with small changes in between.
+ * <p>
+ * For each pair of shapes, the support directions that generated the vertices of the terminal
+ * simplex are saved and are used to build the initial simplex the next time the same pair is
+ * evaluated, see
+ * {@link GilbertJohnsonKeerthiCollisionDetector#setInitialSimplexSupportDirections(Vector3DReadOnly[], int)}.
+ * The last support direction is also saved and used as a fallback initial support direction. When
+ * the shapes were colliding, only the support direction is saved as re-evaluating the entire
+ * tetrahedron typically costs more iterations than it saves. The supporting vertices are always
+ * re-evaluated against the current state of the shapes, such that the cache only affects the number
+ * of iterations needed to converge and not the outcome of the evaluation.
+ * </p>
+ * <p>
+ * Pairs are identified by the instances of the shapes and are ordered, i.e. the pair
+ * {@code (shapeA, shapeB)} is different from the pair {@code (shapeB, shapeA)}. The cache holds a
+ * reference to the shapes of every pair evaluated, {@link #remove(Shape3DReadOnly, Shape3DReadOnly)}
+ * or {@link #clear()} should be used to release shapes that are no longer in use.
+ * </p>
+ * <p>
+ * This class also records statistics about its usage: the number of queries that could be warm
+ * started, i.e. hits, the number of queries that could not, i.e. misses, and the total number of
+ * iterations performed by the GJK.
+ * </p>
+ */
+public class GJKWarmStartCache
+{
+   /** The detector used to perform the evaluations. */
+   private final GilbertJohnsonKeerthiCollisionDetector detector;
+   /** The warm start data for each pair of shapes evaluated so far. */
+   private final Map<ShapePair, WarmStart> warmStarts = new HashMap<>();
+   /** Key used for querying {@link #warmStarts} without generating garbage. */
+   private final ShapePair queryKey = new ShapePair();
+
+   private long numberOfHits = 0;
+   private long numberOfMisses = 0;
+   private long totalNumberOfIterations = 0;
+
+   /**
+    * Creates a new cache with its own collision detector.
+    */
+   public GJKWarmStartCache()
+   {
+      this(new GilbertJohnsonKeerthiCollisionDetector());
+   }
+
+   /**
+    * Creates a new cache that will use the given detector for evaluating collisions.
+    *
+    * @param detector the detector to use. Reference saved.
+    */
+   public GJKWarmStartCache(GilbertJohnsonKeerthiCollisionDetector detector)
+   {
+      this.detector = detector;
+   }
+
+   /**
+    * Evaluates the collision state between the two given shapes, using the support direction from
+    * the previous evaluation of the same pair as a starting point when available.
+    * <p>
+    * WARNING: This method generates garbage the first time a pair is evaluated.
+    * </p>
+    *
+    * @param shapeA the first shape to evaluate. Not modified.
+    * @param shapeB the second shape to evaluate. Not modified.
+    * @return the collision result.
+    */
+   public EuclidShape3DCollisionResult evaluateCollision(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+   {
+      EuclidShape3DCollisionResult result = new EuclidShape3DCollisionResult();
+      evaluateCollision(shapeA, shapeB, result);
+      return result;
+   }
+
+   /**
+    * Evaluates the collision state between the two given shapes, using the support direction from
+    * the previous evaluation of the same pair as a starting point when available.
+    * <p>
+    * WARNING: This method generates garbage the first time a pair is evaluated.
+    * </p>
+    *
+    * @param shapeA       the first shape to evaluate. Not modified.
+    * @param shapeB       the second shape to evaluate. Not modified.
+    * @param resultToPack the object in which the collision result is stored. Modified.
+    * @return {@code true} if the shapes are colliding, {@code false} otherwise.
+    */
+   public boolean evaluateCollision(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB, EuclidShape3DCollisionResultBasics resultToPack)
+   {
+      queryKey.set(shapeA, shapeB);
+      WarmStart warmStart = warmStarts.get(queryKey);
+
+      if (warmStart != null)
+      {
+         numberOfHits++;
+         detector.setInitialSupportDirection(warmStart.supportDirection);
+         detector.setInitialSimplexSupportDirections(warmStart.simplexSupportDirections, warmStart.numberOfSimplexSupportDirections);
+      }
+      else
+      {
+         numberOfMisses++;
+      }
+
+      boolean areColliding = detector.evaluateCollision(shapeA, shapeB, resultToPack);
+      totalNumberOfIterations += detector.getNumberOfIterations();
+
+      if (detector.getSupportDirection().containsNaN())
+      {
+         if (warmStart != null)
+            warmStarts.remove(queryKey);
+      }
+      else
+      {
+         if (warmStart == null)
+         {
+            warmStart = new WarmStart();
+            warmStarts.put(new ShapePair(shapeA, shapeB), warmStart);
+         }
+
+         warmStart.set(detector, areColliding);
+      }
+
+      queryKey.set(null, null);
+      return areColliding;
+   }
+
+   /**
+    * Removes the entry for the given pair of shapes such that its next evaluation will not be warm
+    * started.
+    *
+    * @param shapeA the first shape of the pair.
+    * @param shapeB the second shape of the pair.
+    * @return {@code true} if the pair was in this cache, {@code false} otherwise.
+    */
+   public boolean remove(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+   {
+      queryKey.set(shapeA, shapeB);
+      boolean wasPresent = warmStarts.remove(queryKey) != null;
+      queryKey.set(null, null);
+      return wasPresent;
+   }
+
+   /**
+    * Removes all the entries of this cache. The statistics are not affected.
+    */
+   public void clear()
+   {
+      warmStarts.clear();
+   }
+
+   /**
+    * Resets the statistics of this cache. The entries are not affected.
+    */
+   public void resetStatistics()
+   {
+      numberOfHits = 0;
+      numberOfMisses = 0;
+      totalNumberOfIterations = 0;
+   }
+
+   /**
+    * Gets the number of pairs of shapes currently held in this cache.
+    *
+    * @return the number of entries.
+    */
+   public int size()
+   {
+      return warmStarts.size();
+   }
+
+   /**
+    * Gets the number of evaluations that were warm started since the last call to
+    * {@link #resetStatistics()}.
+    *
+    * @return the number of hits.
+    */
+   public long getNumberOfHits()
+   {
+      return numberOfHits;
+   }
+
+   /**
+    * Gets the number of evaluations that could not be warm started since the last call to
+    * {@link #resetStatistics()}.
+    *
+    * @return the number of misses.
+    */
+   public long getNumberOfMisses()
+   {
+      return numberOfMisses;
+   }
+
+   /**
+    * Gets the total number of iterations performed by the GJK since the last call to
+    * {@link #resetStatistics()}.
+    *
+    * @return the total number of iterations.
+    */
+   public long getTotalNumberOfIterations()
+   {
+      return totalNumberOfIterations;
+   }
+
+   /**
+    * Gets the average number of iterations performed by the GJK per evaluation since the last call
+    * to {@link #resetStatistics()}.
+    *
+    * @return the average number of iterations, or {@link Double#NaN} if no evaluation was performed.
+    */
+   public double getAverageNumberOfIterations()
+   {
+      long numberOfQueries = numberOfHits + numberOfMisses;
+      if (numberOfQueries == 0)
+         return Double.NaN;
+      return (double) totalNumberOfIterations / (double) numberOfQueries;
+   }
+
+   /**
+    * Gets the detector used to perform the evaluations, for instance to access the simplex resulting
+    * from the last evaluation.
+    *
+    * @return the internal detector.
+    */
+   public GilbertJohnsonKeerthiCollisionDetector getDetector()
+   {
+      return detector;
+   }
+
+   /**
+    * The data saved from the last evaluation of a pair of shapes.
+    */
+   private static class WarmStart
+   {
+      private final Vector3D supportDirection = new Vector3D();
+      private final Vector3D[] simplexSupportDirections = {new Vector3D(), new Vector3D(), new Vector3D(), new Vector3D()};
+      private int numberOfSimplexSupportDirections = 0;
+
+      private void set(GilbertJohnsonKeerthiCollisionDetector detector, boolean areColliding)
+      {
+         supportDirection.set(detector.getSupportDirection());
+
+         if (areColliding)
+            numberOfSimplexSupportDirections = 0;
+         else
+            numberOfSimplexSupportDirections = detector.getSimplexSupportDirections(simplexSupportDirections);
+      }
+   }
+
+   /**
+    * Ordered pair of shapes identified by their instances.
+    */
+   private static class ShapePair
+   {
+      private Shape3DReadOnly shapeA;
+      private Shape3DReadOnly shapeB;
+
+      private ShapePair()
+      {
+      }
+
+      private ShapePair(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+      {
+         set(shapeA, shapeB);
+      }
+
+      private void set(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+      {
+         this.shapeA = shapeA;
+         this.shapeB = shapeB;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return 31 * System.identityHashCode(shapeA) + System.identityHashCode(shapeB);
+      }
+
+      @Override
+      public boolean equals(Object object)
+      {
+         if (object == this)
+            return true;
+         if (!(object instanceof ShapePair))
+            return false;
+         ShapePair other = (ShapePair) object;
+         return shapeA == other.shapeA && shapeB == other.shapeB;
+      }
+   }
+}
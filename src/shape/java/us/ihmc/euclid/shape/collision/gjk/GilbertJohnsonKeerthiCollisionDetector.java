@@ -7,13 +7,13 @@ import us.ihmc.euclid.shape.collision.EuclidShape3DCollisionResult;
 import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
 import us.ihmc.euclid.shape.collision.interfaces.EuclidShape3DCollisionResultBasics;
 import us.ihmc.euclid.shape.collision.interfaces.SupportingVertexHolder;
-import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
 import us.ihmc.euclid.shape.primitives.interfaces.Shape3DPoseReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
 import us.ihmc.euclid.tools.EuclidCoreFactories;
 import us.ihmc.euclid.tools.EuclidCoreIOTools;
+import us.ihmc.euclid.tuple3D.Point3D;
 import us.ihmc.euclid.tuple3D.Vector3D;
-import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DBasics;
 import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
 
 /**
@@ -64,6 +64,26 @@ public class GilbertJohnsonKeerthiCollisionDetector
     * evaluation.
     */
    private GJKSimplex3D simplex = null;
+   /**
+    * Number of vertices preallocated in the ring. The simplex being improved has at most 3 vertices
+    * when a new vertex is requested, so 5 vertices are always enough to find an unused one.
+    */
+   private static final int VERTEX_RING_SIZE = 5;
+   /** Preallocated vertices recycled from one iteration to the next. */
+   private final GJKVertex3D[] vertexRing = new GJKVertex3D[VERTEX_RING_SIZE];
+   /** Buffers used to store the supporting vertices of the shape A for each vertex of the ring. */
+   private final Point3D[] supportingVertexRingA = new Point3D[VERTEX_RING_SIZE];
+   /** Buffers used to store the supporting vertices of the shape B for each vertex of the ring. */
+   private final Point3D[] supportingVertexRingB = new Point3D[VERTEX_RING_SIZE];
+   /** Buffers used to store the support direction used to compute each vertex of the ring. */
+   private final Vector3D[] supportDirectionRing = new Vector3D[VERTEX_RING_SIZE];
+   /** Index of the last vertex of the ring that was handed out. */
+   private int vertexRingIndex = 0;
+   /**
+    * Preallocated simplices: the first two are alternately used as the current and previous
+    * simplices, the last two are used to store intermediate results.
+    */
+   private final GJKSimplex3D[] simplexBuffers = {new GJKSimplex3D(), new GJKSimplex3D(), new GJKSimplex3D(), new GJKSimplex3D()};
    /**
     * Flag to indicate whether the initial support direction has been provided by the user or not.
     */
@@ -73,12 +93,23 @@ public class GilbertJohnsonKeerthiCollisionDetector
     * iterations.
     */
    private final Vector3D initialSupportDirection = new Vector3D(Axis3D.Y);
+   /**
+    * The support directions to use for building the initial simplex. Can be used to warm start an
+    * evaluation with the simplex from a previous evaluation.
+    */
+   private final Vector3D[] initialSimplexSupportDirections = {new Vector3D(), new Vector3D(), new Vector3D(), new Vector3D()};
+   /** The number of support directions to use for building the initial simplex. */
+   private int numberOfInitialSimplexSupportDirections = 0;
    /** The last support direction used in the last evaluation. */
    private final Vector3D supportDirection = new Vector3D();
    /** The last support direction used in the last evaluation. */
    private final Vector3DReadOnly supportDirectionNegated = EuclidCoreFactories.newNegativeLinkedVector3D(supportDirection);
    /** The last support direction used in the previous iteration. */
    private final Vector3D supportDirectionPrevious = new Vector3D();
+   /** Wrapper used to evaluate the shape A in the local frame of one of the two shapes. */
+   private final RelativeSupportingVertexHolder localShapeA = new RelativeSupportingVertexHolder();
+   /** Wrapper used to evaluate the shape B in the local frame of one of the two shapes. */
+   private final RelativeSupportingVertexHolder localShapeB = new RelativeSupportingVertexHolder();
 
    /**
     * Enumeration representing the possible terminations of the algorithm. This is exposed for
@@ -134,6 +165,13 @@ public class GilbertJohnsonKeerthiCollisionDetector
     */
    public GilbertJohnsonKeerthiCollisionDetector()
    {
+      for (int i = 0; i < VERTEX_RING_SIZE; i++)
+      {
+         vertexRing[i] = new GJKVertex3D();
+         supportingVertexRingA[i] = new Point3D();
+         supportingVertexRingB[i] = new Point3D();
+         supportDirectionRing[i] = new Vector3D();
+      }
    }
 
    /**
@@ -178,25 +216,21 @@ public class GilbertJohnsonKeerthiCollisionDetector
          areColliding = evaluateCollision((SupportingVertexHolder) shapeA, (SupportingVertexHolder) shapeB, resultToPack);
       }
       else if (shapeA.isDefinedByPose())
-      { // Transforming shapeB to be in the local frame of shapeA would save transformations.
+      { // Evaluating shapeB in the local frame of shapeA saves transformations.
          Shape3DPoseReadOnly poseA = shapeA.getPose();
-         Shape3DBasics localShapeA = shapeA.copy();
-         localShapeA.getPose().setToZero();
-         Shape3DBasics localShapeB = shapeB.copy();
-         localShapeB.applyInverseTransform(poseA);
-         guessInitialSupportDirection(localShapeA, localShapeB);
-         areColliding = evaluateCollision((SupportingVertexHolder) localShapeA, (SupportingVertexHolder) localShapeB, resultToPack);
+         localShapeA.initialize(shapeA, poseA);
+         localShapeB.initialize(shapeB, poseA);
+         guessInitialSupportDirection(shapeA, shapeB, poseA);
+         areColliding = evaluateCollision(localShapeA, localShapeB, resultToPack);
          resultToPack.applyTransform(poseA);
       }
       else if (shapeB.isDefinedByPose())
-      { // Transforming shapeA to be in the local frame of shapeB would save transformations.
+      { // Evaluating shapeA in the local frame of shapeB saves transformations.
          Shape3DPoseReadOnly poseB = shapeB.getPose();
-         Shape3DBasics localShapeA = shapeA.copy();
-         localShapeA.applyInverseTransform(poseB);
-         Shape3DBasics localShapeB = shapeB.copy();
-         localShapeB.getPose().setToZero();
-         guessInitialSupportDirection(localShapeA, localShapeB);
-         areColliding = evaluateCollision((SupportingVertexHolder) localShapeA, (SupportingVertexHolder) localShapeB, resultToPack);
+         localShapeA.initialize(shapeA, poseB);
+         localShapeB.initialize(shapeB, poseB);
+         guessInitialSupportDirection(shapeA, shapeB, poseB);
+         areColliding = evaluateCollision(localShapeA, localShapeB, resultToPack);
          resultToPack.applyTransform(poseB);
       }
       else
@@ -218,6 +252,15 @@ public class GilbertJohnsonKeerthiCollisionDetector
       initialSupportDirection.sub(shapeB.getCentroid(), shapeA.getCentroid());
    }
 
+   private void guessInitialSupportDirection(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB, Shape3DPoseReadOnly localFramePose)
+   {
+      if (isInitialSupportDirectionProvided)
+         return;
+
+      initialSupportDirection.sub(shapeB.getCentroid(), shapeA.getCentroid());
+      localFramePose.inverseTransform(initialSupportDirection);
+   }
+
    /**
     * Evaluates the collision state between the two given shapes.
     * <p>
@@ -252,27 +295,50 @@ public class GilbertJohnsonKeerthiCollisionDetector
     */
    public boolean evaluateCollision(SupportingVertexHolder shapeA, SupportingVertexHolder shapeB, EuclidShape3DCollisionResultBasics resultToPack)
    {
-      GJKSimplex3D previousOutput = new GJKSimplex3D();
-
-      supportDirection.set(initialSupportDirection);
-      Point3DReadOnly vertexA = shapeA.getSupportingVertex(supportDirection);
-      Point3DReadOnly vertexB = shapeB.getSupportingVertex(supportDirectionNegated);
+      numberOfIterations = 0;
+      GJKSimplex3D previousOutput = buildInitialSimplex(shapeA, shapeB);
+      int firstIteration = numberOfIterations;
+      double closestPointNormSquared = 1.0;
+      int newVertexIndex = -1;
+      boolean hasSupportingVertices = true;
+
+      if (previousOutput.getNumberOfVertices() == 0)
+      {
+         supportDirection.set(initialSupportDirection);
+         newVertexIndex = nextAvailableVertexIndex(previousOutput);
+         hasSupportingVertices = computeSupportingVertices(shapeA, shapeB, newVertexIndex);
+      }
+      else if (previousOutput.getNumberOfVertices() < 4
+            && previousOutput.getDistanceSquaredToOrigin() > epsilon * previousOutput.getMaxDistanceSquaredToOrigin())
+      { // Resuming the algorithm from the initial simplex.
+         closestPointNormSquared = previousOutput.getDistanceSquaredToOrigin();
+         supportDirectionPrevious.set(supportDirection);
+         updateSupportDirection(previousOutput, closestPointNormSquared);
+         newVertexIndex = nextAvailableVertexIndex(previousOutput);
+         hasSupportingVertices = computeSupportingVertices(shapeA, shapeB, newVertexIndex);
+      }
 
       boolean areColliding = false;
 
-      if (vertexA == null || vertexB == null)
+      if (!hasSupportingVertices)
       {
          simplex = null;
          areColliding = false;
       }
+      else if (newVertexIndex == -1)
+      { // The initial simplex already contains the origin.
+         simplex = previousOutput;
+         areColliding = true;
+         lastTerminationType = TerminationType.COLLISION_DETECTED;
+         if (VERBOSE)
+            System.out.println(lastTerminationType.getDescription() + " Terminating.");
+      }
       else
       {
-         double closestPointNormSquared = 1.0;
-
          for (int i = 0; i < maxIterations; i++)
          {
-            numberOfIterations = i;
-            GJKVertex3D newVertex = new GJKVertex3D(vertexA, vertexB);
+            numberOfIterations = firstIteration + i;
+            GJKVertex3D newVertex = vertexRing[newVertexIndex];
 
             if (previousOutput.contains(newVertex))
             {
@@ -296,8 +362,7 @@ public class GilbertJohnsonKeerthiCollisionDetector
 
                if (retry)
                {
-                  vertexA = shapeA.getSupportingVertex(supportDirection);
-                  vertexB = shapeB.getSupportingVertex(supportDirectionNegated);
+                  computeSupportingVertices(shapeA, shapeB, newVertexIndex);
                   continue;
                }
 
@@ -322,9 +387,9 @@ public class GilbertJohnsonKeerthiCollisionDetector
                break;
             }
 
-            GJKSimplex3D output = simplexClosestToOrigin(previousOutput.getVertices(), newVertex);
+            GJKSimplex3D output = previousOutput == simplexBuffers[0] ? simplexBuffers[1] : simplexBuffers[0];
 
-            if (output == null)
+            if (!simplexClosestToOrigin(previousOutput.getVertices(), newVertex, output, simplexBuffers[2], simplexBuffers[3]))
             { // End of process
                simplex = previousOutput;
                supportDirection.set(supportDirectionPrevious);
@@ -366,21 +431,9 @@ public class GilbertJohnsonKeerthiCollisionDetector
             }
 
             supportDirectionPrevious.set(supportDirection);
-
-            if (closestPointNormSquared < epsilonTriangleNormalSwitch && output.getNumberOfVertices() == 3)
-               supportDirection.set(output.getTriangleNormal());
-            else
-               supportDirection.setAndNegate(output.getClosestPointToOrigin());
-
-            if (Math.abs(supportDirection.getX()) == 0.0)
-               supportDirection.setX(SUPPORT_DIRECTION_ZERO_COMPONENT);
-            else if (Math.abs(supportDirection.getY()) == 0.0)
-               supportDirection.setY(SUPPORT_DIRECTION_ZERO_COMPONENT);
-            else if (Math.abs(supportDirection.getZ()) == 0.0)
-               supportDirection.setZ(SUPPORT_DIRECTION_ZERO_COMPONENT);
-
-            vertexA = shapeA.getSupportingVertex(supportDirection);
-            vertexB = shapeB.getSupportingVertex(supportDirectionNegated);
+            updateSupportDirection(output, closestPointNormSquared);
+            newVertexIndex = nextAvailableVertexIndex(output);
+            computeSupportingVertices(shapeA, shapeB, newVertexIndex);
 
             previousOutput = output;
          }
@@ -412,6 +465,121 @@ public class GilbertJohnsonKeerthiCollisionDetector
       return areColliding;
    }
 
+   /**
+    * Builds the simplex to start the algorithm with from the initial simplex support directions, if
+    * any were provided.
+    * <p>
+    * The supporting vertices are evaluated for each support direction and added one at a time to the
+    * simplex which is reduced to its sub-simplex closest to the origin as in a regular iteration.
+    * </p>
+    *
+    * @param shapeA the first shape. Not modified.
+    * @param shapeB the second shape. Not modified.
+    * @return the initial simplex, empty if no support directions were provided or if a supporting
+    *         vertex could not be computed.
+    */
+   private GJKSimplex3D buildInitialSimplex(SupportingVertexHolder shapeA, SupportingVertexHolder shapeB)
+   {
+      GJKSimplex3D initialSimplex = simplexBuffers[0];
+      initialSimplex.setToEmpty();
+
+      for (int i = 0; i < numberOfInitialSimplexSupportDirections; i++)
+      {
+         supportDirection.set(initialSimplexSupportDirections[i]);
+         int vertexIndex = nextAvailableVertexIndex(initialSimplex);
+         numberOfIterations++;
+
+         if (!computeSupportingVertices(shapeA, shapeB, vertexIndex))
+         {
+            initialSimplex = simplexBuffers[0];
+            initialSimplex.setToEmpty();
+            break;
+         }
+
+         GJKVertex3D newVertex = vertexRing[vertexIndex];
+
+         if (initialSimplex.contains(newVertex))
+            continue;
+
+         GJKSimplex3D output = initialSimplex == simplexBuffers[0] ? simplexBuffers[1] : simplexBuffers[0];
+
+         if (!simplexClosestToOrigin(initialSimplex.getVertices(), newVertex, output, simplexBuffers[2], simplexBuffers[3]))
+            break;
+
+         initialSimplex = output;
+
+         if (initialSimplex.getNumberOfVertices() == 4)
+            break;
+      }
+
+      numberOfInitialSimplexSupportDirections = 0;
+      return initialSimplex;
+   }
+
+   /**
+    * Updates the support direction to use for the next iteration given the current simplex.
+    *
+    * @param output                  the simplex resulting from the current iteration. Not modified.
+    * @param closestPointNormSquared the square of the distance from the simplex to the origin.
+    */
+   private void updateSupportDirection(GJKSimplex3D output, double closestPointNormSquared)
+   {
+      if (closestPointNormSquared < epsilonTriangleNormalSwitch && output.getNumberOfVertices() == 3)
+         output.getTriangleNormal(supportDirection);
+      else
+         supportDirection.setAndNegate(output.getClosestPointToOrigin());
+
+      if (Math.abs(supportDirection.getX()) == 0.0)
+         supportDirection.setX(SUPPORT_DIRECTION_ZERO_COMPONENT);
+      else if (Math.abs(supportDirection.getY()) == 0.0)
+         supportDirection.setY(SUPPORT_DIRECTION_ZERO_COMPONENT);
+      else if (Math.abs(supportDirection.getZ()) == 0.0)
+         supportDirection.setZ(SUPPORT_DIRECTION_ZERO_COMPONENT);
+   }
+
+   /**
+    * Finds the next vertex of the ring that is not used by the given simplex.
+    *
+    * @param simplexInUse the simplex which vertices cannot be recycled. Not modified.
+    * @return the index in the ring of the available vertex.
+    */
+   private int nextAvailableVertexIndex(GJKSimplex3D simplexInUse)
+   {
+      for (int i = 0; i < VERTEX_RING_SIZE; i++)
+      {
+         vertexRingIndex = (vertexRingIndex + 1) % VERTEX_RING_SIZE;
+
+         if (!simplexInUse.containsReference(vertexRing[vertexRingIndex]))
+            return vertexRingIndex;
+      }
+
+      throw new IllegalStateException("Could not find an available vertex, the simplex has " + simplexInUse.getNumberOfVertices() + " vertices.");
+   }
+
+   /**
+    * Queries the supporting vertices of both shapes along the current support direction and stores
+    * the result in the vertex of the ring at the given index.
+    *
+    * @param shapeA      the first shape. Not modified.
+    * @param shapeB      the second shape. Not modified.
+    * @param vertexIndex the index of the ring vertex to update.
+    * @return {@code true} if both shapes provided a supporting vertex, {@code false} otherwise.
+    */
+   private boolean computeSupportingVertices(SupportingVertexHolder shapeA, SupportingVertexHolder shapeB, int vertexIndex)
+   {
+      Point3D vertexA = supportingVertexRingA[vertexIndex];
+      Point3D vertexB = supportingVertexRingB[vertexIndex];
+
+      if (!shapeA.getSupportingVertex(supportDirection, vertexA))
+         return false;
+      if (!shapeB.getSupportingVertex(supportDirectionNegated, vertexB))
+         return false;
+
+      vertexRing[vertexIndex].set(vertexA, vertexB);
+      supportDirectionRing[vertexIndex].set(supportDirection);
+      return true;
+   }
+
    /**
     * Sets the support direction to use for the first iteration of future evaluations.
     * <p>
@@ -428,6 +596,35 @@ public class GilbertJohnsonKeerthiCollisionDetector
       this.initialSupportDirection.set(initialSupportDirection);
    }
 
+   /**
+    * Sets the support directions to use for building the initial simplex of the next evaluation.
+    * <p>
+    * This is meant to warm start an evaluation from the result of a previous evaluation for the same
+    * pair of shapes, see {@link #getSimplexSupportDirections(Vector3DBasics[])}. The supporting
+    * vertices are re-evaluated for each direction such that changes in the shapes are accounted for.
+    * When the shapes have only moved a little since the previous evaluation, the algorithm typically
+    * converges in a few iterations.
+    * </p>
+    * <p>
+    * When provided, the initial simplex takes precedence over the initial support direction.
+    * </p>
+    *
+    * @param supportDirections         the support directions to use. Not modified.
+    * @param numberOfSupportDirections the number of directions to use from the given array, at most
+    *                                  4.
+    * @throws IllegalArgumentException if {@code numberOfSupportDirections} is greater than 4.
+    */
+   public void setInitialSimplexSupportDirections(Vector3DReadOnly[] supportDirections, int numberOfSupportDirections)
+   {
+      if (numberOfSupportDirections > initialSimplexSupportDirections.length)
+         throw new IllegalArgumentException("A simplex has at most " + initialSimplexSupportDirections.length + " vertices, was: "
+               + numberOfSupportDirections);
+
+      for (int i = 0; i < numberOfSupportDirections; i++)
+         initialSimplexSupportDirections[i].set(supportDirections[i]);
+      numberOfInitialSimplexSupportDirections = numberOfSupportDirections;
+   }
+
    /**
     * Sets the limit to the number of iterations in case the algorithm does not succeed to converge.
     *
@@ -502,6 +699,10 @@ public class GilbertJohnsonKeerthiCollisionDetector
    /**
     * Gets the simplex that is the closest to the origin or at the origin resulting from the last
     * collision evaluation.
+    * <p>
+    * The simplex and its vertices are recycled by this detector and are overridden at the next
+    * evaluation.
+    * </p>
     *
     * @return the last evaluation resulting simplex.
     */
@@ -510,6 +711,40 @@ public class GilbertJohnsonKeerthiCollisionDetector
       return simplex;
    }
 
+   /**
+    * Packs the support directions that were used to compute each vertex of the simplex resulting
+    * from the last evaluation.
+    * <p>
+    * The directions can be given to {@link #setInitialSimplexSupportDirections(Vector3DReadOnly[], int)}
+    * to warm start a future evaluation of the same pair of shapes.
+    * </p>
+    *
+    * @param supportDirectionsToPack the array in which the directions are stored, its length should
+    *                                be at least 4. Modified.
+    * @return the number of directions packed, i.e. the number of vertices of the last simplex.
+    */
+   public int getSimplexSupportDirections(Vector3DBasics[] supportDirectionsToPack)
+   {
+      if (simplex == null)
+         return 0;
+
+      GJKVertex3D[] vertices = simplex.getVertices();
+
+      for (int i = 0; i < vertices.length; i++)
+      {
+         for (int j = 0; j < VERTEX_RING_SIZE; j++)
+         {
+            if (vertexRing[j] == vertices[i])
+            {
+               supportDirectionsToPack[i].set(supportDirectionRing[j]);
+               break;
+            }
+         }
+      }
+
+      return vertices.length;
+   }
+
    /**
     * Gets the read-only reference to the last support direction used in the last evaluation.
     *
@@ -0,0 +1,183 @@
+package us.ihmc.euclid.shape.collision.gjk;
+
+import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
+import us.ihmc.euclid.shape.collision.interfaces.SupportingVertexHolder;
+import us.ihmc.euclid.shape.primitives.interfaces.Box3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Ellipsoid3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Ramp3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.shape.tools.EuclidShapeTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.transform.interfaces.RigidBodyTransformReadOnly;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple3D.interfaces.Point3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
+
+/**
+ * Wrapper around a {@link Shape3DReadOnly} for evaluating its supporting vertices expressed in the
+ * local frame of a pose, typically the pose of another shape.
+ * <p>
+ * This wrapper allows {@link GilbertJohnsonKeerthiCollisionDetector} and
+ * {@link ExpandingPolytopeAlgorithm} to evaluate a pair of shapes in the local frame of one of them
+ * without copying or modifying any of the two shapes. The transform to use is computed once in
+ * {@link #initialize(Shape3DReadOnly, RigidBodyTransformReadOnly)} and then applied to every query.
+ * </p>
+ * <p>
+ * When the wrapped shape is a {@link Box3DReadOnly}, {@link Ellipsoid3DReadOnly}, or
+ * {@link Ramp3DReadOnly}, its supporting vertex is evaluated in its own local frame and the pose of
+ * the shape is folded into the transform, such that only one transformation is performed
+ * per query. When the shape's pose is the reference pose itself, no transformation is performed at
+ * all.
+ * </p>
+ */
+public class RelativeSupportingVertexHolder implements SupportingVertexHolder
+{
+   /**
+    * Functional interface for computing the supporting vertex of a shape defined by a pose with the
+    * support direction and the supporting vertex expressed in the local frame of the shape.
+    */
+   private static interface LocalSupportingVertexCalculator
+   {
+      void compute(Shape3DReadOnly shape, Vector3DReadOnly supportDirection, Point3DBasics supportingVertexToPack);
+   }
+
+   /** Calculator for the local supporting vertex of a {@link Box3DReadOnly}. */
+   private static final LocalSupportingVertexCalculator box3DCalculator = (shape, direction, vertex) ->
+   {
+      EuclidShapeTools.supportingVertexBox3D(direction, ((Box3DReadOnly) shape).getSize(), vertex);
+   };
+   /** Calculator for the local supporting vertex of a {@link Ellipsoid3DReadOnly}. */
+   private static final LocalSupportingVertexCalculator ellipsoid3DCalculator = (shape, direction, vertex) ->
+   {
+      EuclidShapeTools.supportingVertexEllipsoid3D(direction, ((Ellipsoid3DReadOnly) shape).getRadii(), vertex);
+   };
+   /** Calculator for the local supporting vertex of a {@link Ramp3DReadOnly}. */
+   private static final LocalSupportingVertexCalculator ramp3DCalculator = (shape, direction, vertex) ->
+   {
+      EuclidShapeTools.supportingVectexRamp3D(direction, ((Ramp3DReadOnly) shape).getSize(), vertex);
+   };
+
+   /** The shape being wrapped. */
+   private Shape3DReadOnly shape;
+   /**
+    * The calculator to use when the shape's supporting vertex can be computed in its local frame,
+    * {@code null} when the shape has to be queried in world.
+    */
+   private LocalSupportingVertexCalculator localCalculator;
+   /**
+    * When {@link #localCalculator} is used, this is the transform from the shape local frame to the
+    * reference frame. Otherwise, this is the pose of the reference frame expressed in world.
+    */
+   private final RigidBodyTransform transform = new RigidBodyTransform();
+   /** Whether {@link #transform} is the identity and can be skipped. */
+   private boolean isTransformIdentity;
+   /** Intermediate variable to reduce garbage creation. */
+   private final Vector3D queryDirection = new Vector3D();
+
+   /**
+    * Creates a new wrapper. It has to be initialized before being used.
+    */
+   public RelativeSupportingVertexHolder()
+   {
+   }
+
+   /**
+    * Sets the shape to be wrapped and the pose of the reference frame in which queries are to be
+    * expressed.
+    * <p>
+    * The transform is computed in this method, if either the shape or the reference pose is
+    * modified, this method has to be called again.
+    * </p>
+    *
+    * @param shape         the shape to wrap. Not modified, reference saved.
+    * @param referencePose the pose, expressed in world, of the frame in which the queries are
+    *                      expressed. Can be {@code null} to indicate the world frame. Not modified.
+    */
+   public void initialize(Shape3DReadOnly shape, RigidBodyTransformReadOnly referencePose)
+   {
+      this.shape = shape;
+      localCalculator = shape.isDefinedByPose() ? getLocalSupportingVertexCalculator(shape) : null;
+
+      if (localCalculator != null)
+      {
+         if (shape.getPose() == referencePose)
+         {
+            transform.setIdentity();
+            isTransformIdentity = true;
+         }
+         else
+         {
+            transform.set(shape.getPose());
+            if (referencePose != null)
+               transform.preMultiplyInvertOther(referencePose);
+            isTransformIdentity = false;
+         }
+      }
+      else if (referencePose == null)
+      {
+         transform.setIdentity();
+         isTransformIdentity = true;
+      }
+      else
+      {
+         transform.set(referencePose);
+         isTransformIdentity = false;
+      }
+   }
+
+   private static LocalSupportingVertexCalculator getLocalSupportingVertexCalculator(Shape3DReadOnly shape)
+   {
+      if (shape instanceof Box3DReadOnly)
+         return box3DCalculator;
+      else if (shape instanceof Ellipsoid3DReadOnly)
+         return ellipsoid3DCalculator;
+      else if (shape instanceof Ramp3DReadOnly)
+         return ramp3DCalculator;
+      else
+         return null;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public boolean getSupportingVertex(Vector3DReadOnly supportDirection, Point3DBasics supportingVertexToPack)
+   {
+      if (isTransformIdentity)
+      {
+         if (localCalculator != null)
+         {
+            localCalculator.compute(shape, supportDirection, supportingVertexToPack);
+            return true;
+         }
+         else
+         {
+            return shape.getSupportingVertex(supportDirection, supportingVertexToPack);
+         }
+      }
+
+      if (localCalculator != null)
+      {
+         transform.inverseTransform(supportDirection, queryDirection);
+         localCalculator.compute(shape, queryDirection, supportingVertexToPack);
+         transform.transform(supportingVertexToPack);
+         return true;
+      }
+      else
+      {
+         transform.transform(supportDirection, queryDirection);
+         if (!shape.getSupportingVertex(queryDirection, supportingVertexToPack))
+            return false;
+         transform.inverseTransform(supportingVertexToPack);
+         return true;
+      }
+   }
+
+   /**
+    * Gets the shape being wrapped.
+    *
+    * @return the wrapped shape.
+    */
+   public Shape3DReadOnly getShape()
+   {
+      return shape;
+   }
+}
@@ -647,22 +647,48 @@ public class EuclidPolytopeTools
     */
    public static boolean tetrahedronContainsOrigin(Point3DReadOnly p0, Point3DReadOnly p1, Point3DReadOnly p2, Point3DReadOnly p3)
    {
-      Vector3D n;
-      n = EuclidPolytopeTools.crossProductOfLineSegment3Ds(p0, p1, p0, p2); // (p1 - p0) x (p2 - p0)
-      if (TupleTools.dot(n, p0) > 0.0 == TupleTools.dot(n, p3) > 0.0)
+      // (p1 - p0) x (p2 - p0)
+      if (!arePointsOnOppositeSidesOfCrossProduct(p0, p1, p0, p2, p0, p3))
          return false;
-      n = EuclidPolytopeTools.crossProductOfLineSegment3Ds(p1, p2, p1, p3); // (p2 - p1) x (p3 - p1)
-      if (TupleTools.dot(n, p1) > 0.0 == TupleTools.dot(n, p0) > 0.0)
+      // (p2 - p1) x (p3 - p1)
+      if (!arePointsOnOppositeSidesOfCrossProduct(p1, p2, p1, p3, p1, p0))
          return false;
-      n = EuclidPolytopeTools.crossProductOfLineSegment3Ds(p1, p2, p1, p3); // (p3 - p2) x (p0 - p2)
-      if (TupleTools.dot(n, p2) > 0.0 == TupleTools.dot(n, p1) > 0.0)
+      // (p3 - p2) x (p0 - p2)
+      if (!arePointsOnOppositeSidesOfCrossProduct(p1, p2, p1, p3, p2, p1))
          return false;
-      n = EuclidPolytopeTools.crossProductOfLineSegment3Ds(p3, p0, p3, p1); // (p0 - p3) x (p1 - p3)
-      if (TupleTools.dot(n, p3) > 0.0 == TupleTools.dot(n, p2) > 0.0)
+      // (p0 - p3) x (p1 - p3)
+      if (!arePointsOnOppositeSidesOfCrossProduct(p3, p0, p3, p1, p3, p2))
          return false;
       return true;
    }
 
+   /**
+    * Computes {@code n = (lineSegmentEnd1 - lineSegmentStart1) x (lineSegmentEnd2 - lineSegmentStart2)}
+    * and tests whether the dot products {@code n.firstPoint} and {@code n.secondPoint} have different
+    * signs.
+    */
+   private static boolean arePointsOnOppositeSidesOfCrossProduct(Point3DReadOnly lineSegmentStart1,
+                                                                 Point3DReadOnly lineSegmentEnd1,
+                                                                 Point3DReadOnly lineSegmentStart2,
+                                                                 Point3DReadOnly lineSegmentEnd2,
+                                                                 Point3DReadOnly firstPoint,
+                                                                 Point3DReadOnly secondPoint)
+   {
+      double direction1X = lineSegmentEnd1.getX() - lineSegmentStart1.getX();
+      double direction1Y = lineSegmentEnd1.getY() - lineSegmentStart1.getY();
+      double direction1Z = lineSegmentEnd1.getZ() - lineSegmentStart1.getZ();
+
+      double direction2X = lineSegmentEnd2.getX() - lineSegmentStart2.getX();
+      double direction2Y = lineSegmentEnd2.getY() - lineSegmentStart2.getY();
+      double direction2Z = lineSegmentEnd2.getZ() - lineSegmentStart2.getZ();
+
+      double crossX = direction1Y * direction2Z - direction1Z * direction2Y;
+      double crossY = direction1Z * direction2X - direction1X * direction2Z;
+      double crossZ = direction1X * direction2Y - direction1Y * direction2X;
+
+      return TupleTools.dot(crossX, crossY, crossZ, firstPoint) > 0.0 != TupleTools.dot(crossX, crossY, crossZ, secondPoint) > 0.0;
+   }
+
    /**
     * Determines if the given polytope's face is a concyclic polygon, i.e. there exists a unique circle
     * that intersects with all the face's vertices.
@@ -0,0 +1,444 @@
+package us.ihmc.euclid.shape.tools;
+
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.HEADER_SIZE;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.getRotationMatrix;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.getTuple3D;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.peekTypeTag;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.putRotationMatrix;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.putTuple3D;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.readHeader;
+import static us.ihmc.euclid.tools.EuclidCoreBinaryIOTools.writeHeader;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import us.ihmc.euclid.shape.primitives.Box3D;
+import us.ihmc.euclid.shape.primitives.Capsule3D;
+import us.ihmc.euclid.shape.primitives.Cylinder3D;
+import us.ihmc.euclid.shape.primitives.Ellipsoid3D;
+import us.ihmc.euclid.shape.primitives.PointShape3D;
+import us.ihmc.euclid.shape.primitives.Ramp3D;
+import us.ihmc.euclid.shape.primitives.Sphere3D;
+import us.ihmc.euclid.shape.primitives.Torus3D;
+import us.ihmc.euclid.shape.primitives.interfaces.Box3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Box3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Capsule3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Capsule3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Cylinder3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Cylinder3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Ellipsoid3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Ellipsoid3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.PointShape3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.PointShape3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Ramp3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Ramp3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DPoseBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DPoseReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Sphere3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Sphere3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Torus3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Torus3DReadOnly;
+import us.ihmc.euclid.tools.EuclidCoreBinaryIOTools;
+
+/**
+ * This class provides a compact binary encoding of the shape primitives to read from and write to a
+ * {@link ByteBuffer}, heap or direct.
+ * <p>
+ * The encoding follows the format described in {@link EuclidCoreBinaryIOTools}: a header with the
+ * type tag and the format version followed by the components of the shape as {@code double}s. The
+ * type tags of this class are in the range [64, 127]. The pose of a shape is encoded as its rotation
+ * matrix followed by its position.
+ * </p>
+ * <p>
+ * Except for {@link #readShape3D(ByteBuffer)}, the methods of this class do not generate garbage.
+ * </p>
+ */
+public class EuclidShapeBinaryIOTools
+{
+   /** Type tag for a box 3D. */
+   public static final byte BOX_3D_TAG = 64;
+   /** Type tag for a capsule 3D. */
+   public static final byte CAPSULE_3D_TAG = 65;
+   /** Type tag for a cylinder 3D. */
+   public static final byte CYLINDER_3D_TAG = 66;
+   /** Type tag for an ellipsoid 3D. */
+   public static final byte ELLIPSOID_3D_TAG = 67;
+   /** Type tag for a point shape 3D. */
+   public static final byte POINT_SHAPE_3D_TAG = 68;
+   /** Type tag for a ramp 3D. */
+   public static final byte RAMP_3D_TAG = 69;
+   /** Type tag for a sphere 3D. */
+   public static final byte SPHERE_3D_TAG = 70;
+   /** Type tag for a torus 3D. */
+   public static final byte TORUS_3D_TAG = 71;
+
+   private static final int SHAPE_POSE_SIZE = 12 * Double.BYTES;
+
+   /** The number of bytes of an encoded box 3D. */
+   public static final int BOX_3D_SIZE = HEADER_SIZE + SHAPE_POSE_SIZE + 3 * Double.BYTES;
+   /** The number of bytes of an encoded capsule 3D. */
+   public static final int CAPSULE_3D_SIZE = HEADER_SIZE + 8 * Double.BYTES;
+   /** The number of bytes of an encoded cylinder 3D. */
+   public static final int CYLINDER_3D_SIZE = HEADER_SIZE + 8 * Double.BYTES;
+   /** The number of bytes of an encoded ellipsoid 3D. */
+   public static final int ELLIPSOID_3D_SIZE = HEADER_SIZE + SHAPE_POSE_SIZE + 3 * Double.BYTES;
+   /** The number of bytes of an encoded point shape 3D. */
+   public static final int POINT_SHAPE_3D_SIZE = HEADER_SIZE + 3 * Double.BYTES;
+   /** The number of bytes of an encoded ramp 3D. */
+   public static final int RAMP_3D_SIZE = HEADER_SIZE + SHAPE_POSE_SIZE + 3 * Double.BYTES;
+   /** The number of bytes of an encoded sphere 3D. */
+   public static final int SPHERE_3D_SIZE = HEADER_SIZE + 4 * Double.BYTES;
+   /** The number of bytes of an encoded torus 3D. */
+   public static final int TORUS_3D_SIZE = HEADER_SIZE + 8 * Double.BYTES;
+
+   private EuclidShapeBinaryIOTools()
+   {
+      // Suppresses default constructor, ensuring non-instantiability.
+   }
+
+   /**
+    * Writes the given shape, its type is encoded in the header of the shape.
+    *
+    * @param shape  the shape to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws IllegalArgumentException if the shape is not one of the shape primitives.
+    * @throws BufferOverflowException  if the buffer does not have enough remaining bytes.
+    */
+   public static void writeShape3D(Shape3DReadOnly shape, ByteBuffer buffer)
+   {
+      if (shape instanceof Box3DReadOnly)
+         writeBox3D((Box3DReadOnly) shape, buffer);
+      else if (shape instanceof Capsule3DReadOnly)
+         writeCapsule3D((Capsule3DReadOnly) shape, buffer);
+      else if (shape instanceof Cylinder3DReadOnly)
+         writeCylinder3D((Cylinder3DReadOnly) shape, buffer);
+      else if (shape instanceof Ellipsoid3DReadOnly)
+         writeEllipsoid3D((Ellipsoid3DReadOnly) shape, buffer);
+      else if (shape instanceof PointShape3DReadOnly)
+         writePointShape3D((PointShape3DReadOnly) shape, buffer);
+      else if (shape instanceof Ramp3DReadOnly)
+         writeRamp3D((Ramp3DReadOnly) shape, buffer);
+      else if (shape instanceof Sphere3DReadOnly)
+         writeSphere3D((Sphere3DReadOnly) shape, buffer);
+      else if (shape instanceof Torus3DReadOnly)
+         writeTorus3D((Torus3DReadOnly) shape, buffer);
+      else
+         throw new IllegalArgumentException("Unsupported shape type: " + shape.getClass().getSimpleName());
+   }
+
+   /**
+    * Reads the next shape, its type is determined from the header of the shape.
+    * <p>
+    * WARNING: This method generates garbage.
+    * </p>
+    *
+    * @param buffer the buffer to read from. Modified.
+    * @return the new shape.
+    * @throws IllegalArgumentException if the next object is not a shape primitive.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static Shape3DBasics readShape3D(ByteBuffer buffer)
+   {
+      Shape3DBasics shape;
+
+      switch (peekTypeTag(buffer))
+      {
+         case BOX_3D_TAG:
+            shape = new Box3D();
+            readBox3D(buffer, (Box3DBasics) shape);
+            break;
+         case CAPSULE_3D_TAG:
+            shape = new Capsule3D();
+            readCapsule3D(buffer, (Capsule3DBasics) shape);
+            break;
+         case CYLINDER_3D_TAG:
+            shape = new Cylinder3D();
+            readCylinder3D(buffer, (Cylinder3DBasics) shape);
+            break;
+         case ELLIPSOID_3D_TAG:
+            shape = new Ellipsoid3D();
+            readEllipsoid3D(buffer, (Ellipsoid3DBasics) shape);
+            break;
+         case POINT_SHAPE_3D_TAG:
+            shape = new PointShape3D();
+            readPointShape3D(buffer, (PointShape3DBasics) shape);
+            break;
+         case RAMP_3D_TAG:
+            shape = new Ramp3D();
+            readRamp3D(buffer, (Ramp3DBasics) shape);
+            break;
+         case SPHERE_3D_TAG:
+            shape = new Sphere3D();
+            readSphere3D(buffer, (Sphere3DBasics) shape);
+            break;
+         case TORUS_3D_TAG:
+            shape = new Torus3D();
+            readTorus3D(buffer, (Torus3DBasics) shape);
+            break;
+         default:
+            throw new IllegalArgumentException("Unexpected type tag for a shape: " + peekTypeTag(buffer));
+      }
+
+      return shape;
+   }
+
+   /**
+    * Writes the given box.
+    *
+    * @param box    the box to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #BOX_3D_SIZE} remaining bytes.
+    */
+   public static void writeBox3D(Box3DReadOnly box, ByteBuffer buffer)
+   {
+      writeHeader(BOX_3D_TAG, BOX_3D_SIZE, buffer);
+      putShapePose(box.getPose(), buffer);
+      putTuple3D(box.getSize(), buffer);
+   }
+
+   /**
+    * Reads a box.
+    *
+    * @param buffer    the buffer to read from. Modified.
+    * @param boxToPack the box in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a box.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readBox3D(ByteBuffer buffer, Box3DBasics boxToPack)
+   {
+      readHeader(BOX_3D_TAG, BOX_3D_SIZE, buffer);
+      getShapePose(buffer, boxToPack.getPose());
+      getTuple3D(buffer, boxToPack.getSize());
+   }
+
+   /**
+    * Writes the given capsule.
+    *
+    * @param capsule the capsule to write. Not modified.
+    * @param buffer  the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #CAPSULE_3D_SIZE} remaining
+    *                                 bytes.
+    */
+   public static void writeCapsule3D(Capsule3DReadOnly capsule, ByteBuffer buffer)
+   {
+      writeHeader(CAPSULE_3D_TAG, CAPSULE_3D_SIZE, buffer);
+      putTuple3D(capsule.getPosition(), buffer);
+      putTuple3D(capsule.getAxis(), buffer);
+      buffer.putDouble(capsule.getLength());
+      buffer.putDouble(capsule.getRadius());
+   }
+
+   /**
+    * Reads a capsule.
+    *
+    * @param buffer        the buffer to read from. Modified.
+    * @param capsuleToPack the capsule in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a capsule.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readCapsule3D(ByteBuffer buffer, Capsule3DBasics capsuleToPack)
+   {
+      readHeader(CAPSULE_3D_TAG, CAPSULE_3D_SIZE, buffer);
+      getTuple3D(buffer, capsuleToPack.getPosition());
+      getTuple3D(buffer, capsuleToPack.getAxis());
+      capsuleToPack.setSize(buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the given cylinder.
+    *
+    * @param cylinder the cylinder to write. Not modified.
+    * @param buffer   the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #CYLINDER_3D_SIZE} remaining
+    *                                 bytes.
+    */
+   public static void writeCylinder3D(Cylinder3DReadOnly cylinder, ByteBuffer buffer)
+   {
+      writeHeader(CYLINDER_3D_TAG, CYLINDER_3D_SIZE, buffer);
+      putTuple3D(cylinder.getPosition(), buffer);
+      putTuple3D(cylinder.getAxis(), buffer);
+      buffer.putDouble(cylinder.getLength());
+      buffer.putDouble(cylinder.getRadius());
+   }
+
+   /**
+    * Reads a cylinder.
+    *
+    * @param buffer         the buffer to read from. Modified.
+    * @param cylinderToPack the cylinder in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a cylinder.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readCylinder3D(ByteBuffer buffer, Cylinder3DBasics cylinderToPack)
+   {
+      readHeader(CYLINDER_3D_TAG, CYLINDER_3D_SIZE, buffer);
+      getTuple3D(buffer, cylinderToPack.getPosition());
+      getTuple3D(buffer, cylinderToPack.getAxis());
+      cylinderToPack.setSize(buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the given ellipsoid.
+    *
+    * @param ellipsoid the ellipsoid to write. Not modified.
+    * @param buffer    the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #ELLIPSOID_3D_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writeEllipsoid3D(Ellipsoid3DReadOnly ellipsoid, ByteBuffer buffer)
+   {
+      writeHeader(ELLIPSOID_3D_TAG, ELLIPSOID_3D_SIZE, buffer);
+      putShapePose(ellipsoid.getPose(), buffer);
+      putTuple3D(ellipsoid.getRadii(), buffer);
+   }
+
+   /**
+    * Reads an ellipsoid.
+    *
+    * @param buffer          the buffer to read from. Modified.
+    * @param ellipsoidToPack the ellipsoid in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not an ellipsoid.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readEllipsoid3D(ByteBuffer buffer, Ellipsoid3DBasics ellipsoidToPack)
+   {
+      readHeader(ELLIPSOID_3D_TAG, ELLIPSOID_3D_SIZE, buffer);
+      getShapePose(buffer, ellipsoidToPack.getPose());
+      getTuple3D(buffer, ellipsoidToPack.getRadii());
+   }
+
+   /**
+    * Writes the given point shape.
+    *
+    * @param pointShape the point shape to write. Not modified.
+    * @param buffer     the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #POINT_SHAPE_3D_SIZE}
+    *                                 remaining bytes.
+    */
+   public static void writePointShape3D(PointShape3DReadOnly pointShape, ByteBuffer buffer)
+   {
+      writeHeader(POINT_SHAPE_3D_TAG, POINT_SHAPE_3D_SIZE, buffer);
+      putTuple3D(pointShape, buffer);
+   }
+
+   /**
+    * Reads a point shape.
+    *
+    * @param buffer           the buffer to read from. Modified.
+    * @param pointShapeToPack the point shape in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a point shape.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readPointShape3D(ByteBuffer buffer, PointShape3DBasics pointShapeToPack)
+   {
+      readHeader(POINT_SHAPE_3D_TAG, POINT_SHAPE_3D_SIZE, buffer);
+      getTuple3D(buffer, pointShapeToPack);
+   }
+
+   /**
+    * Writes the given ramp.
+    *
+    * @param ramp   the ramp to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #RAMP_3D_SIZE} remaining
+    *                                 bytes.
+    */
+   public static void writeRamp3D(Ramp3DReadOnly ramp, ByteBuffer buffer)
+   {
+      writeHeader(RAMP_3D_TAG, RAMP_3D_SIZE, buffer);
+      putShapePose(ramp.getPose(), buffer);
+      putTuple3D(ramp.getSize(), buffer);
+   }
+
+   /**
+    * Reads a ramp.
+    *
+    * @param buffer     the buffer to read from. Modified.
+    * @param rampToPack the ramp in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a ramp.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readRamp3D(ByteBuffer buffer, Ramp3DBasics rampToPack)
+   {
+      readHeader(RAMP_3D_TAG, RAMP_3D_SIZE, buffer);
+      getShapePose(buffer, rampToPack.getPose());
+      getTuple3D(buffer, rampToPack.getSize());
+   }
+
+   /**
+    * Writes the given sphere.
+    *
+    * @param sphere the sphere to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #SPHERE_3D_SIZE} remaining
+    *                                 bytes.
+    */
+   public static void writeSphere3D(Sphere3DReadOnly sphere, ByteBuffer buffer)
+   {
+      writeHeader(SPHERE_3D_TAG, SPHERE_3D_SIZE, buffer);
+      putTuple3D(sphere.getPosition(), buffer);
+      buffer.putDouble(sphere.getRadius());
+   }
+
+   /**
+    * Reads a sphere.
+    *
+    * @param buffer       the buffer to read from. Modified.
+    * @param sphereToPack the sphere in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a sphere.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readSphere3D(ByteBuffer buffer, Sphere3DBasics sphereToPack)
+   {
+      readHeader(SPHERE_3D_TAG, SPHERE_3D_SIZE, buffer);
+      sphereToPack.set(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+   }
+
+   /**
+    * Writes the given torus.
+    *
+    * @param torus  the torus to write. Not modified.
+    * @param buffer the buffer to write to. Modified.
+    * @throws BufferOverflowException if the buffer has less than {@link #TORUS_3D_SIZE} remaining
+    *                                 bytes.
+    */
+   public static void writeTorus3D(Torus3DReadOnly torus, ByteBuffer buffer)
+   {
+      writeHeader(TORUS_3D_TAG, TORUS_3D_SIZE, buffer);
+      putTuple3D(torus.getPosition(), buffer);
+      putTuple3D(torus.getAxis(), buffer);
+      buffer.putDouble(torus.getRadius());
+      buffer.putDouble(torus.getTubeRadius());
+   }
+
+   /**
+    * Reads a torus.
+    *
+    * @param buffer      the buffer to read from. Modified.
+    * @param torusToPack the torus in which the result is stored. Modified.
+    * @throws IllegalArgumentException if the next object is not a torus.
+    * @throws BufferUnderflowException if the buffer does not have enough remaining bytes.
+    */
+   public static void readTorus3D(ByteBuffer buffer, Torus3DBasics torusToPack)
+   {
+      readHeader(TORUS_3D_TAG, TORUS_3D_SIZE, buffer);
+      getTuple3D(buffer, torusToPack.getPosition());
+      getTuple3D(buffer, torusToPack.getAxis());
+      torusToPack.setRadii(buffer.getDouble(), buffer.getDouble());
+   }
+
+   private static void putShapePose(Shape3DPoseReadOnly pose, ByteBuffer buffer)
+   {
+      putRotationMatrix(pose.getShapeOrientation(), buffer);
+      putTuple3D(pose.getShapePosition(), buffer);
+   }
+
+   private static void getShapePose(ByteBuffer buffer, Shape3DPoseBasics poseToPack)
+   {
+      getRotationMatrix(buffer, poseToPack.getShapeOrientation());
+      getTuple3D(buffer, poseToPack.getShapePosition());
+   }
+}
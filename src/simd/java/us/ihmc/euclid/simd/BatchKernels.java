@@ -0,0 +1,62 @@
+package us.ihmc.euclid.simd;
+
+/**
+ * Implementations of the batch operations of {@link EuclidSIMDTools} over packed component arrays.
+ * <p>
+ * The arguments are assumed to be valid, the checks are performed by {@link EuclidSIMDTools}.
+ * </p>
+ */
+interface BatchKernels
+{
+   /**
+    * Transforms in place the first {@code length} tuples.
+    *
+    * @param coefficients         the coefficients of the transform as extracted with
+    *                             {@link us.ihmc.euclid.tools.TransformCoefficientTools#getTransformCoefficients}.
+    * @param isTranslationApplied whether the translation is applied, i.e. the tuples are points.
+    */
+   void transform(double[] coefficients, boolean isTranslationApplied, double[] xs, double[] ys, double[] zs, int length);
+
+   /**
+    * Transforms in place the first {@code length} tuples in single precision.
+    *
+    * @param coefficients         the coefficients of the transform as extracted with
+    *                             {@link us.ihmc.euclid.tools.TransformCoefficientTools#getTransformCoefficients}.
+    * @param isTranslationApplied whether the translation is applied, i.e. the tuples are points.
+    */
+   void transform(double[] coefficients, boolean isTranslationApplied, float[] xs, float[] ys, float[] zs, int length);
+
+   /**
+    * Rotates in place the first {@code length} tuples by the unit quaternion (qx, qy, qz, qs).
+    */
+   void rotate(double qx, double qy, double qz, double qs, double[] xs, double[] ys, double[] zs, int length);
+
+   /**
+    * Rotates in place the first {@code length} tuples in single precision by the unit quaternion (qx,
+    * qy, qz, qs).
+    */
+   void rotate(double qx, double qy, double qz, double qs, float[] xs, float[] ys, float[] zs, int length);
+
+   /**
+    * Computes the dot product of the first {@code length} pairs of tuples.
+    */
+   void dot(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] dotsToPack, int length);
+
+   /**
+    * Computes the dot product of the first {@code length} pairs of tuples in single precision.
+    */
+   void dot(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] dotsToPack, int length);
+
+   /**
+    * Computes the cross product of the first {@code length} pairs of tuples, the result arrays can be
+    * the same as the arrays of the first or second tuples.
+    */
+   void cross(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] xsToPack, double[] ysToPack, double[] zsToPack,
+              int length);
+
+   /**
+    * Computes the cross product of the first {@code length} pairs of tuples in single precision, the
+    * result arrays can be the same as the arrays of the first or second tuples.
+    */
+   void cross(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] xsToPack, float[] ysToPack, float[] zsToPack, int length);
+}
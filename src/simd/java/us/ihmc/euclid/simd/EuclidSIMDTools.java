@@ -0,0 +1,527 @@
+package us.ihmc.euclid.simd;
+
+import us.ihmc.euclid.tools.TransformCoefficientTools;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DBasics;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
+import us.ihmc.euclid.tuple4D.interfaces.QuaternionReadOnly;
+
+/**
+ * This class provides batch operations on 3D tuples packed in component arrays, i.e. one array for
+ * each of the x, y, and z components as in {@link us.ihmc.euclid.tuple3D.Point3DArray}.
+ * <p>
+ * When the module {@code jdk.incubator.vector} is available, e.g. when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, the operations are implemented with the Vector API
+ * and are compiled into SIMD instructions. Otherwise, or when the system property
+ * {@value #DISABLE_VECTOR_API_PROPERTY} is set to {@code true}, a scalar implementation is used.
+ * Both implementations perform the operations in the same order and give the same results up to the
+ * rounding of fused operations by the platform.
+ * </p>
+ * <p>
+ * The operations on {@code float} arrays are computed in single precision.
+ * </p>
+ */
+public class EuclidSIMDTools
+{
+   /** Name of the system property that, when set to {@code true}, disables the Vector API. */
+   public static final String DISABLE_VECTOR_API_PROPERTY = "euclid.simd.disableVectorAPI";
+
+   private static final double EPS = 1.0e-7;
+
+   private static final BatchKernels scalarKernels = new ScalarBatchKernels();
+   private static final BatchKernels vectorKernels = loadVectorKernels();
+   private static BatchKernels kernels = vectorKernels != null && !Boolean.getBoolean(DISABLE_VECTOR_API_PROPERTY) ? vectorKernels : scalarKernels;
+
+   private static final ThreadLocal<double[]> transformCoefficients = ThreadLocal.withInitial(() -> new double[12]);
+
+   private EuclidSIMDTools()
+   {
+      // Suppresses default constructor, ensuring non-instantiability.
+   }
+
+   private static BatchKernels loadVectorKernels()
+   {
+      if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+         return null;
+
+      try
+      {
+         return new VectorBatchKernels();
+      }
+      catch (LinkageError e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * Tests whether the Vector API is available in this JVM.
+    *
+    * @return {@code true} if the Vector API can be used, {@code false} otherwise.
+    */
+   public static boolean isVectorAPIAvailable()
+   {
+      return vectorKernels != null;
+   }
+
+   /**
+    * Tests whether the batch operations are currently implemented with the Vector API.
+    *
+    * @return {@code true} if the Vector API is used, {@code false} if the scalar implementation is
+    *         used.
+    */
+   public static boolean isVectorAPIEnabled()
+   {
+      return kernels == vectorKernels;
+   }
+
+   /**
+    * Selects the implementation of the batch operations.
+    *
+    * @param enable {@code true} to use the Vector API, {@code false} to use the scalar implementation.
+    * @throws IllegalStateException if {@code enable} is {@code true} and the Vector API is not
+    *                               available.
+    */
+   public static void setVectorAPIEnabled(boolean enable)
+   {
+      if (enable && vectorKernels == null)
+         throw new IllegalStateException("The Vector API is not available, the JVM has to be started with: --add-modules jdk.incubator.vector");
+
+      kernels = enable ? vectorKernels : scalarKernels;
+   }
+
+   /**
+    * Transforms in place the first {@code length} points packed in the given arrays.
+    * <p>
+    * The transformation is performed in a single pass for rigid-body and affine transforms.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage for other transforms.
+    * </p>
+    *
+    * @param transform the transform to apply. Not modified.
+    * @param xs        the x-components of the points. Modified.
+    * @param ys        the y-components of the points. Modified.
+    * @param zs        the z-components of the points. Modified.
+    * @param length    the number of points to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void transformPoints(Transform transform, double[] xs, double[] ys, double[] zs, int length)
+   {
+      transform(transform, false, true, xs, ys, zs, length);
+   }
+
+   /**
+    * Transforms in place the first {@code length} points packed in the given arrays by the inverse of
+    * the given transform.
+    * <p>
+    * The transformation is performed in a single pass for rigid-body transforms.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage for other transforms.
+    * </p>
+    *
+    * @param transform the transform which inverse is applied. Not modified.
+    * @param xs        the x-components of the points. Modified.
+    * @param ys        the y-components of the points. Modified.
+    * @param zs        the z-components of the points. Modified.
+    * @param length    the number of points to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void inverseTransformPoints(Transform transform, double[] xs, double[] ys, double[] zs, int length)
+   {
+      transform(transform, true, true, xs, ys, zs, length);
+   }
+
+   /**
+    * Transforms in place the first {@code length} vectors packed in the given arrays, i.e. the
+    * translation of the transform is not applied.
+    * <p>
+    * The transformation is performed in a single pass for rigid-body and affine transforms.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage for other transforms.
+    * </p>
+    *
+    * @param transform the transform to apply. Not modified.
+    * @param xs        the x-components of the vectors. Modified.
+    * @param ys        the y-components of the vectors. Modified.
+    * @param zs        the z-components of the vectors. Modified.
+    * @param length    the number of vectors to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void transformVectors(Transform transform, double[] xs, double[] ys, double[] zs, int length)
+   {
+      transform(transform, false, false, xs, ys, zs, length);
+   }
+
+   /**
+    * Transforms in place the first {@code length} vectors packed in the given arrays by the inverse of
+    * the given transform, i.e. the translation of the transform is not applied.
+    * <p>
+    * The transformation is performed in a single pass for rigid-body transforms.
+    * </p>
+    * <p>
+    * WARNING: This method generates garbage for other transforms.
+    * </p>
+    *
+    * @param transform the transform which inverse is applied. Not modified.
+    * @param xs        the x-components of the vectors. Modified.
+    * @param ys        the y-components of the vectors. Modified.
+    * @param zs        the z-components of the vectors. Modified.
+    * @param length    the number of vectors to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void inverseTransformVectors(Transform transform, double[] xs, double[] ys, double[] zs, int length)
+   {
+      transform(transform, true, false, xs, ys, zs, length);
+   }
+
+   /**
+    * Transforms in place the first {@code length} points packed in the given arrays in single
+    * precision.
+    * <p>
+    * WARNING: This method generates garbage for transforms other than rigid-body and affine
+    * transforms.
+    * </p>
+    *
+    * @param transform the transform to apply. Not modified.
+    * @param xs        the x-components of the points. Modified.
+    * @param ys        the y-components of the points. Modified.
+    * @param zs        the z-components of the points. Modified.
+    * @param length    the number of points to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void transformPoints(Transform transform, float[] xs, float[] ys, float[] zs, int length)
+   {
+      transform(transform, false, true, xs, ys, zs, length);
+   }
+
+   /**
+    * Transforms in place the first {@code length} points packed in the given arrays by the inverse of
+    * the given transform in single precision.
+    * <p>
+    * WARNING: This method generates garbage for transforms other than rigid-body transforms.
+    * </p>
+    *
+    * @param transform the transform which inverse is applied. Not modified.
+    * @param xs        the x-components of the points. Modified.
+    * @param ys        the y-components of the points. Modified.
+    * @param zs        the z-components of the points. Modified.
+    * @param length    the number of points to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void inverseTransformPoints(Transform transform, float[] xs, float[] ys, float[] zs, int length)
+   {
+      transform(transform, true, true, xs, ys, zs, length);
+   }
+
+   /**
+    * Transforms in place the first {@code length} vectors packed in the given arrays in single
+    * precision, i.e. the translation of the transform is not applied.
+    * <p>
+    * WARNING: This method generates garbage for transforms other than rigid-body and affine
+    * transforms.
+    * </p>
+    *
+    * @param transform the transform to apply. Not modified.
+    * @param xs        the x-components of the vectors. Modified.
+    * @param ys        the y-components of the vectors. Modified.
+    * @param zs        the z-components of the vectors. Modified.
+    * @param length    the number of vectors to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void transformVectors(Transform transform, float[] xs, float[] ys, float[] zs, int length)
+   {
+      transform(transform, false, false, xs, ys, zs, length);
+   }
+
+   /**
+    * Transforms in place the first {@code length} vectors packed in the given arrays by the inverse of
+    * the given transform in single precision, i.e. the translation of the transform is not applied.
+    * <p>
+    * WARNING: This method generates garbage for transforms other than rigid-body transforms.
+    * </p>
+    *
+    * @param transform the transform which inverse is applied. Not modified.
+    * @param xs        the x-components of the vectors. Modified.
+    * @param ys        the y-components of the vectors. Modified.
+    * @param zs        the z-components of the vectors. Modified.
+    * @param length    the number of vectors to transform.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void inverseTransformVectors(Transform transform, float[] xs, float[] ys, float[] zs, int length)
+   {
+      transform(transform, true, false, xs, ys, zs, length);
+   }
+
+   private static void transform(Transform transform, boolean inverse, boolean isTranslationApplied, double[] xs, double[] ys, double[] zs, int length)
+   {
+      checkLength(length, xs, ys, zs);
+      double[] coefficients = transformCoefficients.get();
+
+      if (TransformCoefficientTools.getTransformCoefficients(transform, inverse, coefficients))
+      {
+         kernels.transform(coefficients, isTranslationApplied, xs, ys, zs, length);
+         return;
+      }
+
+      Tuple3DBasics tuple = isTranslationApplied ? new Point3D() : new Vector3D();
+
+      for (int i = 0; i < length; i++)
+      {
+         tuple.set(xs[i], ys[i], zs[i]);
+         if (inverse)
+            tuple.applyInverseTransform(transform);
+         else
+            tuple.applyTransform(transform);
+         xs[i] = tuple.getX();
+         ys[i] = tuple.getY();
+         zs[i] = tuple.getZ();
+      }
+   }
+
+   private static void transform(Transform transform, boolean inverse, boolean isTranslationApplied, float[] xs, float[] ys, float[] zs, int length)
+   {
+      checkLength(length, xs, ys, zs);
+      double[] coefficients = transformCoefficients.get();
+
+      if (TransformCoefficientTools.getTransformCoefficients(transform, inverse, coefficients))
+      {
+         kernels.transform(coefficients, isTranslationApplied, xs, ys, zs, length);
+         return;
+      }
+
+      Tuple3DBasics tuple = isTranslationApplied ? new Point3D() : new Vector3D();
+
+      for (int i = 0; i < length; i++)
+      {
+         tuple.set(xs[i], ys[i], zs[i]);
+         if (inverse)
+            tuple.applyInverseTransform(transform);
+         else
+            tuple.applyTransform(transform);
+         xs[i] = tuple.getX32();
+         ys[i] = tuple.getY32();
+         zs[i] = tuple.getZ32();
+      }
+   }
+
+   /**
+    * Rotates in place the first {@code length} tuples packed in the given arrays.
+    * <p>
+    * This is the batch equivalent of
+    * {@link us.ihmc.euclid.tools.QuaternionTools#transform(QuaternionReadOnly, us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly, Tuple3DBasics)}.
+    * </p>
+    *
+    * @param quaternion the quaternion used to rotate the tuples. Not modified.
+    * @param xs         the x-components of the tuples. Modified.
+    * @param ys         the y-components of the tuples. Modified.
+    * @param zs         the z-components of the tuples. Modified.
+    * @param length     the number of tuples to rotate.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void transform(QuaternionReadOnly quaternion, double[] xs, double[] ys, double[] zs, int length)
+   {
+      checkLength(length, xs, ys, zs);
+      double norm = quaternion.norm();
+
+      if (norm < EPS)
+         return;
+
+      norm = 1.0 / norm;
+      kernels.rotate(quaternion.getX() * norm, quaternion.getY() * norm, quaternion.getZ() * norm, quaternion.getS() * norm, xs, ys, zs, length);
+   }
+
+   /**
+    * Rotates in place the first {@code length} tuples packed in the given arrays by the inverse of
+    * the given quaternion.
+    * <p>
+    * This is the batch equivalent of
+    * {@link us.ihmc.euclid.tools.QuaternionTools#inverseTransform(QuaternionReadOnly, us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly, Tuple3DBasics)}.
+    * </p>
+    *
+    * @param quaternion the quaternion which inverse is used to rotate the tuples. Not modified.
+    * @param xs         the x-components of the tuples. Modified.
+    * @param ys         the y-components of the tuples. Modified.
+    * @param zs         the z-components of the tuples. Modified.
+    * @param length     the number of tuples to rotate.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void inverseTransform(QuaternionReadOnly quaternion, double[] xs, double[] ys, double[] zs, int length)
+   {
+      checkLength(length, xs, ys, zs);
+      double norm = quaternion.norm();
+
+      if (norm < EPS)
+         return;
+
+      norm = 1.0 / norm;
+      kernels.rotate(-quaternion.getX() * norm, -quaternion.getY() * norm, -quaternion.getZ() * norm, quaternion.getS() * norm, xs, ys, zs, length);
+   }
+
+   /**
+    * Rotates in place the first {@code length} tuples packed in the given arrays in single precision.
+    *
+    * @param quaternion the quaternion used to rotate the tuples. Not modified.
+    * @param xs         the x-components of the tuples. Modified.
+    * @param ys         the y-components of the tuples. Modified.
+    * @param zs         the z-components of the tuples. Modified.
+    * @param length     the number of tuples to rotate.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void transform(QuaternionReadOnly quaternion, float[] xs, float[] ys, float[] zs, int length)
+   {
+      checkLength(length, xs, ys, zs);
+      double norm = quaternion.norm();
+
+      if (norm < EPS)
+         return;
+
+      norm = 1.0 / norm;
+      kernels.rotate(quaternion.getX() * norm, quaternion.getY() * norm, quaternion.getZ() * norm, quaternion.getS() * norm, xs, ys, zs, length);
+   }
+
+   /**
+    * Rotates in place the first {@code length} tuples packed in the given arrays by the inverse of
+    * the given quaternion in single precision.
+    *
+    * @param quaternion the quaternion which inverse is used to rotate the tuples. Not modified.
+    * @param xs         the x-components of the tuples. Modified.
+    * @param ys         the y-components of the tuples. Modified.
+    * @param zs         the z-components of the tuples. Modified.
+    * @param length     the number of tuples to rotate.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void inverseTransform(QuaternionReadOnly quaternion, float[] xs, float[] ys, float[] zs, int length)
+   {
+      checkLength(length, xs, ys, zs);
+      double norm = quaternion.norm();
+
+      if (norm < EPS)
+         return;
+
+      norm = 1.0 / norm;
+      kernels.rotate(-quaternion.getX() * norm, -quaternion.getY() * norm, -quaternion.getZ() * norm, quaternion.getS() * norm, xs, ys, zs, length);
+   }
+
+   /**
+    * Computes the dot products of the first {@code length} pairs of tuples packed in the given
+    * arrays.
+    *
+    * @param xsA        the x-components of the first tuples. Not modified.
+    * @param ysA        the y-components of the first tuples. Not modified.
+    * @param zsA        the z-components of the first tuples. Not modified.
+    * @param xsB        the x-components of the second tuples. Not modified.
+    * @param ysB        the y-components of the second tuples. Not modified.
+    * @param zsB        the z-components of the second tuples. Not modified.
+    * @param dotsToPack the array in which the dot products are stored. Modified.
+    * @param length     the number of pairs of tuples.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void dot(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] dotsToPack, int length)
+   {
+      checkLength(length, xsA, ysA, zsA);
+      checkLength(length, xsB, ysB, zsB);
+      checkLength(length, dotsToPack, dotsToPack, dotsToPack);
+      kernels.dot(xsA, ysA, zsA, xsB, ysB, zsB, dotsToPack, length);
+   }
+
+   /**
+    * Computes the dot products of the first {@code length} pairs of tuples packed in the given arrays
+    * in single precision.
+    *
+    * @param xsA        the x-components of the first tuples. Not modified.
+    * @param ysA        the y-components of the first tuples. Not modified.
+    * @param zsA        the z-components of the first tuples. Not modified.
+    * @param xsB        the x-components of the second tuples. Not modified.
+    * @param ysB        the y-components of the second tuples. Not modified.
+    * @param zsB        the z-components of the second tuples. Not modified.
+    * @param dotsToPack the array in which the dot products are stored. Modified.
+    * @param length     the number of pairs of tuples.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void dot(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] dotsToPack, int length)
+   {
+      checkLength(length, xsA, ysA, zsA);
+      checkLength(length, xsB, ysB, zsB);
+      checkLength(length, dotsToPack, dotsToPack, dotsToPack);
+      kernels.dot(xsA, ysA, zsA, xsB, ysB, zsB, dotsToPack, length);
+   }
+
+   /**
+    * Computes the cross products of the first {@code length} pairs of tuples packed in the given
+    * arrays.
+    * <p>
+    * The result arrays can be the same as the arrays of the first or second tuples.
+    * </p>
+    *
+    * @param xsA      the x-components of the first tuples. Not modified.
+    * @param ysA      the y-components of the first tuples. Not modified.
+    * @param zsA      the z-components of the first tuples. Not modified.
+    * @param xsB      the x-components of the second tuples. Not modified.
+    * @param ysB      the y-components of the second tuples. Not modified.
+    * @param zsB      the z-components of the second tuples. Not modified.
+    * @param xsToPack the array in which the x-components of the cross products are stored. Modified.
+    * @param ysToPack the array in which the y-components of the cross products are stored. Modified.
+    * @param zsToPack the array in which the z-components of the cross products are stored. Modified.
+    * @param length   the number of pairs of tuples.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void cross(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] xsToPack, double[] ysToPack,
+                            double[] zsToPack, int length)
+   {
+      checkLength(length, xsA, ysA, zsA);
+      checkLength(length, xsB, ysB, zsB);
+      checkLength(length, xsToPack, ysToPack, zsToPack);
+      kernels.cross(xsA, ysA, zsA, xsB, ysB, zsB, xsToPack, ysToPack, zsToPack, length);
+   }
+
+   /**
+    * Computes the cross products of the first {@code length} pairs of tuples packed in the given
+    * arrays in single precision.
+    * <p>
+    * The result arrays can be the same as the arrays of the first or second tuples.
+    * </p>
+    *
+    * @param xsA      the x-components of the first tuples. Not modified.
+    * @param ysA      the y-components of the first tuples. Not modified.
+    * @param zsA      the z-components of the first tuples. Not modified.
+    * @param xsB      the x-components of the second tuples. Not modified.
+    * @param ysB      the y-components of the second tuples. Not modified.
+    * @param zsB      the z-components of the second tuples. Not modified.
+    * @param xsToPack the array in which the x-components of the cross products are stored. Modified.
+    * @param ysToPack the array in which the y-components of the cross products are stored. Modified.
+    * @param zsToPack the array in which the z-components of the cross products are stored. Modified.
+    * @param length   the number of pairs of tuples.
+    * @throws IllegalArgumentException if one of the arrays is shorter than {@code length}.
+    */
+   public static void cross(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] xsToPack, float[] ysToPack,
+                            float[] zsToPack, int length)
+   {
+      checkLength(length, xsA, ysA, zsA);
+      checkLength(length, xsB, ysB, zsB);
+      checkLength(length, xsToPack, ysToPack, zsToPack);
+      kernels.cross(xsA, ysA, zsA, xsB, ysB, zsB, xsToPack, ysToPack, zsToPack, length);
+   }
+
+   private static void checkLength(int length, double[] xs, double[] ys, double[] zs)
+   {
+      if (length < 0)
+         throw new IllegalArgumentException("The length cannot be negative: " + length);
+      if (xs.length < length || ys.length < length || zs.length < length)
+         throw new IllegalArgumentException("The arrays are too small, expected at least " + length + " elements, were: [" + xs.length + ", " + ys.length + ", "
+               + zs.length + "]");
+   }
+
+   private static void checkLength(int length, float[] xs, float[] ys, float[] zs)
+   {
+      if (length < 0)
+         throw new IllegalArgumentException("The length cannot be negative: " + length);
+      if (xs.length < length || ys.length < length || zs.length < length)
+         throw new IllegalArgumentException("The arrays are too small, expected at least " + length + " elements, were: [" + xs.length + ", " + ys.length + ", "
+               + zs.length + "]");
+   }
+}
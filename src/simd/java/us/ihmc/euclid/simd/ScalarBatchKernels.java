@@ -0,0 +1,182 @@
+package us.ihmc.euclid.simd;
+
+/**
+ * Scalar implementation of the batch operations, used when the Vector API is not available and for
+ * the remaining elements that do not fill a vector in {@link VectorBatchKernels}.
+ * <p>
+ * The operations are performed in the same order as in {@link VectorBatchKernels} such that both
+ * implementations give the same results.
+ * </p>
+ */
+class ScalarBatchKernels implements BatchKernels
+{
+   @Override
+   public void transform(double[] coefficients, boolean isTranslationApplied, double[] xs, double[] ys, double[] zs, int length)
+   {
+      transform(coefficients, isTranslationApplied, xs, ys, zs, 0, length);
+   }
+
+   @Override
+   public void transform(double[] coefficients, boolean isTranslationApplied, float[] xs, float[] ys, float[] zs, int length)
+   {
+      transform(coefficients, isTranslationApplied, xs, ys, zs, 0, length);
+   }
+
+   @Override
+   public void rotate(double qx, double qy, double qz, double qs, double[] xs, double[] ys, double[] zs, int length)
+   {
+      rotate(qx, qy, qz, qs, xs, ys, zs, 0, length);
+   }
+
+   @Override
+   public void rotate(double qx, double qy, double qz, double qs, float[] xs, float[] ys, float[] zs, int length)
+   {
+      rotate(qx, qy, qz, qs, xs, ys, zs, 0, length);
+   }
+
+   @Override
+   public void dot(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] dotsToPack, int length)
+   {
+      dot(xsA, ysA, zsA, xsB, ysB, zsB, dotsToPack, 0, length);
+   }
+
+   @Override
+   public void dot(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] dotsToPack, int length)
+   {
+      dot(xsA, ysA, zsA, xsB, ysB, zsB, dotsToPack, 0, length);
+   }
+
+   @Override
+   public void cross(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] xsToPack, double[] ysToPack, double[] zsToPack,
+                     int length)
+   {
+      cross(xsA, ysA, zsA, xsB, ysB, zsB, xsToPack, ysToPack, zsToPack, 0, length);
+   }
+
+   @Override
+   public void cross(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] xsToPack, float[] ysToPack, float[] zsToPack,
+                     int length)
+   {
+      cross(xsA, ysA, zsA, xsB, ysB, zsB, xsToPack, ysToPack, zsToPack, 0, length);
+   }
+
+   static void transform(double[] coefficients, boolean isTranslationApplied, double[] xs, double[] ys, double[] zs, int start, int end)
+   {
+      double m00 = coefficients[0], m01 = coefficients[1], m02 = coefficients[2];
+      double m10 = coefficients[3], m11 = coefficients[4], m12 = coefficients[5];
+      double m20 = coefficients[6], m21 = coefficients[7], m22 = coefficients[8];
+      double tx = 0.0, ty = 0.0, tz = 0.0;
+
+      if (isTranslationApplied)
+      {
+         tx = coefficients[9];
+         ty = coefficients[10];
+         tz = coefficients[11];
+      }
+
+      for (int i = start; i < end; i++)
+      {
+         double x = xs[i], y = ys[i], z = zs[i];
+         xs[i] = m00 * x + m01 * y + m02 * z + tx;
+         ys[i] = m10 * x + m11 * y + m12 * z + ty;
+         zs[i] = m20 * x + m21 * y + m22 * z + tz;
+      }
+   }
+
+   static void transform(double[] coefficients, boolean isTranslationApplied, float[] xs, float[] ys, float[] zs, int start, int end)
+   {
+      float m00 = (float) coefficients[0], m01 = (float) coefficients[1], m02 = (float) coefficients[2];
+      float m10 = (float) coefficients[3], m11 = (float) coefficients[4], m12 = (float) coefficients[5];
+      float m20 = (float) coefficients[6], m21 = (float) coefficients[7], m22 = (float) coefficients[8];
+      float tx = 0.0f, ty = 0.0f, tz = 0.0f;
+
+      if (isTranslationApplied)
+      {
+         tx = (float) coefficients[9];
+         ty = (float) coefficients[10];
+         tz = (float) coefficients[11];
+      }
+
+      for (int i = start; i < end; i++)
+      {
+         float x = xs[i], y = ys[i], z = zs[i];
+         xs[i] = m00 * x + m01 * y + m02 * z + tx;
+         ys[i] = m10 * x + m11 * y + m12 * z + ty;
+         zs[i] = m20 * x + m21 * y + m22 * z + tz;
+      }
+   }
+
+   static void rotate(double qx, double qy, double qz, double qs, double[] xs, double[] ys, double[] zs, int start, int end)
+   {
+      for (int i = start; i < end; i++)
+      {
+         double x = xs[i], y = ys[i], z = zs[i];
+
+         // t = 2.0 * cross(q.xyz, v);
+         // v' = v + q.s * t + cross(q.xyz, t);
+         double crossX = 2.0 * (qy * z - qz * y);
+         double crossY = 2.0 * (qz * x - qx * z);
+         double crossZ = 2.0 * (qx * y - qy * x);
+
+         xs[i] = x + qs * crossX + (qy * crossZ - qz * crossY);
+         ys[i] = y + qs * crossY + (qz * crossX - qx * crossZ);
+         zs[i] = z + qs * crossZ + (qx * crossY - qy * crossX);
+      }
+   }
+
+   static void rotate(double qx, double qy, double qz, double qs, float[] xs, float[] ys, float[] zs, int start, int end)
+   {
+      float qx32 = (float) qx, qy32 = (float) qy, qz32 = (float) qz, qs32 = (float) qs;
+
+      for (int i = start; i < end; i++)
+      {
+         float x = xs[i], y = ys[i], z = zs[i];
+
+         float crossX = 2.0f * (qy32 * z - qz32 * y);
+         float crossY = 2.0f * (qz32 * x - qx32 * z);
+         float crossZ = 2.0f * (qx32 * y - qy32 * x);
+
+         xs[i] = x + qs32 * crossX + (qy32 * crossZ - qz32 * crossY);
+         ys[i] = y + qs32 * crossY + (qz32 * crossX - qx32 * crossZ);
+         zs[i] = z + qs32 * crossZ + (qx32 * crossY - qy32 * crossX);
+      }
+   }
+
+   static void dot(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] dotsToPack, int start, int end)
+   {
+      for (int i = start; i < end; i++)
+         dotsToPack[i] = xsA[i] * xsB[i] + ysA[i] * ysB[i] + zsA[i] * zsB[i];
+   }
+
+   static void dot(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] dotsToPack, int start, int end)
+   {
+      for (int i = start; i < end; i++)
+         dotsToPack[i] = xsA[i] * xsB[i] + ysA[i] * ysB[i] + zsA[i] * zsB[i];
+   }
+
+   static void cross(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] xsToPack, double[] ysToPack, double[] zsToPack,
+                     int start, int end)
+   {
+      for (int i = start; i < end; i++)
+      {
+         double xA = xsA[i], yA = ysA[i], zA = zsA[i];
+         double xB = xsB[i], yB = ysB[i], zB = zsB[i];
+         xsToPack[i] = yA * zB - zA * yB;
+         ysToPack[i] = zA * xB - xA * zB;
+         zsToPack[i] = xA * yB - yA * xB;
+      }
+   }
+
+   static void cross(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] xsToPack, float[] ysToPack, float[] zsToPack,
+                     int start, int end)
+   {
+      for (int i = start; i < end; i++)
+      {
+         float xA = xsA[i], yA = ysA[i], zA = zsA[i];
+         float xB = xsB[i], yB = ysB[i], zB = zsB[i];
+         xsToPack[i] = yA * zB - zA * yB;
+         ysToPack[i] = zA * xB - xA * zB;
+         zsToPack[i] = xA * yB - yA * xB;
+      }
+   }
+}
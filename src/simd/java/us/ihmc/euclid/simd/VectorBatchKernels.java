@@ -0,0 +1,203 @@
+package us.ihmc.euclid.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the batch operations using the Vector API, the remaining elements that do not
+ * fill a vector are handled by {@link ScalarBatchKernels}.
+ * <p>
+ * This class can only be loaded when the module {@code jdk.incubator.vector} is available.
+ * </p>
+ */
+class VectorBatchKernels implements BatchKernels
+{
+   private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+   private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+   @Override
+   public void transform(double[] coefficients, boolean isTranslationApplied, double[] xs, double[] ys, double[] zs, int length)
+   {
+      double m00 = coefficients[0], m01 = coefficients[1], m02 = coefficients[2];
+      double m10 = coefficients[3], m11 = coefficients[4], m12 = coefficients[5];
+      double m20 = coefficients[6], m21 = coefficients[7], m22 = coefficients[8];
+      double tx = 0.0, ty = 0.0, tz = 0.0;
+
+      if (isTranslationApplied)
+      {
+         tx = coefficients[9];
+         ty = coefficients[10];
+         tz = coefficients[11];
+      }
+
+      int i = 0;
+
+      for (int upperBound = DOUBLE_SPECIES.loopBound(length); i < upperBound; i += DOUBLE_SPECIES.length())
+      {
+         DoubleVector x = DoubleVector.fromArray(DOUBLE_SPECIES, xs, i);
+         DoubleVector y = DoubleVector.fromArray(DOUBLE_SPECIES, ys, i);
+         DoubleVector z = DoubleVector.fromArray(DOUBLE_SPECIES, zs, i);
+         x.mul(m00).add(y.mul(m01)).add(z.mul(m02)).add(tx).intoArray(xs, i);
+         x.mul(m10).add(y.mul(m11)).add(z.mul(m12)).add(ty).intoArray(ys, i);
+         x.mul(m20).add(y.mul(m21)).add(z.mul(m22)).add(tz).intoArray(zs, i);
+      }
+
+      ScalarBatchKernels.transform(coefficients, isTranslationApplied, xs, ys, zs, i, length);
+   }
+
+   @Override
+   public void transform(double[] coefficients, boolean isTranslationApplied, float[] xs, float[] ys, float[] zs, int length)
+   {
+      float m00 = (float) coefficients[0], m01 = (float) coefficients[1], m02 = (float) coefficients[2];
+      float m10 = (float) coefficients[3], m11 = (float) coefficients[4], m12 = (float) coefficients[5];
+      float m20 = (float) coefficients[6], m21 = (float) coefficients[7], m22 = (float) coefficients[8];
+      float tx = 0.0f, ty = 0.0f, tz = 0.0f;
+
+      if (isTranslationApplied)
+      {
+         tx = (float) coefficients[9];
+         ty = (float) coefficients[10];
+         tz = (float) coefficients[11];
+      }
+
+      int i = 0;
+
+      for (int upperBound = FLOAT_SPECIES.loopBound(length); i < upperBound; i += FLOAT_SPECIES.length())
+      {
+         FloatVector x = FloatVector.fromArray(FLOAT_SPECIES, xs, i);
+         FloatVector y = FloatVector.fromArray(FLOAT_SPECIES, ys, i);
+         FloatVector z = FloatVector.fromArray(FLOAT_SPECIES, zs, i);
+         x.mul(m00).add(y.mul(m01)).add(z.mul(m02)).add(tx).intoArray(xs, i);
+         x.mul(m10).add(y.mul(m11)).add(z.mul(m12)).add(ty).intoArray(ys, i);
+         x.mul(m20).add(y.mul(m21)).add(z.mul(m22)).add(tz).intoArray(zs, i);
+      }
+
+      ScalarBatchKernels.transform(coefficients, isTranslationApplied, xs, ys, zs, i, length);
+   }
+
+   @Override
+   public void rotate(double qx, double qy, double qz, double qs, double[] xs, double[] ys, double[] zs, int length)
+   {
+      int i = 0;
+
+      for (int upperBound = DOUBLE_SPECIES.loopBound(length); i < upperBound; i += DOUBLE_SPECIES.length())
+      {
+         DoubleVector x = DoubleVector.fromArray(DOUBLE_SPECIES, xs, i);
+         DoubleVector y = DoubleVector.fromArray(DOUBLE_SPECIES, ys, i);
+         DoubleVector z = DoubleVector.fromArray(DOUBLE_SPECIES, zs, i);
+
+         // t = 2.0 * cross(q.xyz, v);
+         // v' = v + q.s * t + cross(q.xyz, t);
+         DoubleVector crossX = z.mul(qy).sub(y.mul(qz)).mul(2.0);
+         DoubleVector crossY = x.mul(qz).sub(z.mul(qx)).mul(2.0);
+         DoubleVector crossZ = y.mul(qx).sub(x.mul(qy)).mul(2.0);
+
+         x.add(crossX.mul(qs)).add(crossZ.mul(qy).sub(crossY.mul(qz))).intoArray(xs, i);
+         y.add(crossY.mul(qs)).add(crossX.mul(qz).sub(crossZ.mul(qx))).intoArray(ys, i);
+         z.add(crossZ.mul(qs)).add(crossY.mul(qx).sub(crossX.mul(qy))).intoArray(zs, i);
+      }
+
+      ScalarBatchKernels.rotate(qx, qy, qz, qs, xs, ys, zs, i, length);
+   }
+
+   @Override
+   public void rotate(double qx, double qy, double qz, double qs, float[] xs, float[] ys, float[] zs, int length)
+   {
+      float qx32 = (float) qx, qy32 = (float) qy, qz32 = (float) qz, qs32 = (float) qs;
+      int i = 0;
+
+      for (int upperBound = FLOAT_SPECIES.loopBound(length); i < upperBound; i += FLOAT_SPECIES.length())
+      {
+         FloatVector x = FloatVector.fromArray(FLOAT_SPECIES, xs, i);
+         FloatVector y = FloatVector.fromArray(FLOAT_SPECIES, ys, i);
+         FloatVector z = FloatVector.fromArray(FLOAT_SPECIES, zs, i);
+
+         FloatVector crossX = z.mul(qy32).sub(y.mul(qz32)).mul(2.0f);
+         FloatVector crossY = x.mul(qz32).sub(z.mul(qx32)).mul(2.0f);
+         FloatVector crossZ = y.mul(qx32).sub(x.mul(qy32)).mul(2.0f);
+
+         x.add(crossX.mul(qs32)).add(crossZ.mul(qy32).sub(crossY.mul(qz32))).intoArray(xs, i);
+         y.add(crossY.mul(qs32)).add(crossX.mul(qz32).sub(crossZ.mul(qx32))).intoArray(ys, i);
+         z.add(crossZ.mul(qs32)).add(crossY.mul(qx32).sub(crossX.mul(qy32))).intoArray(zs, i);
+      }
+
+      ScalarBatchKernels.rotate(qx, qy, qz, qs, xs, ys, zs, i, length);
+   }
+
+   @Override
+   public void dot(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] dotsToPack, int length)
+   {
+      int i = 0;
+
+      for (int upperBound = DOUBLE_SPECIES.loopBound(length); i < upperBound; i += DOUBLE_SPECIES.length())
+      {
+         DoubleVector dot = DoubleVector.fromArray(DOUBLE_SPECIES, xsA, i).mul(DoubleVector.fromArray(DOUBLE_SPECIES, xsB, i));
+         dot = dot.add(DoubleVector.fromArray(DOUBLE_SPECIES, ysA, i).mul(DoubleVector.fromArray(DOUBLE_SPECIES, ysB, i)));
+         dot = dot.add(DoubleVector.fromArray(DOUBLE_SPECIES, zsA, i).mul(DoubleVector.fromArray(DOUBLE_SPECIES, zsB, i)));
+         dot.intoArray(dotsToPack, i);
+      }
+
+      ScalarBatchKernels.dot(xsA, ysA, zsA, xsB, ysB, zsB, dotsToPack, i, length);
+   }
+
+   @Override
+   public void dot(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] dotsToPack, int length)
+   {
+      int i = 0;
+
+      for (int upperBound = FLOAT_SPECIES.loopBound(length); i < upperBound; i += FLOAT_SPECIES.length())
+      {
+         FloatVector dot = FloatVector.fromArray(FLOAT_SPECIES, xsA, i).mul(FloatVector.fromArray(FLOAT_SPECIES, xsB, i));
+         dot = dot.add(FloatVector.fromArray(FLOAT_SPECIES, ysA, i).mul(FloatVector.fromArray(FLOAT_SPECIES, ysB, i)));
+         dot = dot.add(FloatVector.fromArray(FLOAT_SPECIES, zsA, i).mul(FloatVector.fromArray(FLOAT_SPECIES, zsB, i)));
+         dot.intoArray(dotsToPack, i);
+      }
+
+      ScalarBatchKernels.dot(xsA, ysA, zsA, xsB, ysB, zsB, dotsToPack, i, length);
+   }
+
+   @Override
+   public void cross(double[] xsA, double[] ysA, double[] zsA, double[] xsB, double[] ysB, double[] zsB, double[] xsToPack, double[] ysToPack, double[] zsToPack,
+                     int length)
+   {
+      int i = 0;
+
+      for (int upperBound = DOUBLE_SPECIES.loopBound(length); i < upperBound; i += DOUBLE_SPECIES.length())
+      {
+         DoubleVector xA = DoubleVector.fromArray(DOUBLE_SPECIES, xsA, i);
+         DoubleVector yA = DoubleVector.fromArray(DOUBLE_SPECIES, ysA, i);
+         DoubleVector zA = DoubleVector.fromArray(DOUBLE_SPECIES, zsA, i);
+         DoubleVector xB = DoubleVector.fromArray(DOUBLE_SPECIES, xsB, i);
+         DoubleVector yB = DoubleVector.fromArray(DOUBLE_SPECIES, ysB, i);
+         DoubleVector zB = DoubleVector.fromArray(DOUBLE_SPECIES, zsB, i);
+         yA.mul(zB).sub(zA.mul(yB)).intoArray(xsToPack, i);
+         zA.mul(xB).sub(xA.mul(zB)).intoArray(ysToPack, i);
+         xA.mul(yB).sub(yA.mul(xB)).intoArray(zsToPack, i);
+      }
+
+      ScalarBatchKernels.cross(xsA, ysA, zsA, xsB, ysB, zsB, xsToPack, ysToPack, zsToPack, i, length);
+   }
+
+   @Override
+   public void cross(float[] xsA, float[] ysA, float[] zsA, float[] xsB, float[] ysB, float[] zsB, float[] xsToPack, float[] ysToPack, float[] zsToPack,
+                     int length)
+   {
+      int i = 0;
+
+      for (int upperBound = FLOAT_SPECIES.loopBound(length); i < upperBound; i += FLOAT_SPECIES.length())
+      {
+         FloatVector xA = FloatVector.fromArray(FLOAT_SPECIES, xsA, i);
+         FloatVector yA = FloatVector.fromArray(FLOAT_SPECIES, ysA, i);
+         FloatVector zA = FloatVector.fromArray(FLOAT_SPECIES, zsA, i);
+         FloatVector xB = FloatVector.fromArray(FLOAT_SPECIES, xsB, i);
+         FloatVector yB = FloatVector.fromArray(FLOAT_SPECIES, ysB, i);
+         FloatVector zB = FloatVector.fromArray(FLOAT_SPECIES, zsB, i);
+         yA.mul(zB).sub(zA.mul(yB)).intoArray(xsToPack, i);
+         zA.mul(xB).sub(xA.mul(zB)).intoArray(ysToPack, i);
+         xA.mul(yB).sub(yA.mul(xB)).intoArray(zsToPack, i);
+      }
+
+      ScalarBatchKernels.cross(xsA, ysA, zsA, xsB, ysB, zsB, xsToPack, ysToPack, zsToPack, i, length);
+   }
+}
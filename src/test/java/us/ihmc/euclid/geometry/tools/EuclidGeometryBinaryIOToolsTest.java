@@ -0,0 +1,81 @@
+package us.ihmc.euclid.geometry.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.geometry.BoundingBox2D;
+import us.ihmc.euclid.geometry.BoundingBox3D;
+import us.ihmc.euclid.geometry.Pose2D;
+import us.ihmc.euclid.geometry.Pose3D;
+
+public class EuclidGeometryBinaryIOToolsTest
+{
+   private static final int ITERATIONS = 1000;
+
+   @Test
+   public void testRoundTrip()
+   {
+      Random random = new Random(45645);
+      int capacity = ITERATIONS * (EuclidGeometryBinaryIOTools.POSE_2D_SIZE + EuclidGeometryBinaryIOTools.POSE_3D_SIZE
+            + EuclidGeometryBinaryIOTools.BOUNDING_BOX_2D_SIZE + EuclidGeometryBinaryIOTools.BOUNDING_BOX_3D_SIZE);
+
+      for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(capacity), ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN)})
+      {
+         Pose2D[] pose2Ds = new Pose2D[ITERATIONS];
+         Pose3D[] pose3Ds = new Pose3D[ITERATIONS];
+         BoundingBox2D[] boundingBox2Ds = new BoundingBox2D[ITERATIONS];
+         BoundingBox3D[] boundingBox3Ds = new BoundingBox3D[ITERATIONS];
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            pose2Ds[i] = EuclidGeometryRandomTools.nextPose2D(random);
+            pose3Ds[i] = EuclidGeometryRandomTools.nextPose3D(random);
+            boundingBox2Ds[i] = EuclidGeometryRandomTools.nextBoundingBox2D(random);
+            boundingBox3Ds[i] = EuclidGeometryRandomTools.nextBoundingBox3D(random);
+
+            EuclidGeometryBinaryIOTools.writePose2D(pose2Ds[i], buffer);
+            EuclidGeometryBinaryIOTools.writePose3D(pose3Ds[i], buffer);
+            EuclidGeometryBinaryIOTools.writeBoundingBox2D(boundingBox2Ds[i], buffer);
+            EuclidGeometryBinaryIOTools.writeBoundingBox3D(boundingBox3Ds[i], buffer);
+         }
+
+         assertEquals(0, buffer.remaining());
+         buffer.flip();
+
+         Pose2D pose2D = new Pose2D();
+         Pose3D pose3D = new Pose3D();
+         BoundingBox2D boundingBox2D = new BoundingBox2D();
+         BoundingBox3D boundingBox3D = new BoundingBox3D();
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            EuclidGeometryBinaryIOTools.readPose2D(buffer, pose2D);
+            assertEquals(pose2Ds[i], pose2D);
+            EuclidGeometryBinaryIOTools.readPose3D(buffer, pose3D);
+            assertEquals(pose3Ds[i], pose3D);
+            EuclidGeometryBinaryIOTools.readBoundingBox2D(buffer, boundingBox2D);
+            assertEquals(boundingBox2Ds[i], boundingBox2D);
+            EuclidGeometryBinaryIOTools.readBoundingBox3D(buffer, boundingBox3D);
+            assertEquals(boundingBox3Ds[i], boundingBox3D);
+         }
+
+         assertEquals(0, buffer.remaining());
+      }
+   }
+
+   @Test
+   public void testWrongType()
+   {
+      ByteBuffer buffer = ByteBuffer.allocate(EuclidGeometryBinaryIOTools.POSE_3D_SIZE);
+      EuclidGeometryBinaryIOTools.writePose3D(new Pose3D(), buffer);
+      buffer.flip();
+      assertThrows(IllegalArgumentException.class, () -> EuclidGeometryBinaryIOTools.readPose2D(buffer, new Pose2D()));
+      assertEquals(0, buffer.position());
+   }
+}
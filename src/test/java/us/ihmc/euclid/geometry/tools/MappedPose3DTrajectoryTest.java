@@ -0,0 +1,221 @@
+package us.ihmc.euclid.geometry.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import us.ihmc.euclid.geometry.Pose3D;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class MappedPose3DTrajectoryTest
+{
+   private static final boolean VERBOSE = false;
+   private static final double EPSILON = 1.0e-12;
+
+   @TempDir
+   Path temporaryFolder;
+
+   @Test
+   public void testRandomAccess() throws IOException
+   {
+      Random random = new Random(4354);
+      int numberOfPoses = 1000;
+      long[] timestamps = new long[numberOfPoses];
+      Pose3D[] poses = new Pose3D[numberOfPoses];
+      Path path = temporaryFolder.resolve("trajectory.bin");
+
+      try (Pose3DTrajectoryWriter writer = new Pose3DTrajectoryWriter(path, 100))
+      {
+         long timestamp = random.nextInt(1000);
+
+         for (int i = 0; i < numberOfPoses; i++)
+         {
+            timestamps[i] = timestamp;
+
+            if (random.nextBoolean())
+            {
+               poses[i] = EuclidGeometryRandomTools.nextPose3D(random);
+               writer.append(timestamp, poses[i]);
+            }
+            else
+            {
+               RigidBodyTransform transform = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+               poses[i] = new Pose3D(transform);
+               writer.append(timestamp, transform);
+            }
+
+            timestamp += random.nextInt(3); // Duplicate timestamps are allowed.
+         }
+
+         assertEquals(numberOfPoses, writer.getNumberOfRecords());
+         assertThrows(IllegalArgumentException.class, () -> writer.append(timestamps[0] - 1, new Pose3D()));
+      }
+
+      assertEquals(MappedPose3DTrajectory.FILE_HEADER_SIZE + numberOfPoses * MappedPose3DTrajectory.RECORD_SIZE, Files.size(path));
+
+      // Small segments to exercise the multi-segment mapping.
+      for (int recordsPerSegment : new int[] {MappedPose3DTrajectory.DEFAULT_RECORDS_PER_SEGMENT, 1, 7, 128})
+      {
+         MappedPose3DTrajectory trajectory = MappedPose3DTrajectory.open(path, recordsPerSegment);
+         assertEquals(numberOfPoses, trajectory.size());
+
+         Pose3D pose = new Pose3D();
+         MappedPose3DTrajectory.View view = trajectory.newView();
+
+         for (int i = 0; i < numberOfPoses; i++)
+         {
+            assertEquals(timestamps[i], trajectory.getTimestamp(i));
+            trajectory.getPose(i, pose);
+            EuclidCoreTestTools.assertEquals(poses[i], pose, EPSILON);
+
+            view.setIndex(i);
+            assertEquals(timestamps[i], view.getTimestamp());
+            EuclidCoreTestTools.assertEquals(poses[i], view, EPSILON);
+         }
+
+         assertThrows(IndexOutOfBoundsException.class, () -> trajectory.getTimestamp(numberOfPoses));
+         assertThrows(IndexOutOfBoundsException.class, () -> view.setIndex(-1));
+      }
+   }
+
+   @Test
+   public void testFloorIndexAndInterpolate() throws IOException
+   {
+      Random random = new Random(3453);
+      int numberOfPoses = 500;
+      long[] timestamps = new long[numberOfPoses];
+      Pose3D[] poses = new Pose3D[numberOfPoses];
+      Path path = temporaryFolder.resolve("trajectory.bin");
+
+      try (Pose3DTrajectoryWriter writer = new Pose3DTrajectoryWriter(path))
+      {
+         long timestamp = 0;
+
+         for (int i = 0; i < numberOfPoses; i++)
+         {
+            timestamp += 1 + random.nextInt(1000);
+            timestamps[i] = timestamp;
+            poses[i] = EuclidGeometryRandomTools.nextPose3D(random);
+            writer.append(timestamp, poses[i]);
+         }
+      }
+
+      MappedPose3DTrajectory trajectory = MappedPose3DTrajectory.open(path, 13);
+
+      assertEquals(-1, trajectory.floorIndex(timestamps[0] - 1));
+      assertEquals(numberOfPoses - 1, trajectory.floorIndex(Long.MAX_VALUE));
+
+      Pose3D expected = new Pose3D();
+      Pose3D actual = new Pose3D();
+
+      for (int i = 0; i < numberOfPoses - 1; i++)
+      {
+         assertEquals(i, trajectory.floorIndex(timestamps[i]));
+
+         long timestamp = timestamps[i] + random.nextInt((int) (timestamps[i + 1] - timestamps[i]));
+         assertEquals(i, trajectory.floorIndex(timestamp));
+
+         double alpha = (double) (timestamp - timestamps[i]) / (double) (timestamps[i + 1] - timestamps[i]);
+         expected.interpolate(poses[i], poses[i + 1], alpha);
+         trajectory.interpolate(timestamp, actual);
+         EuclidCoreTestTools.assertEquals(expected, actual, EPSILON);
+      }
+
+      trajectory.interpolate(timestamps[0] - 10, actual);
+      EuclidCoreTestTools.assertEquals(poses[0], actual, EPSILON);
+      trajectory.interpolate(timestamps[numberOfPoses - 1] + 10, actual);
+      EuclidCoreTestTools.assertEquals(poses[numberOfPoses - 1], actual, EPSILON);
+   }
+
+   @Test
+   public void testFileErrors() throws IOException
+   {
+      Path path = temporaryFolder.resolve("trajectory.bin");
+
+      try (Pose3DTrajectoryWriter writer = new Pose3DTrajectoryWriter(path))
+      {
+         writer.append(0, EuclidCoreRandomTools.nextRigidBodyTransform(new Random(34)));
+      }
+
+      // A partially written record is ignored.
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+      {
+         channel.write(ByteBuffer.allocate(MappedPose3DTrajectory.RECORD_SIZE / 2));
+      }
+      assertEquals(1, MappedPose3DTrajectory.open(path).size());
+
+      Path emptyPath = temporaryFolder.resolve("empty.bin");
+      new Pose3DTrajectoryWriter(emptyPath).close();
+      MappedPose3DTrajectory empty = MappedPose3DTrajectory.open(emptyPath);
+      assertTrue(empty.isEmpty());
+      assertEquals(-1, empty.floorIndex(0));
+      assertThrows(IllegalStateException.class, () -> empty.interpolate(0, new Pose3D()));
+
+      Path invalidPath = temporaryFolder.resolve("invalid.bin");
+      Files.write(invalidPath, new byte[MappedPose3DTrajectory.FILE_HEADER_SIZE]);
+      assertThrows(IOException.class, () -> MappedPose3DTrajectory.open(invalidPath));
+      Files.write(invalidPath, new byte[] {EuclidGeometryBinaryIOTools.POSE_3D_TRAJECTORY_TAG, 1});
+      assertThrows(IOException.class, () -> MappedPose3DTrajectory.open(invalidPath));
+   }
+
+   @Test
+   public void testBenchmark() throws IOException
+   {
+      Random random = new Random(234);
+      int numberOfPoses = VERBOSE ? 10000000 : 1000;
+      Path path = temporaryFolder.resolve("trajectory.bin");
+      Pose3D pose = EuclidGeometryRandomTools.nextPose3D(random);
+      Pose3D initialPose = new Pose3D(pose);
+
+      // The x-coordinate of the poses is proportional to their timestamp such that the interpolation can be checked.
+      long start = System.nanoTime();
+      try (Pose3DTrajectoryWriter writer = new Pose3DTrajectoryWriter(path))
+      {
+         for (int i = 0; i < numberOfPoses; i++)
+         {
+            pose.getPosition().setX(1.0e-6 * i);
+            writer.append(2 * i, pose);
+         }
+      }
+      long writeTime = System.nanoTime() - start;
+
+      MappedPose3DTrajectory trajectory = MappedPose3DTrajectory.open(path);
+      assertEquals(numberOfPoses, trajectory.size());
+      int numberOfQueries = numberOfPoses;
+      double maxPositionError = 0.0;
+      start = System.nanoTime();
+      for (int i = 0; i < numberOfQueries; i++)
+      {
+         long timestamp = random.nextInt(2 * numberOfPoses - 1);
+         trajectory.interpolate(timestamp, pose);
+         maxPositionError = Math.max(maxPositionError, Math.abs(pose.getX() - 5.0e-7 * timestamp));
+      }
+      long interpolateTime = System.nanoTime() - start;
+
+      assertTrue(maxPositionError < EPSILON, "Position error: " + maxPositionError);
+      assertEquals(initialPose.getY(), pose.getY(), EPSILON);
+      assertEquals(initialPose.getZ(), pose.getZ(), EPSILON);
+      EuclidCoreTestTools.assertOrientation3DGeometricallyEquals(initialPose.getOrientation(), pose.getOrientation(), EPSILON);
+
+      if (VERBOSE)
+      {
+         System.out.println(String.format("%d poses, write: %.1f ns/pose, interpolate: %.1f ns/query",
+                                          numberOfPoses,
+                                          (double) writeTime / numberOfPoses,
+                                          (double) interpolateTime / numberOfQueries));
+      }
+   }
+}
@@ -0,0 +1,210 @@
+package us.ihmc.euclid.referenceFrame;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.exceptions.ReferenceFrameMismatchException;
+import us.ihmc.euclid.referenceFrame.tools.EuclidFrameRandomTools;
+import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.tuple3D.Point3D;
+
+public class FrameTransformHandleTest
+{
+   private static final boolean VERBOSE = false;
+   private static final double EPSILON = 1.0e-12;
+
+   @Test
+   public void testGetTransform()
+   {
+      Random random = new Random(2356);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree(random);
+         ReferenceFrame fromFrame = frames[random.nextInt(frames.length)];
+         ReferenceFrame toFrame = frames[random.nextInt(frames.length)];
+         FrameTransformHandle handle = new FrameTransformHandle(fromFrame, toFrame);
+
+         assertSame(fromFrame, handle.getFromFrame());
+         assertSame(toFrame, handle.getToFrame());
+         assertFalse(handle.isUpToDate());
+         EuclidCoreTestTools.assertEquals(fromFrame.getTransformToDesiredFrame(toFrame), handle.getTransform(), EPSILON);
+         assertTrue(handle.isUpToDate());
+
+         RigidBodyTransform actual = new RigidBodyTransform();
+         handle.getTransform(actual);
+         EuclidCoreTestTools.assertEquals(fromFrame.getTransformToDesiredFrame(toFrame), actual, EPSILON);
+      }
+   }
+
+   @Test
+   public void testRevalidation()
+   {
+      Random random = new Random(2357);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+         List<RigidBodyTransform> transforms = new ArrayList<>();
+         ReferenceFrame ancestor = nextChangingFrame("ancestor", rootFrame, transforms);
+         ReferenceFrame fromFrame = nextChangingFrame("from", nextChangingFrame("fromParent", ancestor, transforms), transforms);
+         ReferenceFrame toFrame = nextChangingFrame("to", ancestor, transforms);
+         ReferenceFrame otherFrame = nextChangingFrame("other", rootFrame, transforms);
+
+         FrameTransformHandle handle = new FrameTransformHandle(fromFrame, toFrame);
+         handle.getTransform();
+         assertTrue(handle.isUpToDate());
+
+         for (int tick = 0; tick < 10; tick++)
+         {
+            for (RigidBodyTransform transform : transforms)
+               transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+
+            // Frames that are not between the two frames do not invalidate the handle.
+            ancestor.update();
+            otherFrame.update();
+            assertTrue(handle.isUpToDate());
+
+            ReferenceFrame frameToUpdate;
+            switch (random.nextInt(3))
+            {
+               case 0:
+                  frameToUpdate = fromFrame;
+                  break;
+               case 1:
+                  frameToUpdate = fromFrame.getParent();
+                  break;
+               default:
+                  frameToUpdate = toFrame;
+                  break;
+            }
+            frameToUpdate.update();
+            assertFalse(handle.isUpToDate());
+
+            fromFrame.update();
+            fromFrame.getParent().update();
+            toFrame.update();
+            EuclidCoreTestTools.assertEquals(fromFrame.getTransformToDesiredFrame(toFrame), handle.getTransform(), EPSILON);
+            assertTrue(handle.isUpToDate());
+         }
+
+         handle.getFromFrame().getParent().remove();
+         assertThrows(RuntimeException.class, () -> handle.getTransform());
+      }
+   }
+
+   @Test
+   public void testChangeFrame()
+   {
+      Random random = new Random(2358);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree(random);
+         ReferenceFrame fromFrame = frames[random.nextInt(frames.length)];
+         ReferenceFrame toFrame = frames[random.nextInt(frames.length)];
+         FrameTransformHandle handle = new FrameTransformHandle(fromFrame, toFrame);
+
+         FramePose3D expected = EuclidFrameRandomTools.nextFramePose3D(random, fromFrame);
+         FramePose3D actual = new FramePose3D(expected);
+         expected.changeFrame(toFrame);
+         actual.changeFrame(handle);
+         assertSame(toFrame, actual.getReferenceFrame());
+         EuclidCoreTestTools.assertGeometricallyEquals(expected, actual, EPSILON);
+
+         // The handle can only be used on objects expressed in its first frame.
+         if (fromFrame != toFrame)
+            assertThrows(ReferenceFrameMismatchException.class, () -> actual.changeFrame(handle));
+      }
+   }
+
+   @Test
+   public void testBenchmark()
+   {
+      Random random = new Random(2359);
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      List<RigidBodyTransform> transforms = new ArrayList<>();
+      ReferenceFrame pelvisFrame = rootFrame;
+      for (int i = 0; i < 3; i++)
+         pelvisFrame = nextChangingFrame("pelvis" + i, pelvisFrame, transforms);
+      ReferenceFrame soleFrame = pelvisFrame;
+      for (int i = 0; i < 6; i++)
+         soleFrame = nextChangingFrame("leg" + i, soleFrame, transforms);
+      for (RigidBodyTransform transform : transforms)
+         transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+      for (ReferenceFrame frame = soleFrame; frame != rootFrame; frame = frame.getParent())
+         frame.update();
+
+      FrameTransformHandle handle = new FrameTransformHandle(soleFrame, pelvisFrame);
+      FramePoint3D point = new FramePoint3D(soleFrame);
+      int numberOfCalls = 1000;
+      int numberOfTicks = VERBOSE ? 10000 : 10;
+      long frameTime = 0;
+      long handleTime = 0;
+      Point3D[] framePoints = new Point3D[numberOfCalls];
+      Point3D[] handlePoints = new Point3D[numberOfCalls];
+
+      for (int i = 0; i < numberOfCalls; i++)
+      {
+         framePoints[i] = new Point3D();
+         handlePoints[i] = new Point3D();
+      }
+
+      for (int tick = 0; tick < numberOfTicks; tick++)
+      {
+         // A new controller tick: the pelvis moves, which does not affect the transform from the sole to the pelvis.
+         rootFrame.getChild(0).update();
+
+         long start = System.nanoTime();
+         for (int i = 0; i < numberOfCalls; i++)
+         {
+            point.setIncludingFrame(soleFrame, 0.001 * i, 0.0, 0.0);
+            point.changeFrame(pelvisFrame);
+            framePoints[i].set(point);
+         }
+         frameTime += System.nanoTime() - start;
+
+         rootFrame.getChild(0).update();
+
+         start = System.nanoTime();
+         for (int i = 0; i < numberOfCalls; i++)
+         {
+            point.setIncludingFrame(soleFrame, 0.001 * i, 0.0, 0.0);
+            point.changeFrame(handle);
+            handlePoints[i].set(point);
+         }
+         handleTime += System.nanoTime() - start;
+
+         assertEquals(pelvisFrame, point.getReferenceFrame());
+
+         for (int i = 0; i < numberOfCalls; i++)
+            EuclidCoreTestTools.assertEquals(framePoints[i], handlePoints[i], EPSILON);
+      }
+
+      if (VERBOSE)
+      {
+         System.out.println("changeFrame with frame:  " + frameTime / 1000.0 / numberOfTicks / numberOfCalls + "us per call");
+         System.out.println("changeFrame with handle: " + handleTime / 1000.0 / numberOfTicks / numberOfCalls + "us per call");
+      }
+   }
+
+   private static ReferenceFrame nextChangingFrame(String name, ReferenceFrame parentFrame, List<RigidBodyTransform> transformsToParent)
+   {
+      RigidBodyTransform transformToParent = new RigidBodyTransform();
+      transformsToParent.add(transformToParent);
+      return ReferenceFrameTools.constructFrameWithChangingTransformToParent(name, parentFrame, transformToParent);
+   }
+}
@@ -0,0 +1,326 @@
+package us.ihmc.euclid.referenceFrame;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class ParallelReferenceFrameTreeUpdaterTest
+{
+   private static final int NUMBER_OF_ROBOTS = 6;
+   private static final int FRAMES_PER_ROBOT = 40;
+
+   @Test
+   public void testUpdateAll()
+   {
+      Random random = new Random(8734);
+      ForkJoinPool pool = new ForkJoinPool(4);
+
+      for (boolean concurrentAccess : new boolean[] {false, true})
+      {
+         for (int iteration = 0; iteration < 20; iteration++)
+         {
+            ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+            rootFrame.setConcurrentAccessEnabled(concurrentAccess);
+            List<CountingFrame> frames = new ArrayList<>();
+            CountingFrame stationFrame = new CountingFrame("station", rootFrame, random);
+            frames.add(stationFrame);
+
+            ReferenceFrame[] robotBases = new ReferenceFrame[NUMBER_OF_ROBOTS];
+
+            for (int robot = 0; robot < NUMBER_OF_ROBOTS; robot++)
+            {
+               CountingFrame base = new CountingFrame("robot" + robot + "Base", stationFrame, random);
+               robotBases[robot] = base;
+               frames.add(base);
+               List<CountingFrame> robotFrames = new ArrayList<>();
+               robotFrames.add(base);
+
+               for (int i = 1; i < FRAMES_PER_ROBOT; i++)
+               {
+                  CountingFrame frame = new CountingFrame("robot" + robot + "Frame" + i, robotFrames.get(random.nextInt(robotFrames.size())), random);
+                  robotFrames.add(frame);
+                  frames.add(frame);
+               }
+            }
+
+            ParallelReferenceFrameTreeUpdater updater = new ParallelReferenceFrameTreeUpdater(rootFrame, pool, robotBases);
+            assertSame(rootFrame, updater.getStartFrame());
+            assertEquals(NUMBER_OF_ROBOTS, updater.getNumberOfSubtrees());
+            assertSame(robotBases[2], updater.getSubtreeRoot(2));
+
+            for (CountingFrame frame : frames)
+               frame.numberOfUpdates.set(0);
+
+            int numberOfTicks = 10;
+
+            for (int tick = 0; tick < numberOfTicks; tick++)
+            {
+               for (CountingFrame frame : frames)
+                  frame.transformToParent.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+
+               updater.updateAll();
+
+               for (CountingFrame frame : frames)
+                  assertTransformToRootEquals(frame);
+            }
+
+            // Each frame is updated exactly once per tick.
+            for (CountingFrame frame : frames)
+               assertEquals(numberOfTicks, frame.numberOfUpdates.get(), frame.getName());
+         }
+      }
+
+      pool.shutdown();
+   }
+
+   @Test
+   public void testFixedFramesUpdatedConcurrently()
+   {
+      ForkJoinPool pool = new ForkJoinPool(4);
+
+      try
+      {
+         for (boolean concurrentAccess : new boolean[] {false, true})
+         {
+            ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+            rootFrame.setConcurrentAccessEnabled(concurrentAccess);
+            ReferenceFrame[] robotBases = new ReferenceFrame[NUMBER_OF_ROBOTS];
+            // Holding onto the frames such that they are not garbage collected.
+            List<ReferenceFrame> frames = new ArrayList<>();
+
+            for (int robot = 0; robot < NUMBER_OF_ROBOTS; robot++)
+            {
+               robotBases[robot] = newFrameFixedInParent("robot" + robot + "Base", rootFrame);
+               frames.add(robotBases[robot]);
+
+               for (int i = 1; i < 10 * FRAMES_PER_ROBOT; i++)
+                  frames.add(newFrameFixedInParent("robot" + robot + "Frame" + i, frames.get(frames.size() - 1)));
+            }
+
+            ParallelReferenceFrameTreeUpdater updater = new ParallelReferenceFrameTreeUpdater(rootFrame, pool, robotBases);
+
+            for (int tick = 0; tick < 100; tick++)
+            {
+               long previousVersion = rootFrame.fixedChainsVersion;
+               updater.updateAll();
+               // No increment is lost while the subtrees are updated concurrently.
+               assertEquals(previousVersion + frames.size(), rootFrame.fixedChainsVersion);
+            }
+
+            updater.dispose();
+         }
+      }
+      finally
+      {
+         pool.shutdown();
+      }
+   }
+
+   @Test
+   public void testConcurrentReaders() throws Exception
+   {
+      int numberOfTicks = 2000;
+      int depth = 5;
+      AtomicLong currentTick = new AtomicLong(0);
+      AtomicLong publishedTick = new AtomicLong(0);
+      ForkJoinPool pool = new ForkJoinPool(4);
+
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      rootFrame.setConcurrentAccessEnabled(true);
+      ReferenceFrame stationFrame = new TickFrame("station", rootFrame, currentTick);
+      ReferenceFrame[] robotBases = new ReferenceFrame[NUMBER_OF_ROBOTS];
+      ReferenceFrame[] robotLeaves = new ReferenceFrame[NUMBER_OF_ROBOTS];
+
+      for (int robot = 0; robot < NUMBER_OF_ROBOTS; robot++)
+      {
+         robotBases[robot] = new TickFrame("robot" + robot + "Base", stationFrame, currentTick);
+         robotLeaves[robot] = robotBases[robot];
+
+         for (int i = 1; i < depth; i++)
+            robotLeaves[robot] = new TickFrame("robot" + robot + "Frame" + i, robotLeaves[robot], currentTick);
+      }
+
+      // The leaves are below the station frame and the depth frames of a robot.
+      int numberOfLevels = depth + 1;
+      ParallelReferenceFrameTreeUpdater updater = new ParallelReferenceFrameTreeUpdater(rootFrame, pool, robotBases);
+      List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+      Thread[] readers = new Thread[2];
+
+      for (int readerIndex = 0; readerIndex < readers.length; readerIndex++)
+      {
+         int firstRobot = readerIndex;
+         readers[readerIndex] = new Thread(() ->
+         {
+            RigidBodyTransform transformToRoot = new RigidBodyTransform();
+            int robot = firstRobot;
+
+            try
+            {
+               while (publishedTick.get() < numberOfTicks)
+               {
+                  long lowerTick = publishedTick.get();
+                  robotLeaves[robot].getTransformToRoot(transformToRoot);
+                  long upperTick = currentTick.get();
+
+                  /*
+                   * The update is not atomic, each frame of the path may come from a different tick but the
+                   * transform of each frame is never read while being written.
+                   */
+                  assertTrue(transformToRoot.getRotation().isRotationMatrix(1.0e-7), "Not a rotation matrix: " + transformToRoot);
+                  assertTrue(transformToRoot.getRotation().isOrientation2D(1.0e-7), "Unexpected rotation: " + transformToRoot);
+                  double tickSum = transformToRoot.getRotation().getYaw() / TickFrame.YAW_PER_TICK;
+                  assertTrue(tickSum >= numberOfLevels * lowerTick - 1.0e-3 && tickSum <= numberOfLevels * upperTick + 1.0e-3,
+                             "Sum of ticks: " + tickSum + ", expected in [" + numberOfLevels * lowerTick + ", " + numberOfLevels * upperTick + "]");
+                  robot = (robot + readers.length) % NUMBER_OF_ROBOTS;
+               }
+            }
+            catch (Throwable e)
+            {
+               errors.add(e);
+            }
+         });
+         readers[readerIndex].start();
+      }
+
+      try
+      {
+         for (int tick = 1; tick <= numberOfTicks; tick++)
+         {
+            currentTick.set(tick);
+            updater.updateAll();
+            publishedTick.set(tick);
+         }
+
+         for (Thread reader : readers)
+            reader.join();
+      }
+      finally
+      {
+         pool.shutdown();
+      }
+
+      if (!errors.isEmpty())
+         throw new AssertionError(errors.get(0));
+
+      // Once the update is done, all the frames are from the last tick.
+      RigidBodyTransform transformToRoot = new RigidBodyTransform();
+      robotLeaves[0].getTransformToRoot(transformToRoot);
+      assertEquals(numberOfLevels * numberOfTicks, transformToRoot.getRotation().getYaw() / TickFrame.YAW_PER_TICK, 1.0e-3);
+      updater.dispose();
+      assertThrows(IllegalStateException.class, () -> updater.updateAll());
+   }
+
+   @Test
+   public void testInvalidPartitions()
+   {
+      Random random = new Random(8735);
+      ForkJoinPool pool = ForkJoinPool.commonPool();
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      ReferenceFrame frameA = new CountingFrame("A", rootFrame, random);
+      ReferenceFrame frameB = new CountingFrame("B", frameA, random);
+      ReferenceFrame frameC = new CountingFrame("C", rootFrame, random);
+      ReferenceFrame otherRootFrame = ReferenceFrameTools.constructARootFrame("otherRoot");
+
+      // Nested subtrees
+      assertThrows(IllegalArgumentException.class, () -> new ParallelReferenceFrameTreeUpdater(rootFrame, pool, frameA, frameB));
+      assertThrows(IllegalArgumentException.class, () -> new ParallelReferenceFrameTreeUpdater(rootFrame, pool, frameB, frameA));
+      assertThrows(IllegalArgumentException.class, () -> new ParallelReferenceFrameTreeUpdater(rootFrame, pool, frameA, frameA));
+      // Subtrees outside the tree
+      assertThrows(IllegalArgumentException.class, () -> new ParallelReferenceFrameTreeUpdater(frameA, pool, frameC));
+      assertThrows(IllegalArgumentException.class, () -> new ParallelReferenceFrameTreeUpdater(rootFrame, pool, rootFrame));
+      assertThrows(IllegalArgumentException.class, () -> new ParallelReferenceFrameTreeUpdater(rootFrame, pool, otherRootFrame));
+
+      new ParallelReferenceFrameTreeUpdater(rootFrame, pool, frameB, frameC).updateAll();
+      new ParallelReferenceFrameTreeUpdater(rootFrame, pool).updateAll();
+   }
+
+   private static void assertTransformToRootEquals(ReferenceFrame frame)
+   {
+      RigidBodyTransform expected = new RigidBodyTransform();
+      long previousUpdateId = 0;
+
+      for (ReferenceFrame frameInPath : frame.getFramesStartingWithRootEndingWithThis())
+      {
+         // The transforms have to be up-to-date, such that the query below does not recompute them.
+         assertTrue(frameInPath.transformToRootID >= previousUpdateId);
+         previousUpdateId = frameInPath.transformToRootID;
+
+         if (!frameInPath.isRootFrame())
+            expected.multiply(frameInPath.getTransformToParent());
+      }
+
+      EuclidCoreTestTools.assertEquals(expected, frame.getTransformToRoot(), 1.0e-12);
+   }
+
+   /**
+    * Creates a frame fixed in its parent which, unlike {@link FixedReferenceFrame}, invalidates the
+    * collapsed transforms of the tree when updated.
+    */
+   private static ReferenceFrame newFrameFixedInParent(String frameName, ReferenceFrame parentFrame)
+   {
+      return new ReferenceFrame(frameName, parentFrame, new RigidBodyTransform(), false, false, true)
+      {
+         @Override
+         protected void updateTransformToParent(RigidBodyTransform transformToParent)
+         {
+         }
+      };
+   }
+
+   /**
+    * Frame rotated about the z-axis of its parent by an angle proportional to the current tick.
+    */
+   private static class TickFrame extends ReferenceFrame
+   {
+      private static final double YAW_PER_TICK = 1.0e-4;
+      private final AtomicLong currentTick;
+
+      public TickFrame(String frameName, ReferenceFrame parentFrame, AtomicLong currentTick)
+      {
+         super(frameName, parentFrame);
+         this.currentTick = currentTick;
+      }
+
+      @Override
+      protected void updateTransformToParent(RigidBodyTransform transformToParent)
+      {
+         transformToParent.getRotation().setToYawOrientation(YAW_PER_TICK * currentTick.get());
+      }
+   }
+
+   private static class CountingFrame extends ReferenceFrame
+   {
+      private final RigidBodyTransform transformToParent = new RigidBodyTransform();
+      private final AtomicInteger numberOfUpdates = new AtomicInteger();
+
+      public CountingFrame(String frameName, ReferenceFrame parentFrame, Random random)
+      {
+         super(frameName, parentFrame);
+         transformToParent.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+         update();
+      }
+
+      @Override
+      protected void updateTransformToParent(RigidBodyTransform transformToParentToUpdate)
+      {
+         numberOfUpdates.incrementAndGet();
+         transformToParentToUpdate.set(transformToParent);
+      }
+   }
+}
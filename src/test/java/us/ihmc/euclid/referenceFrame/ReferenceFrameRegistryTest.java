@@ -0,0 +1,145 @@
+package us.ihmc.euclid.referenceFrame;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.tools.EuclidFrameRandomTools;
+import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class ReferenceFrameRegistryTest
+{
+   @Test
+   public void testLookups()
+   {
+      Random random = new Random(3452);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+         ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree("frame", random, rootFrame, 1 + random.nextInt(30));
+         ReferenceFrameRegistry registry = frames[frames.length - 1].getFrameRegistry();
+         assertSame(rootFrame, registry.getRootFrame());
+         assertSame(registry, rootFrame.getFrameRegistry());
+         assertRegistryMatchesTree(rootFrame, registry);
+
+         // Frames created after the registry are registered.
+         ReferenceFrame parent = frames[random.nextInt(frames.length)];
+         ReferenceFrame newFrame = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("newFrame", parent, new RigidBodyTransform());
+         assertSame(newFrame, registry.findFrameByName("newFrame"));
+         assertSame(newFrame, registry.findFrameByNameId(newFrame.getNameId()));
+         assertSame(newFrame, registry.findFrameByFrameIndex(newFrame.getFrameIndex()));
+         assertTrue(registry.contains(newFrame));
+         assertRegistryMatchesTree(rootFrame, registry);
+
+         assertNull(registry.findFrameByName("notAFrame"));
+         assertNull(registry.findFrameByNameId("notAFrame"));
+         assertNull(registry.findFrameByFrameIndex(-1));
+         assertTrue(registry.findFramesByName("notAFrame").isEmpty());
+         assertFalse(registry.contains(ReferenceFrameTools.constructARootFrame("otherRoot")));
+      }
+   }
+
+   @Test
+   public void testFramesWithSameName()
+   {
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      ReferenceFrameRegistry registry = rootFrame.getFrameRegistry();
+      ReferenceFrame parentA = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("A", rootFrame, new RigidBodyTransform());
+      ReferenceFrame parentB = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("B", rootFrame, new RigidBodyTransform());
+      ReferenceFrame childA = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("child", parentA, new RigidBodyTransform());
+      ReferenceFrame childB = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("child", parentB, new RigidBodyTransform());
+
+      assertSame(childA, registry.findFrameByName("child"));
+      assertEquals(2, registry.findFramesByName("child").size());
+      assertSame(childA, registry.findFrameByNameId(childA.getNameId()));
+      assertSame(childB, registry.findFrameByNameId(childB.getNameId()));
+
+      childA.remove();
+      assertSame(childB, registry.findFrameByName("child"));
+      assertEquals(1, registry.findFramesByName("child").size());
+      assertNull(registry.findFrameByNameId("root:A:child"));
+      assertFalse(registry.contains(childA));
+      assertTrue(registry.contains(childB));
+   }
+
+   @Test
+   public void testRemoveAndClear()
+   {
+      Random random = new Random(3453);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+         ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree("frame", random, rootFrame, 2 + random.nextInt(30));
+         ReferenceFrameRegistry registry = rootFrame.getFrameRegistry();
+
+         ReferenceFrame frameToRemove = frames[1 + random.nextInt(frames.length - 1)];
+         List<ReferenceFrame> removedFrames = ReferenceFrameTools.collectFramesInSubtree(frameToRemove);
+         frameToRemove.remove();
+
+         for (ReferenceFrame removedFrame : removedFrames)
+            assertFalse(registry.contains(removedFrame));
+         assertRegistryMatchesTree(rootFrame, registry);
+
+         rootFrame.clearChildren();
+         assertEquals(1, registry.getNumberOfFrames());
+         assertSame(rootFrame, registry.findFrameByFrameIndex(0));
+
+         // The frame indices are reset with the tree.
+         ReferenceFrame newFrame = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("newFrame", rootFrame, new RigidBodyTransform());
+         assertSame(newFrame, registry.findFrameByFrameIndex(newFrame.getFrameIndex()));
+         assertRegistryMatchesTree(rootFrame, registry);
+      }
+   }
+
+   @Test
+   public void testGarbageCollectedFrames() throws InterruptedException
+   {
+      Random random = new Random(3454);
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      ReferenceFrameRegistry registry = rootFrame.getFrameRegistry();
+      ReferenceFrame keptFrame = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("kept", rootFrame, new RigidBodyTransform());
+      EuclidFrameRandomTools.nextReferenceFrameTree("frame", random, rootFrame, 100);
+      assertEquals(102, registry.getNumberOfFrames());
+
+      for (int attempt = 0; attempt < 10 && registry.getNumberOfFrames() > 2; attempt++)
+      {
+         System.gc();
+         Thread.sleep(100);
+      }
+
+      assertEquals(2, registry.getNumberOfFrames());
+      assertSame(keptFrame, registry.findFrameByName("kept"));
+      assertNull(registry.findFrameByName("frame1"));
+   }
+
+   private static void assertRegistryMatchesTree(ReferenceFrame rootFrame, ReferenceFrameRegistry registry)
+   {
+      List<ReferenceFrame> framesInTree = ReferenceFrameTools.collectFramesInSubtree(rootFrame);
+      assertEquals(framesInTree.size(), registry.getNumberOfFrames());
+
+      Set<ReferenceFrame> registeredFrames = new HashSet<>();
+      registry.getFrames(registeredFrames);
+      assertEquals(new HashSet<>(framesInTree), registeredFrames);
+
+      for (ReferenceFrame frame : framesInTree)
+      {
+         assertTrue(registry.contains(frame));
+         assertSame(frame, registry.findFrameByFrameIndex(frame.getFrameIndex()));
+         assertSame(frame, registry.findFrameByNameId(frame.getNameId()));
+         assertTrue(registry.findFramesByName(frame.getName()).contains(frame));
+      }
+   }
+}
@@ -10,10 +10,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Disabled;
@@ -27,6 +29,7 @@ import us.ihmc.euclid.tools.EuclidCoreRandomTools;
 import us.ihmc.euclid.tools.EuclidCoreTestTools;
 import us.ihmc.euclid.transform.RigidBodyTransform;
 import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DReadOnly;
 
 public class ReferenceFrameTest
 {
@@ -75,6 +78,233 @@ public class ReferenceFrameTest
       }
    }
 
+   @Test
+   public void testGetTransformToDesiredFrameThroughCommonAncestor()
+   {
+      Random random = new Random(545);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+         List<RigidBodyTransform> transforms = new ArrayList<>();
+         ReferenceFrame ancestor = nextChangingFrameChain("ancestor", rootFrame, random.nextInt(40), transforms);
+         ReferenceFrame frameA = nextChangingFrameChain("branchA", ancestor, 1 + random.nextInt(6), transforms);
+         ReferenceFrame frameB = nextChangingFrameChain("branchB", ancestor, 1 + random.nextInt(6), transforms);
+         List<ReferenceFrame> frames = ReferenceFrameTools.collectFramesInSubtree(rootFrame);
+
+         for (int tick = 0; tick < 10; tick++)
+         {
+            for (RigidBodyTransform transform : transforms)
+               transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+
+            // Only updating some of the frames, the other ones keep their previous transform.
+            for (ReferenceFrame frame : frames)
+            {
+               if (random.nextBoolean())
+                  frame.update();
+            }
+
+            // Randomly bringing the transforms to root up-to-date such that both paths are exercised.
+            if (random.nextBoolean())
+               frameA.getTransformToRoot();
+            if (random.nextBoolean())
+               frameB.getTransformToRoot();
+
+            RigidBodyTransform expected = new RigidBodyTransform();
+            expected.setAndInvert(computeTransformToRootFromParents(frameB));
+            expected.multiply(computeTransformToRootFromParents(frameA));
+
+            RigidBodyTransform actual = new RigidBodyTransform();
+            frameA.getTransformToDesiredFrame(actual, frameB);
+            EuclidCoreTestTools.assertEquals(expected, actual, 1.0e-10);
+
+            expected.invert();
+            frameB.getTransformToDesiredFrame(actual, frameA);
+            EuclidCoreTestTools.assertEquals(expected, actual, 1.0e-10);
+         }
+      }
+   }
+
+   @Test
+   public void testChangeFrameDriftBetweenPaths()
+   {
+      /*
+       * The path used to change frame depends on whether the transforms to root are up-to-date, such
+       * that the same query may be answered through the common ancestor or through the root frame. The
+       * two paths do not involve the same products and their results can differ by a few ulps, which
+       * was already the case between the different shortcuts before the common ancestor path existed.
+       */
+      Random random = new Random(547);
+      double maxDrift = 0.0;
+
+      for (int i = 0; i < 100 * ITERATIONS; i++)
+      {
+         ReferenceFrame[] referenceFrames = EuclidFrameRandomTools.nextReferenceFrameTree(random, true);
+         ReferenceFrame initialFrame = referenceFrames[random.nextInt(referenceFrames.length)];
+         ReferenceFrame desiredFrame = referenceFrames[random.nextInt(referenceFrames.length)];
+
+         FramePoint3D throughStalePath = EuclidFrameRandomTools.nextFramePoint3D(random, initialFrame);
+         FramePoint3D throughUpToDatePath = new FramePoint3D(throughStalePath);
+
+         throughStalePath.changeFrame(desiredFrame);
+         initialFrame.getTransformToRoot();
+         desiredFrame.getTransformToRoot();
+         throughUpToDatePath.changeFrame(desiredFrame);
+
+         maxDrift = Math.max(maxDrift, throughStalePath.distance(throughUpToDatePath));
+      }
+
+      assertTrue(maxDrift < 1.0e-14, "Drift between paths: " + maxDrift);
+   }
+
+   @Test
+   public void testGetTransformToDesiredFrameThroughCommonAncestorBenchmark()
+   {
+      boolean verbose = false;
+      Random random = new Random(546);
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      List<RigidBodyTransform> transforms = new ArrayList<>();
+      ReferenceFrame ancestor = nextChangingFrameChain("ancestor", rootFrame, 100, transforms);
+      ReferenceFrame frameA = nextChangingFrameChain("branchA", ancestor, 3, transforms);
+      ReferenceFrame frameB = nextChangingFrameChain("branchB", ancestor, 3, transforms);
+      List<ReferenceFrame> frames = ReferenceFrameTools.collectFramesInSubtree(rootFrame);
+
+      int numberOfTicks = verbose ? 100000 : 100;
+      long rootPathTime = 0, ancestorPathTime = 0;
+      RigidBodyTransform rootPathTransform = new RigidBodyTransform();
+      RigidBodyTransform ancestorPathTransform = new RigidBodyTransform();
+
+      for (int tick = 0; tick < numberOfTicks; tick++)
+      {
+         for (RigidBodyTransform transform : transforms)
+            transform.getRotation().setToYawOrientation(EuclidCoreRandomTools.nextDouble(random, Math.PI));
+
+         for (ReferenceFrame frame : frames)
+            frame.update();
+
+         long start = System.nanoTime();
+         frameA.getTransformToDesiredFrame(ancestorPathTransform, frameB);
+         ancestorPathTime += System.nanoTime() - start;
+
+         start = System.nanoTime();
+         rootPathTransform.setAndInvert(frameB.getTransformToRoot());
+         rootPathTransform.multiply(frameA.getTransformToRoot());
+         rootPathTime += System.nanoTime() - start;
+
+         EuclidCoreTestTools.assertEquals(rootPathTransform, ancestorPathTransform, 1.0e-10);
+      }
+
+      if (verbose)
+      {
+         System.out.println(String.format("Frames at depth %d with a common ancestor at depth %d, average time in microsec:\n\t-Through root: %f\n\t-Through common ancestor: %f",
+                                          frameA.getFramesStartingWithRootEndingWithThis().length - 1,
+                                          ancestor.getFramesStartingWithRootEndingWithThis().length - 1,
+                                          rootPathTime / 1.0e3 / numberOfTicks,
+                                          ancestorPathTime / 1.0e3 / numberOfTicks));
+      }
+   }
+
+   @Test
+   public void testFixedChainCollapsing()
+   {
+      Random random = new Random(547);
+
+      for (boolean concurrentAccess : new boolean[] {false, true})
+      {
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+            rootFrame.setConcurrentAccessEnabled(concurrentAccess);
+            List<RigidBodyTransform> transforms = new ArrayList<>();
+            ReferenceFrame anchor = nextChangingFrameChain("moving", rootFrame, random.nextInt(4), transforms);
+
+            // Fixed chain with a frame flagged as fixed in parent that is still updated.
+            RigidBodyTransform updatedFixedTransform = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+            ReferenceFrame middleFrame = nextFixedFrameChain("fixedA", anchor, 1 + random.nextInt(4), random);
+            ReferenceFrame updatedFixedFrame = new ReferenceFrame("updatedFixed", middleFrame, updatedFixedTransform, false, false, true)
+            {
+               @Override
+               protected void updateTransformToParent(RigidBodyTransform transformToParent)
+               {
+                  transformToParent.set(updatedFixedTransform);
+               }
+            };
+            ReferenceFrame endFrame = nextFixedFrameChain("fixedB", updatedFixedFrame, 1 + random.nextInt(4), random);
+            ReferenceFrame movingChildFrame = nextChangingFrameChain("movingChild", endFrame, 1, transforms);
+            // Fixed chain attached to the root frame.
+            ReferenceFrame stationaryFrame = nextFixedFrameChain("stationary", rootFrame, 2 + random.nextInt(4), random);
+
+            List<ReferenceFrame> frames = ReferenceFrameTools.collectFramesInSubtree(rootFrame);
+
+            for (int tick = 0; tick < 10; tick++)
+            {
+               for (RigidBodyTransform transform : transforms)
+                  transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+               if (random.nextBoolean())
+                  updatedFixedTransform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+
+               for (ReferenceFrame frame : frames)
+               {
+                  if (random.nextBoolean())
+                     frame.update();
+               }
+
+               // Randomly bringing the transforms to root of the chains up-to-date such that all the paths are exercised.
+               for (ReferenceFrame frame : frames)
+               {
+                  if (random.nextInt(4) == 0)
+                     frame.getTransformToRoot();
+               }
+
+               for (ReferenceFrame frame : new ReferenceFrame[] {middleFrame, endFrame, movingChildFrame, stationaryFrame})
+                  EuclidCoreTestTools.assertEquals(computeTransformToRootFromParents(frame), frame.getTransformToRoot(), EPSILON);
+
+               RigidBodyTransform expected = new RigidBodyTransform();
+               expected.setAndInvert(computeTransformToRootFromParents(stationaryFrame));
+               expected.multiply(computeTransformToRootFromParents(endFrame));
+               EuclidCoreTestTools.assertEquals(expected, endFrame.getTransformToDesiredFrame(stationaryFrame), EPSILON);
+            }
+         }
+      }
+   }
+
+   private static ReferenceFrame nextFixedFrameChain(String namePrefix, ReferenceFrame parentFrame, int length, Random random)
+   {
+      ReferenceFrame frame = parentFrame;
+
+      for (int i = 0; i < length; i++)
+         frame = new FixedReferenceFrame(namePrefix + i, frame, EuclidCoreRandomTools.nextRigidBodyTransform(random));
+
+      return frame;
+   }
+
+   private static ReferenceFrame nextChangingFrameChain(String namePrefix, ReferenceFrame parentFrame, int length, List<RigidBodyTransform> transformsToParent)
+   {
+      ReferenceFrame frame = parentFrame;
+
+      for (int i = 0; i < length; i++)
+      {
+         RigidBodyTransform transformToParent = new RigidBodyTransform();
+         transformsToParent.add(transformToParent);
+         frame = ReferenceFrameTools.constructFrameWithChangingTransformToParent(namePrefix + i, frame, transformToParent);
+      }
+
+      return frame;
+   }
+
+   private static RigidBodyTransform computeTransformToRootFromParents(ReferenceFrame frame)
+   {
+      RigidBodyTransform transformToRoot = new RigidBodyTransform();
+
+      for (ReferenceFrame frameInPath : frame.getFramesStartingWithRootEndingWithThis())
+      {
+         if (!frameInPath.isRootFrame())
+            transformToRoot.multiply(frameInPath.getTransformToParent());
+      }
+
+      return transformToRoot;
+   }
+
    @Test
    public void testChildrenFramesAreGarbageCollected() throws Exception
    {
@@ -589,9 +819,13 @@ public class ReferenceFrameTest
          for (int paramIdx = 0; paramIdx < numberOfParameters; paramIdx++)
          {
             Class<?> parameterClass = method.getParameterTypes()[paramIdx];
-            if (parameterClass.isPrimitive())
+            if (parameterClass == boolean.class)
             {
-               // Only works for some primitive types. If we add a public method that takes a boolean for example we will need to update this.
+               parameters[paramIdx] = false;
+            }
+            else if (parameterClass.isPrimitive())
+            {
+               // Only works for some primitive types. If we add a public method that takes a char for example we will need to update this.
                parameters[paramIdx] = 0;
             }
          }
@@ -628,12 +862,275 @@ public class ReferenceFrameTest
       // If there's a concurrent modification, the following will throw a NoARotationMatrixException.
       IntStream.range(0, 10000000).parallel().forEach(i ->
       {
-         ReferenceFrame.nextTransformToRootID++;
          ReferenceFrame.getWorldFrame().update();
          frames[random.nextInt(numberOfFrames)].getTransformToRoot();
       });
    }
 
+   @Test
+   public void testIndependentTrees()
+   {
+      Random random = new Random(344);
+
+      ReferenceFrame rootA = ReferenceFrameTools.constructARootFrame("rootA");
+      ReferenceFrame rootB = ReferenceFrameTools.constructARootFrame("rootB");
+      ReferenceFrame[] framesA = EuclidFrameRandomTools.nextReferenceFrameTree("frameA", random, rootA, 20);
+      ReferenceFrame[] framesB = EuclidFrameRandomTools.nextReferenceFrameTree("frameB", random, rootB, 20);
+
+      long[] idsB = new long[framesB.length];
+      for (int i = 0; i < framesB.length; i++)
+      {
+         framesB[i].getTransformToRoot();
+         idsB[i] = framesB[i].transformToRootID;
+      }
+      long nextIdB = rootB.nextTransformToRootID;
+
+      // Updating and querying the tree A does not affect the state of the tree B.
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         for (ReferenceFrame frame : framesA)
+            frame.update();
+         framesA[random.nextInt(framesA.length)].getTransformToRoot();
+      }
+
+      assertEquals(nextIdB, rootB.nextTransformToRootID);
+      for (int i = 0; i < framesB.length; i++)
+         assertEquals(idsB[i], framesB[i].transformToRootID);
+
+      // Each tree can be updated and queried by its own thread.
+      int numberOfTrees = 8;
+      int depth = 10;
+      ReferenceFrame[][] trees = new ReferenceFrame[numberOfTrees][];
+      RigidBodyTransform[][] transformsToParent = new RigidBodyTransform[numberOfTrees][depth + 1];
+
+      for (int treeIndex = 0; treeIndex < numberOfTrees; treeIndex++)
+      {
+         trees[treeIndex] = new ReferenceFrame[depth + 1];
+         trees[treeIndex][0] = ReferenceFrameTools.constructARootFrame("robot" + treeIndex);
+
+         for (int i = 1; i <= depth; i++)
+         {
+            transformsToParent[treeIndex][i] = new RigidBodyTransform();
+            trees[treeIndex][i] = ReferenceFrameTools.constructFrameWithChangingTransformToParent("frame" + i,
+                                                                                                  trees[treeIndex][i - 1],
+                                                                                                  transformsToParent[treeIndex][i]);
+         }
+      }
+
+      IntStream.range(0, numberOfTrees).parallel().forEach(treeIndex ->
+      {
+         Random treeRandom = new Random(treeIndex);
+         ReferenceFrame[] tree = trees[treeIndex];
+         RigidBodyTransform expected = new RigidBodyTransform();
+
+         for (int tick = 0; tick < 1000; tick++)
+         {
+            for (int i = 1; i <= depth; i++)
+            {
+               if (treeRandom.nextBoolean())
+               {
+                  transformsToParent[treeIndex][i].set(EuclidCoreRandomTools.nextRigidBodyTransform(treeRandom));
+                  tree[i].update();
+               }
+            }
+
+            int frameIndex = 1 + treeRandom.nextInt(depth);
+            expected.setToZero();
+            for (int i = 1; i <= frameIndex; i++)
+               expected.multiply(transformsToParent[treeIndex][i]);
+
+            EuclidCoreTestTools.assertEquals(expected, tree[frameIndex].getTransformToRoot(), 1.0e-10);
+         }
+      });
+   }
+
+   @Test
+   public void testConcurrentAccess() throws Exception
+   {
+      int depth = 4;
+      int numberOfTicks = 20000;
+      int numberOfReaders = 3;
+      AtomicLong currentTick = new AtomicLong(0);
+      AtomicLong publishedTick = new AtomicLong(0);
+
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      rootFrame.setConcurrentAccessEnabled(true);
+      assertTrue(rootFrame.isConcurrentAccessEnabled());
+
+      ReferenceFrame[] frames = new ReferenceFrame[depth + 1];
+      frames[0] = rootFrame;
+
+      for (int i = 1; i <= depth; i++)
+      {
+         int level = i;
+         frames[i] = new ReferenceFrame("frame" + i, frames[i - 1])
+         {
+            @Override
+            protected void updateTransformToParent(RigidBodyTransform transformToParent)
+            {
+               // The translation encodes the tick at each level, the leaf is also rotated by the tick.
+               long tick = currentTick.get();
+               transformToParent.getTranslation().set(tick, level * tick, level * level * tick);
+               if (level == depth)
+                  transformToParent.getRotation().setToYawOrientation(1.0e-4 * tick);
+            }
+         };
+         assertTrue(frames[i].isConcurrentAccessEnabled());
+      }
+
+      ReferenceFrame leafFrame = frames[depth];
+      List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+      Thread[] readers = new Thread[numberOfReaders];
+
+      for (int readerIndex = 0; readerIndex < numberOfReaders; readerIndex++)
+      {
+         int method = readerIndex;
+         readers[readerIndex] = new Thread(() ->
+         {
+            RigidBodyTransform transformToRoot = new RigidBodyTransform();
+            FramePoint3D point = new FramePoint3D();
+            FramePose3D pose = new FramePose3D();
+
+            try
+            {
+               while (publishedTick.get() < numberOfTicks)
+               {
+                  long lowerTick = publishedTick.get();
+
+                  if (method == 0)
+                  {
+                     leafFrame.getTransformToRoot(transformToRoot);
+                     assertTransformConsistent(transformToRoot, depth, lowerTick, currentTick.get());
+                  }
+                  else if (method == 1)
+                  {
+                     leafFrame.getTransformToDesiredFrame(transformToRoot, rootFrame);
+                     assertTransformConsistent(transformToRoot, depth, lowerTick, currentTick.get());
+                  }
+                  else
+                  { // The origin of the leaf frame expressed in the root frame is the translation of its transform to root.
+                     point.setToZero(leafFrame);
+                     point.changeFrame(rootFrame);
+                     pose.setToZero(leafFrame);
+                     pose.changeFrame(rootFrame);
+                     long upperTick = currentTick.get();
+                     assertTranslationConsistent(point, depth, lowerTick, upperTick);
+                     pose.get(transformToRoot);
+                     assertTransformConsistent(transformToRoot, depth, lowerTick, upperTick);
+                  }
+               }
+            }
+            catch (Throwable e)
+            {
+               errors.add(e);
+            }
+         });
+         readers[readerIndex].start();
+      }
+
+      for (int tick = 1; tick <= numberOfTicks; tick++)
+      {
+         currentTick.set(tick);
+         for (int i = 1; i <= depth; i++)
+            frames[i].update();
+         leafFrame.getTransformToRoot();
+         publishedTick.set(tick);
+      }
+
+      for (Thread reader : readers)
+         reader.join();
+
+      if (!errors.isEmpty())
+         throw new AssertionError(errors.get(0));
+
+      RigidBodyTransform transformToRoot = new RigidBodyTransform();
+      leafFrame.getTransformToRoot(transformToRoot);
+      assertTransformConsistent(transformToRoot, depth, numberOfTicks, numberOfTicks);
+      EuclidCoreTestTools.assertEquals(leafFrame.getTransformToRoot(), transformToRoot, 0.0);
+
+      rootFrame.setConcurrentAccessEnabled(false);
+      assertFalse(leafFrame.isConcurrentAccessEnabled());
+   }
+
+   @Test
+   public void testConcurrentReadersDoNotModifyTheTree() throws Exception
+   {
+      Random random = new Random(548);
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      rootFrame.setConcurrentAccessEnabled(true);
+      List<RigidBodyTransform> transforms = new ArrayList<>();
+      ReferenceFrame ancestor = nextChangingFrameChain("ancestor", rootFrame, 3, transforms);
+      ReferenceFrame frameA = nextChangingFrameChain("branchA", ancestor, 3, transforms);
+      ReferenceFrame frameB = nextChangingFrameChain("branchB", ancestor, 2, transforms);
+      List<ReferenceFrame> frames = ReferenceFrameTools.collectFramesInSubtree(rootFrame);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         for (RigidBodyTransform transform : transforms)
+            transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+         for (ReferenceFrame frame : frames)
+            frame.update();
+
+         if (random.nextBoolean())
+         { // The thread updating the tree brings the transforms to root up-to-date.
+            frameA.getTransformToRoot();
+            frameB.getTransformToRoot();
+         }
+
+         long[] transformToRootIDs = frames.stream().mapToLong(frame -> frame.transformToRootID).toArray();
+         RigidBodyTransform actualTransformToRoot = new RigidBodyTransform();
+         RigidBodyTransform actualTransformToDesiredFrame = new RigidBodyTransform();
+         FramePoint3D actualPoint = new FramePoint3D();
+
+         Thread reader = new Thread(() ->
+         {
+            frameA.getTransformToRoot(actualTransformToRoot);
+            frameA.getTransformToDesiredFrame(actualTransformToDesiredFrame, frameB);
+            actualPoint.setToZero(frameA);
+            actualPoint.changeFrame(frameB);
+         });
+         reader.start();
+         reader.join();
+
+         // The readers compose their own results instead of updating the transforms to root.
+         for (int frameIndex = 0; frameIndex < frames.size(); frameIndex++)
+            assertEquals(transformToRootIDs[frameIndex], frames.get(frameIndex).transformToRootID);
+
+         RigidBodyTransform expected = computeTransformToRootFromParents(frameA);
+         EuclidCoreTestTools.assertEquals(expected, actualTransformToRoot, EPSILON);
+         expected.preMultiplyInvertOther(computeTransformToRootFromParents(frameB));
+         EuclidCoreTestTools.assertEquals(expected, actualTransformToDesiredFrame, EPSILON);
+         EuclidCoreTestTools.assertEquals(expected.getTranslation(), actualPoint, EPSILON);
+      }
+   }
+
+   private static void assertTransformConsistent(RigidBodyTransform transform, int depth, long lowerTick, long upperTick)
+   {
+      double epsilon = 1.0e-7;
+      assertTrue(transform.getRotation().isRotationMatrix(epsilon), "Not a rotation matrix: " + transform);
+      assertTrue(transform.getRotation().isOrientation2D(epsilon), "Unexpected rotation: " + transform);
+      double yaw = transform.getRotation().getYaw() / 1.0e-4;
+      assertTrue(yaw >= lowerTick - epsilon && yaw <= upperTick + epsilon, "Unexpected yaw: " + transform);
+      assertTranslationConsistent(transform.getTranslation(), depth, lowerTick, upperTick);
+   }
+
+   private static void assertTranslationConsistent(Tuple3DReadOnly translation, int depth, long lowerTick, long upperTick)
+   {
+      // Each level is updated to a tick in [lowerTick, upperTick], which bounds the sums.
+      double sum1 = 0.0, sum2 = 0.0;
+      for (int level = 1; level <= depth; level++)
+      {
+         sum1 += level;
+         sum2 += level * level;
+      }
+
+      double epsilon = 1.0e-7;
+      double x = translation.getX(), y = translation.getY(), z = translation.getZ();
+      assertTrue(x >= depth * lowerTick - epsilon && x <= depth * upperTick + epsilon, "Unexpected translation: " + translation);
+      assertTrue(y >= sum1 * lowerTick - epsilon && y <= sum1 * upperTick + epsilon, "Unexpected translation: " + translation);
+      assertTrue(z >= sum2 * lowerTick - epsilon && z <= sum2 * upperTick + epsilon, "Unexpected translation: " + translation);
+   }
+
    public static void main(String[] args)
    {
       String targetTests = EuclidTestConstants.class.getName();
@@ -0,0 +1,247 @@
+package us.ihmc.euclid.referenceFrame;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import us.ihmc.euclid.referenceFrame.tools.EuclidFrameRandomTools;
+import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class ReferenceFrameTreeSnapshotTest
+{
+   private static final double EPSILON = 1.0e-12;
+
+   @Test
+   public void testPublish()
+   {
+      Random random = new Random(6723);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+         List<RigidBodyTransform> transforms = new ArrayList<>();
+         List<ReferenceFrame> frames = new ArrayList<>();
+         frames.add(rootFrame);
+         addRandomFrames(random, frames, transforms, 1 + random.nextInt(20));
+
+         ReferenceFrameTreeSnapshotPublisher publisher = new ReferenceFrameTreeSnapshotPublisher(rootFrame);
+         assertSame(rootFrame, publisher.getStartFrame());
+         assertNull(publisher.acquireLatestSnapshot());
+
+         for (int tick = 0; tick < 5; tick++)
+         {
+            if (tick == 3) // Changing the structure of the tree.
+               addRandomFrames(random, frames, transforms, 1 + random.nextInt(5));
+
+            for (RigidBodyTransform transform : transforms)
+               transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+            for (ReferenceFrame frame : frames)
+               frame.update();
+
+            publisher.publish();
+            ReferenceFrameTreeSnapshot snapshot = publisher.acquireLatestSnapshot();
+            assertEquals(tick, snapshot.getSequenceNumber());
+            assertSnapshotEquals(frames, snapshot);
+            snapshot.release();
+         }
+      }
+   }
+
+   @Test
+   public void testSnapshotsHeldByReaders()
+   {
+      Random random = new Random(6724);
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      EuclidFrameRandomTools.nextReferenceFrameTree("frame", random, rootFrame, 20);
+      ReferenceFrameTreeSnapshotPublisher publisher = new ReferenceFrameTreeSnapshotPublisher(rootFrame);
+
+      publisher.publish();
+      ReferenceFrameTreeSnapshot first = publisher.acquireLatestSnapshot();
+      RigidBodyTransform expected = new RigidBodyTransform();
+      first.getTransformToRoot(10, expected);
+
+      // The held snapshot is not modified by later publications.
+      for (int i = 0; i < 5; i++)
+      {
+         publisher.publish();
+         ReferenceFrameTreeSnapshot latest = publisher.acquireLatestSnapshot();
+         assertNotSame(first, latest);
+         assertEquals(i + 1, latest.getSequenceNumber());
+         latest.release();
+      }
+
+      RigidBodyTransform actual = new RigidBodyTransform();
+      first.getTransformToRoot(10, actual);
+      EuclidCoreTestTools.assertEquals(expected, actual, 0.0);
+      assertEquals(0, first.getSequenceNumber());
+      first.release();
+      assertThrows(IllegalStateException.class, () -> first.release());
+
+      // Once warmed up, publishing does not generate garbage.
+      ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+      threadMXBean.setThreadAllocatedMemoryEnabled(true);
+      long threadId = Thread.currentThread().getId();
+
+      for (int i = 0; i < 1000; i++)
+      {
+         publisher.publish();
+         publisher.acquireLatestSnapshot().release();
+      }
+
+      int numberOfPublications = 1000;
+      long allocatedBytesStart = threadMXBean.getThreadAllocatedBytes(threadId);
+
+      for (int i = 0; i < numberOfPublications; i++)
+      {
+         publisher.publish();
+         publisher.acquireLatestSnapshot().release();
+      }
+
+      // The JIT may still allocate occasionally, e.g. on deoptimization, so the allocations are averaged
+      // and bounded well below the size of a new snapshot per publication.
+      long allocatedBytesPerPublication = (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesStart) / numberOfPublications;
+      assertTrue(allocatedBytesPerPublication < 16, "Publishing allocated " + allocatedBytesPerPublication + " bytes per publication.");
+   }
+
+   @Test
+   public void testDispose()
+   {
+      Random random = new Random(6725);
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      List<RigidBodyTransform> transforms = new ArrayList<>();
+      List<ReferenceFrame> frames = new ArrayList<>();
+      frames.add(rootFrame);
+      addRandomFrames(random, frames, transforms, 10);
+      ReferenceFrameTreeSnapshotPublisher publisher = new ReferenceFrameTreeSnapshotPublisher(rootFrame);
+
+      publisher.publish();
+      publisher.dispose();
+      assertThrows(IllegalStateException.class, () -> publisher.publish());
+
+      // The snapshots already published are still valid, even after the tree changed.
+      addRandomFrames(random, frames, transforms, 5);
+      ReferenceFrameTreeSnapshot snapshot = publisher.acquireLatestSnapshot();
+      assertEquals(11, snapshot.getNumberOfFrames());
+      assertSnapshotEquals(frames.subList(0, 11), snapshot);
+      snapshot.release();
+   }
+
+   @Test
+   public void testConcurrentReader() throws InterruptedException
+   {
+      int depth = 10;
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      RigidBodyTransform transformToParent = new RigidBodyTransform();
+      ReferenceFrame frame = rootFrame;
+      for (int i = 0; i < depth; i++)
+         frame = ReferenceFrameTools.constructFrameWithChangingTransformToParent("frame" + i, frame, transformToParent);
+
+      ReferenceFrameTreeSnapshotPublisher publisher = new ReferenceFrameTreeSnapshotPublisher(rootFrame);
+      AtomicBoolean done = new AtomicBoolean(false);
+      AtomicReference<Throwable> readerError = new AtomicReference<>();
+
+      Thread reader = new Thread(() ->
+      {
+         RigidBodyTransform transformToRoot = new RigidBodyTransform();
+
+         try
+         {
+            while (!done.get())
+            {
+               ReferenceFrameTreeSnapshot snapshot = publisher.acquireLatestSnapshot();
+
+               if (snapshot == null)
+                  continue;
+
+               // All the frames have been translated by the tick number, the snapshot has to come from a single tick.
+               for (int i = 0; i <= depth; i++)
+               {
+                  snapshot.getTransformToRoot(i, transformToRoot);
+                  assertEquals(i * snapshot.getSequenceNumber(), transformToRoot.getTranslationX());
+               }
+               snapshot.release();
+            }
+         }
+         catch (Throwable e)
+         {
+            readerError.set(e);
+         }
+      });
+      reader.start();
+
+      for (int tick = 0; tick < 100000; tick++)
+      {
+         transformToParent.getTranslation().setX(tick);
+         for (frame = rootFrame.getChild(0); frame != null; frame = frame.getNumberOfChildren() > 0 ? frame.getChild(0) : null)
+            frame.update();
+         publisher.publish();
+      }
+
+      done.set(true);
+      reader.join();
+      assertNull(readerError.get());
+   }
+
+   private static void assertSnapshotEquals(List<ReferenceFrame> frames, ReferenceFrameTreeSnapshot snapshot)
+   {
+      assertEquals(frames.size(), snapshot.getNumberOfFrames());
+      RigidBodyTransform actual = new RigidBodyTransform();
+
+      for (ReferenceFrame frame : frames)
+      {
+         int index = snapshot.indexOf(frame.getName());
+         assertTrue(index >= 0);
+         assertEquals(frame.getName(), snapshot.getFrameName(index));
+
+         snapshot.getTransformToRoot(index, actual);
+
+         if (frame.isRootFrame())
+         {
+            assertEquals(-1, snapshot.getParentIndex(index));
+            assertFalse(actual.hasRotation() || actual.hasTranslation());
+         }
+         else
+         {
+            assertEquals(frame.getParent().getName(), snapshot.getFrameName(snapshot.getParentIndex(index)));
+            EuclidCoreTestTools.assertEquals(frame.getTransformToRoot(), actual, EPSILON);
+         }
+
+         ReferenceFrame other = frames.get(frames.size() - 1 - index);
+         snapshot.getTransformToDesiredFrame(index, snapshot.indexOf(other.getName()), actual);
+         EuclidCoreTestTools.assertEquals(frame.getTransformToDesiredFrame(other), actual, EPSILON);
+      }
+
+      assertEquals(-1, snapshot.indexOf("notAFrame"));
+      assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getFrameName(frames.size()));
+   }
+
+   private static void addRandomFrames(Random random, List<ReferenceFrame> frames, List<RigidBodyTransform> transforms, int numberOfFramesToAdd)
+   {
+      for (int i = 0; i < numberOfFramesToAdd; i++)
+      {
+         RigidBodyTransform transform = new RigidBodyTransform();
+         transforms.add(transform);
+         ReferenceFrame parent = frames.get(random.nextInt(frames.size()));
+         frames.add(ReferenceFrameTools.constructFrameWithChangingTransformToParent("frame" + frames.size(), parent, transform));
+      }
+   }
+}
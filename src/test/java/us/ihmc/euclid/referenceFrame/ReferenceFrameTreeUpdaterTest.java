@@ -0,0 +1,350 @@
+package us.ihmc.euclid.referenceFrame;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class ReferenceFrameTreeUpdaterTest
+{
+   private static final boolean VERBOSE = false;
+
+   @Test
+   public void testUpdateAll()
+   {
+      Random random = new Random(4367);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+         List<RigidBodyTransform> transforms = new ArrayList<>();
+         List<ReferenceFrame> frames = new ArrayList<>();
+         frames.add(rootFrame);
+         addRandomFrames(random, frames, transforms, 1 + random.nextInt(30));
+
+         ReferenceFrameTreeUpdater updater = new ReferenceFrameTreeUpdater(rootFrame);
+         assertEquals(frames.size(), updater.getNumberOfFrames());
+         assertBreadthFirstOrder(updater);
+
+         for (int tick = 0; tick < 5; tick++)
+         {
+            for (RigidBodyTransform transform : transforms)
+               transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+
+            updater.updateAll();
+
+            for (ReferenceFrame frame : frames)
+               assertTransformToRootEquals(frame, 1.0e-12);
+         }
+
+         // Adding frames to the tree.
+         addRandomFrames(random, frames, transforms, 1 + random.nextInt(10));
+         for (RigidBodyTransform transform : transforms)
+            transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+         updater.updateAll();
+         assertEquals(frames.size(), updater.getNumberOfFrames());
+         assertBreadthFirstOrder(updater);
+         for (ReferenceFrame frame : frames)
+            assertTransformToRootEquals(frame, 1.0e-12);
+
+         // Removing a subtree.
+         ReferenceFrame frameToRemove = frames.get(1 + random.nextInt(frames.size() - 1));
+         frameToRemove.remove();
+         frames.removeIf(frame -> frame == frameToRemove || isRemoved(frame));
+         updater.updateAll();
+         assertEquals(frames.size(), updater.getNumberOfFrames());
+         for (ReferenceFrame frame : frames)
+            assertTransformToRootEquals(frame, 1.0e-12);
+      }
+   }
+
+   @Test
+   public void testSubtree()
+   {
+      Random random = new Random(4368);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+         List<RigidBodyTransform> transforms = new ArrayList<>();
+         List<ReferenceFrame> frames = new ArrayList<>();
+         frames.add(rootFrame);
+         addRandomFrames(random, frames, transforms, 2 + random.nextInt(30));
+
+         ReferenceFrame startFrame = frames.get(1 + random.nextInt(frames.size() - 1));
+         List<ReferenceFrame> subtree = ReferenceFrameTools.collectFramesInSubtree(startFrame);
+         ReferenceFrameTreeUpdater updater = new ReferenceFrameTreeUpdater(startFrame);
+         assertEquals(subtree.size(), updater.getNumberOfFrames());
+         assertEquals(startFrame, updater.getFrame(0));
+         assertEquals(-1, updater.getParentIndex(0));
+
+         for (RigidBodyTransform transform : transforms)
+            transform.set(EuclidCoreRandomTools.nextRigidBodyTransform(random));
+
+         // Only the ancestors of the start frame that are not in the subtree have to be updated separately.
+         for (ReferenceFrame frame : frames)
+         {
+            if (!subtree.contains(frame))
+               frame.update();
+         }
+
+         updater.updateAll();
+
+         for (ReferenceFrame frame : frames)
+         {
+            if (!subtree.contains(frame)) // The other frames are lazily updated.
+               frame.getTransformToRoot();
+            assertTransformToRootEquals(frame, 1.0e-12);
+         }
+      }
+
+      ReferenceFrameTreeUpdater updater = new ReferenceFrameTreeUpdater(ReferenceFrameTools.constructARootFrame("root"));
+      assertThrows(IndexOutOfBoundsException.class, () -> updater.getFrame(1));
+      assertThrows(IndexOutOfBoundsException.class, () -> updater.getParentIndex(-1));
+   }
+
+   @Test
+   public void testDispose() throws Exception
+   {
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      ReferenceFrameTreeUpdater updater = new ReferenceFrameTreeUpdater(rootFrame);
+      WeakReference<ReferenceFrame> childFrame = new WeakReference<>(ReferenceFrameTools.constructFrameWithChangingTransformToParent("child",
+                                                                                                                                   rootFrame,
+                                                                                                                                   new RigidBodyTransform()));
+      updater.updateAll();
+      assertEquals(2, updater.getNumberOfFrames());
+
+      updater.dispose();
+      assertTrue(updater.isDisposed());
+      assertThrows(IllegalStateException.class, () -> updater.updateAll());
+      assertThrows(IllegalStateException.class, () -> updater.getNumberOfFrames());
+      updater.dispose();
+
+      // The updater no longer holds the child frame, which is only weakly referenced by its parent.
+      for (int i = 0; i < 10 && childFrame.get() != null; i++)
+      {
+         System.gc();
+         Thread.sleep(10);
+      }
+      assertNull(childFrame.get());
+
+      // Disposing an updater which start frame was removed.
+      ReferenceFrame startFrame = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("start", rootFrame, new RigidBodyTransform());
+      ReferenceFrameTreeUpdater otherUpdater = new ReferenceFrameTreeUpdater(startFrame);
+      startFrame.remove();
+      otherUpdater.dispose();
+      assertTrue(otherUpdater.isDisposed());
+   }
+
+   @Test
+   public void testBenchmark()
+   {
+      Random random = new Random(4369);
+      ReferenceFrame rootFrame = ReferenceFrameTools.constructARootFrame("root");
+      List<RigidBodyTransform> jointTransforms = new ArrayList<>();
+      List<ReferenceFrame> frames = new ArrayList<>();
+      createHumanoidTree(random, rootFrame, frames, jointTransforms);
+
+      ReferenceFrameTreeUpdater updater = new ReferenceFrameTreeUpdater(rootFrame);
+      assertEquals(200, updater.getNumberOfFrames());
+
+      int numberOfTicks = VERBOSE ? 20000 : 100;
+      long lazyTime = 0, batchedTime = 0;
+
+      for (int tick = 0; tick < numberOfTicks; tick++)
+      {
+         for (RigidBodyTransform transform : jointTransforms)
+            transform.getRotation().setToYawOrientation(EuclidCoreRandomTools.nextDouble(random, Math.PI));
+
+         long start = System.nanoTime();
+         for (int i = 0; i < frames.size(); i++)
+            frames.get(i).update();
+         for (int i = 0; i < frames.size(); i++)
+            frames.get(i).getTransformToRoot();
+         lazyTime += System.nanoTime() - start;
+
+         start = System.nanoTime();
+         updater.updateAll();
+         batchedTime += System.nanoTime() - start;
+      }
+
+      for (ReferenceFrame frame : frames)
+         assertTransformToRootEquals(frame, 1.0e-12);
+
+      if (VERBOSE)
+      {
+         System.out.println(String.format("%d frames, average time per tick in microsec:\n\t-Lazy per-frame update: %f\n\t-Batched update: %f",
+                                          frames.size() + 1,
+                                          lazyTime / 1.0e3 / numberOfTicks,
+                                          batchedTime / 1.0e3 / numberOfTicks));
+      }
+   }
+
+   /**
+    * Creates a tree of 200 frames resembling the frames of a humanoid robot: each joint has a fixed
+    * frame before the joint and a moving frame after the joint, and bodies have a few fixed frames
+    * for sensors and contact points.
+    */
+   private static void createHumanoidTree(Random random, ReferenceFrame rootFrame, List<ReferenceFrame> frames, List<RigidBodyTransform> jointTransforms)
+   {
+      ReferenceFrame pelvis = addJoint(random, "pelvis", rootFrame, frames, jointTransforms);
+      addFixedFrames(random, "pelvisImu", pelvis, 3, frames);
+
+      for (String side : new String[] {"left", "right"})
+      {
+         ReferenceFrame foot = addChain(random, side + "Leg", pelvis, 6, true, frames, jointTransforms);
+         addFixedFrames(random, side + "Sole", foot, 6, frames);
+      }
+
+      ReferenceFrame chest = addChain(random, "spine", pelvis, 3, true, frames, jointTransforms);
+      addFixedFrames(random, "chestImu", chest, 2, frames);
+      ReferenceFrame head = addChain(random, "neck", chest, 3, false, frames, jointTransforms);
+      addFixedFrames(random, "headSensor", head, 8, frames);
+
+      for (String side : new String[] {"left", "right"})
+      {
+         ReferenceFrame hand = addChain(random, side + "Arm", chest, 7, true, frames, jointTransforms);
+         addFixedFrames(random, side + "Palm", hand, 5, frames);
+
+         for (int finger = 0; finger < 5; finger++)
+         {
+            ReferenceFrame fingerTip = addChain(random, side + "Finger" + finger, hand, 3, false, frames, jointTransforms);
+            addFixedFrames(random, side + "FingerTip" + finger, fingerTip, 1, frames);
+         }
+      }
+   }
+
+   private static ReferenceFrame addChain(Random random,
+                                          String name,
+                                          ReferenceFrame parent,
+                                          int numberOfJoints,
+                                          boolean addLinkFrames,
+                                          List<ReferenceFrame> frames,
+                                          List<RigidBodyTransform> jointTransforms)
+   {
+      ReferenceFrame frame = parent;
+
+      for (int i = 0; i < numberOfJoints; i++)
+      {
+         ReferenceFrame beforeJoint = ReferenceFrameTools.constructFrameWithUnchangingTransformToParent(name + "BeforeJoint" + i,
+                                                                                                      frame,
+                                                                                                      EuclidCoreRandomTools.nextRigidBodyTransform(random));
+         frames.add(beforeJoint);
+         frame = addJoint(random, name + "AfterJoint" + i, beforeJoint, frames, jointTransforms);
+         if (addLinkFrames)
+            addFixedFrames(random, name + "Link" + i, frame, 1, frames);
+      }
+
+      return frame;
+   }
+
+   private static ReferenceFrame addJoint(Random random, String name, ReferenceFrame parent, List<ReferenceFrame> frames, List<RigidBodyTransform> jointTransforms)
+   {
+      RigidBodyTransform jointTransform = new RigidBodyTransform();
+      jointTransforms.add(jointTransform);
+      ReferenceFrame afterJoint = ReferenceFrameTools.constructFrameWithChangingTransformToParent(name, parent, jointTransform);
+      frames.add(afterJoint);
+      return afterJoint;
+   }
+
+   private static void addFixedFrames(Random random, String name, ReferenceFrame parent, int numberOfFrames, List<ReferenceFrame> frames)
+   {
+      for (int i = 0; i < numberOfFrames; i++)
+      {
+         frames.add(ReferenceFrameTools.constructFrameWithUnchangingTransformToParent(name + i, parent, EuclidCoreRandomTools.nextRigidBodyTransform(random)));
+      }
+   }
+
+   private static void addRandomFrames(Random random, List<ReferenceFrame> frames, List<RigidBodyTransform> transforms, int numberOfFramesToAdd)
+   {
+      for (int i = 0; i < numberOfFramesToAdd; i++)
+      {
+         ReferenceFrame parent = frames.get(random.nextInt(frames.size()));
+
+         if (random.nextBoolean())
+         {
+            RigidBodyTransform transform = new RigidBodyTransform();
+            transforms.add(transform);
+            frames.add(ReferenceFrameTools.constructFrameWithChangingTransformToParent("moving" + frames.size(), parent, transform));
+         }
+         else
+         {
+            frames.add(ReferenceFrameTools.constructFrameWithUnchangingTransformToParent("fixed" + frames.size(),
+                                                                                       parent,
+                                                                                       EuclidCoreRandomTools.nextRigidBodyTransform(random)));
+         }
+      }
+   }
+
+   private static void assertBreadthFirstOrder(ReferenceFrameTreeUpdater updater)
+   {
+      Set<ReferenceFrame> visitedFrames = new HashSet<>();
+
+      for (int i = 0; i < updater.getNumberOfFrames(); i++)
+      {
+         ReferenceFrame frame = updater.getFrame(i);
+         assertTrue(visitedFrames.add(frame));
+
+         if (i == 0)
+         {
+            assertEquals(-1, updater.getParentIndex(i));
+         }
+         else
+         {
+            int parentIndex = updater.getParentIndex(i);
+            assertTrue(parentIndex < i);
+            assertEquals(frame.getParent(), updater.getFrame(parentIndex));
+         }
+      }
+   }
+
+   private static void assertTransformToRootEquals(ReferenceFrame frame, double epsilon)
+   {
+      RigidBodyTransform expected = new RigidBodyTransform();
+
+      for (ReferenceFrame frameInPath : frame.getFramesStartingWithRootEndingWithThis())
+      {
+         if (!frameInPath.isRootFrame())
+            expected.multiply(frameInPath.getTransformToParent());
+      }
+
+      // The transform has to be up-to-date, such that the query below does not recompute it.
+      long updateId = frame.transformToRootID;
+      frame.getTransformToRoot();
+      assertEquals(updateId, frame.transformToRootID);
+
+      if (frame.isRootFrame())
+         assertNull(frame.getTransformToRoot());
+      else
+         EuclidCoreTestTools.assertEquals(expected, frame.getTransformToRoot(), epsilon);
+   }
+
+   private static boolean isRemoved(ReferenceFrame frame)
+   {
+      try
+      {
+         frame.getName();
+         frame.getFramesStartingWithRootEndingWithThis();
+         return false;
+      }
+      catch (RuntimeException e)
+      {
+         return true;
+      }
+   }
+}
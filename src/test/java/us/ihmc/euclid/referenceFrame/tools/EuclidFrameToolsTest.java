@@ -1,6 +1,9 @@
 package us.ihmc.euclid.referenceFrame.tools;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
 
@@ -17,16 +20,21 @@ import us.ihmc.euclid.axisAngle.interfaces.AxisAngleBasics;
 import us.ihmc.euclid.geometry.tools.EuclidGeometryTools;
 import us.ihmc.euclid.referenceFrame.FramePoint2D;
 import us.ihmc.euclid.referenceFrame.FramePoint3D;
+import us.ihmc.euclid.referenceFrame.FrameTransformHandle;
+import us.ihmc.euclid.referenceFrame.FrameVector3D;
 import us.ihmc.euclid.referenceFrame.ReferenceFrame;
 import us.ihmc.euclid.referenceFrame.api.EuclidFrameAPIDefaultConfiguration;
 import us.ihmc.euclid.referenceFrame.api.EuclidFrameAPITester;
 import us.ihmc.euclid.referenceFrame.api.MethodSignature;
 import us.ihmc.euclid.referenceFrame.exceptions.ReferenceFrameMismatchException;
+import us.ihmc.euclid.referenceFrame.interfaces.FrameTuple3DBasics;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
 import us.ihmc.euclid.tools.EuclidCoreTestTools;
 import us.ihmc.euclid.tuple2D.Point2D;
 import us.ihmc.euclid.tuple2D.interfaces.Point2DBasics;
 import us.ihmc.euclid.tuple2D.interfaces.Point2DReadOnly;
 import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
 import us.ihmc.euclid.tuple3D.interfaces.Point3DBasics;
 import us.ihmc.euclid.tuple3D.interfaces.Point3DReadOnly;
 import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
@@ -193,4 +201,137 @@ public class EuclidFrameToolsTest
          EuclidCoreTestTools.assertEquals(expected, actual, EPSILON);
       }
    }
+
+   @Test
+   public void testChangeFrameOfFrameTuple3Ds() throws Exception
+   {
+      Random random = new Random(3246);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree(random);
+         ReferenceFrame initialFrame = frames[random.nextInt(frames.length)];
+         ReferenceFrame desiredFrame = frames[random.nextInt(frames.length)];
+         // Going over the threshold once in a while to test the parallel path.
+         int size = i % 20 == 0 ? EuclidFrameTools.PARALLEL_CHANGE_FRAME_THRESHOLD + random.nextInt(100) : random.nextInt(50);
+
+         List<FrameTuple3DBasics> expected = new ArrayList<>();
+         List<FrameTuple3DBasics> actual = new ArrayList<>();
+
+         for (int j = 0; j < size; j++)
+         {
+            if (random.nextBoolean())
+            {
+               FramePoint3D point = EuclidFrameRandomTools.nextFramePoint3D(random, initialFrame);
+               actual.add(point);
+               point = new FramePoint3D(point);
+               point.changeFrame(desiredFrame);
+               expected.add(point);
+            }
+            else
+            {
+               FrameVector3D vector = EuclidFrameRandomTools.nextFrameVector3D(random, initialFrame);
+               actual.add(vector);
+               vector = new FrameVector3D(vector);
+               vector.changeFrame(desiredFrame);
+               expected.add(vector);
+            }
+         }
+
+         switch (i % 3)
+         {
+            case 0:
+               EuclidFrameTools.changeFrame(actual, desiredFrame);
+               break;
+            case 1:
+               EuclidFrameTools.changeFrame(actual.toArray(new FrameTuple3DBasics[size]), desiredFrame);
+               break;
+            default:
+               EuclidFrameTools.changeFrame(actual, new FrameTransformHandle(initialFrame, desiredFrame));
+               break;
+         }
+
+         for (int j = 0; j < size; j++)
+         {
+            assertSame(desiredFrame, actual.get(j).getReferenceFrame());
+            EuclidCoreTestTools.assertEquals(expected.get(j), actual.get(j), EPSILON);
+         }
+      }
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // The frames are all checked before any tuple is modified.
+         ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree(random);
+         ReferenceFrame initialFrame = frames[random.nextInt(frames.length)];
+         ReferenceFrame otherFrame = EuclidFrameRandomTools.nextReferenceFrame("other", random, initialFrame);
+         ReferenceFrame desiredFrame = frames[random.nextInt(frames.length)];
+
+         List<FramePoint3D> points = new ArrayList<>();
+         for (int j = 0; j < 10; j++)
+            points.add(EuclidFrameRandomTools.nextFramePoint3D(random, initialFrame));
+         points.add(EuclidFrameRandomTools.nextFramePoint3D(random, otherFrame));
+
+         assertThrows(ReferenceFrameMismatchException.class, () -> EuclidFrameTools.changeFrame(points, desiredFrame));
+         for (int j = 0; j < 10; j++)
+            assertSame(initialFrame, points.get(j).getReferenceFrame());
+      }
+   }
+
+   @Test
+   public void testChangeFrameOfPackedTuple3Ds() throws Exception
+   {
+      Random random = new Random(3247);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         ReferenceFrame[] frames = EuclidFrameRandomTools.nextReferenceFrameTree(random);
+         ReferenceFrame initialFrame = frames[random.nextInt(frames.length)];
+         ReferenceFrame desiredFrame = frames[random.nextInt(frames.length)];
+         int size = i % 20 == 0 ? EuclidFrameTools.PARALLEL_CHANGE_FRAME_THRESHOLD + random.nextInt(100) : random.nextInt(50);
+         int startIndex = random.nextInt(10);
+
+         double[] packedPoints = new double[startIndex + 3 * size + random.nextInt(10)];
+         double[] packedVectors = new double[packedPoints.length];
+         for (int j = 0; j < packedPoints.length; j++)
+         {
+            packedPoints[j] = EuclidCoreRandomTools.nextDouble(random, 10.0);
+            packedVectors[j] = EuclidCoreRandomTools.nextDouble(random, 10.0);
+         }
+         double[] initialPoints = packedPoints.clone();
+         double[] initialVectors = packedVectors.clone();
+
+         EuclidFrameTools.changeFrameOfPackedPoint3Ds(packedPoints, startIndex, size, initialFrame, desiredFrame);
+         EuclidFrameTools.changeFrameOfPackedVector3Ds(packedVectors, startIndex, size, initialFrame, desiredFrame);
+
+         for (int j = 0; j < packedPoints.length; j++)
+         {
+            if (j < startIndex || j >= startIndex + 3 * size)
+            { // The rest of the buffer is not modified.
+               assertEquals(initialPoints[j], packedPoints[j]);
+               assertEquals(initialVectors[j], packedVectors[j]);
+            }
+         }
+
+         for (int j = 0; j < size; j++)
+         {
+            int index = startIndex + 3 * j;
+            FramePoint3D expectedPoint = new FramePoint3D(initialFrame, initialPoints[index], initialPoints[index + 1], initialPoints[index + 2]);
+            FrameVector3D expectedVector = new FrameVector3D(initialFrame, initialVectors[index], initialVectors[index + 1], initialVectors[index + 2]);
+            expectedPoint.changeFrame(desiredFrame);
+            expectedVector.changeFrame(desiredFrame);
+            EuclidCoreTestTools.assertEquals(new Point3D(expectedPoint), new Point3D(packedPoints[index], packedPoints[index + 1], packedPoints[index + 2]), EPSILON);
+            EuclidCoreTestTools.assertEquals(new Vector3D(expectedVector), new Vector3D(packedVectors[index], packedVectors[index + 1], packedVectors[index + 2]), EPSILON);
+         }
+
+         assertThrows(IndexOutOfBoundsException.class,
+                      () -> EuclidFrameTools.changeFrameOfPackedPoint3Ds(packedPoints, packedPoints.length - 2, 1, initialFrame, desiredFrame));
+         assertThrows(IndexOutOfBoundsException.class, () -> EuclidFrameTools.changeFrameOfPackedPoint3Ds(packedPoints, -1, 0, initialFrame, desiredFrame));
+         assertThrows(IndexOutOfBoundsException.class,
+                      () -> EuclidFrameTools.changeFrameOfPackedVector3Ds(packedVectors, packedVectors.length + 1, 0, initialFrame, desiredFrame));
+         // The number of coordinates overflows an int, the buffer should be left untouched.
+         double[] vectorsBeforeOverflow = packedVectors.clone();
+         assertThrows(IndexOutOfBoundsException.class,
+                      () -> EuclidFrameTools.changeFrameOfPackedVector3Ds(packedVectors, startIndex, Integer.MAX_VALUE / 3 + 1, initialFrame, desiredFrame));
+         assertArrayEquals(vectorsBeforeOverflow, packedVectors);
+      }
+   }
 }
@@ -0,0 +1,148 @@
+package us.ihmc.euclid.shape.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.shape.collision.broadPhase.SweepAndPrune3D;
+import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
+import us.ihmc.euclid.shape.tools.EuclidShapeRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class BatchCollisionDetectorTest
+{
+   private static final boolean VERBOSE = false;
+
+   @Test
+   public void testEvaluateCollisions()
+   {
+      Random random = new Random(8734);
+      ForkJoinPool pool = new ForkJoinPool(4);
+      ForkJoinPool singleWorkerPool = new ForkJoinPool(1);
+
+      try
+      {
+         for (BatchCollisionDetector batchDetector : new BatchCollisionDetector[] {new BatchCollisionDetector(),
+               new BatchCollisionDetector(pool), new BatchCollisionDetector(singleWorkerPool)})
+         {
+            for (int iteration = 0; iteration < 10; iteration++)
+            {
+               int numberOfPairs = random.nextInt(2000);
+               batchDetector.setChunkSize(1 + random.nextInt(32));
+               batchDetector.clear();
+
+               for (int i = 0; i < numberOfPairs; i++)
+                  batchDetector.addPair(EuclidShapeRandomTools.nextConvexShape3D(random), EuclidShapeRandomTools.nextConvexShape3D(random));
+
+               assertEquals(numberOfPairs, batchDetector.getNumberOfPairs());
+               EuclidShape3DCollisionResult[] results = new EuclidShape3DCollisionResult[numberOfPairs + random.nextInt(10)];
+               for (int i = 0; i < results.length; i++)
+                  results[i] = new EuclidShape3DCollisionResult();
+
+               batchDetector.evaluateCollisions(results);
+
+               ExpandingPolytopeAlgorithm sequentialDetector = new ExpandingPolytopeAlgorithm();
+               EuclidShape3DCollisionResult expected = new EuclidShape3DCollisionResult();
+
+               for (int i = 0; i < numberOfPairs; i++)
+               {
+                  sequentialDetector.evaluateCollision(batchDetector.getShapeA(i), batchDetector.getShapeB(i), expected);
+                  assertEquals(expected, results[i]);
+                  assertSame(batchDetector.getShapeA(i), results[i].getShapeA());
+                  assertSame(batchDetector.getShapeB(i), results[i].getShapeB());
+               }
+
+               for (int i = numberOfPairs; i < results.length; i++)
+                  assertEquals(new EuclidShape3DCollisionResult(), results[i]);
+            }
+         }
+      }
+      finally
+      {
+         pool.shutdown();
+         singleWorkerPool.shutdown();
+      }
+
+      BatchCollisionDetector batchDetector = new BatchCollisionDetector();
+      batchDetector.addPair(EuclidShapeRandomTools.nextConvexShape3D(random), EuclidShapeRandomTools.nextConvexShape3D(random));
+      assertThrows(IllegalArgumentException.class, () -> batchDetector.evaluateCollisions(new EuclidShape3DCollisionResult[0]));
+      assertThrows(IllegalArgumentException.class, () -> batchDetector.setChunkSize(0));
+      assertThrows(IndexOutOfBoundsException.class, () -> batchDetector.getShapeA(1));
+      assertThrows(IndexOutOfBoundsException.class, () -> batchDetector.getShapeB(-1));
+   }
+
+   @Test
+   public void testScalability()
+   {
+      Random random = new Random(8735);
+      int numberOfShapes = 1000;
+      List<Shape3DBasics> shapes = new ArrayList<>();
+      SweepAndPrune3D broadPhase = new SweepAndPrune3D();
+
+      for (int i = 0; i < numberOfShapes; i++)
+      {
+         Shape3DBasics shape = EuclidShapeRandomTools.nextConvexShape3D(random);
+         shape.applyTransform(new RigidBodyTransform(EuclidCoreRandomTools.nextQuaternion(random), EuclidCoreRandomTools.nextVector3D(random, 12.0)));
+         shapes.add(shape);
+         broadPhase.add(shape);
+      }
+
+      broadPhase.update();
+
+      ForkJoinPool singleWorkerPool = new ForkJoinPool(1);
+      BatchCollisionDetector sequentialDetector = new BatchCollisionDetector(singleWorkerPool);
+      BatchCollisionDetector parallelDetector = new BatchCollisionDetector();
+      broadPhase.findOverlappingPairs(sequentialDetector::addPair);
+      broadPhase.findOverlappingPairs(parallelDetector::addPair);
+
+      EuclidShape3DCollisionResult[] sequentialResults = new EuclidShape3DCollisionResult[broadPhase.getNumberOfOverlappingPairs()];
+      EuclidShape3DCollisionResult[] parallelResults = new EuclidShape3DCollisionResult[broadPhase.getNumberOfOverlappingPairs()];
+      for (int i = 0; i < sequentialResults.length; i++)
+      {
+         sequentialResults[i] = new EuclidShape3DCollisionResult();
+         parallelResults[i] = new EuclidShape3DCollisionResult();
+      }
+
+      int numberOfEvaluations = 10;
+      long sequentialTime = 0, parallelTime = 0;
+
+      try
+      {
+         for (int i = 0; i < numberOfEvaluations; i++)
+         {
+            long start = System.nanoTime();
+            sequentialDetector.evaluateCollisions(sequentialResults);
+            sequentialTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            parallelDetector.evaluateCollisions(parallelResults);
+            parallelTime += System.nanoTime() - start;
+
+            for (int j = 0; j < sequentialResults.length; j++)
+               assertEquals(sequentialResults[j], parallelResults[j]);
+         }
+      }
+      finally
+      {
+         singleWorkerPool.shutdown();
+      }
+
+      if (VERBOSE)
+      {
+         System.out.println(String.format("%d pairs, average time in millisec:\n\t-Sequential: %f\n\t-Parallel (%d workers): %f",
+                                          sequentialResults.length,
+                                          sequentialTime / 1.0e6 / numberOfEvaluations,
+                                          parallelDetector.getNumberOfWorkers(),
+                                          parallelTime / 1.0e6 / numberOfEvaluations));
+      }
+   }
+}
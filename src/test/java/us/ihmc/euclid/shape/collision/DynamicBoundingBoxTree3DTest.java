@@ -0,0 +1,229 @@
+package us.ihmc.euclid.shape.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.geometry.BoundingBox3D;
+import us.ihmc.euclid.geometry.interfaces.BoundingBox3DReadOnly;
+import us.ihmc.euclid.geometry.tools.EuclidGeometryRandomTools;
+import us.ihmc.euclid.shape.collision.broadPhase.DynamicBoundingBoxTree3D;
+import us.ihmc.euclid.shape.primitives.Box3D;
+import us.ihmc.euclid.shape.primitives.Sphere3D;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.shape.tools.EuclidShapeRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class DynamicBoundingBoxTree3DTest
+{
+   private static final int ITERATIONS = 20;
+
+   @Test
+   public void testFindOverlappingPairs()
+   {
+      Random random = new Random(4362);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         DynamicBoundingBoxTree3D tree = new DynamicBoundingBoxTree3D(random.nextDouble() * 0.2);
+         List<Shape3DBasics> shapes = nextShapes(random, 100, 10.0);
+
+         for (Shape3DBasics shape : shapes)
+            assertTrue(tree.add(shape));
+         assertFalse(tree.add(shapes.get(0)));
+         assertEquals(shapes.size(), tree.size());
+
+         assertPairsEqual(bruteForcePairs(shapes), findPairs(tree));
+
+         for (int tick = 0; tick < 10; tick++)
+         { // Moving a subset of the shapes around.
+            for (Shape3DBasics shape : shapes)
+            {
+               if (random.nextBoolean())
+                  shape.applyTransform(new RigidBodyTransform(EuclidCoreRandomTools.nextQuaternion(random, 0.1),
+                                                              EuclidCoreRandomTools.nextVector3D(random, 0.5)));
+            }
+
+            tree.update();
+            assertPairsEqual(bruteForcePairs(shapes), findPairs(tree));
+         }
+
+         for (int j = 0; j < 30; j++)
+         {
+            Shape3DBasics removed = shapes.remove(random.nextInt(shapes.size()));
+            assertTrue(tree.remove(removed));
+            assertFalse(tree.remove(removed));
+            assertFalse(tree.contains(removed));
+            assertNull(tree.getFatBoundingBox(removed));
+         }
+
+         assertEquals(shapes.size(), tree.size());
+         assertPairsEqual(bruteForcePairs(shapes), findPairs(tree));
+
+         tree.clear();
+         assertEquals(0, tree.size());
+         assertEquals(-1, tree.getHeight());
+         assertEquals(0, findPairs(tree).size());
+      }
+   }
+
+   @Test
+   public void testFindOverlappingShapes()
+   {
+      Random random = new Random(4363);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         DynamicBoundingBoxTree3D tree = new DynamicBoundingBoxTree3D();
+         List<Shape3DBasics> shapes = nextShapes(random, 100, 10.0);
+         shapes.forEach(tree::add);
+
+         BoundingBox3D query = EuclidGeometryRandomTools.nextBoundingBox3D(random, 10.0, 5.0);
+         Set<Shape3DReadOnly> expected = new HashSet<>();
+         BoundingBox3D shapeBoundingBox = new BoundingBox3D();
+
+         for (Shape3DBasics shape : shapes)
+         {
+            shape.getBoundingBox(shapeBoundingBox);
+            if (shapeBoundingBox.intersectsInclusive(query))
+               expected.add(shape);
+         }
+
+         Set<Shape3DReadOnly> actual = new HashSet<>();
+         int numberOfShapes = tree.findOverlappingShapes(query, actual::add);
+         assertEquals(expected.size(), numberOfShapes);
+         assertEquals(expected, actual);
+      }
+   }
+
+   @Test
+   public void testChangeListener()
+   {
+      DynamicBoundingBoxTree3D tree = new DynamicBoundingBoxTree3D(0.1);
+      Box3D box = new Box3D(1.0, 1.0, 1.0);
+      Sphere3D sphere = new Sphere3D(0.5);
+      sphere.getPosition().set(3.0, 0.0, 0.0);
+
+      tree.add(box);
+      tree.add(sphere);
+      assertEquals(0, findPairs(tree).size());
+
+      // Nothing moved, the box is not re-evaluated and the sphere remains in its leaf.
+      assertEquals(0, tree.update());
+
+      // Small motion, the box stays within its fat bounding box.
+      box.getPose().getTranslation().addX(0.05);
+      assertEquals(0, tree.update());
+      assertEquals(0.05 + 0.5, box.getBoundingBox().getMaxX(), 1.0e-12);
+
+      // Large motion, the box is re-inserted thanks to the notification.
+      box.getPose().getTranslation().setX(2.5);
+      assertEquals(1, tree.update());
+      List<Shape3DReadOnly[]> pairs = findPairs(tree);
+      assertEquals(1, pairs.size());
+      assertTrue(pairs.get(0)[0] == box && pairs.get(0)[1] == sphere);
+
+      // Once removed, the box should not notify the tree anymore.
+      tree.remove(box);
+      box.getPose().getTranslation().setX(10.0);
+      assertEquals(0, tree.update());
+
+      // The sphere does not notify changes and is re-evaluated at every update.
+      sphere.getPosition().setX(20.0);
+      assertEquals(1, tree.update());
+      assertTrue(tree.getFatBoundingBox(sphere).isInsideInclusive(sphere.getPosition()));
+
+      assertThrows(IllegalArgumentException.class, () -> tree.update(box));
+      assertThrows(IllegalArgumentException.class, () -> new DynamicBoundingBoxTree3D(-1.0));
+   }
+
+   @Test
+   public void testTreeHeight()
+   {
+      Random random = new Random(4364);
+      DynamicBoundingBoxTree3D tree = new DynamicBoundingBoxTree3D();
+      int numberOfShapes = 1000;
+
+      for (Shape3DBasics shape : nextShapes(random, numberOfShapes, 50.0))
+         tree.add(shape);
+
+      // A balanced binary tree has a height of log2(n), the AVL-like balancing guarantees at most 1.44 * log2(n).
+      double log2 = Math.log(numberOfShapes) / Math.log(2.0);
+      assertTrue(tree.getHeight() <= 1.45 * log2 + 1, "Height: " + tree.getHeight());
+
+      // Inserting shapes along a line is the worst case for an unbalanced tree.
+      tree.clear();
+
+      for (int i = 0; i < numberOfShapes; i++)
+      {
+         Sphere3D sphere = new Sphere3D(0.1);
+         sphere.getPosition().setX(i);
+         tree.add(sphere);
+      }
+
+      assertTrue(tree.getHeight() <= 1.45 * log2 + 1, "Height: " + tree.getHeight());
+   }
+
+   private static List<Shape3DBasics> nextShapes(Random random, int numberOfShapes, double spread)
+   {
+      List<Shape3DBasics> shapes = new ArrayList<>();
+
+      for (int i = 0; i < numberOfShapes; i++)
+      {
+         Shape3DBasics shape = EuclidShapeRandomTools.nextShape3D(random);
+         shape.applyTransform(new RigidBodyTransform(EuclidCoreRandomTools.nextQuaternion(random), EuclidCoreRandomTools.nextVector3D(random, spread)));
+         shapes.add(shape);
+      }
+
+      return shapes;
+   }
+
+   private static List<Shape3DReadOnly[]> findPairs(DynamicBoundingBoxTree3D tree)
+   {
+      List<Shape3DReadOnly[]> pairs = new ArrayList<>();
+      int numberOfPairs = tree.findOverlappingPairs((a, b) -> pairs.add(new Shape3DReadOnly[] {a, b}));
+      assertEquals(pairs.size(), numberOfPairs);
+      return pairs;
+   }
+
+   private static List<Shape3DReadOnly[]> bruteForcePairs(List<? extends Shape3DReadOnly> shapes)
+   {
+      List<Shape3DReadOnly[]> pairs = new ArrayList<>();
+
+      for (int i = 0; i < shapes.size(); i++)
+      {
+         BoundingBox3DReadOnly boundingBoxA = shapes.get(i).getBoundingBox();
+
+         for (int j = i + 1; j < shapes.size(); j++)
+         {
+            if (boundingBoxA.intersectsInclusive(shapes.get(j).getBoundingBox()))
+               pairs.add(new Shape3DReadOnly[] {shapes.get(i), shapes.get(j)});
+         }
+      }
+
+      return pairs;
+   }
+
+   private static void assertPairsEqual(List<Shape3DReadOnly[]> expected, List<Shape3DReadOnly[]> actual)
+   {
+      assertEquals(expected.size(), actual.size());
+
+      for (Shape3DReadOnly[] expectedPair : expected)
+      {
+         assertTrue(actual.stream().anyMatch(pair -> pair[0] == expectedPair[0] && pair[1] == expectedPair[1]
+               || pair[0] == expectedPair[1] && pair[1] == expectedPair[0]));
+      }
+   }
+}
@@ -1,5 +1,9 @@
 package us.ihmc.euclid.shape.collision;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
 
 import java.util.ArrayList;
@@ -14,6 +18,7 @@ import us.ihmc.euclid.geometry.Bound;
 import us.ihmc.euclid.geometry.Plane3D;
 import us.ihmc.euclid.geometry.tools.EuclidGeometryRandomTools;
 import us.ihmc.euclid.geometry.tools.EuclidGeometryTools;
+import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
 import us.ihmc.euclid.shape.primitives.Box3D;
 import us.ihmc.euclid.shape.primitives.Capsule3D;
 import us.ihmc.euclid.shape.primitives.Cylinder3D;
@@ -29,7 +34,9 @@ import us.ihmc.euclid.shape.tools.EuclidEllipsoid3DTools;
 import us.ihmc.euclid.shape.tools.EuclidShapeRandomTools;
 import us.ihmc.euclid.shape.tools.EuclidShapeTestTools;
 import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
 import us.ihmc.euclid.tools.EuclidCoreTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
 import us.ihmc.euclid.tuple3D.Point3D;
 import us.ihmc.euclid.tuple3D.Vector3D;
 import us.ihmc.euclid.tuple3D.interfaces.Point3DBasics;
@@ -1417,6 +1424,379 @@ public class EuclidShapeCollisionToolsTest
       }
    }
 
+   @Test
+   public void testBox3DBox3D() throws Exception
+   {
+      Random random = new Random(34637);
+      ExpandingPolytopeAlgorithm epaDetector = new ExpandingPolytopeAlgorithm();
+      int numberOfCollisions = 0;
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         Box3D boxA = EuclidShapeRandomTools.nextBox3D(random, 0.1, 1.0);
+         Box3D boxB = EuclidShapeRandomTools.nextBox3D(random, 0.1, 1.0);
+
+         EuclidShape3DCollisionResult expected = new EuclidShape3DCollisionResult();
+         epaDetector.evaluateCollision(boxA, boxB, expected);
+         EuclidShape3DCollisionResult actual = new EuclidShape3DCollisionResult();
+         EuclidShape3DContactManifold manifold = new EuclidShape3DContactManifold();
+         EuclidShapeCollisionTools.evaluateBox3DBox3DCollision(boxA, boxB, actual, manifold);
+
+         String message = "Iteration: " + i + "\n" + actual;
+         assertEquals(expected.areShapesColliding(), actual.areShapesColliding(), message);
+         assertEquals(expected.getSignedDistance(), actual.getSignedDistance(), 1.0e-8, message);
+         assertSame(boxA, actual.getShapeA());
+         assertSame(boxB, actual.getShapeB());
+         assertEquals(0.0, boxA.signedDistance(actual.getPointOnA()), EPSILON, message);
+         assertEquals(0.0, boxB.signedDistance(actual.getPointOnB()), EPSILON, message);
+         assertEquals(1.0, actual.getNormalOnA().norm(), EPSILON, message);
+         EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, actual.getNormalOnA(), negate(actual.getNormalOnB()), EPSILON);
+
+         if (!actual.areShapesColliding())
+         { // The closest points are unique for random boxes.
+            EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expected.getPointOnA(), actual.getPointOnA(), 1.0e-6);
+            EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expected.getPointOnB(), actual.getPointOnB(), 1.0e-6);
+            Vector3D expectedNormal = new Vector3D();
+            expectedNormal.sub(actual.getPointOnB(), actual.getPointOnA());
+            expectedNormal.normalize();
+            EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, expectedNormal, actual.getNormalOnA(), EPSILON);
+            assertEquals(0, manifold.getNumberOfContacts());
+            continue;
+         }
+
+         numberOfCollisions++;
+         // Moving B along the normal by the penetration depth should bring the boxes in contact.
+         Box3D movedBoxB = new Box3D(boxB);
+         movedBoxB.getPose().prependTranslation(actual.getNormalOnA().getX() * (actual.getDistance() + 1.0e-6),
+                                                actual.getNormalOnA().getY() * (actual.getDistance() + 1.0e-6),
+                                                actual.getNormalOnA().getZ() * (actual.getDistance() + 1.0e-6));
+         EuclidShape3DCollisionResult movedResult = new EuclidShape3DCollisionResult();
+         EuclidShapeCollisionTools.evaluateBox3DBox3DCollision(boxA, movedBoxB, movedResult);
+         assertFalse(movedResult.areShapesColliding(), message);
+         assertEquals(1.0e-6, movedResult.getSignedDistance(), 1.0e-7, message);
+
+         // Checking the contact manifold.
+         assertTrue(manifold.getNumberOfContacts() > 0, message);
+         assertSame(boxA, manifold.getShapeA());
+         assertSame(boxB, manifold.getShapeB());
+         EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, actual.getNormalOnA(), manifold.getNormal(), EPSILON);
+         double maxDepth = 0.0;
+
+         for (int j = 0; j < manifold.getNumberOfContacts(); j++)
+         {
+            Point3DReadOnly pointOnA = manifold.getPointOnA(j);
+            Point3DReadOnly pointOnB = manifold.getPointOnB(j);
+            double depth = manifold.getPenetrationDepth(j);
+            assertEquals(0.0, boxA.signedDistance(pointOnA), EPSILON, message);
+            assertEquals(0.0, boxB.signedDistance(pointOnB), EPSILON, message);
+            assertTrue(depth >= 0.0 && depth <= actual.getDistance() + EPSILON, message);
+            Point3D expectedPointOnA = new Point3D();
+            expectedPointOnA.scaleAdd(depth, manifold.getNormal(), pointOnB);
+            EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expectedPointOnA, pointOnA, EPSILON);
+            maxDepth = Math.max(maxDepth, depth);
+
+            for (int k = 0; k < j; k++)
+               assertTrue(pointOnA.distance(manifold.getPointOnA(k)) > 1.0e-10, message);
+         }
+
+         assertEquals(maxDepth, actual.getPointOnA().distance(actual.getPointOnB()), EPSILON, message);
+      }
+
+      assertTrue(numberOfCollisions > ITERATIONS / 10, "Number of collisions: " + numberOfCollisions);
+   }
+
+   private static Vector3D negate(Vector3DReadOnly vector)
+   {
+      Vector3D negated = new Vector3D(vector);
+      negated.negate();
+      return negated;
+   }
+
+   @Test
+   public void testBox3DBox3DContactManifold() throws Exception
+   {
+      Random random = new Random(34638);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // A small box lying on the top face of a larger box, yawed and slightly sunk: 4 contacts.
+         Box3D boxA = new Box3D(2.0, 2.0, 1.0);
+         Box3D boxB = new Box3D(0.5, 0.3, 0.2);
+         double depth = EuclidCoreRandomTools.nextDouble(random, 0.0, 0.05);
+         boxB.getPose().appendYawRotation(EuclidCoreRandomTools.nextDouble(random, Math.PI));
+         boxB.getPose().getTranslation().set(EuclidCoreRandomTools.nextDouble(random, 0.5),
+                                             EuclidCoreRandomTools.nextDouble(random, 0.5),
+                                             0.5 + 0.1 - depth);
+         RigidBodyTransform transform = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+         boxA.applyTransform(transform);
+         boxB.applyTransform(transform);
+
+         EuclidShape3DCollisionResult result = new EuclidShape3DCollisionResult();
+         EuclidShape3DContactManifold manifold = new EuclidShape3DContactManifold();
+         EuclidShapeCollisionTools.evaluateBox3DBox3DCollision(boxA, boxB, result, manifold);
+
+         String message = "Iteration: " + i + "\n" + manifold;
+         assertEquals(-depth, result.getSignedDistance(), EPSILON, message);
+         Vector3D expectedNormal = new Vector3D(Axis3D.Z);
+         transform.transform(expectedNormal);
+         EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, expectedNormal, result.getNormalOnA(), EPSILON);
+         assertEquals(4, manifold.getNumberOfContacts(), message);
+
+         for (int j = 0; j < 4; j++)
+         {
+            assertEquals(depth, manifold.getPenetrationDepth(j), EPSILON, message);
+            // The contacts are the bottom vertices of the small box.
+            Point3D pointOnB = new Point3D(manifold.getPointOnB(j));
+            boxB.getPose().inverseTransform(pointOnB);
+            assertEquals(0.25, Math.abs(pointOnB.getX()), EPSILON, message);
+            assertEquals(0.15, Math.abs(pointOnB.getY()), EPSILON, message);
+            assertEquals(-0.1, pointOnB.getZ(), EPSILON, message);
+         }
+      }
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // Two identical boxes, one on top of the other and shifted along x: the contact area is a rectangle.
+         double sizeX = EuclidCoreRandomTools.nextDouble(random, 0.1, 1.0);
+         double sizeY = EuclidCoreRandomTools.nextDouble(random, 0.1, 1.0);
+         double sizeZ = EuclidCoreRandomTools.nextDouble(random, 0.1, 1.0);
+         double shift = EuclidCoreRandomTools.nextDouble(random, 0.0, 0.9 * sizeX);
+         // Keeping the depth smaller than the other overlaps so the contact normal is along z.
+         double depth = EuclidCoreRandomTools.nextDouble(random, 0.001, 0.5) * EuclidCoreTools.min(sizeX - shift, sizeY, sizeZ);
+         Box3D boxA = new Box3D(sizeX, sizeY, sizeZ);
+         Box3D boxB = new Box3D(sizeX, sizeY, sizeZ);
+         boxB.getPose().getTranslation().set(shift, 0.0, sizeZ - depth);
+         RigidBodyTransform transform = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+         boxA.applyTransform(transform);
+         boxB.applyTransform(transform);
+
+         EuclidShape3DCollisionResult result = new EuclidShape3DCollisionResult();
+         EuclidShape3DContactManifold manifold = new EuclidShape3DContactManifold();
+         EuclidShapeCollisionTools.evaluateBox3DBox3DCollision(boxA, boxB, result, manifold);
+
+         String message = "Iteration: " + i + "\n" + manifold;
+         assertEquals(-depth, result.getSignedDistance(), EPSILON, message);
+         assertEquals(4, manifold.getNumberOfContacts(), message);
+
+         for (int j = 0; j < 4; j++)
+         {
+            assertEquals(depth, manifold.getPenetrationDepth(j), EPSILON, message);
+            Point3D pointOnA = new Point3D(manifold.getPointOnA(j));
+            transform.inverseTransform(pointOnA);
+            double x = pointOnA.getX();
+            assertTrue(EuclidCoreTools.epsilonEquals(x, -0.5 * sizeX + shift, EPSILON) || EuclidCoreTools.epsilonEquals(x, 0.5 * sizeX, EPSILON), message);
+            assertEquals(0.5 * sizeY, Math.abs(pointOnA.getY()), EPSILON, message);
+            assertEquals(0.5 * sizeZ, pointOnA.getZ(), EPSILON, message);
+         }
+      }
+   }
+
+   @Test
+   public void testBox3DBox3DBenchmark() throws Exception
+   {
+      boolean verbose = false;
+      Random random = new Random(34639);
+      int numberOfPairs = 2000;
+      Box3D[] boxesA = new Box3D[numberOfPairs];
+      Box3D[] boxesB = new Box3D[numberOfPairs];
+
+      for (int i = 0; i < numberOfPairs; i++)
+      {
+         boxesA[i] = EuclidShapeRandomTools.nextBox3D(random, 0.1, 1.0);
+         boxesB[i] = EuclidShapeRandomTools.nextBox3D(random, 0.1, 1.0);
+      }
+
+      ExpandingPolytopeAlgorithm epaDetector = new ExpandingPolytopeAlgorithm();
+      EuclidShape3DCollisionResult epaResult = new EuclidShape3DCollisionResult();
+      EuclidShape3DCollisionResult satResult = new EuclidShape3DCollisionResult();
+      EuclidShape3DContactManifold manifold = new EuclidShape3DContactManifold();
+      double[] epaDistances = new double[numberOfPairs];
+      double[] satDistances = new double[numberOfPairs];
+      double[] satManifoldDistances = new double[numberOfPairs];
+      long epaTime = 0, satTime = 0, satManifoldTime = 0;
+      int numberOfRuns = verbose ? 10 : 1;
+
+      for (int run = 0; run < numberOfRuns; run++)
+      {
+         long start = System.nanoTime();
+         for (int i = 0; i < numberOfPairs; i++)
+         {
+            epaDetector.evaluateCollision(boxesA[i], boxesB[i], epaResult);
+            epaDistances[i] = epaResult.getSignedDistance();
+         }
+         epaTime += System.nanoTime() - start;
+
+         start = System.nanoTime();
+         for (int i = 0; i < numberOfPairs; i++)
+         {
+            EuclidShapeCollisionTools.evaluateBox3DBox3DCollision(boxesA[i], boxesB[i], satResult);
+            satDistances[i] = satResult.getSignedDistance();
+         }
+         satTime += System.nanoTime() - start;
+
+         start = System.nanoTime();
+         for (int i = 0; i < numberOfPairs; i++)
+         {
+            EuclidShapeCollisionTools.evaluateBox3DBox3DCollision(boxesA[i], boxesB[i], satResult, manifold);
+            satManifoldDistances[i] = satResult.getSignedDistance();
+         }
+         satManifoldTime += System.nanoTime() - start;
+      }
+
+      for (int i = 0; i < numberOfPairs; i++)
+      {
+         assertEquals(epaDistances[i], satDistances[i], 1.0e-8, "Pair: " + i);
+         assertEquals(satDistances[i], satManifoldDistances[i], EPSILON, "Pair: " + i);
+      }
+
+      if (verbose)
+      {
+         double numberOfEvaluations = numberOfPairs * numberOfRuns;
+         System.out.println(String.format("Box3D-Box3D, average time per pair in microsec:\n\t-GJK/EPA: %f\n\t-SAT: %f\n\t-SAT with manifold: %f",
+                                          epaTime / 1.0e3 / numberOfEvaluations,
+                                          satTime / 1.0e3 / numberOfEvaluations,
+                                          satManifoldTime / 1.0e3 / numberOfEvaluations));
+      }
+   }
+
+   @Test
+   public void testCapsule3DBox3D() throws Exception
+   {
+      Random random = new Random(34640);
+      ExpandingPolytopeAlgorithm epaDetector = new ExpandingPolytopeAlgorithm();
+      int numberOfCollisions = 0;
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         Capsule3D capsule = EuclidShapeRandomTools.nextCapsule3D(random, 0.0, 1.0, 0.05, 0.5);
+         Box3D box = EuclidShapeRandomTools.nextBox3D(random, 0.1, 1.0);
+
+         EuclidShape3DCollisionResult expected = new EuclidShape3DCollisionResult();
+         epaDetector.evaluateCollision(capsule, box, expected);
+         EuclidShape3DCollisionResult actual = new EuclidShape3DCollisionResult();
+         EuclidShapeCollisionTools.evaluateCapsule3DBox3DCollision(capsule, box, actual);
+
+         String message = "Iteration: " + i + "\n" + actual;
+         assertSame(capsule, actual.getShapeA());
+         assertSame(box, actual.getShapeB());
+         assertEquals(expected.areShapesColliding(), actual.areShapesColliding(), message);
+         assertEquals(expected.getSignedDistance(), actual.getSignedDistance(), 1.0e-4, message);
+         assertEquals(1.0, actual.getNormalOnA().norm(), EPSILON, message);
+         EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, actual.getNormalOnA(), negate(actual.getNormalOnB()), EPSILON);
+         // pointOnB = pointOnA + signedDistance * normalOnA
+         Point3D expectedPointOnB = new Point3D();
+         expectedPointOnB.scaleAdd(actual.getSignedDistance(), actual.getNormalOnA(), actual.getPointOnA());
+         EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expectedPointOnB, actual.getPointOnB(), EPSILON);
+
+         if (actual.areShapesColliding())
+            numberOfCollisions++;
+
+         if (actual.getSignedDistance() > -capsule.getRadius())
+         { // The axis of the capsule does not intersect the box, the closest points are exact.
+            assertEquals(0.0, capsule.signedDistance(actual.getPointOnA()), EPSILON, message);
+            assertEquals(0.0, box.signedDistance(actual.getPointOnB()), EPSILON, message);
+
+            if (!actual.areShapesColliding())
+            {
+               EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expected.getPointOnA(), actual.getPointOnA(), 1.0e-3);
+               EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expected.getPointOnB(), actual.getPointOnB(), 1.0e-3);
+            }
+         }
+      }
+
+      assertTrue(numberOfCollisions > ITERATIONS / 10, "Number of collisions: " + numberOfCollisions);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // The capsule is lying on the top face of the box.
+         Box3D box = EuclidShapeRandomTools.nextBox3D(random, 0.5, 1.0);
+         double radius = EuclidCoreRandomTools.nextDouble(random, 0.01, 0.2);
+         double signedDistance = EuclidCoreRandomTools.nextDouble(random, -radius, 0.2);
+         Vector3D axis = new Vector3D(EuclidCoreRandomTools.nextVector2D(random));
+         axis.normalize();
+         Point3D position = new Point3D(EuclidCoreRandomTools.nextDouble(random, 0.2 * box.getSizeX()),
+                                        EuclidCoreRandomTools.nextDouble(random, 0.2 * box.getSizeY()),
+                                        0.5 * box.getSizeZ() + radius + signedDistance);
+         Capsule3D capsule = new Capsule3D(position, axis, EuclidCoreRandomTools.nextDouble(random, 0.0, 0.4 * box.getSizeX()), radius);
+         capsule.applyTransform(box.getPose());
+
+         EuclidShape3DCollisionResult actual = new EuclidShape3DCollisionResult();
+         EuclidShapeCollisionTools.evaluateCapsule3DBox3DCollision(capsule, box, actual);
+         String message = "Iteration: " + i + "\n" + actual;
+         assertEquals(signedDistance, actual.getSignedDistance(), EPSILON, message);
+         assertEquals(signedDistance < 0.0, actual.areShapesColliding(), message);
+         EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, negate(box.getPose().getZAxis()), actual.getNormalOnA(), EPSILON);
+      }
+   }
+
+   @Test
+   public void testCylinder3DCapsule3D() throws Exception
+   {
+      Random random = new Random(34641);
+      ExpandingPolytopeAlgorithm epaDetector = new ExpandingPolytopeAlgorithm();
+      int numberOfCollisions = 0;
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         Cylinder3D cylinder = EuclidShapeRandomTools.nextCylinder3D(random, 0.1, 1.0, 0.1, 0.5);
+         Capsule3D capsule = EuclidShapeRandomTools.nextCapsule3D(random, 0.0, 1.0, 0.05, 0.5);
+
+         EuclidShape3DCollisionResult expected = new EuclidShape3DCollisionResult();
+         epaDetector.evaluateCollision(cylinder, capsule, expected);
+         EuclidShape3DCollisionResult actual = new EuclidShape3DCollisionResult();
+         EuclidShapeCollisionTools.evaluateCylinder3DCapsule3DCollision(cylinder, capsule, actual);
+
+         String message = "Iteration: " + i + "\n" + actual;
+         assertSame(cylinder, actual.getShapeA());
+         assertSame(capsule, actual.getShapeB());
+         assertEquals(1.0, actual.getNormalOnA().norm(), EPSILON, message);
+         EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, actual.getNormalOnA(), negate(actual.getNormalOnB()), EPSILON);
+         Point3D expectedPointOnB = new Point3D();
+         expectedPointOnB.scaleAdd(actual.getSignedDistance(), actual.getNormalOnA(), actual.getPointOnA());
+         EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expectedPointOnB, actual.getPointOnB(), EPSILON);
+         assertEquals(0.0, cylinder.signedDistance(actual.getPointOnA()), EPSILON, message);
+
+         if (actual.getSignedDistance() > -capsule.getRadius())
+         { // The axis of the capsule does not intersect the cylinder, the closest points are exact.
+            assertEquals(expected.areShapesColliding(), actual.areShapesColliding(), message);
+            assertEquals(expected.getSignedDistance(), actual.getSignedDistance(), 1.0e-4, message);
+            assertEquals(0.0, capsule.signedDistance(actual.getPointOnB()), EPSILON, message);
+
+            if (!actual.areShapesColliding())
+            {
+               EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expected.getPointOnA(), actual.getPointOnA(), 1.0e-3);
+               EuclidCoreTestTools.assertPoint3DGeometricallyEquals(message, expected.getPointOnB(), actual.getPointOnB(), 1.0e-3);
+            }
+
+            if (actual.areShapesColliding())
+               numberOfCollisions++;
+         }
+         else
+         {
+            assertTrue(expected.areShapesColliding(), message);
+            assertTrue(actual.areShapesColliding(), message);
+         }
+      }
+
+      assertTrue(numberOfCollisions > ITERATIONS / 20, "Number of collisions: " + numberOfCollisions);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // The capsule is parallel to the cylinder and next to its side.
+         Cylinder3D cylinder = EuclidShapeRandomTools.nextCylinder3D(random, 0.5, 1.0, 0.1, 0.5);
+         Vector3D orthogonal = EuclidCoreRandomTools.nextOrthogonalVector3D(random, cylinder.getAxis(), true);
+         double radius = EuclidCoreRandomTools.nextDouble(random, 0.01, 0.2);
+         double signedDistance = EuclidCoreRandomTools.nextDouble(random, -radius, 0.2);
+         Point3D position = new Point3D();
+         position.scaleAdd(cylinder.getRadius() + radius + signedDistance, orthogonal, cylinder.getPosition());
+         position.scaleAdd(EuclidCoreRandomTools.nextDouble(random, 0.2 * cylinder.getLength()), cylinder.getAxis(), position);
+         Capsule3D capsule = new Capsule3D(position, cylinder.getAxis(), EuclidCoreRandomTools.nextDouble(random, 0.0, 0.5 * cylinder.getLength()), radius);
+
+         EuclidShape3DCollisionResult actual = new EuclidShape3DCollisionResult();
+         EuclidShapeCollisionTools.evaluateCylinder3DCapsule3DCollision(cylinder, capsule, actual);
+         String message = "Iteration: " + i + "\n" + actual;
+         assertEquals(signedDistance, actual.getSignedDistance(), EPSILON, message);
+         assertEquals(signedDistance < 0.0, actual.areShapesColliding(), message);
+         EuclidCoreTestTools.assertVector3DGeometricallyEquals(message, orthogonal, actual.getNormalOnA(), EPSILON);
+      }
+   }
+
    public static Vector3DReadOnly getAxis(Axis3D axis, Shape3DPoseReadOnly shape3DPose)
    {
       switch (axis)
@@ -2,18 +2,28 @@ package us.ihmc.euclid.shape.collision;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
+import com.sun.management.ThreadMXBean;
+
 import us.ihmc.euclid.geometry.LineSegment3D;
 import us.ihmc.euclid.geometry.interfaces.Vertex3DSupplier;
 import us.ihmc.euclid.geometry.tools.EuclidGeometryRandomTools;
 import us.ihmc.euclid.shape.collision.GilbertJohnsonKeerthiCollisionDetectorTest.AnalyticalShapeCollisionDetection;
 import us.ihmc.euclid.shape.collision.GilbertJohnsonKeerthiCollisionDetectorTest.Pair;
+import us.ihmc.euclid.shape.collision.epa.EPAFace3D;
+import us.ihmc.euclid.shape.collision.epa.EPAFaceQueue;
+import us.ihmc.euclid.shape.collision.epa.EPAVertex3D;
 import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
 import us.ihmc.euclid.shape.collision.gjk.GilbertJohnsonKeerthiCollisionDetector;
 import us.ihmc.euclid.shape.collision.interfaces.SupportingVertexHolder;
@@ -938,6 +948,106 @@ class ExpandingPolytopeAlgorithmTest
       }
    }
 
+   @Test
+   void testGarbageFreeEvaluation()
+   { // Once warmed up, evaluating penetrating shapes which supporting vertex query does not allocate should not generate any garbage.
+      boolean verbose = false;
+      Random random = new Random(23906);
+      ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+      assertTrue(threadMXBean.isThreadAllocatedMemorySupported());
+      threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+      int numberOfPairs = 100;
+      List<Pair<SupportingVertexHolder, SupportingVertexHolder>> pairs = new ArrayList<>();
+      List<EuclidShape3DCollisionResult> expectedResults = new ArrayList<>();
+
+      while (pairs.size() < numberOfPairs)
+      {
+         SupportingVertexHolder shapeA = GilbertJohnsonKeerthiCollisionDetectorTest.nextGarbageFreeShape3D(random);
+         SupportingVertexHolder shapeB = GilbertJohnsonKeerthiCollisionDetectorTest.nextGarbageFreeShape3D(random);
+         EuclidShape3DCollisionResult expectedResult = new ExpandingPolytopeAlgorithm().evaluateCollision(shapeA, shapeB);
+
+         if (expectedResult.areShapesColliding())
+         {
+            pairs.add(new Pair<>(shapeA, shapeB));
+            expectedResults.add(expectedResult);
+         }
+      }
+
+      ExpandingPolytopeAlgorithm detector = new ExpandingPolytopeAlgorithm();
+      EuclidShape3DCollisionResult result = new EuclidShape3DCollisionResult();
+
+      for (int warmup = 0; warmup < 1000; warmup++)
+      {
+         for (int i = 0; i < numberOfPairs; i++)
+            detector.evaluateCollision(pairs.get(i).a, pairs.get(i).b, result);
+      }
+
+      long threadId = Thread.currentThread().getId();
+      long allocatedBytesStart = threadMXBean.getThreadAllocatedBytes(threadId);
+      long startTime = System.nanoTime();
+      int numberOfRuns = 10;
+
+      for (int run = 0; run < numberOfRuns; run++)
+      {
+         for (int i = 0; i < numberOfPairs; i++)
+            detector.evaluateCollision(pairs.get(i).a, pairs.get(i).b, result);
+      }
+
+      int numberOfQueries = numberOfRuns * numberOfPairs;
+      long duration = System.nanoTime() - startTime;
+      long allocatedBytesPerQuery = (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesStart) / numberOfQueries;
+
+      if (verbose)
+      {
+         System.out.println("Average time per penetration query: " + duration / numberOfQueries + "ns, allocated bytes per query: "
+               + allocatedBytesPerQuery);
+      }
+
+      // The JIT may still allocate occasionally, e.g. on deoptimization, so the allocations are averaged
+      // and bounded below the size of a single vector per evaluation.
+      assertTrue(allocatedBytesPerQuery < GilbertJohnsonKeerthiCollisionDetectorTest.MAX_ALLOCATED_BYTES_PER_QUERY,
+                 "Evaluations allocated " + allocatedBytesPerQuery + " bytes per query.");
+
+      for (int i = 0; i < numberOfPairs; i++)
+      { // Recycling the polytope elements should not affect the outcome.
+         detector.evaluateCollision(pairs.get(i).a, pairs.get(i).b, result);
+         EuclidShapeTestTools.assertEuclidShape3DCollisionResultEquals(expectedResults.get(i), result, 0.0);
+      }
+   }
+
+   @Test
+   void testEPAFaceQueue()
+   {
+      Random random = new Random(7834);
+      EPAFaceQueue queue = new EPAFaceQueue(1);
+      PriorityQueue<EPAFace3D> expectedQueue = new PriorityQueue<>();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         if (expectedQueue.isEmpty() || random.nextDouble() < 0.6)
+         {
+            EPAVertex3D v0 = new EPAVertex3D(EuclidCoreRandomTools.nextPoint3D(random, 10.0), new Point3D());
+            EPAVertex3D v1 = new EPAVertex3D(EuclidCoreRandomTools.nextPoint3D(random, 10.0), new Point3D());
+            EPAVertex3D v2 = new EPAVertex3D(EuclidCoreRandomTools.nextPoint3D(random, 10.0), new Point3D());
+            EPAFace3D face = new EPAFace3D(v0, v1, v2, EPSILON);
+            queue.add(face);
+            expectedQueue.add(face);
+         }
+         else
+         {
+            assertEquals(expectedQueue.peek().getDistanceSquaredToOrigin(), queue.peek().getDistanceSquaredToOrigin());
+            assertEquals(expectedQueue.poll().getDistanceSquaredToOrigin(), queue.poll().getDistanceSquaredToOrigin());
+         }
+
+         assertEquals(expectedQueue.size(), queue.size());
+      }
+
+      queue.clear();
+      assertTrue(queue.isEmpty());
+      assertNull(queue.poll());
+   }
+
    private static <A extends Shape3DReadOnly, B extends Shape3DReadOnly> void assertAgainstAnalyticalFunction(AnalyticalShapeCollisionDetection<A, B> function,
                                                                                                               double distanceMaxEpsilon,
                                                                                                               double positionMaxEpsilon,
@@ -0,0 +1,148 @@
+package us.ihmc.euclid.shape.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.shape.collision.gjk.GJKWarmStartCache;
+import us.ihmc.euclid.shape.collision.gjk.GilbertJohnsonKeerthiCollisionDetector;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
+import us.ihmc.euclid.shape.tools.EuclidShapeRandomTools;
+import us.ihmc.euclid.shape.tools.EuclidShapeTestTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.tuple3D.Vector3D;
+
+public class GJKWarmStartCacheTest
+{
+   private static final int ITERATIONS = 500;
+   private static final int NUMBER_OF_TICKS = 10;
+
+   @Test
+   public void testWarmStartingStaticShapes()
+   {
+      Random random = new Random(3564);
+      GJKWarmStartCache cache = new GJKWarmStartCache();
+      long totalIterationsWithoutCache = runTicks(random, cache, 0.0);
+
+      assertTrue(cache.getTotalNumberOfIterations() < totalIterationsWithoutCache / 3,
+                 "with cache: " + cache.getTotalNumberOfIterations() + ", without: " + totalIterationsWithoutCache);
+   }
+
+   @Test
+   public void testWarmStartingMovingShapes()
+   {
+      Random random = new Random(3565);
+      GJKWarmStartCache cache = new GJKWarmStartCache();
+      long totalIterationsWithoutCache = runTicks(random, cache, 1.0e-4);
+
+      assertTrue(cache.getTotalNumberOfIterations() < totalIterationsWithoutCache,
+                 "with cache: " + cache.getTotalNumberOfIterations() + ", without: " + totalIterationsWithoutCache);
+
+      cache.resetStatistics();
+      assertEquals(0, cache.getNumberOfHits());
+      assertEquals(0, cache.getNumberOfMisses());
+      assertEquals(0, cache.getTotalNumberOfIterations());
+      assertTrue(Double.isNaN(cache.getAverageNumberOfIterations()));
+   }
+
+   /**
+    * Evaluates random pairs of shapes over several ticks, moving the shapes between ticks, and
+    * compares the results from the cache against a detector without warm start.
+    *
+    * @return the total number of iterations performed by the detector without warm start.
+    */
+   private static long runTicks(Random random, GJKWarmStartCache cache, double motionMagnitude)
+   {
+      GilbertJohnsonKeerthiCollisionDetector detector = new GilbertJohnsonKeerthiCollisionDetector();
+      double distanceEpsilon = 1.0e-4;
+      double pointTangentialEpsilon = 1.0e-2;
+
+      long totalIterationsWithoutCache = 0;
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         Shape3DBasics shapeA = EuclidShapeRandomTools.nextConvexShape3D(random);
+         Shape3DBasics shapeB = EuclidShapeRandomTools.nextConvexShape3D(random);
+
+         for (int tick = 0; tick < NUMBER_OF_TICKS; tick++)
+         {
+            if (tick > 0 && motionMagnitude > 0.0)
+            {
+               shapeA.applyTransform(nextSmallRigidBodyTransform(random, motionMagnitude));
+               shapeB.applyTransform(nextSmallRigidBodyTransform(random, motionMagnitude));
+            }
+
+            EuclidShape3DCollisionResult expectedResult = detector.evaluateCollision(shapeA, shapeB);
+            totalIterationsWithoutCache += detector.getNumberOfIterations();
+            EuclidShape3DCollisionResult actualResult = cache.evaluateCollision(shapeA, shapeB);
+
+            assertEquals(expectedResult.areShapesColliding(), actualResult.areShapesColliding(), "Iteration " + i + ", tick " + tick);
+
+            if (!expectedResult.areShapesColliding())
+            {
+               EuclidShapeTestTools.assertEuclidShape3DCollisionResultGeometricallyEquals("Iteration " + i + ", tick " + tick,
+                                                                                         expectedResult,
+                                                                                         actualResult,
+                                                                                         distanceEpsilon,
+                                                                                         pointTangentialEpsilon,
+                                                                                         0.0);
+            }
+         }
+
+         assertTrue(cache.remove(shapeA, shapeB));
+         assertFalse(cache.remove(shapeA, shapeB));
+      }
+
+      assertEquals(0, cache.size());
+      assertEquals(ITERATIONS * (NUMBER_OF_TICKS - 1), cache.getNumberOfHits());
+      assertEquals(ITERATIONS, cache.getNumberOfMisses());
+      return totalIterationsWithoutCache;
+   }
+
+   @Test
+   public void testPairsAreOrdered()
+   {
+      Random random = new Random(3465);
+      GJKWarmStartCache cache = new GJKWarmStartCache();
+
+      Shape3DBasics shapeA = EuclidShapeRandomTools.nextConvexShape3D(random);
+      Shape3DBasics shapeB = EuclidShapeRandomTools.nextConvexShape3D(random);
+
+      cache.evaluateCollision(shapeA, shapeB);
+      cache.evaluateCollision(shapeB, shapeA);
+      assertEquals(2, cache.size());
+      assertEquals(0, cache.getNumberOfHits());
+      assertEquals(2, cache.getNumberOfMisses());
+
+      cache.evaluateCollision(shapeA, shapeB);
+      cache.evaluateCollision(shapeB, shapeA);
+      assertEquals(2, cache.size());
+      assertEquals(2, cache.getNumberOfHits());
+      assertEquals(2, cache.getNumberOfMisses());
+
+      cache.clear();
+      assertEquals(0, cache.size());
+      assertEquals(2, cache.getNumberOfHits());
+   }
+
+   @Test
+   public void testInitialSimplexSupportDirections()
+   {
+      GilbertJohnsonKeerthiCollisionDetector detector = new GilbertJohnsonKeerthiCollisionDetector();
+      Vector3D[] supportDirections = {new Vector3D(), new Vector3D(), new Vector3D(), new Vector3D(), new Vector3D()};
+      assertThrows(IllegalArgumentException.class, () -> detector.setInitialSimplexSupportDirections(supportDirections, 5));
+      assertEquals(0, detector.getSimplexSupportDirections(supportDirections));
+   }
+
+   private static RigidBodyTransform nextSmallRigidBodyTransform(Random random, double magnitude)
+   {
+      return new RigidBodyTransform(EuclidCoreRandomTools.nextYawPitchRoll(random, magnitude, magnitude, magnitude),
+                                    EuclidCoreRandomTools.nextVector3D(random, magnitude));
+   }
+}
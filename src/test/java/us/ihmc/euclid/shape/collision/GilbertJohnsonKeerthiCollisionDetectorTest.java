@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -16,6 +17,8 @@ import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import com.sun.management.ThreadMXBean;
+
 import us.ihmc.euclid.axisAngle.AxisAngle;
 import us.ihmc.euclid.geometry.LineSegment3D;
 import us.ihmc.euclid.geometry.interfaces.Vertex3DSupplier;
@@ -36,6 +39,7 @@ import us.ihmc.euclid.shape.primitives.Ellipsoid3D;
 import us.ihmc.euclid.shape.primitives.PointShape3D;
 import us.ihmc.euclid.shape.primitives.Ramp3D;
 import us.ihmc.euclid.shape.primitives.Sphere3D;
+import us.ihmc.euclid.shape.primitives.interfaces.IntermediateVariableSupplier;
 import us.ihmc.euclid.shape.primitives.interfaces.PointShape3DReadOnly;
 import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
 import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
@@ -57,6 +61,8 @@ class GilbertJohnsonKeerthiCollisionDetectorTest
    private static final boolean VERBOSE = false;
    private static final int ITERATIONS = 5000;
    private static final double EPSILON = 1.0e-10;
+   /** Upper bound on the average bytes allocated per evaluation for the garbage-free tests. */
+   static final long MAX_ALLOCATED_BYTES_PER_QUERY = 16;
 
    /**
     * Tests that saving the detector's last support direction for the next evaluation, leads to
@@ -1054,6 +1060,78 @@ class GilbertJohnsonKeerthiCollisionDetectorTest
       }
    }
 
+   @Test
+   void testGarbageFreeEvaluation()
+   { // Once warmed up, evaluating shapes which supporting vertex query does not allocate should not generate any garbage.
+      Random random = new Random(23905);
+      ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+      assertTrue(threadMXBean.isThreadAllocatedMemorySupported());
+      threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+      int numberOfPairs = 100;
+      List<Pair<SupportingVertexHolder, SupportingVertexHolder>> pairs = new ArrayList<>();
+
+      for (int i = 0; i < numberOfPairs; i++)
+         pairs.add(new Pair<>(nextGarbageFreeShape3D(random), nextGarbageFreeShape3D(random)));
+
+      GilbertJohnsonKeerthiCollisionDetector detector = new GilbertJohnsonKeerthiCollisionDetector();
+      EuclidShape3DCollisionResult result = new EuclidShape3DCollisionResult();
+
+      for (int warmup = 0; warmup < 100; warmup++)
+      {
+         for (Pair<SupportingVertexHolder, SupportingVertexHolder> pair : pairs)
+            detector.evaluateCollision(pair.a, pair.b, result);
+      }
+
+      long threadId = Thread.currentThread().getId();
+      long allocatedBytesStart = threadMXBean.getThreadAllocatedBytes(threadId);
+      int numberOfRuns = 10;
+
+      for (int run = 0; run < numberOfRuns; run++)
+      {
+         for (int i = 0; i < numberOfPairs; i++)
+         {
+            Pair<SupportingVertexHolder, SupportingVertexHolder> pair = pairs.get(i);
+            detector.evaluateCollision(pair.a, pair.b, result);
+         }
+      }
+
+      // The JIT may still allocate occasionally, e.g. on deoptimization, so the allocations are averaged
+      // and bounded below the size of a single vector per evaluation.
+      long allocatedBytesPerQuery = (threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesStart) / (numberOfRuns * numberOfPairs);
+      assertTrue(allocatedBytesPerQuery < MAX_ALLOCATED_BYTES_PER_QUERY,
+                 "Evaluations allocated " + allocatedBytesPerQuery + " bytes per query.");
+
+      for (int i = 0; i < numberOfPairs; i++)
+      { // Recycling the internal simplices and vertices should not affect the outcome.
+         Pair<SupportingVertexHolder, SupportingVertexHolder> pair = pairs.get(i);
+         EuclidShape3DCollisionResult expectedResult = new GilbertJohnsonKeerthiCollisionDetector().evaluateCollision(pair.a, pair.b);
+         detector.evaluateCollision(pair.a, pair.b, result);
+         assertEquals(expectedResult.areShapesColliding(), result.areShapesColliding());
+         if (!expectedResult.areShapesColliding())
+            EuclidShapeTestTools.assertEuclidShape3DCollisionResultEquals(expectedResult, result, 0.0);
+      }
+   }
+
+   static SupportingVertexHolder nextGarbageFreeShape3D(Random random)
+   {
+      switch (random.nextInt(5))
+      {
+         case 0:
+            Box3D box = EuclidShapeRandomTools.nextBox3D(random);
+            box.setIntermediateVariableSupplier(IntermediateVariableSupplier.garbageFreeIntermediateVariableSupplier());
+            return box;
+         case 1:
+            return EuclidShapeRandomTools.nextCapsule3D(random);
+         case 2:
+            return EuclidShapeRandomTools.nextCylinder3D(random);
+         case 3:
+            return EuclidShapeRandomTools.nextPointShape3D(random);
+         default:
+            return EuclidShapeRandomTools.nextSphere3D(random);
+      }
+   }
+
    private static <A extends Shape3DReadOnly, B extends Shape3DReadOnly> void assertAgainstAnalyticalFunction(Random random,
                                                                                                               AnalyticalShapeCollisionDetection<A, B> function,
                                                                                                               double distanceMaxEpsilon,
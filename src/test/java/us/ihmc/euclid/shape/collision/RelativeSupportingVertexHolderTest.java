@@ -0,0 +1,83 @@
+package us.ihmc.euclid.shape.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.shape.collision.gjk.RelativeSupportingVertexHolder;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
+import us.ihmc.euclid.shape.tools.EuclidShapeRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
+
+public class RelativeSupportingVertexHolderTest
+{
+   private static final double EPSILON = 1.0e-12;
+
+   @Test
+   public void testGetSupportingVertex()
+   {
+      Random random = new Random(45978);
+      RelativeSupportingVertexHolder holder = new RelativeSupportingVertexHolder();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // Comparing against the supporting vertex of a shape copy transformed into the reference frame.
+         Shape3DBasics shape = EuclidShapeRandomTools.nextConvexShape3D(random);
+         RigidBodyTransform referencePose = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+         Vector3D supportDirection = EuclidCoreRandomTools.nextVector3D(random);
+
+         Shape3DBasics localShape = shape.copy();
+         localShape.applyInverseTransform(referencePose);
+         Point3D expected = new Point3D();
+         localShape.getSupportingVertex(supportDirection, expected);
+
+         holder.initialize(shape, referencePose);
+         Point3D actual = new Point3D();
+         holder.getSupportingVertex(supportDirection, actual);
+
+         EuclidCoreTestTools.assertEquals("Iteration " + i, expected, actual, EPSILON);
+      }
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // Using the shape own pose as reference
+         Shape3DBasics shape = EuclidShapeRandomTools.nextConvexShape3D(random);
+         if (!shape.isDefinedByPose())
+            continue;
+
+         Vector3D supportDirection = EuclidCoreRandomTools.nextVector3D(random);
+
+         Shape3DBasics localShape = shape.copy();
+         localShape.getPose().setToZero();
+         Point3D expected = new Point3D();
+         localShape.getSupportingVertex(supportDirection, expected);
+
+         holder.initialize(shape, shape.getPose());
+         Point3D actual = new Point3D();
+         holder.getSupportingVertex(supportDirection, actual);
+
+         EuclidCoreTestTools.assertEquals("Iteration " + i, expected, actual, EPSILON);
+      }
+
+      for (int i = 0; i < ITERATIONS; i++)
+      { // No reference pose, the holder should be equivalent to the original shape.
+         Shape3DBasics shape = EuclidShapeRandomTools.nextConvexShape3D(random);
+         Vector3D supportDirection = EuclidCoreRandomTools.nextVector3D(random);
+
+         Point3D expected = new Point3D();
+         shape.getSupportingVertex(supportDirection, expected);
+
+         holder.initialize(shape, null);
+         Point3D actual = new Point3D();
+         holder.getSupportingVertex(supportDirection, actual);
+
+         EuclidCoreTestTools.assertEquals("Iteration " + i, expected, actual, EPSILON);
+         assertEquals(shape, holder.getShape());
+      }
+   }
+}
@@ -0,0 +1,179 @@
+package us.ihmc.euclid.shape.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.shape.collision.epa.ExpandingPolytopeAlgorithm;
+import us.ihmc.euclid.shape.convexPolytope.ConvexPolytope3D;
+import us.ihmc.euclid.shape.primitives.Box3D;
+import us.ihmc.euclid.shape.primitives.Capsule3D;
+import us.ihmc.euclid.shape.primitives.Cylinder3D;
+import us.ihmc.euclid.shape.primitives.Ellipsoid3D;
+import us.ihmc.euclid.shape.primitives.PointShape3D;
+import us.ihmc.euclid.shape.primitives.Sphere3D;
+import us.ihmc.euclid.shape.primitives.Torus3D;
+import us.ihmc.euclid.shape.primitives.interfaces.Box3DReadOnly;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.shape.tools.EuclidShapeRandomTools;
+import us.ihmc.euclid.shape.tools.EuclidShapeTestTools;
+
+public class Shape3DCollisionDispatcherTest
+{
+   @Test
+   public void testClosedFormPairs()
+   {
+      Random random = new Random(9845);
+      Shape3DCollisionDispatcher dispatcher = new Shape3DCollisionDispatcher();
+      EuclidShape3DCollisionResult expected = new EuclidShape3DCollisionResult();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         PointShape3D pointShape = EuclidShapeRandomTools.nextPointShape3D(random);
+         Sphere3D sphere = EuclidShapeRandomTools.nextSphere3D(random);
+         Box3D box = EuclidShapeRandomTools.nextBox3D(random);
+         Capsule3D capsule = EuclidShapeRandomTools.nextCapsule3D(random);
+         Cylinder3D cylinder = EuclidShapeRandomTools.nextCylinder3D(random);
+         Torus3D torus = EuclidShapeRandomTools.nextTorus3D(random);
+
+         EuclidShapeCollisionTools.evaluatePointShape3DBox3DCollision(pointShape, box, expected);
+         assertDispatch(dispatcher, pointShape, box, expected);
+
+         EuclidShapeCollisionTools.evaluateSphere3DTorus3DCollision(sphere, torus, expected);
+         assertDispatch(dispatcher, sphere, torus, expected);
+
+         EuclidShapeCollisionTools.evaluateSphere3DCylinder3DCollision(sphere, cylinder, expected);
+         assertDispatch(dispatcher, sphere, cylinder, expected);
+
+         EuclidShapeCollisionTools.evaluateBox3DBox3DCollision(box, EuclidShapeRandomTools.nextBox3D(random), expected);
+         assertDispatch(dispatcher, box, expected.getShapeB(), expected);
+
+         EuclidShapeCollisionTools.evaluateCapsule3DBox3DCollision(capsule, box, expected);
+         assertDispatch(dispatcher, capsule, box, expected);
+
+         EuclidShapeCollisionTools.evaluateCapsule3DCapsule3DCollision(capsule, EuclidShapeRandomTools.nextCapsule3D(random), expected);
+         assertDispatch(dispatcher, capsule, expected.getShapeB(), expected);
+
+         EuclidShapeCollisionTools.evaluateCylinder3DCapsule3DCollision(cylinder, capsule, expected);
+         assertDispatch(dispatcher, cylinder, capsule, expected);
+      }
+   }
+
+   @Test
+   public void testFallback()
+   {
+      Random random = new Random(9846);
+      Shape3DCollisionDispatcher dispatcher = new Shape3DCollisionDispatcher();
+      ExpandingPolytopeAlgorithm epaDetector = new ExpandingPolytopeAlgorithm();
+      EuclidShape3DCollisionResult expected = new EuclidShape3DCollisionResult();
+      EuclidShape3DCollisionResult actual = new EuclidShape3DCollisionResult();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         Ellipsoid3D ellipsoid = EuclidShapeRandomTools.nextEllipsoid3D(random);
+         Box3D box = EuclidShapeRandomTools.nextBox3D(random);
+         Cylinder3D cylinder = EuclidShapeRandomTools.nextCylinder3D(random);
+
+         for (Shape3DReadOnly[] pair : new Shape3DReadOnly[][] {{ellipsoid, box}, {box, ellipsoid}, {cylinder, box}, {cylinder, ellipsoid}})
+         {
+            epaDetector.evaluateCollision(pair[0], pair[1], expected);
+            dispatcher.evaluateCollision(pair[0], pair[1], actual);
+            assertEquals(expected, actual);
+         }
+      }
+   }
+
+   @Test
+   public void testStatistics()
+   {
+      Random random = new Random(9847);
+      Shape3DCollisionDispatcher dispatcher = new Shape3DCollisionDispatcher();
+      EuclidShape3DCollisionResult result = new EuclidShape3DCollisionResult();
+
+      assertTrue(dispatcher.hasClosedForm(Box3D.class, Capsule3D.class));
+      assertTrue(dispatcher.hasClosedForm(Capsule3D.class, Box3D.class));
+      assertTrue(dispatcher.hasClosedForm(Box3DReadOnly.class, Box3D.class));
+      assertFalse(dispatcher.hasClosedForm(Box3D.class, Ellipsoid3D.class));
+      assertFalse(dispatcher.hasClosedForm(ConvexPolytope3D.class, Sphere3D.class));
+      assertFalse(dispatcher.isTimingEnabled());
+      assertTrue(dispatcher.getStatisticsAsString().isEmpty());
+
+      int numberOfBoxCapsuleCalls = 0;
+      int numberOfCapsuleBoxCalls = 0;
+      int numberOfEllipsoidBoxCalls = 0;
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         Box3D box = EuclidShapeRandomTools.nextBox3D(random);
+         Capsule3D capsule = EuclidShapeRandomTools.nextCapsule3D(random);
+         Ellipsoid3D ellipsoid = EuclidShapeRandomTools.nextEllipsoid3D(random);
+
+         switch (random.nextInt(3))
+         {
+            case 0:
+               dispatcher.evaluateCollision(box, capsule, result);
+               numberOfBoxCapsuleCalls++;
+               break;
+            case 1:
+               dispatcher.evaluateCollision(capsule, box, result);
+               numberOfCapsuleBoxCalls++;
+               break;
+            default:
+               dispatcher.evaluateCollision(ellipsoid, box, result);
+               numberOfEllipsoidBoxCalls++;
+               break;
+         }
+      }
+
+      assertEquals(numberOfBoxCapsuleCalls, dispatcher.getNumberOfCalls(Box3D.class, Capsule3D.class));
+      assertEquals(numberOfCapsuleBoxCalls, dispatcher.getNumberOfCalls(Capsule3D.class, Box3D.class));
+      assertEquals(numberOfEllipsoidBoxCalls, dispatcher.getNumberOfCalls(Ellipsoid3D.class, Box3D.class));
+      assertEquals(0, dispatcher.getNumberOfCalls(Box3D.class, Ellipsoid3D.class));
+      assertEquals(0, dispatcher.getTotalTime(Box3D.class, Capsule3D.class));
+      assertEquals(3, dispatcher.getStatisticsAsString().split("\n").length);
+
+      dispatcher.setTimingEnabled(true);
+      assertTrue(dispatcher.isTimingEnabled());
+
+      for (int i = 0; i < ITERATIONS; i++)
+         dispatcher.evaluateCollision(EuclidShapeRandomTools.nextBox3D(random), EuclidShapeRandomTools.nextCapsule3D(random), result);
+
+      assertEquals(numberOfBoxCapsuleCalls + ITERATIONS, dispatcher.getNumberOfCalls(Box3D.class, Capsule3D.class));
+      assertTrue(dispatcher.getTotalTime(Box3D.class, Capsule3D.class) > 0);
+      assertEquals(0, dispatcher.getTotalTime(Capsule3D.class, Box3D.class));
+
+      dispatcher.resetStatistics();
+      assertEquals(0, dispatcher.getNumberOfCalls(Box3D.class, Capsule3D.class));
+      assertEquals(0, dispatcher.getTotalTime(Box3D.class, Capsule3D.class));
+      assertTrue(dispatcher.getStatisticsAsString().isEmpty());
+   }
+
+   /**
+    * Asserts that the dispatcher gives the expected result for the pair (A, B), and the swapped
+    * result for the pair (B, A).
+    */
+   private static void assertDispatch(Shape3DCollisionDispatcher dispatcher,
+                                      Shape3DReadOnly shapeA,
+                                      Shape3DReadOnly shapeB,
+                                      EuclidShape3DCollisionResult expected)
+   {
+      EuclidShape3DCollisionResult actual = new EuclidShape3DCollisionResult();
+      dispatcher.evaluateCollision(shapeA, shapeB, actual);
+      assertEquals(expected, actual);
+      assertSame(shapeA, actual.getShapeA());
+      assertSame(shapeB, actual.getShapeB());
+
+      // When both shapes have the same type, the reverse evaluation may differ due to round-off errors.
+      dispatcher.evaluateCollision(shapeB, shapeA, actual);
+      expected.swapShapes();
+      EuclidShapeTestTools.assertEuclidShape3DCollisionResultEquals(expected, actual, 1.0e-12);
+      assertSame(shapeB, actual.getShapeA());
+      assertSame(shapeA, actual.getShapeB());
+   }
+}
@@ -0,0 +1,279 @@
+package us.ihmc.euclid.shape.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.geometry.BoundingBox3D;
+import us.ihmc.euclid.shape.collision.broadPhase.DynamicBoundingBoxTree3D;
+import us.ihmc.euclid.shape.collision.broadPhase.SweepAndPrune3D;
+import us.ihmc.euclid.shape.collision.gjk.GilbertJohnsonKeerthiCollisionDetector;
+import us.ihmc.euclid.shape.primitives.Box3D;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DBasics;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.shape.tools.EuclidShapeRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class SweepAndPrune3DTest
+{
+   private static final boolean VERBOSE = false;
+   private static final int ITERATIONS = 10;
+
+   @Test
+   public void testAddedAndRemovedPairs()
+   {
+      Random random = new Random(5463);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         SweepAndPrune3D sweepAndPrune = new SweepAndPrune3D();
+         List<Shape3DBasics> shapes = nextShapes(random, 100);
+         PairTracker tracker = new PairTracker();
+
+         for (Shape3DBasics shape : shapes)
+            assertTrue(sweepAndPrune.add(shape));
+         assertFalse(sweepAndPrune.add(shapes.get(0)));
+         assertEquals(shapes.size(), sweepAndPrune.size());
+
+         sweepAndPrune.update(tracker::pairAdded, tracker::pairRemoved);
+         tracker.assertPairs(shapes, sweepAndPrune);
+
+         for (int tick = 0; tick < 20; tick++)
+         {
+            for (Shape3DBasics shape : shapes)
+            {
+               if (random.nextBoolean())
+                  shape.applyTransform(new RigidBodyTransform(EuclidCoreRandomTools.nextQuaternion(random, 0.1),
+                                                              EuclidCoreRandomTools.nextVector3D(random, 0.5)));
+            }
+
+            // Removing and adding a few shapes.
+            for (int j = 0; j < 3; j++)
+            {
+               Shape3DBasics removed = shapes.remove(random.nextInt(shapes.size()));
+               assertTrue(sweepAndPrune.remove(removed));
+               assertFalse(sweepAndPrune.remove(removed));
+               assertFalse(sweepAndPrune.contains(removed));
+
+               Shape3DBasics added = nextShapes(random, 1).get(0);
+               shapes.add(added);
+               sweepAndPrune.add(added);
+            }
+
+            // Adding and removing a shape before it is registered.
+            Box3D temporaryBox = new Box3D();
+            sweepAndPrune.add(temporaryBox);
+            sweepAndPrune.remove(temporaryBox);
+
+            assertEquals(shapes.size(), sweepAndPrune.size());
+            sweepAndPrune.update(tracker::pairAdded, tracker::pairRemoved);
+            tracker.assertPairs(shapes, sweepAndPrune);
+         }
+
+         // Touching boxes are considered overlapping.
+         Box3D boxA = new Box3D(1.0, 1.0, 1.0);
+         Box3D boxB = new Box3D(1.0, 1.0, 1.0);
+         boxB.getPose().getTranslation().set(1.0, 1.0, 1.0);
+         shapes.add(boxA);
+         shapes.add(boxB);
+         sweepAndPrune.add(boxA);
+         sweepAndPrune.add(boxB);
+         sweepAndPrune.update(tracker::pairAdded, tracker::pairRemoved);
+         tracker.assertPairs(shapes, sweepAndPrune);
+         assertTrue(tracker.contains(boxA, boxB));
+
+         sweepAndPrune.clear();
+         assertEquals(0, sweepAndPrune.size());
+         assertEquals(0, sweepAndPrune.update());
+         assertEquals(0, sweepAndPrune.getNumberOfOverlappingPairs());
+      }
+   }
+
+   @Test
+   public void testAgainstBruteForce()
+   {
+      Random random = new Random(5464);
+      int[] numbersOfShapes = VERBOSE ? new int[] {100, 1000, 10000} : new int[] {100, 1000};
+      int numberOfTicks = 10;
+
+      for (int numberOfShapes : numbersOfShapes)
+      {
+         List<Shape3DBasics> shapes = nextShapes(random, numberOfShapes);
+         SweepAndPrune3D sweepAndPrune = new SweepAndPrune3D();
+         DynamicBoundingBoxTree3D tree = new DynamicBoundingBoxTree3D();
+         shapes.forEach(sweepAndPrune::add);
+         shapes.forEach(tree::add);
+         sweepAndPrune.update();
+
+         long sweepAndPruneTime = 0, treeTime = 0, bruteForceTime = 0;
+         BoundingBox3D[] boundingBoxes = new BoundingBox3D[numberOfShapes];
+         for (int i = 0; i < numberOfShapes; i++)
+            boundingBoxes[i] = new BoundingBox3D();
+
+         for (int tick = 0; tick < numberOfTicks; tick++)
+         {
+            for (Shape3DBasics shape : shapes)
+               shape.applyTransform(new RigidBodyTransform(EuclidCoreRandomTools.nextQuaternion(random, 0.05),
+                                                           EuclidCoreRandomTools.nextVector3D(random, 0.1)));
+
+            long start = System.nanoTime();
+            sweepAndPrune.update();
+            sweepAndPruneTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            tree.update();
+            int numberOfTreePairs = tree.findOverlappingPairs((a, b) ->
+            {
+            });
+            treeTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int numberOfBruteForcePairs = 0;
+            for (int i = 0; i < numberOfShapes; i++)
+               shapes.get(i).getBoundingBox(boundingBoxes[i]);
+            for (int i = 0; i < numberOfShapes; i++)
+            {
+               for (int j = i + 1; j < numberOfShapes; j++)
+               {
+                  if (boundingBoxes[i].intersectsInclusive(boundingBoxes[j]))
+                     numberOfBruteForcePairs++;
+               }
+            }
+            bruteForceTime += System.nanoTime() - start;
+
+            assertEquals(numberOfBruteForcePairs, sweepAndPrune.getNumberOfOverlappingPairs());
+            assertEquals(numberOfBruteForcePairs, numberOfTreePairs);
+         }
+
+         if (VERBOSE)
+         {
+            System.out.println(String.format("%d shapes, average time per update in millisec:\n\t-Brute force: %f\n\t-Sweep and prune: %f\n\t-Tree: %f",
+                                             numberOfShapes,
+                                             bruteForceTime / 1.0e6 / numberOfTicks,
+                                             sweepAndPruneTime / 1.0e6 / numberOfTicks,
+                                             treeTime / 1.0e6 / numberOfTicks));
+         }
+      }
+   }
+
+   @Test
+   public void testNarrowPhase()
+   {
+      Random random = new Random(5465);
+      List<Shape3DBasics> shapes = nextShapes(random, 200);
+      SweepAndPrune3D sweepAndPrune = new SweepAndPrune3D();
+      shapes.forEach(sweepAndPrune::add);
+      sweepAndPrune.update();
+
+      GilbertJohnsonKeerthiCollisionDetector detector = new GilbertJohnsonKeerthiCollisionDetector();
+      EuclidShape3DCollisionResult result = new EuclidShape3DCollisionResult();
+      List<Shape3DReadOnly[]> collidingPairs = new ArrayList<>();
+
+      sweepAndPrune.findOverlappingPairs((a, b) ->
+      {
+         detector.evaluateCollision(a, b, result);
+         if (result.areShapesColliding())
+            collidingPairs.add(new Shape3DReadOnly[] {a, b});
+      });
+
+      // The broad phase should not miss any collision.
+      int numberOfCollidingPairs = 0;
+
+      for (int i = 0; i < shapes.size(); i++)
+      {
+         for (int j = i + 1; j < shapes.size(); j++)
+         {
+            detector.evaluateCollision(shapes.get(i), shapes.get(j), result);
+            if (result.areShapesColliding())
+               numberOfCollidingPairs++;
+         }
+      }
+
+      assertEquals(numberOfCollidingPairs, collidingPairs.size());
+   }
+
+   private static List<Shape3DBasics> nextShapes(Random random, int numberOfShapes)
+   {
+      // Keeping the density of shapes constant regardless of their number.
+      double spread = 2.0 * Math.cbrt(numberOfShapes);
+      List<Shape3DBasics> shapes = new ArrayList<>();
+
+      for (int i = 0; i < numberOfShapes; i++)
+      {
+         Shape3DBasics shape = EuclidShapeRandomTools.nextConvexShape3D(random);
+         shape.applyTransform(new RigidBodyTransform(EuclidCoreRandomTools.nextQuaternion(random), EuclidCoreRandomTools.nextVector3D(random, spread)));
+         shapes.add(shape);
+      }
+
+      return shapes;
+   }
+
+   /**
+    * Maintains the set of overlapping pairs from the added and removed pairs reported by the
+    * sweep-and-prune.
+    */
+   private static class PairTracker
+   {
+      private final Map<Shape3DReadOnly, List<Shape3DReadOnly>> pairs = new IdentityHashMap<>();
+      private int size = 0;
+
+      void pairAdded(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+      {
+         assertFalse(contains(shapeA, shapeB));
+         pairs.computeIfAbsent(shapeA, s -> new ArrayList<>()).add(shapeB);
+         pairs.computeIfAbsent(shapeB, s -> new ArrayList<>()).add(shapeA);
+         size++;
+      }
+
+      void pairRemoved(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+      {
+         assertTrue(contains(shapeA, shapeB));
+         pairs.get(shapeA).removeIf(s -> s == shapeB);
+         pairs.get(shapeB).removeIf(s -> s == shapeA);
+         size--;
+      }
+
+      boolean contains(Shape3DReadOnly shapeA, Shape3DReadOnly shapeB)
+      {
+         List<Shape3DReadOnly> others = pairs.get(shapeA);
+         return others != null && others.stream().anyMatch(s -> s == shapeB);
+      }
+
+      void assertPairs(List<? extends Shape3DReadOnly> shapes, SweepAndPrune3D sweepAndPrune)
+      {
+         int expectedSize = 0;
+
+         for (int i = 0; i < shapes.size(); i++)
+         {
+            for (int j = i + 1; j < shapes.size(); j++)
+            {
+               boolean expected = shapes.get(i).getBoundingBox().intersectsInclusive(shapes.get(j).getBoundingBox());
+               assertEquals(expected, contains(shapes.get(i), shapes.get(j)));
+               if (expected)
+                  expectedSize++;
+            }
+         }
+
+         assertEquals(expectedSize, size);
+         assertEquals(expectedSize, sweepAndPrune.getNumberOfOverlappingPairs());
+
+         PairTracker other = new PairTracker();
+         assertEquals(expectedSize, sweepAndPrune.findOverlappingPairs(other::pairAdded));
+
+         for (int i = 0; i < shapes.size(); i++)
+         {
+            for (int j = i + 1; j < shapes.size(); j++)
+               assertEquals(contains(shapes.get(i), shapes.get(j)), other.contains(shapes.get(i), shapes.get(j)));
+         }
+      }
+   }
+}
@@ -0,0 +1,134 @@
+package us.ihmc.euclid.shape.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.shape.convexPolytope.ConvexPolytope3D;
+import us.ihmc.euclid.shape.primitives.Box3D;
+import us.ihmc.euclid.shape.primitives.Capsule3D;
+import us.ihmc.euclid.shape.primitives.Cylinder3D;
+import us.ihmc.euclid.shape.primitives.Ellipsoid3D;
+import us.ihmc.euclid.shape.primitives.PointShape3D;
+import us.ihmc.euclid.shape.primitives.Ramp3D;
+import us.ihmc.euclid.shape.primitives.Sphere3D;
+import us.ihmc.euclid.shape.primitives.Torus3D;
+import us.ihmc.euclid.shape.primitives.interfaces.Shape3DReadOnly;
+import us.ihmc.euclid.tools.EuclidCoreBinaryIOTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+
+public class EuclidShapeBinaryIOToolsTest
+{
+   private static final int ITERATIONS = 1000;
+   // The axis of a shape is a unit vector that is normalized again when read.
+   private static final double EPSILON = 1.0e-15;
+
+   @Test
+   public void testRoundTrip()
+   {
+      Random random = new Random(3465);
+      int capacity = ITERATIONS * (EuclidShapeBinaryIOTools.BOX_3D_SIZE + EuclidShapeBinaryIOTools.CAPSULE_3D_SIZE
+            + EuclidShapeBinaryIOTools.CYLINDER_3D_SIZE + EuclidShapeBinaryIOTools.ELLIPSOID_3D_SIZE + EuclidShapeBinaryIOTools.POINT_SHAPE_3D_SIZE
+            + EuclidShapeBinaryIOTools.RAMP_3D_SIZE + EuclidShapeBinaryIOTools.SPHERE_3D_SIZE + EuclidShapeBinaryIOTools.TORUS_3D_SIZE);
+
+      for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(capacity), ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN)})
+      {
+         List<Shape3DReadOnly> expected = new ArrayList<>();
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            Box3D box = EuclidShapeRandomTools.nextBox3D(random);
+            Capsule3D capsule = EuclidShapeRandomTools.nextCapsule3D(random);
+            Cylinder3D cylinder = EuclidShapeRandomTools.nextCylinder3D(random);
+            Ellipsoid3D ellipsoid = EuclidShapeRandomTools.nextEllipsoid3D(random);
+            PointShape3D pointShape = EuclidShapeRandomTools.nextPointShape3D(random);
+            Ramp3D ramp = EuclidShapeRandomTools.nextRamp3D(random);
+            Sphere3D sphere = EuclidShapeRandomTools.nextSphere3D(random);
+            Torus3D torus = EuclidShapeRandomTools.nextTorus3D(random);
+
+            EuclidShapeBinaryIOTools.writeBox3D(box, buffer);
+            EuclidShapeBinaryIOTools.writeCapsule3D(capsule, buffer);
+            EuclidShapeBinaryIOTools.writeCylinder3D(cylinder, buffer);
+            EuclidShapeBinaryIOTools.writeEllipsoid3D(ellipsoid, buffer);
+            EuclidShapeBinaryIOTools.writePointShape3D(pointShape, buffer);
+            EuclidShapeBinaryIOTools.writeRamp3D(ramp, buffer);
+            EuclidShapeBinaryIOTools.writeSphere3D(sphere, buffer);
+            EuclidShapeBinaryIOTools.writeTorus3D(torus, buffer);
+
+            expected.add(box);
+            expected.add(capsule);
+            expected.add(cylinder);
+            expected.add(ellipsoid);
+            expected.add(pointShape);
+            expected.add(ramp);
+            expected.add(sphere);
+            expected.add(torus);
+         }
+
+         assertEquals(0, buffer.remaining());
+         buffer.flip();
+
+         Box3D box = new Box3D();
+         Capsule3D capsule = new Capsule3D();
+         Cylinder3D cylinder = new Cylinder3D();
+         Ellipsoid3D ellipsoid = new Ellipsoid3D();
+         PointShape3D pointShape = new PointShape3D();
+         Ramp3D ramp = new Ramp3D();
+         Sphere3D sphere = new Sphere3D();
+         Torus3D torus = new Torus3D();
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            EuclidShapeBinaryIOTools.readBox3D(buffer, box);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i), box, EPSILON);
+            EuclidShapeBinaryIOTools.readCapsule3D(buffer, capsule);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i + 1), capsule, EPSILON);
+            EuclidShapeBinaryIOTools.readCylinder3D(buffer, cylinder);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i + 2), cylinder, EPSILON);
+            EuclidShapeBinaryIOTools.readEllipsoid3D(buffer, ellipsoid);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i + 3), ellipsoid, EPSILON);
+            EuclidShapeBinaryIOTools.readPointShape3D(buffer, pointShape);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i + 4), pointShape, EPSILON);
+            EuclidShapeBinaryIOTools.readRamp3D(buffer, ramp);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i + 5), ramp, EPSILON);
+            EuclidShapeBinaryIOTools.readSphere3D(buffer, sphere);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i + 6), sphere, EPSILON);
+            EuclidShapeBinaryIOTools.readTorus3D(buffer, torus);
+            EuclidCoreTestTools.assertEquals(expected.get(8 * i + 7), torus, EPSILON);
+         }
+
+         assertEquals(0, buffer.remaining());
+
+         // Generic write and read.
+         buffer.clear();
+         for (Shape3DReadOnly shape : expected)
+            EuclidShapeBinaryIOTools.writeShape3D(shape, buffer);
+         buffer.flip();
+         for (Shape3DReadOnly shape : expected)
+            EuclidCoreTestTools.assertEquals(shape, EuclidShapeBinaryIOTools.readShape3D(buffer), EPSILON);
+         assertEquals(0, buffer.remaining());
+      }
+   }
+
+   @Test
+   public void testUnsupportedTypes()
+   {
+      ByteBuffer buffer = ByteBuffer.allocate(EuclidCoreBinaryIOTools.RIGID_BODY_TRANSFORM_SIZE);
+      assertThrows(IllegalArgumentException.class, () -> EuclidShapeBinaryIOTools.writeShape3D(new ConvexPolytope3D(), buffer));
+      assertEquals(0, buffer.position());
+
+      EuclidCoreBinaryIOTools.writeRigidBodyTransform(new RigidBodyTransform(), buffer);
+      buffer.flip();
+      assertThrows(IllegalArgumentException.class, () -> EuclidShapeBinaryIOTools.readShape3D(buffer));
+      assertThrows(IllegalArgumentException.class, () -> EuclidShapeBinaryIOTools.readSphere3D(buffer, new Sphere3D()));
+      assertEquals(0, buffer.position());
+   }
+}
@@ -0,0 +1,411 @@
+package us.ihmc.euclid.simd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.QuaternionTools;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Point3D32;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple3D.Vector3D32;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DBasics;
+import us.ihmc.euclid.tuple4D.Quaternion;
+
+public class EuclidSIMDToolsTest
+{
+   private static final boolean VERBOSE = false;
+   private static final double EPS = 1.0e-12;
+   private static final double EPS32 = 1.0e-4;
+
+   private final boolean initialVectorAPIEnabled = EuclidSIMDTools.isVectorAPIEnabled();
+
+   @AfterEach
+   public void restoreImplementation()
+   {
+      EuclidSIMDTools.setVectorAPIEnabled(initialVectorAPIEnabled);
+   }
+
+   @Test
+   public void testSetVectorAPIEnabled()
+   {
+      EuclidSIMDTools.setVectorAPIEnabled(false);
+      assertFalse(EuclidSIMDTools.isVectorAPIEnabled());
+
+      if (EuclidSIMDTools.isVectorAPIAvailable())
+      {
+         EuclidSIMDTools.setVectorAPIEnabled(true);
+         assertEquals(true, EuclidSIMDTools.isVectorAPIEnabled());
+      }
+      else
+      {
+         assertThrows(IllegalStateException.class, () -> EuclidSIMDTools.setVectorAPIEnabled(true));
+      }
+
+      assertThrows(IllegalArgumentException.class, () -> EuclidSIMDTools.transformPoints(EuclidCoreRandomTools.nextRigidBodyTransform(new Random()),
+                                                                                         new double[3],
+                                                                                         new double[3],
+                                                                                         new double[2],
+                                                                                         3));
+      assertThrows(IllegalArgumentException.class, () -> EuclidSIMDTools.dot(new float[3], new float[3], new float[3], new float[3], new float[3], new float[3], new float[2], 3));
+   }
+
+   @Test
+   public void testTransform()
+   {
+      Random random = new Random(3453);
+
+      for (boolean enableVectorAPI : implementations())
+      {
+         EuclidSIMDTools.setVectorAPIEnabled(enableVectorAPI);
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            Transform[] transforms = {EuclidCoreRandomTools.nextRigidBodyTransform(random), EuclidCoreRandomTools.nextQuaternionBasedTransform(random),
+                  EuclidCoreRandomTools.nextAffineTransform(random)};
+
+            for (Transform transform : transforms)
+            {
+               for (boolean inverse : new boolean[] {false, true})
+               {
+                  for (boolean isPoint : new boolean[] {false, true})
+                  {
+                     int length = random.nextInt(50);
+                     double[][] components = nextComponents(random, length + random.nextInt(3));
+                     float[][] components32 = toFloat(components);
+                     Tuple3DBasics[] expected = new Tuple3DBasics[length];
+                     Tuple3DBasics[] expected32 = new Tuple3DBasics[length];
+
+                     for (int j = 0; j < length; j++)
+                     {
+                        expected[j] = isPoint ? new Point3D() : new Vector3D();
+                        expected[j].set(components[0][j], components[1][j], components[2][j]);
+                        expected32[j] = isPoint ? new Point3D32() : new Vector3D32();
+                        expected32[j].set(components32[0][j], components32[1][j], components32[2][j]);
+
+                        if (inverse)
+                        {
+                           expected[j].applyInverseTransform(transform);
+                           expected32[j].applyInverseTransform(transform);
+                        }
+                        else
+                        {
+                           expected[j].applyTransform(transform);
+                           expected32[j].applyTransform(transform);
+                        }
+                     }
+
+                     if (isPoint && inverse)
+                     {
+                        EuclidSIMDTools.inverseTransformPoints(transform, components[0], components[1], components[2], length);
+                        EuclidSIMDTools.inverseTransformPoints(transform, components32[0], components32[1], components32[2], length);
+                     }
+                     else if (isPoint)
+                     {
+                        EuclidSIMDTools.transformPoints(transform, components[0], components[1], components[2], length);
+                        EuclidSIMDTools.transformPoints(transform, components32[0], components32[1], components32[2], length);
+                     }
+                     else if (inverse)
+                     {
+                        EuclidSIMDTools.inverseTransformVectors(transform, components[0], components[1], components[2], length);
+                        EuclidSIMDTools.inverseTransformVectors(transform, components32[0], components32[1], components32[2], length);
+                     }
+                     else
+                     {
+                        EuclidSIMDTools.transformVectors(transform, components[0], components[1], components[2], length);
+                        EuclidSIMDTools.transformVectors(transform, components32[0], components32[1], components32[2], length);
+                     }
+
+                     for (int j = 0; j < length; j++)
+                     {
+                        assertTupleEquals(expected[j], components, j, EPS);
+                        assertTupleEquals(expected32[j], components32, j, EPS32);
+                     }
+                  }
+               }
+            }
+         }
+      }
+   }
+
+   @Test
+   public void testQuaternionTransform()
+   {
+      Random random = new Random(3454);
+
+      for (boolean enableVectorAPI : implementations())
+      {
+         EuclidSIMDTools.setVectorAPIEnabled(enableVectorAPI);
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            Quaternion quaternion = EuclidCoreRandomTools.nextQuaternion(random);
+            // Not normalized on purpose, QuaternionTools normalizes the quaternion.
+            quaternion.setUnsafe(2.0 * quaternion.getX(), 2.0 * quaternion.getY(), 2.0 * quaternion.getZ(), 2.0 * quaternion.getS());
+
+            for (boolean inverse : new boolean[] {false, true})
+            {
+               int length = random.nextInt(50);
+               double[][] components = nextComponents(random, length);
+               float[][] components32 = toFloat(components);
+               Vector3D[] expected = new Vector3D[length];
+
+               for (int j = 0; j < length; j++)
+               {
+                  expected[j] = new Vector3D(components[0][j], components[1][j], components[2][j]);
+
+                  if (inverse)
+                     QuaternionTools.inverseTransform(quaternion, expected[j], expected[j]);
+                  else
+                     QuaternionTools.transform(quaternion, expected[j], expected[j]);
+               }
+
+               if (inverse)
+               {
+                  EuclidSIMDTools.inverseTransform(quaternion, components[0], components[1], components[2], length);
+                  EuclidSIMDTools.inverseTransform(quaternion, components32[0], components32[1], components32[2], length);
+               }
+               else
+               {
+                  EuclidSIMDTools.transform(quaternion, components[0], components[1], components[2], length);
+                  EuclidSIMDTools.transform(quaternion, components32[0], components32[1], components32[2], length);
+               }
+
+               for (int j = 0; j < length; j++)
+               {
+                  assertTupleEquals(expected[j], components, j, EPS);
+                  assertTupleEquals(expected[j], components32, j, EPS32);
+               }
+            }
+         }
+      }
+   }
+
+   @Test
+   public void testDotAndCross()
+   {
+      Random random = new Random(3455);
+
+      for (boolean enableVectorAPI : implementations())
+      {
+         EuclidSIMDTools.setVectorAPIEnabled(enableVectorAPI);
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            int length = random.nextInt(50);
+            double[][] a = nextComponents(random, length);
+            double[][] b = nextComponents(random, length);
+            float[][] a32 = toFloat(a);
+            float[][] b32 = toFloat(b);
+            double[] dots = new double[length];
+            float[] dots32 = new float[length];
+            double[][] crosses = new double[3][length];
+            float[][] crosses32 = new float[3][length];
+
+            EuclidSIMDTools.dot(a[0], a[1], a[2], b[0], b[1], b[2], dots, length);
+            EuclidSIMDTools.dot(a32[0], a32[1], a32[2], b32[0], b32[1], b32[2], dots32, length);
+            EuclidSIMDTools.cross(a[0], a[1], a[2], b[0], b[1], b[2], crosses[0], crosses[1], crosses[2], length);
+            EuclidSIMDTools.cross(a32[0], a32[1], a32[2], b32[0], b32[1], b32[2], crosses32[0], crosses32[1], crosses32[2], length);
+
+            for (int j = 0; j < length; j++)
+            {
+               Vector3D vectorA = new Vector3D(a[0][j], a[1][j], a[2][j]);
+               Vector3D vectorB = new Vector3D(b[0][j], b[1][j], b[2][j]);
+               Vector3D cross = new Vector3D();
+               cross.cross(vectorA, vectorB);
+
+               assertEquals(vectorA.dot(vectorB), dots[j], EPS);
+               assertEquals(vectorA.dot(vectorB), dots32[j], EPS32);
+               assertTupleEquals(cross, crosses, j, EPS);
+               assertTupleEquals(cross, crosses32, j, EPS32);
+            }
+
+            // In place cross product
+            EuclidSIMDTools.cross(a[0], a[1], a[2], b[0], b[1], b[2], a[0], a[1], a[2], length);
+
+            for (int j = 0; j < length; j++)
+            {
+               assertEquals(crosses[0][j], a[0][j]);
+               assertEquals(crosses[1][j], a[1][j]);
+               assertEquals(crosses[2][j], a[2][j]);
+            }
+         }
+      }
+   }
+
+   @Test
+   public void testImplementationsAreConsistent()
+   {
+      if (!EuclidSIMDTools.isVectorAPIAvailable())
+         return;
+
+      Random random = new Random(3456);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int length = random.nextInt(100);
+         Transform transform = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+         Quaternion quaternion = EuclidCoreRandomTools.nextQuaternion(random);
+         double[][] scalar = nextComponents(random, length);
+         double[][] vectorized = {scalar[0].clone(), scalar[1].clone(), scalar[2].clone()};
+
+         EuclidSIMDTools.setVectorAPIEnabled(false);
+         EuclidSIMDTools.transformPoints(transform, scalar[0], scalar[1], scalar[2], length);
+         EuclidSIMDTools.transform(quaternion, scalar[0], scalar[1], scalar[2], length);
+         EuclidSIMDTools.setVectorAPIEnabled(true);
+         EuclidSIMDTools.transformPoints(transform, vectorized[0], vectorized[1], vectorized[2], length);
+         EuclidSIMDTools.transform(quaternion, vectorized[0], vectorized[1], vectorized[2], length);
+
+         for (int j = 0; j < length; j++)
+         {
+            assertEquals(scalar[0][j], vectorized[0][j], EPS);
+            assertEquals(scalar[1][j], vectorized[1][j], EPS);
+            assertEquals(scalar[2][j], vectorized[2][j], EPS);
+         }
+      }
+   }
+
+   @Test
+   public void testBenchmark()
+   {
+      Random random = new Random(3457);
+      int numberOfPoints = VERBOSE ? 100000 : 1000;
+      int numberOfRuns = VERBOSE ? 1000 : 1;
+
+      double[][] components = nextComponents(random, numberOfPoints);
+      float[][] components32 = toFloat(components);
+      double[][] initialComponents = {components[0].clone(), components[1].clone(), components[2].clone()};
+      float[][] initialComponents32 = {components32[0].clone(), components32[1].clone(), components32[2].clone()};
+      Point3D[] points = new Point3D[numberOfPoints];
+      Point3D[] transformedPoints = new Point3D[numberOfPoints];
+
+      Transform transform = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+      Quaternion quaternion = EuclidCoreRandomTools.nextQuaternion(random);
+
+      for (int i = 0; i < numberOfPoints; i++)
+      {
+         points[i] = new Point3D(components[0][i], components[1][i], components[2][i]);
+         transformedPoints[i] = new Point3D(points[i]);
+         transform.transform(transformedPoints[i]);
+      }
+
+      long perObjectTransformTime = 0, perObjectQuaternionTime = 0;
+      long[] transformTimes = new long[2], transform32Times = new long[2], quaternionTimes = new long[2];
+
+      for (int run = 0; run < numberOfRuns; run++)
+      {
+         for (int i = 0; i < numberOfPoints; i++)
+            points[i].set(initialComponents[0][i], initialComponents[1][i], initialComponents[2][i]);
+
+         long start = System.nanoTime();
+         for (int i = 0; i < numberOfPoints; i++)
+            transform.transform(points[i]);
+         perObjectTransformTime += System.nanoTime() - start;
+
+         start = System.nanoTime();
+         for (int i = 0; i < numberOfPoints; i++)
+            QuaternionTools.transform(quaternion, points[i], points[i]);
+         perObjectQuaternionTime += System.nanoTime() - start;
+
+         for (boolean enableVectorAPI : implementations())
+         {
+            EuclidSIMDTools.setVectorAPIEnabled(enableVectorAPI);
+            int index = enableVectorAPI ? 1 : 0;
+
+            for (int axis = 0; axis < 3; axis++)
+            {
+               System.arraycopy(initialComponents[axis], 0, components[axis], 0, numberOfPoints);
+               System.arraycopy(initialComponents32[axis], 0, components32[axis], 0, numberOfPoints);
+            }
+
+            start = System.nanoTime();
+            EuclidSIMDTools.transformPoints(transform, components[0], components[1], components[2], numberOfPoints);
+            transformTimes[index] += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            EuclidSIMDTools.transformPoints(transform, components32[0], components32[1], components32[2], numberOfPoints);
+            transform32Times[index] += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            EuclidSIMDTools.transform(quaternion, components[0], components[1], components[2], numberOfPoints);
+            quaternionTimes[index] += System.nanoTime() - start;
+
+            for (int i = 0; i < numberOfPoints; i++)
+            {
+               assertTupleEquals(points[i], components, i, EPS);
+               assertTupleEquals(transformedPoints[i], components32, i, EPS32);
+            }
+         }
+      }
+
+      if (VERBOSE)
+      {
+         double normalization = (double) numberOfPoints * numberOfRuns;
+         System.out.println(String.format("Average time per point in nanosec (per-object / scalar / Vector API):\n\t-RigidBodyTransform: %.2f / %.2f / %.2f\n\t-RigidBodyTransform (float): - / %.2f / %.2f\n\t-Quaternion: %.2f / %.2f / %.2f",
+                                          perObjectTransformTime / normalization,
+                                          transformTimes[0] / normalization,
+                                          transformTimes[1] / normalization,
+                                          transform32Times[0] / normalization,
+                                          transform32Times[1] / normalization,
+                                          perObjectQuaternionTime / normalization,
+                                          quaternionTimes[0] / normalization,
+                                          quaternionTimes[1] / normalization));
+      }
+   }
+
+   private static boolean[] implementations()
+   {
+      return EuclidSIMDTools.isVectorAPIAvailable() ? new boolean[] {false, true} : new boolean[] {false};
+   }
+
+   private static double[][] nextComponents(Random random, int length)
+   {
+      double[][] components = new double[3][length];
+
+      for (int i = 0; i < length; i++)
+      {
+         components[0][i] = EuclidCoreRandomTools.nextDouble(random, 10.0);
+         components[1][i] = EuclidCoreRandomTools.nextDouble(random, 10.0);
+         components[2][i] = EuclidCoreRandomTools.nextDouble(random, 10.0);
+      }
+
+      return components;
+   }
+
+   private static float[][] toFloat(double[][] components)
+   {
+      float[][] components32 = new float[components.length][components[0].length];
+
+      for (int i = 0; i < components.length; i++)
+      {
+         for (int j = 0; j < components[i].length; j++)
+            components32[i][j] = (float) components[i][j];
+      }
+
+      return components32;
+   }
+
+   private static void assertTupleEquals(Tuple3DBasics expected, double[][] components, int index, double epsilon)
+   {
+      assertEquals(expected.getX(), components[0][index], epsilon);
+      assertEquals(expected.getY(), components[1][index], epsilon);
+      assertEquals(expected.getZ(), components[2][index], epsilon);
+   }
+
+   private static void assertTupleEquals(Tuple3DBasics expected, float[][] components, int index, double epsilon)
+   {
+      // Single precision, the error grows with the magnitude of the components.
+      epsilon *= Math.max(1.0, expected.norm());
+      assertEquals(expected.getX(), components[0][index], epsilon);
+      assertEquals(expected.getY(), components[1][index], epsilon);
+      assertEquals(expected.getZ(), components[2][index], epsilon);
+   }
+}
@@ -0,0 +1,226 @@
+package us.ihmc.euclid.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.matrix.RotationMatrix;
+import us.ihmc.euclid.transform.QuaternionBasedTransform;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.tuple2D.Point2D;
+import us.ihmc.euclid.tuple2D.Vector2D;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple4D.Quaternion;
+import us.ihmc.euclid.tuple4D.Vector4D;
+
+public class EuclidCoreBinaryIOToolsTest
+{
+   private static final boolean VERBOSE = false;
+   private static final int ITERATIONS = 1000;
+
+   @Test
+   public void testRoundTrip()
+   {
+      Random random = new Random(34534);
+
+      int capacity = ITERATIONS * (EuclidCoreBinaryIOTools.TUPLE_2D_SIZE + EuclidCoreBinaryIOTools.TUPLE_3D_SIZE + EuclidCoreBinaryIOTools.TUPLE_4D_SIZE
+            + EuclidCoreBinaryIOTools.QUATERNION_SIZE + EuclidCoreBinaryIOTools.ROTATION_MATRIX_SIZE + EuclidCoreBinaryIOTools.RIGID_BODY_TRANSFORM_SIZE);
+
+      for (ByteBuffer buffer : newBuffers(capacity))
+      {
+         Vector2D[] tuple2Ds = new Vector2D[ITERATIONS];
+         Point3D[] tuple3Ds = new Point3D[ITERATIONS];
+         Vector4D[] tuple4Ds = new Vector4D[ITERATIONS];
+         Quaternion[] quaternions = new Quaternion[ITERATIONS];
+         RotationMatrix[] rotationMatrices = new RotationMatrix[ITERATIONS];
+         RigidBodyTransform[] transforms = new RigidBodyTransform[ITERATIONS];
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            tuple2Ds[i] = EuclidCoreRandomTools.nextVector2D(random);
+            tuple3Ds[i] = EuclidCoreRandomTools.nextPoint3D(random);
+            tuple4Ds[i] = EuclidCoreRandomTools.nextVector4D(random);
+            quaternions[i] = EuclidCoreRandomTools.nextQuaternion(random);
+            rotationMatrices[i] = EuclidCoreRandomTools.nextRotationMatrix(random);
+            transforms[i] = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+
+            EuclidCoreBinaryIOTools.writeTuple2D(tuple2Ds[i], buffer);
+            EuclidCoreBinaryIOTools.writeTuple3D(tuple3Ds[i], buffer);
+            EuclidCoreBinaryIOTools.writeTuple4D(tuple4Ds[i], buffer);
+            EuclidCoreBinaryIOTools.writeQuaternion(quaternions[i], buffer);
+            EuclidCoreBinaryIOTools.writeRotationMatrix(rotationMatrices[i], buffer);
+            EuclidCoreBinaryIOTools.writeRigidBodyTransform(transforms[i], buffer);
+         }
+
+         assertEquals(0, buffer.remaining());
+         buffer.flip();
+
+         Vector2D tuple2D = new Vector2D();
+         Point3D tuple3D = new Point3D();
+         Vector4D tuple4D = new Vector4D();
+         Quaternion quaternion = new Quaternion();
+         RotationMatrix rotationMatrix = new RotationMatrix();
+         RigidBodyTransform transform = new RigidBodyTransform();
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            EuclidCoreBinaryIOTools.readTuple2D(buffer, tuple2D);
+            assertEquals(tuple2Ds[i], tuple2D);
+            EuclidCoreBinaryIOTools.readTuple3D(buffer, tuple3D);
+            assertEquals(tuple3Ds[i], tuple3D);
+            EuclidCoreBinaryIOTools.readTuple4D(buffer, tuple4D);
+            assertEquals(tuple4Ds[i], tuple4D);
+            EuclidCoreBinaryIOTools.readQuaternion(buffer, quaternion);
+            assertEquals(quaternions[i], quaternion);
+            EuclidCoreBinaryIOTools.readRotationMatrix(buffer, rotationMatrix);
+            assertEquals(rotationMatrices[i], rotationMatrix);
+            EuclidCoreBinaryIOTools.readRigidBodyTransform(buffer, transform);
+            assertEquals(transforms[i], transform);
+         }
+
+         assertEquals(0, buffer.remaining());
+      }
+   }
+
+   @Test
+   public void testWriteQuaternionBasedTransform()
+   {
+      Random random = new Random(34535);
+      ByteBuffer buffer = ByteBuffer.allocate(ITERATIONS * EuclidCoreBinaryIOTools.RIGID_BODY_TRANSFORM_SIZE);
+      QuaternionBasedTransform[] transforms = new QuaternionBasedTransform[ITERATIONS];
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         transforms[i] = EuclidCoreRandomTools.nextQuaternionBasedTransform(random);
+         EuclidCoreBinaryIOTools.writeRigidBodyTransform(transforms[i], buffer);
+      }
+
+      buffer.flip();
+      RigidBodyTransform transform = new RigidBodyTransform();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         EuclidCoreBinaryIOTools.readRigidBodyTransform(buffer, transform);
+         EuclidCoreTestTools.assertEquals(new RigidBodyTransform(transforms[i]), transform, 1.0e-15);
+      }
+   }
+
+   @Test
+   public void testHeaderErrors()
+   {
+      Random random = new Random(4536);
+      ByteBuffer buffer = ByteBuffer.allocate(EuclidCoreBinaryIOTools.TUPLE_3D_SIZE);
+
+      // Not enough room: nothing is written.
+      buffer.position(1);
+      assertThrows(BufferOverflowException.class, () -> EuclidCoreBinaryIOTools.writeTuple3D(new Point3D(), buffer));
+      assertEquals(1, buffer.position());
+
+      Point3D expected = EuclidCoreRandomTools.nextPoint3D(random);
+      buffer.clear();
+      EuclidCoreBinaryIOTools.writeTuple3D(expected, buffer);
+      buffer.flip();
+      assertEquals(EuclidCoreBinaryIOTools.TUPLE_3D_TAG, EuclidCoreBinaryIOTools.peekTypeTag(buffer));
+
+      // Wrong type: nothing is read.
+      assertThrows(IllegalArgumentException.class, () -> EuclidCoreBinaryIOTools.readTuple2D(buffer, new Point2D()));
+      assertEquals(0, buffer.position());
+
+      // Not enough bytes: nothing is read.
+      buffer.limit(EuclidCoreBinaryIOTools.TUPLE_3D_SIZE - 1);
+      assertThrows(BufferUnderflowException.class, () -> EuclidCoreBinaryIOTools.readTuple3D(buffer, new Point3D()));
+      assertEquals(0, buffer.position());
+
+      // Unknown version.
+      buffer.limit(EuclidCoreBinaryIOTools.TUPLE_3D_SIZE);
+      buffer.put(1, (byte) (EuclidCoreBinaryIOTools.FORMAT_VERSION + 1));
+      assertThrows(IllegalArgumentException.class, () -> EuclidCoreBinaryIOTools.readTuple3D(buffer, new Point3D()));
+      assertEquals(0, buffer.position());
+
+      buffer.put(1, EuclidCoreBinaryIOTools.FORMAT_VERSION);
+      Vector3D actual = new Vector3D();
+      EuclidCoreBinaryIOTools.readTuple3D(buffer, actual);
+      assertEquals(expected.getX(), actual.getX());
+      assertEquals(expected.getY(), actual.getY());
+      assertEquals(expected.getZ(), actual.getZ());
+      assertEquals(0, buffer.remaining());
+   }
+
+   @Test
+   public void testByteOrder()
+   {
+      Random random = new Random(2342);
+      Point2D expected = EuclidCoreRandomTools.nextPoint2D(random);
+      ByteBuffer buffer = ByteBuffer.allocate(EuclidCoreBinaryIOTools.TUPLE_2D_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      EuclidCoreBinaryIOTools.writeTuple2D(expected, buffer);
+      buffer.flip();
+      assertEquals(expected.getX(), buffer.getDouble(EuclidCoreBinaryIOTools.HEADER_SIZE));
+      assertEquals(expected.getY(), buffer.getDouble(EuclidCoreBinaryIOTools.HEADER_SIZE + Double.BYTES));
+   }
+
+   @Test
+   public void testBenchmark()
+   {
+      Random random = new Random(574);
+      int numberOfTransforms = VERBOSE ? 100000 : 1000;
+      int numberOfRuns = VERBOSE ? 500 : 1;
+
+      RigidBodyTransform[] transforms = new RigidBodyTransform[numberOfTransforms];
+      RigidBodyTransform[] readTransforms = new RigidBodyTransform[numberOfTransforms];
+      for (int i = 0; i < numberOfTransforms; i++)
+      {
+         transforms[i] = EuclidCoreRandomTools.nextRigidBodyTransform(random);
+         readTransforms[i] = new RigidBodyTransform();
+      }
+
+      for (ByteBuffer buffer : newBuffers(numberOfTransforms * EuclidCoreBinaryIOTools.RIGID_BODY_TRANSFORM_SIZE))
+      {
+         long writeTime = 0, readTime = 0;
+
+         for (int run = 0; run < numberOfRuns; run++)
+         {
+            buffer.clear();
+            long start = System.nanoTime();
+            for (int i = 0; i < numberOfTransforms; i++)
+               EuclidCoreBinaryIOTools.writeRigidBodyTransform(transforms[i], buffer);
+            writeTime += System.nanoTime() - start;
+
+            buffer.flip();
+            start = System.nanoTime();
+            for (int i = 0; i < numberOfTransforms; i++)
+               EuclidCoreBinaryIOTools.readRigidBodyTransform(buffer, readTransforms[i]);
+            readTime += System.nanoTime() - start;
+
+            for (int i = 0; i < numberOfTransforms; i++)
+            {
+               assertEquals(transforms[i], readTransforms[i]);
+               readTransforms[i].setToZero();
+            }
+         }
+
+         if (VERBOSE)
+         {
+            double numberOfBytes = (double) numberOfRuns * buffer.limit();
+            System.out.println(String.format("%s %s, write: %.1f MB/s, read: %.1f MB/s",
+                                             buffer.isDirect() ? "direct" : "heap",
+                                             buffer.order(),
+                                             1.0e3 * numberOfBytes / writeTime,
+                                             1.0e3 * numberOfBytes / readTime));
+         }
+      }
+   }
+
+   private static ByteBuffer[] newBuffers(int capacity)
+   {
+      return new ByteBuffer[] {ByteBuffer.allocate(capacity), ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN),
+            ByteBuffer.allocateDirect(capacity), ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder())};
+   }
+}
@@ -0,0 +1,287 @@
+package us.ihmc.euclid.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.axisAngle.AxisAngle;
+import us.ihmc.euclid.rotationConversion.AxisAngleConversion;
+import us.ihmc.euclid.rotationConversion.QuaternionConversion;
+import us.ihmc.euclid.rotationConversion.YawPitchRollConversion;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple4D.Quaternion;
+import us.ihmc.euclid.yawPitchRoll.YawPitchRoll;
+
+public class EuclidMathBackendTest
+{
+   private static final boolean VERBOSE = false;
+   private static final int NUMBER_OF_SAMPLES = VERBOSE ? 10000000 : 200000;
+
+   @Test
+   public void testSetMathBackend()
+   {
+      EuclidMathBackend initialBackend = EuclidCoreTools.getMathBackend();
+      assertSame(EuclidMathBackend.STRICT, initialBackend);
+
+      try
+      {
+         for (EuclidMathBackend backend : EuclidMathBackend.values)
+         {
+            EuclidCoreTools.setMathBackend(backend);
+            assertSame(backend, EuclidCoreTools.getMathBackend());
+            assertEquals(backend.sin(0.3), EuclidCoreTools.sin(0.3));
+            assertEquals(backend.atan2(0.3, -0.5), EuclidCoreTools.atan2(0.3, -0.5));
+         }
+
+         assertThrows(IllegalArgumentException.class, () -> EuclidCoreTools.setMathBackend(null));
+      }
+      finally
+      {
+         EuclidCoreTools.setMathBackend(initialBackend);
+      }
+   }
+
+   @Test
+   public void testParseMathBackend()
+   {
+      assertSame(EuclidMathBackend.STRICT, EuclidCoreTools.parseMathBackend(null));
+
+      for (EuclidMathBackend backend : EuclidMathBackend.values)
+      {
+         assertSame(backend, EuclidCoreTools.parseMathBackend(backend.name()));
+         assertSame(backend, EuclidCoreTools.parseMathBackend(" " + backend.name().toLowerCase(Locale.ROOT) + " "));
+      }
+
+      // Invalid values fall back to the default backend instead of preventing EuclidCoreTools from loading.
+      assertSame(EuclidMathBackend.STRICT, EuclidCoreTools.parseMathBackend(""));
+      assertSame(EuclidMathBackend.STRICT, EuclidCoreTools.parseMathBackend("notABackend"));
+   }
+
+   @Test
+   public void testAccuracy()
+   {
+      Random random = new Random(9823);
+
+      for (EuclidMathBackend backend : EuclidMathBackend.values)
+      {
+         double sinError = maxError(random, backend::sin, StrictMath::sin, Math.PI);
+         double cosError = maxError(random, backend::cos, StrictMath::cos, Math.PI);
+         double sinLargeError = maxError(random, backend::sin, StrictMath::sin, EuclidFastMathTools.MAX_REDUCIBLE_ANGLE);
+         double cosLargeError = maxError(random, backend::cos, StrictMath::cos, EuclidFastMathTools.MAX_REDUCIBLE_ANGLE);
+         double tanError = maxRelativeError(random, backend::tan, StrictMath::tan, Math.PI);
+         double atanError = maxError(random, backend::atan, StrictMath::atan, 100.0);
+         double atan2Error = maxError(random, backend::atan2, StrictMath::atan2);
+         double asinError = maxError(random, backend::asin, StrictMath::asin, 1.0);
+         double acosError = maxError(random, backend::acos, StrictMath::acos, 1.0);
+
+         if (VERBOSE)
+         {
+            System.out.println(backend + " worst-case errors with respect to StrictMath:");
+            System.out.println(String.format("\tsin: %e, cos: %e (|a| <= pi)", sinError, cosError));
+            System.out.println(String.format("\tsin: %e, cos: %e (|a| <= %.0e)", sinLargeError, cosLargeError, EuclidFastMathTools.MAX_REDUCIBLE_ANGLE));
+            System.out.println(String.format("\ttan: %e (relative, |a| <= pi)", tanError));
+            System.out.println(String.format("\tatan: %e, atan2: %e, asin: %e, acos: %e", atanError, atan2Error, asinError, acosError));
+         }
+
+         // Maximum errors documented in EuclidFastMathTools.
+         assertTrue(sinError <= 5.0e-16, backend + ": " + sinError);
+         assertTrue(cosError <= 5.0e-16, backend + ": " + cosError);
+         assertTrue(sinLargeError <= 5.0e-16, backend + ": " + sinLargeError);
+         assertTrue(cosLargeError <= 5.0e-16, backend + ": " + cosLargeError);
+         assertTrue(tanError <= 1.0e-15, backend + ": " + tanError);
+         assertTrue(atanError <= 5.0e-16, backend + ": " + atanError);
+         assertTrue(atan2Error <= 5.0e-16, backend + ": " + atan2Error);
+         assertTrue(asinError <= 5.0e-16, backend + ": " + asinError);
+         assertTrue(acosError <= 5.0e-16, backend + ": " + acosError);
+      }
+   }
+
+   @Test
+   public void testSpecialValues()
+   {
+      double[] values = {0.0, -0.0, 1.0, -1.0, 1.0e-300, -1.0e-300, Double.MIN_VALUE, 1.0e10, Double.MAX_VALUE, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.NaN};
+
+      for (EuclidMathBackend backend : EuclidMathBackend.values)
+      {
+         for (double a : values)
+         {
+            assertWithinOneUlp(StrictMath.sin(a), backend.sin(a), backend + ": sin(" + a + ")");
+            assertWithinOneUlp(StrictMath.cos(a), backend.cos(a), backend + ": cos(" + a + ")");
+            assertWithinOneUlp(StrictMath.atan(a), backend.atan(a), backend + ": atan(" + a + ")");
+            assertWithinOneUlp(StrictMath.asin(a), backend.asin(a), backend + ": asin(" + a + ")");
+            assertWithinOneUlp(StrictMath.acos(a), backend.acos(a), backend + ": acos(" + a + ")");
+
+            for (double b : values)
+               assertWithinOneUlp(StrictMath.atan2(a, b), backend.atan2(a, b), backend + ": atan2(" + a + ", " + b + ")");
+         }
+      }
+   }
+
+   @Test
+   public void testBenchmark()
+   {
+      Random random = new Random(9824);
+      int numberOfSamples = VERBOSE ? 1000000 : 1000;
+      int numberOfRuns = VERBOSE ? 10 : 1;
+      EuclidMathBackend initialBackend = EuclidCoreTools.getMathBackend();
+
+      Quaternion[] quaternions = new Quaternion[numberOfSamples];
+      YawPitchRoll[] yawPitchRolls = new YawPitchRoll[numberOfSamples];
+      Vector3D[] rotationVectors = new Vector3D[numberOfSamples];
+      // Results of the conversions, the first index is 0 for the STRICT backend and 1 for the backend being timed.
+      Quaternion[][] fromYawPitchRolls = new Quaternion[2][numberOfSamples];
+      YawPitchRoll[][] toYawPitchRolls = new YawPitchRoll[2][numberOfSamples];
+      AxisAngle[][] toAxisAngles = new AxisAngle[2][numberOfSamples];
+      Quaternion[][] fromRotationVectors = new Quaternion[2][numberOfSamples];
+      Quaternion[][] interpolations = new Quaternion[2][numberOfSamples];
+
+      for (int i = 0; i < numberOfSamples; i++)
+      {
+         quaternions[i] = EuclidCoreRandomTools.nextQuaternion(random);
+         yawPitchRolls[i] = EuclidCoreRandomTools.nextYawPitchRoll(random);
+         rotationVectors[i] = EuclidCoreRandomTools.nextRotationVector(random);
+
+         for (int j = 0; j < 2; j++)
+         {
+            fromYawPitchRolls[j][i] = new Quaternion();
+            toYawPitchRolls[j][i] = new YawPitchRoll();
+            toAxisAngles[j][i] = new AxisAngle();
+            fromRotationVectors[j][i] = new Quaternion();
+            interpolations[j][i] = new Quaternion();
+         }
+      }
+
+      try
+      {
+         EuclidCoreTools.setMathBackend(EuclidMathBackend.STRICT);
+
+         for (int i = 0; i < numberOfSamples; i++)
+         {
+            QuaternionConversion.convertYawPitchRollToQuaternion(yawPitchRolls[i], fromYawPitchRolls[0][i]);
+            YawPitchRollConversion.convertQuaternionToYawPitchRoll(quaternions[i], toYawPitchRolls[0][i]);
+            AxisAngleConversion.convertQuaternionToAxisAngle(quaternions[i], toAxisAngles[0][i]);
+            QuaternionConversion.convertRotationVectorToQuaternion(rotationVectors[i], fromRotationVectors[0][i]);
+            if (i > 0)
+               QuaternionTools.interpolate(quaternions[i - 1], quaternions[i], 0.3, interpolations[0][i]);
+         }
+
+         for (int run = 0; run < numberOfRuns; run++)
+         {
+            for (EuclidMathBackend backend : EuclidMathBackend.values)
+            {
+               EuclidCoreTools.setMathBackend(backend);
+               long[] times = new long[5];
+
+               long start = System.nanoTime();
+               for (int i = 0; i < numberOfSamples; i++)
+                  QuaternionConversion.convertYawPitchRollToQuaternion(yawPitchRolls[i], fromYawPitchRolls[1][i]);
+               times[0] = System.nanoTime() - start;
+
+               start = System.nanoTime();
+               for (int i = 0; i < numberOfSamples; i++)
+                  YawPitchRollConversion.convertQuaternionToYawPitchRoll(quaternions[i], toYawPitchRolls[1][i]);
+               times[1] = System.nanoTime() - start;
+
+               start = System.nanoTime();
+               for (int i = 0; i < numberOfSamples; i++)
+                  AxisAngleConversion.convertQuaternionToAxisAngle(quaternions[i], toAxisAngles[1][i]);
+               times[2] = System.nanoTime() - start;
+
+               start = System.nanoTime();
+               for (int i = 0; i < numberOfSamples; i++)
+                  QuaternionConversion.convertRotationVectorToQuaternion(rotationVectors[i], fromRotationVectors[1][i]);
+               times[3] = System.nanoTime() - start;
+
+               start = System.nanoTime();
+               for (int i = 1; i < numberOfSamples; i++)
+                  QuaternionTools.interpolate(quaternions[i - 1], quaternions[i], 0.3, interpolations[1][i]);
+               times[4] = System.nanoTime() - start;
+
+               String message = backend.toString();
+
+               for (int i = 0; i < numberOfSamples; i++)
+               {
+                  EuclidCoreTestTools.assertOrientation3DGeometricallyEquals(message, fromYawPitchRolls[0][i], fromYawPitchRolls[1][i], 1.0e-12);
+                  EuclidCoreTestTools.assertOrientation3DGeometricallyEquals(message, toYawPitchRolls[0][i], toYawPitchRolls[1][i], 1.0e-12);
+                  EuclidCoreTestTools.assertOrientation3DGeometricallyEquals(message, toAxisAngles[0][i], toAxisAngles[1][i], 1.0e-12);
+                  EuclidCoreTestTools.assertOrientation3DGeometricallyEquals(message, fromRotationVectors[0][i], fromRotationVectors[1][i], 1.0e-12);
+                  EuclidCoreTestTools.assertOrientation3DGeometricallyEquals(message, interpolations[0][i], interpolations[1][i], 1.0e-12);
+               }
+
+               if (VERBOSE && run == numberOfRuns - 1)
+               {
+                  System.out.println(String.format("%s, average time in nanosec:\n\t-YawPitchRoll to Quaternion: %.1f\n\t-Quaternion to YawPitchRoll: %.1f\n\t-Quaternion to AxisAngle: %.1f\n\t-RotationVector to Quaternion: %.1f\n\t-Quaternion interpolation: %.1f",
+                                                   backend,
+                                                   times[0] / (double) numberOfSamples,
+                                                   times[1] / (double) numberOfSamples,
+                                                   times[2] / (double) numberOfSamples,
+                                                   times[3] / (double) numberOfSamples,
+                                                   times[4] / (double) numberOfSamples));
+               }
+            }
+         }
+      }
+      finally
+      {
+         EuclidCoreTools.setMathBackend(initialBackend);
+      }
+   }
+
+   private static void assertWithinOneUlp(double expected, double actual, String message)
+   {
+      if (Double.isNaN(expected) || Double.isInfinite(expected))
+         assertEquals(expected, actual, message);
+      else
+         assertEquals(expected, actual, Math.ulp(expected), message);
+   }
+
+   private static double maxError(Random random, DoubleUnaryOperator actual, DoubleUnaryOperator expected, double range)
+   {
+      double maxError = 0.0;
+
+      for (int i = 0; i < NUMBER_OF_SAMPLES; i++)
+      {
+         double a = EuclidCoreRandomTools.nextDouble(random, range);
+         maxError = Math.max(maxError, Math.abs(actual.applyAsDouble(a) - expected.applyAsDouble(a)));
+      }
+
+      return maxError;
+   }
+
+   private static double maxRelativeError(Random random, DoubleUnaryOperator actual, DoubleUnaryOperator expected, double range)
+   {
+      double maxError = 0.0;
+
+      for (int i = 0; i < NUMBER_OF_SAMPLES; i++)
+      {
+         double a = EuclidCoreRandomTools.nextDouble(random, range);
+         double expectedValue = expected.applyAsDouble(a);
+         maxError = Math.max(maxError, Math.abs(actual.applyAsDouble(a) - expectedValue) / Math.max(1.0, Math.abs(expectedValue)));
+      }
+
+      return maxError;
+   }
+
+   private static double maxError(Random random, DoubleBinaryOperator actual, DoubleBinaryOperator expected)
+   {
+      double maxError = 0.0;
+
+      for (int i = 0; i < NUMBER_OF_SAMPLES; i++)
+      {
+         double y = EuclidCoreRandomTools.nextDouble(random, 10.0);
+         double x = EuclidCoreRandomTools.nextDouble(random, 10.0);
+         maxError = Math.max(maxError, Math.abs(actual.applyAsDouble(y, x) - expected.applyAsDouble(y, x)));
+      }
+
+      return maxError;
+   }
+}
@@ -0,0 +1,85 @@
+package us.ihmc.euclid.tuple3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+
+public class Point3DArray32Test extends Tuple3DArray32Test<Point3DArray32, Point3D32>
+{
+   @Override
+   public Point3DArray32 newArray(int initialCapacity)
+   {
+      return new Point3DArray32(initialCapacity);
+   }
+
+   @Override
+   public Point3D32 newRandomTuple(Random random, double minMax)
+   {
+      return new Point3D32(EuclidCoreRandomTools.nextPoint3D(random, minMax));
+   }
+
+   @Override
+   public Point3DArray32.View newView(Point3DArray32 array, int index)
+   {
+      return array.newView(index);
+   }
+
+   /**
+    * Tests the {@link Point3DArray32.View} against the API of {@link Point3DBasicsTest}.
+    */
+   @Nested
+   public class ViewTest extends Point3DBasicsTest<Point3DArray32.View>
+   {
+      @Test
+      public void testSetIndex()
+      {
+         Point3DArray32 array = new Point3DArray32();
+         array.append(1.0f, 2.0f, 3.0f);
+         array.append(4.0f, 5.0f, 6.0f);
+
+         Point3DArray32.View view = array.newView(0);
+         view.setIndex(1);
+         assertEquals(1, view.getIndex());
+         assertEquals(4.0f, view.getX());
+         view.setY(7.0f);
+         assertEquals(7.0f, array.getY(1));
+
+         array.clear();
+         assertThrows(IndexOutOfBoundsException.class, () -> view.setIndex(0));
+      }
+
+      @Override
+      public Point3DArray32.View createEmptyTuple()
+      {
+         return createTuple(0.0, 0.0, 0.0);
+      }
+
+      @Override
+      public Point3DArray32.View createRandomTuple(Random random)
+      {
+         Point3DArray32 array = new Point3DArray32(1);
+         array.append(EuclidCoreRandomTools.nextPoint3D32(random));
+         return array.newView(0);
+      }
+
+      @Override
+      public Point3DArray32.View createTuple(double x, double y, double z)
+      {
+         Point3DArray32 array = new Point3DArray32(1);
+         array.append((float) x, (float) y, (float) z);
+         return array.newView(0);
+      }
+
+      @Override
+      public double getEpsilon()
+      {
+         return 1.0e-6;
+      }
+   }
+}
@@ -0,0 +1,250 @@
+package us.ihmc.euclid.tuple3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static us.ihmc.euclid.EuclidTestConstants.ITERATIONS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.interfaces.Transformable;
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+import us.ihmc.euclid.tools.EuclidCoreTestTools;
+import us.ihmc.euclid.tools.EuclidCoreTools;
+import us.ihmc.euclid.transform.interfaces.Transform;
+import us.ihmc.euclid.tuple3D.interfaces.Tuple3DBasics;
+
+public abstract class Tuple3DArrayTest<A extends Tuple3DArray, T extends Tuple3DBasics & Transformable>
+{
+   private static final boolean VERBOSE = false;
+   private static final double EPS = 1.0e-12;
+
+   public abstract A newArray(int initialCapacity);
+
+   public abstract T newRandomTuple(Random random, double minMax);
+
+   public abstract Tuple3DBasics newView(A array, int index);
+
+   @Test
+   public void testAccessors()
+   {
+      Random random = new Random(4353);
+      A array = newArray(0);
+      List<T> expected = new ArrayList<>();
+
+      for (int i = 0; i < 100; i++)
+      {
+         T tuple = newRandomTuple(random, 1.0);
+         expected.add(tuple);
+
+         if (i % 2 == 0)
+            array.append(tuple);
+         else
+            array.append(tuple.getX(), tuple.getY(), tuple.getZ());
+      }
+
+      assertEquals(expected.size(), array.size());
+      T actual = newRandomTuple(random, 1.0);
+
+      for (int i = 0; i < array.size(); i++)
+      {
+         array.get(i, actual);
+         EuclidCoreTestTools.assertEquals(expected.get(i), actual, 0.0);
+         assertEquals(expected.get(i).getX(), array.getX(i));
+         assertEquals(expected.get(i).getY(), array.getY(i));
+         assertEquals(expected.get(i).getZ(), array.getZ(i));
+         EuclidCoreTestTools.assertEquals(expected.get(i), newView(array, i), 0.0);
+      }
+
+      T tuple = newRandomTuple(random, 1.0);
+      array.set(42, tuple);
+      EuclidCoreTestTools.assertEquals(tuple, newView(array, 42), 0.0);
+
+      newView(array, 12).set(tuple);
+      assertEquals(tuple.getX(), array.getXs()[12]);
+      assertEquals(tuple.getY(), array.getYs()[12]);
+      assertEquals(tuple.getZ(), array.getZs()[12]);
+
+      array.setSize(200);
+      assertEquals(200, array.size());
+      EuclidCoreTestTools.assertEquals(expected.get(99), newView(array, 99), 0.0);
+      EuclidCoreTestTools.assertTuple3DIsSetToZero(newView(array, 150));
+
+      array.clear();
+      assertEquals(0, array.size());
+      assertThrows(IndexOutOfBoundsException.class, () -> array.getX(0));
+      assertThrows(IndexOutOfBoundsException.class, () -> newView(array, 0));
+      assertThrows(IllegalArgumentException.class, () -> array.setSize(-1));
+   }
+
+   @Test
+   public void testApplyTransform()
+   {
+      Random random = new Random(4354);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         Transform[] transforms = {EuclidCoreRandomTools.nextRigidBodyTransform(random), EuclidCoreRandomTools.nextQuaternionBasedTransform(random),
+               EuclidCoreRandomTools.nextAffineTransform(random)};
+
+         for (Transform transform : transforms)
+         {
+            for (boolean inverse : new boolean[] {false, true})
+            {
+               int size = random.nextInt(50);
+               A array = newArray(16);
+               List<T> expected = new ArrayList<>();
+
+               for (int j = 0; j < size; j++)
+               {
+                  T tuple = newRandomTuple(random, 10.0);
+                  expected.add(tuple);
+                  array.append(tuple);
+               }
+
+               if (inverse)
+               {
+                  array.applyInverseTransform(transform);
+                  expected.forEach(tuple -> tuple.applyInverseTransform(transform));
+               }
+               else
+               {
+                  array.applyTransform(transform);
+                  expected.forEach(tuple -> tuple.applyTransform(transform));
+               }
+
+               assertArrayEquals(expected, array, EPS);
+            }
+         }
+      }
+   }
+
+   @Test
+   public void testArithmetic()
+   {
+      Random random = new Random(4355);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int size = random.nextInt(50);
+         A arrayA = newArray(16);
+         A arrayB = newArray(16);
+         List<T> expected = new ArrayList<>();
+         List<T> others = new ArrayList<>();
+
+         for (int j = 0; j < size; j++)
+         {
+            expected.add(newRandomTuple(random, 1.0));
+            others.add(newRandomTuple(random, 1.0));
+            arrayA.append(expected.get(j));
+            arrayB.append(others.get(j));
+         }
+
+         Vector3D offset = EuclidCoreRandomTools.nextVector3D(random);
+         arrayA.add(offset);
+         expected.forEach(tuple -> tuple.add(offset));
+         assertArrayEquals(expected, arrayA, EPS);
+
+         arrayA.add(arrayB);
+         for (int j = 0; j < size; j++)
+            expected.get(j).add(others.get(j));
+         assertArrayEquals(expected, arrayA, EPS);
+
+         double scale = EuclidCoreRandomTools.nextDouble(random, 10.0);
+         arrayA.scale(scale);
+         expected.forEach(tuple -> tuple.scale(scale));
+         assertArrayEquals(expected, arrayA, EPS);
+
+         double[] norms = new double[size];
+         arrayA.norms(norms);
+
+         for (int j = 0; j < size; j++)
+         {
+            T tuple = expected.get(j);
+            double expectedNorm = EuclidCoreTools.norm(tuple.getX(), tuple.getY(), tuple.getZ());
+            assertEquals(expectedNorm, norms[j], EPS);
+            assertEquals(expectedNorm, arrayA.norm(j), EPS);
+         }
+      }
+
+      A arrayA = newArray(16);
+      A arrayB = newArray(16);
+      arrayA.append(1.0, 2.0, 3.0);
+      assertThrows(IllegalArgumentException.class, () -> arrayA.add(arrayB));
+      assertThrows(IllegalArgumentException.class, () -> arrayA.norms(new double[0]));
+   }
+
+   @Test
+   public void testBenchmark()
+   {
+      Random random = new Random(4356);
+      int numberOfTuples = VERBOSE ? 100000 : 1000;
+      int numberOfRuns = VERBOSE ? 1000 : 1;
+
+      A array = newArray(numberOfTuples);
+      A initialArray = newArray(numberOfTuples);
+      List<T> list = new ArrayList<>(numberOfTuples);
+
+      for (int i = 0; i < numberOfTuples; i++)
+      {
+         T tuple = newRandomTuple(random, 1.0);
+         list.add(tuple);
+         array.append(tuple);
+         initialArray.append(tuple);
+      }
+
+      Transform[] transforms = {EuclidCoreRandomTools.nextRigidBodyTransform(random), EuclidCoreRandomTools.nextQuaternionBasedTransform(random)};
+      long[] listTimes = new long[transforms.length];
+      long[] arrayTimes = new long[transforms.length];
+
+      for (int run = 0; run < numberOfRuns; run++)
+      {
+         for (int i = 0; i < transforms.length; i++)
+         {
+            Transform transform = transforms[i];
+
+            long start = System.nanoTime();
+            for (int j = 0; j < numberOfTuples; j++)
+               list.get(j).applyTransform(transform);
+            listTimes[i] += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            array.applyTransform(transform);
+            arrayTimes[i] += System.nanoTime() - start;
+         }
+
+         assertArrayEquals(list, array, EPS);
+
+         // Starting over from the initial tuples, the errors do not accumulate over the runs.
+         for (int j = 0; j < numberOfTuples; j++)
+         {
+            initialArray.get(j, list.get(j));
+            array.set(j, list.get(j));
+         }
+      }
+
+      if (VERBOSE)
+      {
+         for (int i = 0; i < transforms.length; i++)
+         {
+            System.out.println(String.format("%s, average time per tuple in nanosec:\n\t-List<%s>: %.2f\n\t-%s: %.2f",
+                                             transforms[i].getClass().getSimpleName(),
+                                             list.get(0).getClass().getSimpleName(),
+                                             listTimes[i] / (double) numberOfTuples / numberOfRuns,
+                                             array.getClass().getSimpleName(),
+                                             arrayTimes[i] / (double) numberOfTuples / numberOfRuns));
+         }
+      }
+   }
+
+   private void assertArrayEquals(List<T> expected, A actual, double epsilon)
+   {
+      assertEquals(expected.size(), actual.size());
+
+      for (int i = 0; i < expected.size(); i++)
+         EuclidCoreTestTools.assertEquals(expected.get(i), newView(actual, i), epsilon);
+   }
+}
@@ -0,0 +1,85 @@
+package us.ihmc.euclid.tuple3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+
+public class Vector3DArray32Test extends Tuple3DArray32Test<Vector3DArray32, Vector3D32>
+{
+   @Override
+   public Vector3DArray32 newArray(int initialCapacity)
+   {
+      return new Vector3DArray32(initialCapacity);
+   }
+
+   @Override
+   public Vector3D32 newRandomTuple(Random random, double minMax)
+   {
+      return new Vector3D32(EuclidCoreRandomTools.nextVector3D(random, minMax));
+   }
+
+   @Override
+   public Vector3DArray32.View newView(Vector3DArray32 array, int index)
+   {
+      return array.newView(index);
+   }
+
+   /**
+    * Tests the {@link Vector3DArray32.View} against the API of {@link Vector3DBasicsTest}.
+    */
+   @Nested
+   public class ViewTest extends Vector3DBasicsTest<Vector3DArray32.View>
+   {
+      @Test
+      public void testSetIndex()
+      {
+         Vector3DArray32 array = new Vector3DArray32();
+         array.append(1.0f, 2.0f, 3.0f);
+         array.append(4.0f, 5.0f, 6.0f);
+
+         Vector3DArray32.View view = array.newView(0);
+         view.setIndex(1);
+         assertEquals(1, view.getIndex());
+         assertEquals(4.0f, view.getX());
+         view.setY(7.0f);
+         assertEquals(7.0f, array.getY(1));
+
+         array.clear();
+         assertThrows(IndexOutOfBoundsException.class, () -> view.setIndex(0));
+      }
+
+      @Override
+      public Vector3DArray32.View createEmptyTuple()
+      {
+         return createTuple(0.0, 0.0, 0.0);
+      }
+
+      @Override
+      public Vector3DArray32.View createRandomTuple(Random random)
+      {
+         Vector3DArray32 array = new Vector3DArray32(1);
+         array.append(EuclidCoreRandomTools.nextVector3D32(random));
+         return array.newView(0);
+      }
+
+      @Override
+      public Vector3DArray32.View createTuple(double x, double y, double z)
+      {
+         Vector3DArray32 array = new Vector3DArray32(1);
+         array.append((float) x, (float) y, (float) z);
+         return array.newView(0);
+      }
+
+      @Override
+      public double getEpsilon()
+      {
+         return 1.0e-6;
+      }
+   }
+}
@@ -0,0 +1,85 @@
+package us.ihmc.euclid.tuple3D;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.tools.EuclidCoreRandomTools;
+
+public class Vector3DArrayTest extends Tuple3DArrayTest<Vector3DArray, Vector3D>
+{
+   @Override
+   public Vector3DArray newArray(int initialCapacity)
+   {
+      return new Vector3DArray(initialCapacity);
+   }
+
+   @Override
+   public Vector3D newRandomTuple(Random random, double minMax)
+   {
+      return EuclidCoreRandomTools.nextVector3D(random, minMax);
+   }
+
+   @Override
+   public Vector3DArray.View newView(Vector3DArray array, int index)
+   {
+      return array.newView(index);
+   }
+
+   /**
+    * Tests the {@link Vector3DArray.View} against the API of {@link Vector3DBasicsTest}.
+    */
+   @Nested
+   public class ViewTest extends Vector3DBasicsTest<Vector3DArray.View>
+   {
+      @Test
+      public void testSetIndex()
+      {
+         Vector3DArray array = new Vector3DArray();
+         array.append(1.0, 2.0, 3.0);
+         array.append(4.0, 5.0, 6.0);
+
+         Vector3DArray.View view = array.newView(0);
+         view.setIndex(1);
+         assertEquals(1, view.getIndex());
+         assertEquals(4.0, view.getX());
+         view.setY(7.0);
+         assertEquals(7.0, array.getY(1));
+
+         array.clear();
+         assertThrows(IndexOutOfBoundsException.class, () -> view.setIndex(0));
+      }
+
+      @Override
+      public Vector3DArray.View createEmptyTuple()
+      {
+         return createTuple(0.0, 0.0, 0.0);
+      }
+
+      @Override
+      public Vector3DArray.View createRandomTuple(Random random)
+      {
+         Vector3DArray array = new Vector3DArray(1);
+         array.append(EuclidCoreRandomTools.nextVector3D(random));
+         return array.newView(0);
+      }
+
+      @Override
+      public Vector3DArray.View createTuple(double x, double y, double z)
+      {
+         Vector3DArray array = new Vector3DArray(1);
+         array.append(x, y, z);
+         return array.newView(0);
+      }
+
+      @Override
+      public double getEpsilon()
+      {
+         return 1.0e-14;
+      }
+   }
+}